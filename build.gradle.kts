@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
     jacoco
 }
 
@@ -70,6 +71,15 @@ tasks.test {
     )
 }
 
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    profilers.set(listOf("gc"))
+    jvmArgsAppend.add("-Dverbametrics.dataset.dir=${project.file("docs/dataset")}")
+}
+
 jacoco {
     toolVersion = "0.8.12"
 }
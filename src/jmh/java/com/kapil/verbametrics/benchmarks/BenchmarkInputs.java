@@ -0,0 +1,162 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.util.JsonParserUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Loads the benchmark inputs from the docs/dataset corpora and scales them to a requested size.
+ * An input size is either "corpus" for the corpus file as shipped, or a byte size such as "1KB" or "10MB"
+ * for a synthetic input grown from the corpus.
+ *
+ * @author Kapil Garg
+ */
+final class BenchmarkInputs {
+
+    static final String CORPUS = "corpus";
+
+    private static final String DATASET_DIR_PROPERTY = "verbametrics.dataset.dir";
+    private static final double FEATURE_NOISE = 0.02;
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Builds a text input from the text analysis corpus.
+     *
+     * @param size the input size
+     * @return the corpus text, repeated and cut to the requested number of characters
+     */
+    static String text(String size) {
+        String corpus = read("text-analysis.txt");
+        if (CORPUS.equals(size)) {
+            return corpus;
+        }
+        int length = parseSize(size);
+        StringBuilder builder = new StringBuilder(length + corpus.length());
+        while (builder.length() < length) {
+            builder.append(corpus).append("\n\n");
+        }
+        builder.setLength(length);
+        return builder.toString();
+    }
+
+    /**
+     * Builds a labelled dataset from a JSON corpus.
+     * Synthetic records repeat the corpus records with slightly perturbed features,
+     * so that models trained on them do not collapse to the corpus.
+     *
+     * @param fileName the JSON corpus file
+     * @param size     the input size, measured in bytes of the corpus file and never below the corpus itself
+     * @return the dataset records
+     */
+    static List<Map<String, Object>> records(String fileName, String size) {
+        String json = read(fileName);
+        List<Map<String, Object>> corpus = JsonParserUtil.parseTrainingData(json);
+        if (CORPUS.equals(size)) {
+            return corpus;
+        }
+        int bytesPerRecord = Math.max(1, json.length() / corpus.size());
+        return grow(corpus, Math.max(corpus.size(), parseSize(size) / bytesPerRecord));
+    }
+
+    /**
+     * Builds a labelled dataset with a given number of records from a JSON corpus.
+     *
+     * @param fileName the JSON corpus file
+     * @param count    the number of records, never below the corpus itself
+     * @return the dataset records
+     */
+    static List<Map<String, Object>> records(String fileName, int count) {
+        List<Map<String, Object>> corpus = JsonParserUtil.parseTrainingData(read(fileName));
+        return grow(corpus, Math.max(corpus.size(), count));
+    }
+
+    /**
+     * Grows a corpus to a number of records by repeating its records with slightly perturbed features.
+     *
+     * @param corpus the corpus records
+     * @param count  the number of records
+     * @return the dataset records
+     */
+    private static List<Map<String, Object>> grow(List<Map<String, Object>> corpus, int count) {
+        Random random = new Random(42);
+        List<Map<String, Object>> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> record = new HashMap<>(corpus.get(i % corpus.size()));
+            if (i >= corpus.size() && record.get("features") instanceof List<?> features) {
+                List<Double> perturbed = new ArrayList<>(features.size());
+                for (Object feature : features) {
+                    perturbed.add(((Number) feature).doubleValue() + random.nextGaussian() * FEATURE_NOISE);
+                }
+                record.put("features", perturbed);
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * Loads the prediction samples of a JSON prediction corpus, unwrapping its "samples" array.
+     *
+     * @param fileName the JSON prediction corpus file
+     * @return the prediction inputs
+     */
+    static List<Map<String, Object>> samples(String fileName) {
+        List<Map<String, Object>> inputs = JsonParserUtil.parsePredictionData(read(fileName));
+        if (inputs.size() == 1 && inputs.getFirst().get("samples") instanceof List<?> samples) {
+            List<Map<String, Object>> unwrapped = new ArrayList<>(samples.size());
+            for (Object sample : samples) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> input = (Map<String, Object>) sample;
+                unwrapped.add(input);
+            }
+            return unwrapped;
+        }
+        return inputs;
+    }
+
+    /**
+     * Parses an input size such as "512B", "1KB" or "10MB" into bytes.
+     *
+     * @param size the input size
+     * @return the number of bytes
+     */
+    static int parseSize(String size) {
+        String value = size.trim().toUpperCase();
+        if (value.endsWith("MB")) {
+            return Integer.parseInt(value.substring(0, value.length() - 2)) * 1024 * 1024;
+        }
+        if (value.endsWith("KB")) {
+            return Integer.parseInt(value.substring(0, value.length() - 2)) * 1024;
+        }
+        if (value.endsWith("B")) {
+            return Integer.parseInt(value.substring(0, value.length() - 1));
+        }
+        throw new IllegalArgumentException("Invalid input size: " + size);
+    }
+
+    /**
+     * Reads a corpus file from the dataset directory.
+     *
+     * @param fileName the corpus file name
+     * @return the file content
+     */
+    private static String read(String fileName) {
+        Path path = Paths.get(System.getProperty(DATASET_DIR_PROPERTY, "docs/dataset"), fileName);
+        try {
+            return Files.readString(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read benchmark corpus: " + e.getMessage(), e);
+        }
+    }
+
+}
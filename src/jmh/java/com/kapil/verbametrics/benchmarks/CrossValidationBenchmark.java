@@ -0,0 +1,68 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.engines.CrossValidationExecutor;
+import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
+import org.openjdk.jmh.annotations.*;
+import weka.classifiers.Evaluation;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Instances;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the wall time of a 5-fold cross-validation of a sentiment model on 10,000 records,
+ * with Weka's sequential cross-validation as baseline and the cross-validation executor on 1 thread
+ * and on all available processors (threads = 0).
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CrossValidationBenchmark {
+
+    private static final int FOLDS = 5;
+    private static final int SEED = 1;
+
+    @Param({"10000"})
+    private int records;
+
+    @Param({"1", "0"})
+    private int threads;
+
+    private Instances dataset;
+    private RandomTree classifier;
+    private CrossValidationExecutor executor;
+
+    @Setup
+    public void setUp() {
+        dataset = new Instances(WekaDatasetUtils.createDataset(
+                BenchmarkInputs.records("sentiment-train.json", records), "BenchmarkDataset"));
+        dataset.deleteAttributeAt(0);
+        classifier = new RandomTree();
+        MLModelProperties properties = new MLModelProperties();
+        properties.setTrainingLimits(Map.of("cross-validation-threads", threads));
+        executor = new CrossValidationExecutor(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public Evaluation sequentialWeka() throws Exception {
+        Evaluation evaluation = new Evaluation(dataset);
+        evaluation.crossValidateModel(classifier, dataset, FOLDS, new Random(SEED));
+        return evaluation;
+    }
+
+    @Benchmark
+    public Evaluation executor() throws Exception {
+        return executor.crossValidate(classifier, dataset, FOLDS, new Random(SEED));
+    }
+
+}
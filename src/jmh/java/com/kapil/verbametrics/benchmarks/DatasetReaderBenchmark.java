@@ -0,0 +1,60 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kapil.verbametrics.ml.utils.StreamingDatasetReader;
+import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
+import com.kapil.verbametrics.util.JsonParserUtil;
+import org.openjdk.jmh.annotations.*;
+import weka.core.Instances;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a JSONL training dataset into the numeric Weka dataset that models are trained on, in datasets
+ * per second, on the sentiment training corpus and on synthetic datasets from 1 KB to 10 MB grown from it.
+ * The parsedRecords baseline parses the records into maps, builds a dataset from them and copies it without the
+ * text attribute, as training does from parsed records. Run with the gc profiler to compare the bytes allocated
+ * per dataset.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DatasetReaderBenchmark {
+
+    @Param({BenchmarkInputs.CORPUS, "1KB", "100KB", "1MB", "10MB"})
+    private String size;
+
+    private byte[] jsonl;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper();
+        StringBuilder builder = new StringBuilder();
+        for (Map<String, Object> record : BenchmarkInputs.records("sentiment-train.json", size)) {
+            builder.append(mapper.writeValueAsString(record)).append('\n');
+        }
+        jsonl = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Instances parsedRecords() {
+        String json = new String(jsonl, StandardCharsets.UTF_8);
+        Instances dataset = new Instances(WekaDatasetUtils.createDataset(JsonParserUtil.parseTrainingData(json),
+                "BenchmarkDataset"));
+        dataset.deleteAttributeAt(0);
+        return dataset;
+    }
+
+    @Benchmark
+    public Instances streamingReader() throws IOException {
+        return StreamingDatasetReader.read(new ByteArrayInputStream(jsonl), "BenchmarkDataset");
+    }
+
+}
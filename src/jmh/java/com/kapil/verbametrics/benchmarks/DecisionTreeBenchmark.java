@@ -0,0 +1,82 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.ml.domain.FlatDecisionTree;
+import com.kapil.verbametrics.ml.utils.RandomTreeCompiler;
+import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
+import org.openjdk.jmh.annotations.*;
+import weka.classifiers.trees.RandomTree;
+import weka.core.DenseInstance;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the distribution of a trained RandomTree computed by Weka with the one computed by its compiled
+ * flat form, in distributions per second, cycling through the prediction corpus.
+ * The tree is trained on a synthetic dataset of the requested size so that it grows deep enough to matter.
+ * Run with the gc profiler to compare the allocation rate per distribution.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class DecisionTreeBenchmark {
+
+    @Param({"sentiment", "classification"})
+    private String modelType;
+
+    @Param({"corpus", "1MB"})
+    private String size;
+
+    private RandomTree tree;
+    private FlatDecisionTree compiledTree;
+    private Instance[] instances;
+    private double[][] rows;
+    private double[] distribution;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<Map<String, Object>> records = BenchmarkInputs.records(modelType + "-train.json", size);
+        Instances dataset = new Instances(WekaDatasetUtils.createDataset(records, "ClassificationDataset"));
+        dataset.deleteAttributeAt(0);
+        tree = new RandomTree();
+        tree.buildClassifier(dataset);
+        compiledTree = RandomTreeCompiler.compile(tree);
+        List<Map<String, Object>> samples = BenchmarkInputs.samples(modelType + "-prediction.json");
+        instances = new Instance[samples.size()];
+        rows = new double[samples.size()][];
+        for (int i = 0; i < samples.size(); i++) {
+            List<?> features = (List<?>) samples.get(i).get("features");
+            double[] row = new double[dataset.numAttributes()];
+            for (int j = 0; j < features.size(); j++) {
+                row[j] = ((Number) features.get(j)).doubleValue();
+            }
+            row[dataset.classIndex()] = Double.NaN;
+            rows[i] = row;
+            instances[i] = new DenseInstance(1.0, row.clone());
+            instances[i].setDataset(dataset);
+        }
+        distribution = new double[compiledTree.numClasses()];
+    }
+
+    @Benchmark
+    public double[] weka() throws Exception {
+        Instance instance = instances[next];
+        next = (next + 1) % instances.length;
+        return tree.distributionForInstance(instance);
+    }
+
+    @Benchmark
+    public double[] compiled() {
+        double[] row = rows[next];
+        next = (next + 1) % rows.length;
+        compiledTree.distributionForFeatures(row, distribution);
+        return distribution;
+    }
+
+}
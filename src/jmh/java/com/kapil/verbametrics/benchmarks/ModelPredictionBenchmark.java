@@ -0,0 +1,80 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.engines.ModelPredictionEngine;
+import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures single-record prediction throughput in predictions per second,
+ * cycling through the prediction corpus against a model trained on the matching training corpus.
+ * After the first prediction the classifier is served from the classifier cache, as in the application.
+ * Run with the gc profiler to also report the allocation rate per prediction.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ModelPredictionBenchmark {
+
+    @Param({"sentiment", "classification"})
+    private String modelType;
+
+    private Path modelDirectory;
+    private List<Map<String, Object>> inputs;
+    private ModelPredictionEngine predictionEngine;
+    private String modelId;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        inputs = BenchmarkInputs.samples(modelType + "-prediction.json");
+        modelDirectory = Files.createTempDirectory("verbametrics-benchmark-models");
+        MLModelProperties properties = new MLModelProperties();
+        properties.setFileSettings(Map.of("base-path", modelDirectory.toString(), "format", "ser"));
+        ModelFileManager fileManager = new ModelFileManager(properties);
+        ClassValueManager classValueManager = new ClassValueManager();
+        ClassifierCacheManager classifierCache = new ClassifierCacheManager(fileManager, properties);
+        ModelTrainingEngine trainingEngine = new ModelTrainingEngine(properties, fileManager,
+                new ModelTypeClassifier(properties), classValueManager, classifierCache);
+        modelId = "benchmark-" + modelType;
+        ModelTrainingResult result = trainingEngine.trainModel(modelId, modelType,
+                BenchmarkInputs.records(modelType + "-train.json", BenchmarkInputs.CORPUS), Map.of());
+        if (!result.success()) {
+            throw new IllegalStateException("Failed to train benchmark model: " + result.errorMessage());
+        }
+        predictionEngine = new ModelPredictionEngine(classifierCache, classValueManager);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(modelDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> predict() {
+        Map<String, Object> input = inputs.get(next);
+        next = (next + 1) % inputs.size();
+        return predictionEngine.predict(modelId, input);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
+import org.openjdk.jmh.annotations.*;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures dataset creation and model training throughput in datasets per second,
+ * on the sentiment and classification training corpora and on synthetic datasets from 1 KB to 10 MB grown from them.
+ * Training includes saving the model and the cross-validation run for its performance metrics.
+ * Run with the gc profiler to also report the allocation rate per dataset.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ModelTrainingBenchmark {
+
+    @Param({"sentiment", "classification"})
+    private String modelType;
+
+    @Param({BenchmarkInputs.CORPUS, "1KB", "100KB", "1MB", "10MB"})
+    private String size;
+
+    private Path modelDirectory;
+    private List<Map<String, Object>> trainingData;
+    private ModelTrainingEngine trainingEngine;
+
+    @Setup
+    public void setUp() throws IOException {
+        trainingData = BenchmarkInputs.records(modelType + "-train.json", size);
+        modelDirectory = Files.createTempDirectory("verbametrics-benchmark-models");
+        MLModelProperties properties = new MLModelProperties();
+        properties.setFileSettings(Map.of("base-path", modelDirectory.toString(), "format", "ser"));
+        ModelFileManager fileManager = new ModelFileManager(properties);
+        trainingEngine = new ModelTrainingEngine(properties, fileManager, new ModelTypeClassifier(properties),
+                new ClassValueManager(), new ClassifierCacheManager(fileManager, properties));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(modelDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Instances createDataset() {
+        return WekaDatasetUtils.createDataset(trainingData, "BenchmarkDataset");
+    }
+
+    @Benchmark
+    public ModelTrainingResult trainModel() {
+        return trainingEngine.trainModel("benchmark-" + modelType, modelType, trainingData, Map.of());
+    }
+
+}
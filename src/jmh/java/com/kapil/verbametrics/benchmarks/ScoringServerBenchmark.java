@@ -0,0 +1,132 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kapil.verbametrics.VerbaMetricsGuiApplication;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.server.ScoringServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the scoring server end to end against a loopback client that keeps its connections alive,
+ * reporting requests per second and the latency distribution, including p99, of every endpoint.
+ * The application runs headless as in server mode, with a sentiment model trained on the training corpus.
+ * Use -t to vary the number of concurrent client threads.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class ScoringServerBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private Path modelDirectory;
+    private ConfigurableApplicationContext context;
+    private ScoringServer server;
+    private HttpClient client;
+    private HttpRequest analyzeRequest;
+    private HttpRequest sentimentRequest;
+    private HttpRequest readabilityRequest;
+    private HttpRequest predictRequest;
+    private HttpRequest predictBatchRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        modelDirectory = Files.createTempDirectory("verbametrics-benchmark-models");
+        context = new SpringApplicationBuilder(VerbaMetricsGuiApplication.class)
+                .headless(true)
+                .run("--scoring.server.port=0",
+                        "--ml.model.file-settings.base-path=" + modelDirectory,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.kapil.verbametrics=WARN");
+        ModelTrainingResult result = context.getBean(MLModelService.class).trainModel("sentiment",
+                BenchmarkInputs.records("sentiment-train.json", BenchmarkInputs.CORPUS),
+                Map.of("name", "benchmark", "description", "Scoring server benchmark model"));
+        if (!result.success()) {
+            throw new IllegalStateException("Failed to train benchmark model: " + result.errorMessage());
+        }
+        server = ScoringServer.create(context);
+        int port = server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String text = BenchmarkInputs.text("1KB");
+        List<Map<String, Object>> inputs = BenchmarkInputs.samples("sentiment-prediction.json");
+        String textBody = OBJECT_MAPPER.writeValueAsString(Map.of("text", text));
+        analyzeRequest = request(port, "/analyze", textBody);
+        sentimentRequest = request(port, "/sentiment", textBody);
+        readabilityRequest = request(port, "/readability", textBody);
+        predictRequest = request(port, "/predict",
+                OBJECT_MAPPER.writeValueAsString(Map.of("modelId", result.modelId(), "input", inputs.getFirst())));
+        predictBatchRequest = request(port, "/predictBatch",
+                OBJECT_MAPPER.writeValueAsString(Map.of("modelId", result.modelId(), "inputs", inputs)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.close();
+        context.close();
+        try (Stream<Path> paths = Files.walk(modelDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String analyze() throws Exception {
+        return send(analyzeRequest);
+    }
+
+    @Benchmark
+    public String sentiment() throws Exception {
+        return send(sentimentRequest);
+    }
+
+    @Benchmark
+    public String readability() throws Exception {
+        return send(readabilityRequest);
+    }
+
+    @Benchmark
+    public String predict() throws Exception {
+        return send(predictRequest);
+    }
+
+    @Benchmark
+    public String predictBatch() throws Exception {
+        return send(predictBatchRequest);
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Request failed with status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static HttpRequest request(int port, String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.config.SentimentAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentRuleProperties;
+import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.impl.WordListServiceImpl;
+import com.kapil.verbametrics.services.managers.WordListCacheManager;
+import com.kapil.verbametrics.services.managers.WordListFileLoader;
+import com.kapil.verbametrics.services.models.CompiledLexicon;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-token lexicon classification in tokens per second.
+ * Compares the previous chain of set, list and map lookups with a single probe into the compiled lexicon,
+ * and reports the resulting end-to-end sentiment scoring throughput.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class SentimentLexiconBenchmark {
+
+    private static final int TOKEN_COUNT = 10_000;
+    private static final String[] FILLER = {"the", "movie", "was", "and", "it", "a", "plot", "of", "to", "with", "this", "ending"};
+
+    private Set<String> positiveWords;
+    private Set<String> negativeWords;
+    private SentimentRuleProperties ruleProperties;
+    private CompiledLexicon lexicon;
+    private SentimentCalculationEngine engine;
+    private String[] tokens;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        SentimentAnalysisProperties properties = new SentimentAnalysisProperties();
+        properties.getWordLists().setPositiveWordsPath("classpath:wordlists/positive-words.txt");
+        properties.getWordLists().setNegativeWordsPath("classpath:wordlists/negative-words.txt");
+        WordListServiceImpl wordListService = new WordListServiceImpl(properties, new WordListFileLoader(),
+                new WordListCacheManager(properties));
+        ruleProperties = new SentimentRuleProperties();
+        positiveWords = wordListService.getPositiveWords();
+        negativeWords = wordListService.getNegativeWords();
+        lexicon = CompiledLexicon.compile(positiveWords, negativeWords, ruleProperties.getPunctuationBreaks(),
+                ruleProperties.getContrastives(), ruleProperties.getNegations(), ruleProperties.getBoosters(),
+                ruleProperties.getDampeners());
+        engine = new SentimentCalculationEngine(wordListService, properties, ruleProperties);
+        List<String> vocabulary = new ArrayList<>(List.of(FILLER));
+        vocabulary.addAll(positiveWords);
+        vocabulary.addAll(negativeWords);
+        vocabulary.addAll(ruleProperties.getNegations());
+        vocabulary.addAll(ruleProperties.getBoosters().keySet());
+        vocabulary.addAll(ruleProperties.getContrastives());
+        Random random = new Random(42);
+        tokens = new String[TOKEN_COUNT];
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            // Two thirds filler words, as in natural text
+            tokens[i] = random.nextInt(3) < 2 ? FILLER[random.nextInt(FILLER.length)] : vocabulary.get(random.nextInt(vocabulary.size()));
+            builder.append(tokens[i]).append(i % 15 == 14 ? ". " : " ");
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKEN_COUNT)
+    public void collectionLookups(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(ruleProperties.getPunctuationBreaks().contains(token));
+            blackhole.consume(ruleProperties.getContrastives().contains(token));
+            blackhole.consume(ruleProperties.getNegations().contains(token));
+            blackhole.consume(positiveWords.contains(token));
+            blackhole.consume(negativeWords.contains(token));
+            blackhole.consume(ruleProperties.getBoosters().get(token));
+            blackhole.consume(ruleProperties.getDampeners().get(token));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKEN_COUNT)
+    public void compiledLexiconLookup(Blackhole blackhole) {
+        for (String token : tokens) {
+            int slot = lexicon.find(token);
+            int flags = lexicon.flags(slot);
+            blackhole.consume(flags);
+            if ((flags & CompiledLexicon.BOOSTER) != 0) {
+                blackhole.consume(lexicon.boosterWeight(slot));
+            }
+            if ((flags & CompiledLexicon.DAMPENER) != 0) {
+                blackhole.consume(lexicon.dampenerWeight(slot));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKEN_COUNT)
+    public double sentimentScore() {
+        return engine.calculateSentimentScore(text);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.config.ReadabilityAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentRuleProperties;
+import com.kapil.verbametrics.domain.ReadabilityMetrics;
+import com.kapil.verbametrics.dto.TextAnalysisRequest;
+import com.kapil.verbametrics.dto.TextAnalysisResponse;
+import com.kapil.verbametrics.services.calculators.FleschKincaidCalculator;
+import com.kapil.verbametrics.services.calculators.FleschReadingEaseCalculator;
+import com.kapil.verbametrics.services.calculators.SentenceLengthCalculator;
+import com.kapil.verbametrics.services.calculators.SyllablePerWordCalculator;
+import com.kapil.verbametrics.services.classifiers.ComplexityClassifier;
+import com.kapil.verbametrics.services.classifiers.ReadingLevelClassifier;
+import com.kapil.verbametrics.services.engines.BasicTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.engines.SyllableCountingEngine;
+import com.kapil.verbametrics.services.impl.ReadabilityAnalysisServiceImpl;
+import com.kapil.verbametrics.services.impl.SyllableCounterServiceImpl;
+import com.kapil.verbametrics.services.impl.WordListServiceImpl;
+import com.kapil.verbametrics.services.managers.WordListCacheManager;
+import com.kapil.verbametrics.services.managers.WordListFileLoader;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whole-document throughput of the text analysis engines in documents per second,
+ * on the text analysis corpus and on synthetic documents from 1 KB to 10 MB grown from it.
+ * Run with the gc profiler to also report the allocation rate per document.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TextAnalysisBenchmark {
+
+    @Param({BenchmarkInputs.CORPUS, "1KB", "100KB", "1MB", "10MB"})
+    private String size;
+
+    private String text;
+    private String[] words;
+    private BasicTextAnalysisEngine basicEngine;
+    private SentimentCalculationEngine sentimentEngine;
+    private SyllableCountingEngine syllableEngine;
+    private ReadabilityAnalysisServiceImpl readabilityService;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.text(size);
+        words = TokenizedDocument.of(text).tokens();
+        basicEngine = new BasicTextAnalysisEngine();
+        SentimentAnalysisProperties sentimentProperties = new SentimentAnalysisProperties();
+        sentimentProperties.getWordLists().setPositiveWordsPath("classpath:wordlists/positive-words.txt");
+        sentimentProperties.getWordLists().setNegativeWordsPath("classpath:wordlists/negative-words.txt");
+        WordListServiceImpl wordListService = new WordListServiceImpl(sentimentProperties, new WordListFileLoader(),
+                new WordListCacheManager(sentimentProperties));
+        sentimentEngine = new SentimentCalculationEngine(wordListService, sentimentProperties, new SentimentRuleProperties());
+        ReadabilityAnalysisProperties readabilityProperties = new ReadabilityAnalysisProperties();
+        syllableEngine = new SyllableCountingEngine(readabilityProperties);
+        readabilityService = new ReadabilityAnalysisServiceImpl(
+                new SentenceLengthCalculator(),
+                new SyllablePerWordCalculator(new SyllableCounterServiceImpl(new SyllableCountingEngine(readabilityProperties))),
+                new FleschKincaidCalculator(readabilityProperties),
+                new FleschReadingEaseCalculator(readabilityProperties),
+                new ReadingLevelClassifier(readabilityProperties),
+                new ComplexityClassifier(readabilityProperties));
+    }
+
+    @Benchmark
+    public TextAnalysisResponse basicAnalysis() {
+        return basicEngine.analyze(new TextAnalysisRequest(text));
+    }
+
+    @Benchmark
+    public double sentimentScore() {
+        return sentimentEngine.calculateSentimentScore(text);
+    }
+
+    @Benchmark
+    public double syllablesPerWord() {
+        return syllableEngine.calculateAverageSyllablesPerWord(words);
+    }
+
+    @Benchmark
+    public ReadabilityMetrics readabilityAnalysis() {
+        return readabilityService.analyzeReadability(text);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.kapil.verbametrics.benchmarks;
+
+import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
+import org.openjdk.jmh.annotations.*;
+import weka.classifiers.Evaluation;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the wall time of training a sentiment model on 10,000 records, performance metrics included.
+ * The separateCrossValidations baseline rebuilds the dataset and cross-validates once per metric, for accuracy,
+ * precision and recall, as training did before its metrics were taken from a single cross-validation run.
+ *
+ * @author Kapil Garg
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TrainingMetricsBenchmark {
+
+    private static final int FOLDS = 5;
+    private static final int SEED = 1;
+
+    @Param({"10000"})
+    private int records;
+
+    private Path modelDirectory;
+    private List<Map<String, Object>> trainingData;
+    private ModelTrainingEngine trainingEngine;
+
+    @Setup
+    public void setUp() throws IOException {
+        trainingData = BenchmarkInputs.records("sentiment-train.json", records);
+        modelDirectory = Files.createTempDirectory("verbametrics-benchmark-models");
+        MLModelProperties properties = new MLModelProperties();
+        properties.setFileSettings(Map.of("base-path", modelDirectory.toString(), "format", "ser"));
+        ModelFileManager fileManager = new ModelFileManager(properties);
+        trainingEngine = new ModelTrainingEngine(properties, fileManager, new ModelTypeClassifier(properties),
+                new ClassValueManager(), new ClassifierCacheManager(fileManager, properties));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(modelDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public ModelTrainingResult trainModel() {
+        return trainingEngine.trainModel("benchmark-sentiment", "sentiment", trainingData, Map.of());
+    }
+
+    @Benchmark
+    public double separateCrossValidations() throws Exception {
+        RandomTree model = new RandomTree();
+        model.buildClassifier(numericDataset());
+        return crossValidate(model).pctCorrect()
+                + crossValidate(model).weightedPrecision()
+                + crossValidate(model).weightedRecall();
+    }
+
+    private Evaluation crossValidate(RandomTree model) throws Exception {
+        Instances dataset = numericDataset();
+        Evaluation evaluation = new Evaluation(dataset);
+        evaluation.crossValidateModel(model, dataset, FOLDS, new Random(SEED));
+        return evaluation;
+    }
+
+    private Instances numericDataset() {
+        Instances dataset = new Instances(WekaDatasetUtils.createDataset(trainingData, "BenchmarkDataset"));
+        dataset.deleteAttributeAt(0);
+        return dataset;
+    }
+
+}
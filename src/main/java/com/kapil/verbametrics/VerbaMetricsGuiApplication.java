@@ -1,20 +1,30 @@
 package com.kapil.verbametrics;
 
+import com.kapil.verbametrics.server.ScoringServer;
 import com.kapil.verbametrics.ui.MainWindow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.util.Arrays;
 
 @SpringBootApplication
 public class VerbaMetricsGuiApplication {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VerbaMetricsGuiApplication.class);
 
+    public static final String SERVER_MODE_ARG = "--server-mode";
+
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(SERVER_MODE_ARG)) {
+            startServer(Arrays.stream(args).filter(arg -> !SERVER_MODE_ARG.equals(arg)).toArray(String[]::new));
+            return;
+        }
         ConfigurableApplicationContext context = new SpringApplicationBuilder(VerbaMetricsGuiApplication.class)
                 .headless(false)
                 .run(args);
@@ -29,4 +39,28 @@ public class VerbaMetricsGuiApplication {
         });
     }
 
+    /**
+     * Start the application headless, serving the analyses and predictions over HTTP instead of the Swing window.
+     * The server is stopped when the application context is closed.
+     *
+     * @param args the application arguments
+     */
+    private static void startServer(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(VerbaMetricsGuiApplication.class)
+                .headless(true)
+                .run(args);
+        ScoringServer server = ScoringServer.create(context);
+        context.addApplicationListener(event -> {
+            if (event instanceof ContextClosedEvent) {
+                server.close();
+            }
+        });
+        try {
+            server.start();
+        } catch (IOException e) {
+            LOGGER.error("Failed to start scoring server :: {}", e.getMessage());
+            context.close();
+        }
+    }
+
 }
@@ -35,6 +35,11 @@ public class ReadabilityAnalysisProperties {
      */
     private FleschReadingEase fleschReadingEase = new FleschReadingEase();
 
+    /**
+     * Syllable count cache settings
+     */
+    private SyllableCache syllableCache = new SyllableCache();
+
     @Data
     public static class ReadingLevels {
         private double elementary = 6.0;
@@ -65,4 +70,9 @@ public class ReadabilityAnalysisProperties {
         private double syllablesPerWordMultiplier = 84.6;
     }
 
+    @Data
+    public static class SyllableCache {
+        private int maxSize = 10000;
+    }
+
 }
@@ -0,0 +1,38 @@
+package com.kapil.verbametrics.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the headless scoring server.
+ * The server is only started when the application is launched in server mode.
+ *
+ * @author Kapil Garg
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "scoring.server")
+public class ScoringServerProperties {
+
+    /**
+     * Address the server binds to; the loopback address keeps it local to the machine
+     */
+    private String host = "127.0.0.1";
+
+    /**
+     * Port the server listens on; 0 picks a free port
+     */
+    private int port = 8085;
+
+    /**
+     * Maximum number of pending connections; 0 or less uses the system default
+     */
+    private int backlog = 0;
+
+    /**
+     * Maximum size of a request body in bytes
+     */
+    private int maxRequestBytes = 10 * 1024 * 1024;
+
+}
@@ -1,15 +1,23 @@
 package com.kapil.verbametrics.config;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Configuration properties for sentiment rule weights and dictionaries.
  * Provides configurable boosters/dampeners, contrastives, punctuation breaks and phrases with weights.
+ * Setting any of the rule collections increments the rule revision, so that the lexicon and phrase automaton compiled
+ * from them are rebuilt; the collections are meant to be replaced through their setters rather than modified in place.
  *
  * @author Kapil Garg
  */
@@ -62,10 +70,18 @@ public class SentimentRuleProperties {
             Map.entry("performance has drastically worsened", -1.4)
     );
 
+    private PhraseMatching phraseMatching = PhraseMatching.AUTOMATON;
+
     private int negationWindow = 3;
     private int contrastiveWindow = 10;
     private double normalizationAlpha = 15.0;
 
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicLong revision = new AtomicLong();
+
     private List<String> negations = List.of(
             "not", "no", "never", "none", "nobody", "nothing", "neither", "nowhere", "hardly", "scarcely", "barely",
             "isnt", "isn't", "arent", "aren't", "wasnt", "wasn't", "werent", "weren't", "dont", "don't", "doesnt", "doesn't",
@@ -73,4 +89,52 @@ public class SentimentRuleProperties {
             "shouldnt", "shouldn't", "hasnt", "hasn't", "havent", "haven't", "hadnt", "hadn't"
     );
 
+    /**
+     * Gets the revision of the rule collections.
+     *
+     * @return the current rule revision, incremented whenever a rule collection is set
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    public void setBoosters(Map<String, Double> boosters) {
+        this.boosters = boosters;
+        revision.incrementAndGet();
+    }
+
+    public void setDampeners(Map<String, Double> dampeners) {
+        this.dampeners = dampeners;
+        revision.incrementAndGet();
+    }
+
+    public void setPunctuationBreaks(List<String> punctuationBreaks) {
+        this.punctuationBreaks = punctuationBreaks;
+        revision.incrementAndGet();
+    }
+
+    public void setContrastives(List<String> contrastives) {
+        this.contrastives = contrastives;
+        revision.incrementAndGet();
+    }
+
+    public void setPhrases(Map<String, Double> phrases) {
+        this.phrases = phrases;
+        revision.incrementAndGet();
+    }
+
+    public void setNegations(List<String> negations) {
+        this.negations = negations;
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Strategy used to find configured phrases in the text.
+     * AUTOMATON matches all phrases in one pass, SUBSTRING checks each phrase separately.
+     */
+    public enum PhraseMatching {
+        AUTOMATON,
+        SUBSTRING
+    }
+
 }
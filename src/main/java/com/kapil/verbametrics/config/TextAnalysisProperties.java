@@ -0,0 +1,108 @@
+package com.kapil.verbametrics.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for basic text analysis.
+ * Selects the implementation used to compute basic text statistics and configures streaming, batch,
+ * concurrent and incremental analysis.
+ *
+ * @author Kapil Garg
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "text.analysis")
+public class TextAnalysisProperties {
+
+    /**
+     * Strategy used to compute word, sentence, character and paragraph counts
+     */
+    private StatisticsStrategy statisticsStrategy = StatisticsStrategy.SCANNING;
+
+    /**
+     * Settings for analyzing documents streamed from a reader or channel
+     */
+    private Streaming streaming = new Streaming();
+
+    /**
+     * Settings for analyzing many documents in one batch
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Settings for running the analyses of a single document concurrently
+     */
+    private Concurrency concurrency = new Concurrency();
+
+    /**
+     * Settings for caching the analysis of paragraphs between edits of a document
+     */
+    private ParagraphCache paragraphCache = new ParagraphCache();
+
+    /**
+     * Available implementations for computing basic text statistics.
+     */
+    public enum StatisticsStrategy {
+        /**
+         * Splits the text with regular expressions.
+         */
+        REGEX,
+        /**
+         * Counts in a single pass with a character state machine.
+         */
+        SCANNING
+    }
+
+    @Data
+    public static class Streaming {
+
+        /**
+         * Number of characters read from the source per chunk
+         */
+        private int chunkSize = 8192;
+
+        /**
+         * Maximum number of characters buffered for one sentence before it is scored in segments
+         */
+        private int maxSentenceLength = 1_000_000;
+
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Maximum number of documents analyzed concurrently; 0 or less uses the number of available processors
+         */
+        private int parallelism = 0;
+
+    }
+
+    @Data
+    public static class Concurrency {
+
+        /**
+         * Maximum number of analyses running at once across all documents; 0 or less uses the number of available processors
+         */
+        private int parallelism = 0;
+
+        /**
+         * Time each analysis of a document may take before it is abandoned and reported as failed
+         */
+        private long timeoutMillis = 10_000;
+
+    }
+
+    @Data
+    public static class ParagraphCache {
+
+        /**
+         * Maximum number of analyzed paragraphs kept for reuse; 0 disables caching
+         */
+        private int maxSize = 1000;
+
+    }
+
+}
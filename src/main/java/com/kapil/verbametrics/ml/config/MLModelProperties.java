@@ -26,6 +26,8 @@ public class MLModelProperties {
 
     private Map<String, String> fileSettings;
     private Map<String, Integer> cacheSettings;
+    private Map<String, Integer> batchSettings;
+    private Map<String, Integer> featureSettings;
     private Map<String, List<String>> requiredFields;
     private Map<String, Double> performanceThresholds;
 
@@ -36,6 +38,8 @@ public class MLModelProperties {
         this.supportedModelTypes = List.of();
         this.fileSettings = Map.of();
         this.cacheSettings = Map.of();
+        this.batchSettings = Map.of();
+        this.featureSettings = Map.of();
         this.requiredFields = Map.of();
         this.performanceThresholds = Map.of();
     }
@@ -0,0 +1,121 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Domain record representing the predictions of a model for a batch of inputs.
+ * Results are kept in parallel arrays indexed by input position rather than one map per input.
+ * A failed input has a prediction index of -1 and an error message.
+ *
+ * @author Kapil Garg
+ */
+public record BatchPredictionResult(
+        String modelId,
+        String modelType,
+        List<String> classLabels,
+        int[] predictionIndices,
+        double[] confidences,
+        double[][] probabilities,
+        String[] errors,
+        long predictionTimeMs
+) {
+
+    public BatchPredictionResult {
+        BaseMLResult.validateModelId(modelId);
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(classLabels, "Class labels cannot be null");
+        Objects.requireNonNull(predictionIndices, "Prediction indices cannot be null");
+        Objects.requireNonNull(confidences, "Confidences cannot be null");
+        Objects.requireNonNull(probabilities, "Probabilities cannot be null");
+        Objects.requireNonNull(errors, "Errors cannot be null");
+        int size = predictionIndices.length;
+        if (confidences.length != size || probabilities.length != size || errors.length != size) {
+            throw new IllegalArgumentException("Batch prediction arrays must have the same length");
+        }
+        classLabels = List.copyOf(classLabels);
+    }
+
+    /**
+     * Gets the number of inputs in the batch.
+     *
+     * @return the batch size
+     */
+    public int size() {
+        return predictionIndices.length;
+    }
+
+    /**
+     * Checks if the input at the given position was predicted.
+     *
+     * @param index the input position
+     * @return true if the prediction succeeded
+     */
+    public boolean isSuccess(int index) {
+        return errors[index] == null;
+    }
+
+    /**
+     * Gets the number of inputs that were predicted.
+     *
+     * @return the number of successful predictions
+     */
+    public int getSuccessCount() {
+        int count = 0;
+        for (String error : errors) {
+            if (error == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the predicted label of the input at the given position.
+     *
+     * @param index the input position
+     * @return the predicted label, "unknown" if the class index has no label, or null if the prediction failed
+     */
+    public String prediction(int index) {
+        if (!isSuccess(index)) {
+            return null;
+        }
+        int classIndex = predictionIndices[index];
+        return classIndex >= 0 && classIndex < classLabels.size() ? classLabels.get(classIndex) : "unknown";
+    }
+
+    /**
+     * Gets the probability of the predicted class for the input at the given position.
+     *
+     * @param index the input position
+     * @return the probability of the predicted class, or 0.0 if the prediction failed
+     */
+    public double probability(int index) {
+        double[] distribution = probabilities[index];
+        int classIndex = predictionIndices[index];
+        return distribution != null && classIndex >= 0 && classIndex < distribution.length ? distribution[classIndex] : 0.0;
+    }
+
+    /**
+     * Gets the prediction of the input at the given position as a single prediction result.
+     *
+     * @param index the input position
+     * @return the prediction result, or null if the prediction failed
+     */
+    public PredictionResult result(int index) {
+        if (!isSuccess(index)) {
+            return null;
+        }
+        return new PredictionResult(modelId, modelType, predictionIndices[index], prediction(index),
+                confidences[index], probability(index), probabilities[index]);
+    }
+
+    @Override
+    public String toString() {
+        return """
+                BatchPredictionResult{
+                    modelId='%s', modelType='%s', size=%d, successCount=%d, predictionTimeMs=%d
+                }""".formatted(modelId, modelType, size(), getSuccessCount(), predictionTimeMs);
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.Objects;
+
+/**
+ * Domain record representing a decision tree compiled into flat arrays indexed by node, with the root at node 0.
+ * Evaluates a raw feature row without allocating, unless a feature on the path is missing (NaN).
+ * Inner nodes split numerically, going left when the feature value is below the threshold.
+ * A node's distribution is the one returned when evaluation ends at that node, either because it is a leaf
+ * or because the subtree below it gave no distribution; it is null if the node gives no distribution either.
+ *
+ * @param featureIndex     the feature each node splits on, or -1 for leaves
+ * @param threshold        the split point of each inner node
+ * @param left             the child taken by values below the threshold, or -1 for leaves
+ * @param right            the child taken by all other values, or -1 for leaves
+ * @param splitProportions the share of training weight sent left and right by each inner node, used for missing values
+ * @param nodeDistribution the normalized class distribution of each node, or null
+ * @param numClasses       the number of classes
+ * @author Kapil Garg
+ */
+public record FlatDecisionTree(
+        int[] featureIndex,
+        double[] threshold,
+        int[] left,
+        int[] right,
+        double[][] splitProportions,
+        double[][] nodeDistribution,
+        int numClasses
+) {
+
+    public FlatDecisionTree {
+        Objects.requireNonNull(featureIndex, "Feature indices cannot be null");
+        Objects.requireNonNull(threshold, "Thresholds cannot be null");
+        Objects.requireNonNull(left, "Left children cannot be null");
+        Objects.requireNonNull(right, "Right children cannot be null");
+        Objects.requireNonNull(splitProportions, "Split proportions cannot be null");
+        Objects.requireNonNull(nodeDistribution, "Node distributions cannot be null");
+        int size = featureIndex.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("Tree must have at least one node");
+        }
+        if (threshold.length != size || left.length != size || right.length != size
+                || splitProportions.length != size || nodeDistribution.length != size) {
+            throw new IllegalArgumentException("Tree arrays must have the same length");
+        }
+        if (numClasses <= 0) {
+            throw new IllegalArgumentException("Number of classes must be positive");
+        }
+    }
+
+    /**
+     * Gets the number of nodes in the tree.
+     *
+     * @return the node count
+     */
+    public int size() {
+        return featureIndex.length;
+    }
+
+    /**
+     * Computes the class distribution for a feature row into the given array.
+     *
+     * @param features     the feature values, NaN for missing values
+     * @param distribution the array receiving the distribution, of length numClasses
+     * @return true if the tree gave a distribution, false if it gave none and the array was left unchanged
+     */
+    public boolean distributionForFeatures(double[] features, double[] distribution) {
+        Objects.requireNonNull(features, "Features cannot be null");
+        if (distribution.length != numClasses) {
+            throw new IllegalArgumentException("Distribution must have " + numClasses + " elements");
+        }
+        double[] result = evaluate(0, features);
+        if (result == null) {
+            return false;
+        }
+        System.arraycopy(result, 0, distribution, 0, numClasses);
+        return true;
+    }
+
+    /**
+     * Computes the class distribution for a feature row.
+     *
+     * @param features the feature values, NaN for missing values
+     * @return a new array with the distribution, or null if the tree gave none
+     */
+    public double[] distributionForFeatures(double[] features) {
+        Objects.requireNonNull(features, "Features cannot be null");
+        double[] result = evaluate(0, features);
+        return result == null ? null : result.clone();
+    }
+
+    /**
+     * Evaluates the subtree below a node.
+     * A missing split value sends the row down both branches and weighs their distributions by the split
+     * proportions; otherwise the returned array is shared and must not be modified.
+     *
+     * @param node     the node index
+     * @param features the feature values
+     * @return the distribution of the subtree, or null if it gives none
+     */
+    private double[] evaluate(int node, double[] features) {
+        double[] returned = null;
+        int feature = featureIndex[node];
+        if (feature >= 0) {
+            double value = features[feature];
+            if (Double.isNaN(value)) {
+                returned = new double[numClasses];
+                int[] children = {left[node], right[node]};
+                for (int i = 0; i < children.length; i++) {
+                    double[] help = evaluate(children[i], features);
+                    if (help != null) {
+                        for (int j = 0; j < help.length; j++) {
+                            returned[j] += splitProportions[node][i] * help[j];
+                        }
+                    }
+                }
+            } else if (value < threshold[node]) {
+                returned = evaluate(left[node], features);
+            } else {
+                returned = evaluate(right[node], features);
+            }
+        }
+        return returned != null ? returned : nodeDistribution[node];
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain record representing one candidate of a hyperparameter search.
+ * The score is the cross-validated accuracy over the folds evaluated, so a pruned candidate has a partial score.
+ *
+ * @author Kapil Garg
+ */
+public record HyperparameterCandidate(
+        Map<String, Integer> parameters,
+        double score,
+        int foldsEvaluated,
+        boolean pruned,
+        String errorMessage
+) {
+
+    public HyperparameterCandidate {
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        if (foldsEvaluated < 0) {
+            throw new IllegalArgumentException("Folds evaluated cannot be negative");
+        }
+        parameters = Map.copyOf(parameters);
+    }
+
+    /**
+     * Checks if the candidate was evaluated on every fold.
+     *
+     * @return true if the candidate was neither pruned nor failed
+     */
+    public boolean isCompleted() {
+        return !pruned && errorMessage == null;
+    }
+
+    @Override
+    public String toString() {
+        return """
+                HyperparameterCandidate{
+                    parameters=%s, score=%.4f, foldsEvaluated=%d, pruned=%s, errorMessage='%s'
+                }""".formatted(parameters, score, foldsEvaluated, pruned, errorMessage);
+    }
+
+}
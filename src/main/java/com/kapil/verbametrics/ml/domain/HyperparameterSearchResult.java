@@ -0,0 +1,57 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain record representing the outcome of a hyperparameter search.
+ * The training result is that of the winning parameters, and is null until the winner has been trained.
+ *
+ * @author Kapil Garg
+ */
+public record HyperparameterSearchResult(
+        SearchStrategy strategy,
+        Map<String, Object> bestParameters,
+        double bestScore,
+        List<HyperparameterCandidate> candidates,
+        long searchTimeMs,
+        ModelTrainingResult trainingResult
+) {
+
+    public HyperparameterSearchResult {
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        Objects.requireNonNull(bestParameters, "Best parameters cannot be null");
+        Objects.requireNonNull(candidates, "Candidates cannot be null");
+        candidates = List.copyOf(candidates);
+    }
+
+    /**
+     * Returns a copy of this result with the training result of the winning parameters.
+     *
+     * @param trainingResult the training result of the winner
+     * @return the search result with its training result
+     */
+    public HyperparameterSearchResult withTrainingResult(ModelTrainingResult trainingResult) {
+        return new HyperparameterSearchResult(strategy, bestParameters, bestScore, candidates, searchTimeMs,
+                trainingResult);
+    }
+
+    /**
+     * Gets the number of candidates pruned before being evaluated on every fold.
+     *
+     * @return the number of pruned candidates
+     */
+    public int getPrunedCount() {
+        return (int) candidates.stream().filter(HyperparameterCandidate::pruned).count();
+    }
+
+    @Override
+    public String toString() {
+        return """
+                HyperparameterSearchResult{
+                    strategy=%s, bestParameters=%s, bestScore=%.4f, candidates=%d, pruned=%d, searchTimeMs=%d
+                }""".formatted(strategy, bestParameters, bestScore, candidates.size(), getPrunedCount(), searchTimeMs);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain record representing the prediction of a model for a single input.
+ * The distribution is copied once on construction and is read-only afterwards, so a result can be cached and
+ * shared safely.
+ *
+ * @author Kapil Garg
+ */
+public record PredictionResult(
+        String modelId,
+        String modelType,
+        int labelIndex,
+        String label,
+        double confidence,
+        double probability,
+        double[] distribution
+) {
+
+    public PredictionResult {
+        BaseMLResult.validateModelId(modelId);
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(label, "Label cannot be null");
+        Objects.requireNonNull(distribution, "Distribution cannot be null");
+        distribution = distribution.clone();
+    }
+
+    /**
+     * @return the class distribution, shared with every reader of this result and not to be modified
+     */
+    @Override
+    public double[] distribution() {
+        return distribution;
+    }
+
+    /**
+     * Converts the prediction into the map form returned by the map-based prediction API.
+     *
+     * @return the prediction result map, sharing the read-only distribution and with the current time as timestamp
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("prediction", label);
+        result.put("predictionIndex", labelIndex);
+        result.put("confidence", confidence);
+        result.put("probability", probability);
+        result.put("probabilities", distribution);
+        result.put("modelType", modelType);
+        result.put("timestamp", System.currentTimeMillis());
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof PredictionResult that
+                && labelIndex == that.labelIndex
+                && Double.compare(confidence, that.confidence) == 0
+                && Double.compare(probability, that.probability) == 0
+                && modelId.equals(that.modelId)
+                && modelType.equals(that.modelType)
+                && label.equals(that.label)
+                && Arrays.equals(distribution, that.distribution);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(modelId, modelType, labelIndex, label, confidence, probability);
+        return 31 * result + Arrays.hashCode(distribution);
+    }
+
+    @Override
+    public String toString() {
+        return """
+                PredictionResult{
+                    modelId='%s', modelType='%s', label='%s', labelIndex=%d, confidence=%.3f, probability=%.3f
+                }""".formatted(modelId, modelType, label, labelIndex, confidence, probability);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.kapil.verbametrics.ml.domain;
+
+/**
+ * Strategy of a hyperparameter search over a discrete search space.
+ *
+ * @author Kapil Garg
+ */
+public enum SearchStrategy {
+
+    /**
+     * Evaluates every combination of the search space.
+     */
+    GRID,
+
+    /**
+     * Evaluates a random sample of distinct combinations of the search space.
+     */
+    RANDOM
+
+}
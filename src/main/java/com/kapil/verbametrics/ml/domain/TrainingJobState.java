@@ -0,0 +1,43 @@
+package com.kapil.verbametrics.ml.domain;
+
+/**
+ * States of a training job, in the order a successful job moves through them.
+ * A job ends in DONE, FAILED or CANCELLED.
+ *
+ * @author Kapil Garg
+ */
+public enum TrainingJobState {
+
+    QUEUED(0.0),
+    RUNNING(0.1),
+    EVALUATING(0.5),
+    PERSISTING(0.9),
+    DONE(1.0),
+    FAILED(1.0),
+    CANCELLED(1.0);
+
+    private final double progress;
+
+    TrainingJobState(double progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Gets the fraction of the job completed when it enters this state.
+     *
+     * @return the progress between 0.0 and 1.0
+     */
+    public double progress() {
+        return progress;
+    }
+
+    /**
+     * Checks if a job in this state has ended.
+     *
+     * @return true for DONE, FAILED and CANCELLED
+     */
+    public boolean isTerminal() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Domain record representing a snapshot of a training job.
+ *
+ * @author Kapil Garg
+ */
+public record TrainingJobStatus(
+        String jobId,
+        String modelType,
+        TrainingJobState state,
+        ModelTrainingResult result,
+        String errorMessage,
+        LocalDateTime submittedAt,
+        LocalDateTime updatedAt
+) {
+
+    public TrainingJobStatus {
+        Objects.requireNonNull(jobId, "Job ID cannot be null");
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(state, "State cannot be null");
+        Objects.requireNonNull(submittedAt, "Submitted time cannot be null");
+        Objects.requireNonNull(updatedAt, "Updated time cannot be null");
+    }
+
+    /**
+     * Gets the fraction of the job completed.
+     *
+     * @return the progress between 0.0 and 1.0
+     */
+    public double progress() {
+        return state.progress();
+    }
+
+    /**
+     * Checks if the job has ended.
+     *
+     * @return true if the job is done, failed or cancelled
+     */
+    public boolean isFinished() {
+        return state.isTerminal();
+    }
+
+    @Override
+    public String toString() {
+        return """
+                TrainingJobStatus{
+                    jobId='%s', modelType='%s', state=%s, progress=%.2f, errorMessage='%s'
+                }""".formatted(jobId, modelType, state, progress(), errorMessage);
+    }
+
+}
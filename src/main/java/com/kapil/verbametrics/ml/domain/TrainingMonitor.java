@@ -0,0 +1,30 @@
+package com.kapil.verbametrics.ml.domain;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Callback notified as model training moves through its stages.
+ * A monitor stops training by throwing on entry to a stage. Training also re-enters its current stage between
+ * cross-validation folds and between ensemble members, so a monitor must treat re-entering the current stage as
+ * a check for cancellation only.
+ *
+ * @author Kapil Garg
+ */
+@FunctionalInterface
+public interface TrainingMonitor {
+
+    /**
+     * Monitor that ignores all stages.
+     */
+    TrainingMonitor NONE = state -> {
+    };
+
+    /**
+     * Called when training enters a stage: RUNNING, EVALUATING or PERSISTING, or re-enters its current stage.
+     *
+     * @param state the stage being entered
+     * @throws CancellationException if training should stop before the stage
+     */
+    void enterStage(TrainingJobState state);
+
+}
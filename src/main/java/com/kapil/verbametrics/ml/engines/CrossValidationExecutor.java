@@ -0,0 +1,249 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.Classifier;
+import weka.classifiers.Evaluation;
+import weka.classifiers.ParallelIteratedSingleClassifierEnhancer;
+import weka.core.Instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Executor for cross-validating models with one worker per fold.
+ * Folds are drawn exactly as {@link Evaluation#crossValidateModel} draws them, then each fold trains its own copy of
+ * the classifier on its own worker. The trained fold models are evaluated into one evaluation in fold order, with the
+ * class priors of each fold, as {@link Evaluation#crossValidateModel} does, so the confusion matrix, the metrics
+ * derived from it and the recorded predictions are identical to a sequential run with the same random seed.
+ * Ensembles trained on concurrent folds build their members on the fold worker, so that the workers do not each start
+ * a thread per core.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class CrossValidationExecutor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrossValidationExecutor.class);
+
+    private static final int DEFAULT_THREADS = 0;
+
+    private final MLModelProperties properties;
+    private ExecutorService executor;
+    private boolean closed;
+
+    @Autowired
+    public CrossValidationExecutor(MLModelProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Cross-validates a classifier. The classifier itself is not modified, as each fold trains its own copy.
+     *
+     * @param classifier the classifier to cross-validate
+     * @param data       the dataset, with its class index set
+     * @param folds      the number of folds
+     * @param random     the random number generator used to shuffle and split the dataset
+     * @return the evaluation accumulated over all folds
+     * @throws Exception if a fold cannot be trained or evaluated
+     */
+    public Evaluation crossValidate(Classifier classifier, Instances data, int folds, Random random) throws Exception {
+        return crossValidate(classifier, data, folds, random, TrainingMonitor.NONE);
+    }
+
+    /**
+     * Cross-validates a classifier within the evaluating stage of a training, re-entering the stage before each fold
+     * is trained so that the training can be cancelled between folds.
+     *
+     * @param classifier the classifier to cross-validate
+     * @param data       the dataset, with its class index set
+     * @param folds      the number of folds
+     * @param random     the random number generator used to shuffle and split the dataset
+     * @param monitor    the monitor of the training
+     * @return the evaluation accumulated over all folds
+     * @throws CancellationException if the monitor cancels the training
+     * @throws Exception             if a fold cannot be trained or evaluated
+     */
+    public Evaluation crossValidate(Classifier classifier, Instances data, int folds, Random random,
+                                    TrainingMonitor monitor) throws Exception {
+        Objects.requireNonNull(classifier, "Classifier cannot be null");
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
+        List<Fold> splits = split(data, folds, random);
+        boolean parallel = getThreads() > 1;
+        Classifier template = parallel ? withOneExecutionSlot(classifier) : classifier;
+        List<Callable<Classifier>> tasks = new ArrayList<>(splits.size());
+        for (Fold fold : splits) {
+            tasks.add(() -> {
+                monitor.enterStage(TrainingJobState.EVALUATING);
+                return trainFold(template, fold.train());
+            });
+        }
+        List<Classifier> models = parallel ? runParallel(tasks) : runSequential(tasks);
+        Evaluation evaluation = new Evaluation(data);
+        for (int fold = 0; fold < splits.size(); fold++) {
+            evaluation.setPriors(splits.get(fold).train());
+            evaluation.evaluateModel(models.get(fold), splits.get(fold).test());
+        }
+        return evaluation;
+    }
+
+    /**
+     * Stops the fold workers.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Splits a dataset into cross-validation folds, drawn exactly as {@link Evaluation#crossValidateModel} draws them.
+     *
+     * @param data   the dataset, with its class index set
+     * @param folds  the number of folds
+     * @param random the random number generator used to shuffle and split the dataset
+     * @return the folds in order
+     * @throws IllegalArgumentException if the number of folds is less than 2 or more than the number of instances
+     */
+    static List<Fold> split(Instances data, int folds, Random random) {
+        Objects.requireNonNull(data, "Data cannot be null");
+        Objects.requireNonNull(random, "Random cannot be null");
+        if (folds < 2 || folds > data.numInstances()) {
+            throw new IllegalArgumentException("Number of folds must be between 2 and " + data.numInstances()
+                    + ", got " + folds);
+        }
+        Instances shuffled = new Instances(data);
+        shuffled.randomize(random);
+        if (shuffled.classAttribute().isNominal()) {
+            shuffled.stratify(folds);
+        }
+        // Splits consume the random sequence, so they are drawn up front in fold order
+        List<Fold> splits = new ArrayList<>(folds);
+        for (int fold = 0; fold < folds; fold++) {
+            splits.add(new Fold(shuffled.trainCV(folds, fold, random), shuffled.testCV(folds, fold)));
+        }
+        return splits;
+    }
+
+    /**
+     * Copies an ensemble to build its members on the calling thread, for training on one of several workers.
+     * Ensembles build the same members whatever their number of execution slots.
+     *
+     * @param classifier the classifier
+     * @return a copy of the ensemble with one execution slot, or the classifier itself if it is not an ensemble
+     * @throws Exception if the classifier cannot be copied
+     */
+    static Classifier withOneExecutionSlot(Classifier classifier) throws Exception {
+        if (!(classifier instanceof ParallelIteratedSingleClassifierEnhancer)) {
+            return classifier;
+        }
+        ParallelIteratedSingleClassifierEnhancer copy =
+                (ParallelIteratedSingleClassifierEnhancer) AbstractClassifier.makeCopy(classifier);
+        copy.setNumExecutionSlots(1);
+        return copy;
+    }
+
+    /**
+     * Trains a copy of the classifier on the training instances of a fold.
+     *
+     * @param classifier the classifier to copy
+     * @param train      the training instances of the fold
+     * @return the trained copy
+     * @throws Exception if the fold cannot be trained
+     */
+    static Classifier trainFold(Classifier classifier, Instances train) throws Exception {
+        Classifier copy = AbstractClassifier.makeCopy(classifier);
+        copy.buildClassifier(train);
+        return copy;
+    }
+
+    /**
+     * Trains a copy of the classifier on a fold and evaluates it on the held-out instances.
+     *
+     * @param classifier the classifier to copy
+     * @param train      the training instances of the fold
+     * @param test       the held-out instances of the fold
+     * @return the evaluation of the fold, with the class priors of its training instances
+     * @throws Exception if the fold cannot be trained or evaluated
+     */
+    static Evaluation evaluateFold(Classifier classifier, Instances train, Instances test) throws Exception {
+        Evaluation evaluation = new Evaluation(train);
+        evaluation.evaluateModel(trainFold(classifier, train), test);
+        return evaluation;
+    }
+
+    private static List<Classifier> runSequential(List<Callable<Classifier>> tasks) throws Exception {
+        List<Classifier> models = new ArrayList<>(tasks.size());
+        for (Callable<Classifier> task : tasks) {
+            models.add(task.call());
+        }
+        return models;
+    }
+
+    private List<Classifier> runParallel(List<Callable<Classifier>> tasks) throws Exception {
+        List<Future<Classifier>> futures = getExecutor().invokeAll(tasks);
+        List<Classifier> models = new ArrayList<>(futures.size());
+        try {
+            for (Future<Classifier> future : futures) {
+                models.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return models;
+    }
+
+    /**
+     * Gets the fold worker pool, creating it on first use.
+     *
+     * @return the executor of fold training
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (closed) {
+            throw new IllegalStateException("Cross-validation executor is closed");
+        }
+        if (executor == null) {
+            int threads = getThreads();
+            executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("cross-validation-", 0).daemon().factory());
+            LOGGER.debug("Started cross-validation executor with {} threads", threads);
+        }
+        return executor;
+    }
+
+    /**
+     * Gets the number of folds evaluated at once.
+     *
+     * @return the configured number of threads, or the number of available processors if not positive
+     */
+    private int getThreads() {
+        int threads = properties.getTrainingLimits().getOrDefault("cross-validation-threads", DEFAULT_THREADS);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * A cross-validation fold.
+     *
+     * @param train the training instances of the fold
+     * @param test  the held-out instances of the fold
+     */
+    record Fold(Instances train, Instances test) {
+    }
+
+}
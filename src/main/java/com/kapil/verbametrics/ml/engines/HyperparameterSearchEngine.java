@@ -0,0 +1,388 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.HyperparameterCandidate;
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import weka.classifiers.Classifier;
+import weka.classifiers.Evaluation;
+import weka.core.Instances;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Engine for searching the training parameters of a model.
+ * Candidates are drawn from a discrete search space by grid or random search and cross-validated concurrently,
+ * all on the same folds as the cross-validation of the trained model. Candidates are evaluated in batches of a
+ * configured size, in search order: the first batch is evaluated in full, and every candidate of a later batch is
+ * pruned once it has been evaluated on a minimum number of folds and its accuracy so far trails the best accuracy of
+ * the earlier batches by more than a margin. Since the batches do not depend on the number of threads or on which
+ * candidates finish first, a concurrent search prunes the same candidates as a sequential one. Ensembles evaluated
+ * concurrently build their members on the worker thread, so that the workers do not each start a thread per core.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class HyperparameterSearchEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HyperparameterSearchEngine.class);
+
+    private static final int CROSS_VALIDATION_SEED = 1;
+    private static final int CROSS_VALIDATION_FOLDS = 5;
+    private static final int SEARCH_SEED = 1;
+    private static final int DEFAULT_THREADS = 0;
+    private static final int DEFAULT_RANDOM_CANDIDATES = 20;
+    private static final int DEFAULT_MAX_CANDIDATES = 200;
+    private static final int DEFAULT_MIN_FOLDS = 2;
+    private static final int DEFAULT_BATCH_CANDIDATES = 4;
+    private static final double DEFAULT_PRUNE_MARGIN = 0.1;
+
+    private static final Map<String, List<Integer>> DEFAULT_SEARCH_SPACE = createDefaultSearchSpace();
+
+    private final MLModelProperties properties;
+    private final ModelTrainingEngine trainingEngine;
+    private ExecutorService executor;
+    private boolean closed;
+
+    @Autowired
+    public HyperparameterSearchEngine(MLModelProperties properties, ModelTrainingEngine trainingEngine) {
+        this.properties = properties;
+        this.trainingEngine = trainingEngine;
+    }
+
+    /**
+     * Searches for the parameters with the best cross-validated accuracy.
+     *
+     * @param trainingData The training dataset
+     * @param parameters   The training parameters shared by all candidates, such as the algorithm
+     * @param searchSpace  The values to try for each searched parameter, in order
+     * @param strategy     The search strategy
+     * @return The search result, with the winning parameters merged into the shared parameters and no training result
+     * @throws IllegalArgumentException if the search space is empty or has more candidates than allowed
+     * @throws IllegalStateException    if no candidate could be evaluated
+     * @throws InterruptedException     if the search is interrupted
+     */
+    public HyperparameterSearchResult search(List<Map<String, Object>> trainingData, Map<String, Object> parameters,
+                                             Map<String, List<Integer>> searchSpace, SearchStrategy strategy)
+            throws InterruptedException {
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(searchSpace, "Search space cannot be null");
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        long startTime = System.currentTimeMillis();
+        List<Map<String, Integer>> candidates = switch (strategy) {
+            case GRID -> gridCandidates(searchSpace, getMaxCandidates());
+            case RANDOM -> randomCandidates(searchSpace, getRandomCandidates(), new Random(SEARCH_SEED));
+        };
+        Instances numericDataset = trainingEngine.prepareNumericDataset(trainingData);
+        List<CrossValidationExecutor.Fold> folds = CrossValidationExecutor.split(numericDataset,
+                Math.min(CROSS_VALIDATION_FOLDS, numericDataset.numInstances()), new Random(CROSS_VALIDATION_SEED));
+        int batchSize = Math.max(1, getBatchCandidates());
+        List<HyperparameterCandidate> evaluated = new ArrayList<>(candidates.size());
+        double best = Double.NEGATIVE_INFINITY;
+        for (int start = 0; start < candidates.size(); start += batchSize) {
+            List<HyperparameterCandidate> batch = evaluateCandidates(
+                    candidates.subList(start, Math.min(start + batchSize, candidates.size())), parameters, folds, best);
+            for (HyperparameterCandidate candidate : batch) {
+                if (candidate.isCompleted()) {
+                    best = Math.max(best, candidate.score());
+                }
+            }
+            evaluated.addAll(batch);
+        }
+        HyperparameterCandidate winner = null;
+        for (HyperparameterCandidate candidate : evaluated) {
+            if (candidate.isCompleted() && (winner == null || candidate.score() > winner.score())) {
+                winner = candidate;
+            }
+        }
+        if (winner == null) {
+            throw new IllegalStateException("No hyperparameter candidate could be evaluated: "
+                    + evaluated.getFirst().errorMessage());
+        }
+        long searchTime = System.currentTimeMillis() - startTime;
+        HyperparameterSearchResult result = new HyperparameterSearchResult(strategy,
+                withCandidate(parameters, winner.parameters()), winner.score(), evaluated, searchTime, null);
+        LOGGER.info("Hyperparameter search evaluated {} candidates ({} pruned) in {}ms, best accuracy {} with {}",
+                evaluated.size(), result.getPrunedCount(), searchTime, winner.score(), winner.parameters());
+        return result;
+    }
+
+    /**
+     * Gets the search space used when none is given.
+     *
+     * @return The default values of max-depth, min-samples-split, k-value and random-state
+     */
+    public Map<String, List<Integer>> getDefaultSearchSpace() {
+        return DEFAULT_SEARCH_SPACE;
+    }
+
+    /**
+     * Stops the search workers.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Lists every combination of the search space, varying the last parameter fastest.
+     *
+     * @param searchSpace   The values of each searched parameter
+     * @param maxCandidates The maximum number of combinations
+     * @return The combinations in order
+     * @throws IllegalArgumentException if the search space is empty or has more combinations than the maximum
+     */
+    static List<Map<String, Integer>> gridCandidates(Map<String, List<Integer>> searchSpace, int maxCandidates) {
+        long size = countCandidates(searchSpace);
+        if (size > maxCandidates) {
+            throw new IllegalArgumentException("Search space has " + size + " candidates, more than the maximum of "
+                    + maxCandidates);
+        }
+        List<Map<String, Integer>> candidates = new ArrayList<>((int) size);
+        for (int index = 0; index < size; index++) {
+            candidates.add(candidateAt(searchSpace, index));
+        }
+        return candidates;
+    }
+
+    /**
+     * Samples distinct combinations of the search space, or lists them all if there are fewer than requested.
+     *
+     * @param searchSpace The values of each searched parameter
+     * @param count       The number of combinations to sample
+     * @param random      The random number generator used to sample
+     * @return The sampled combinations
+     * @throws IllegalArgumentException if the search space is empty
+     */
+    static List<Map<String, Integer>> randomCandidates(Map<String, List<Integer>> searchSpace, int count,
+                                                       Random random) {
+        long size = countCandidates(searchSpace);
+        if (size <= count) {
+            return gridCandidates(searchSpace, count);
+        }
+        Set<Long> sampled = new LinkedHashSet<>();
+        while (sampled.size() < count) {
+            sampled.add(random.nextLong(size));
+        }
+        List<Map<String, Integer>> candidates = new ArrayList<>(count);
+        for (long index : sampled) {
+            candidates.add(candidateAt(searchSpace, index));
+        }
+        return candidates;
+    }
+
+    /**
+     * Counts the combinations of a search space.
+     *
+     * @param searchSpace The values of each searched parameter
+     * @return The number of combinations
+     * @throws IllegalArgumentException if the search space is empty or a parameter has no values
+     */
+    private static long countCandidates(Map<String, List<Integer>> searchSpace) {
+        if (searchSpace.isEmpty()) {
+            throw new IllegalArgumentException("Search space cannot be empty");
+        }
+        long size = 1;
+        for (Map.Entry<String, List<Integer>> entry : searchSpace.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                throw new IllegalArgumentException("No values to search for parameter: " + entry.getKey());
+            }
+            size = Math.multiplyExact(size, entry.getValue().size());
+        }
+        return size;
+    }
+
+    /**
+     * Gets a combination of the search space by its position in grid order.
+     *
+     * @param searchSpace The values of each searched parameter
+     * @param index       The position of the combination
+     * @return The combination
+     */
+    private static Map<String, Integer> candidateAt(Map<String, List<Integer>> searchSpace, long index) {
+        List<String> names = new ArrayList<>(searchSpace.keySet());
+        Map<String, Integer> candidate = new LinkedHashMap<>();
+        for (int i = names.size() - 1; i >= 0; i--) {
+            List<Integer> values = searchSpace.get(names.get(i));
+            candidate.put(names.get(i), values.get((int) (index % values.size())));
+            index /= values.size();
+        }
+        return candidate;
+    }
+
+    /**
+     * Merges a candidate into the shared training parameters, disabling the adaptive caps so that the candidate
+     * values are applied as they are.
+     *
+     * @param parameters The shared training parameters
+     * @param candidate  The candidate parameters
+     * @return The training parameters of the candidate
+     */
+    private static Map<String, Object> withCandidate(Map<String, Object> parameters, Map<String, Integer> candidate) {
+        Map<String, Object> merged = new HashMap<>(parameters);
+        merged.putAll(candidate);
+        merged.put(VerbaMetricsConstants.PARAM_ADAPTIVE, false);
+        return merged;
+    }
+
+    /**
+     * Cross-validates candidates, concurrently when more than one search thread is configured.
+     *
+     * @param candidates The candidate parameters
+     * @param parameters The shared training parameters
+     * @param folds      The cross-validation folds
+     * @param best       The best accuracy of the earlier candidates, which the candidates are pruned against
+     * @return The evaluated candidates, in the order given
+     * @throws InterruptedException if the search is interrupted
+     */
+    private List<HyperparameterCandidate> evaluateCandidates(List<Map<String, Integer>> candidates,
+                                                             Map<String, Object> parameters,
+                                                             List<CrossValidationExecutor.Fold> folds, double best)
+            throws InterruptedException {
+        boolean parallel = getThreads() > 1 && candidates.size() > 1;
+        List<Callable<HyperparameterCandidate>> tasks = new ArrayList<>(candidates.size());
+        for (Map<String, Integer> candidate : candidates) {
+            tasks.add(() -> evaluateCandidate(candidate, withCandidate(parameters, candidate), folds, best,
+                    parallel));
+        }
+        return parallel ? runParallel(tasks) : runSequential(tasks);
+    }
+
+    /**
+     * Cross-validates a candidate fold by fold, stopping early once it is clearly worse than the best so far.
+     *
+     * @param candidate  The candidate parameters
+     * @param parameters The training parameters of the candidate
+     * @param folds      The cross-validation folds
+     * @param best       The best accuracy of the earlier candidates, or negative infinity to never prune
+     * @param parallel   Whether other candidates are evaluated at the same time
+     * @return The evaluated candidate
+     */
+    private HyperparameterCandidate evaluateCandidate(Map<String, Integer> candidate, Map<String, Object> parameters,
+                                                      List<CrossValidationExecutor.Fold> folds, double best,
+                                                      boolean parallel) {
+        int minFolds = getMinFolds();
+        double margin = getPruneMargin();
+        double correct = 0;
+        double total = 0;
+        int fold = 0;
+        try {
+            Classifier classifier = trainingEngine.createClassifier(folds.getFirst().train(), parameters);
+            if (parallel) {
+                classifier = CrossValidationExecutor.withOneExecutionSlot(classifier);
+            }
+            for (; fold < folds.size(); fold++) {
+                if (fold >= minFolds && correct / total < best - margin) {
+                    return new HyperparameterCandidate(candidate, correct / total, fold, true, null);
+                }
+                CrossValidationExecutor.Fold split = folds.get(fold);
+                Evaluation evaluation = CrossValidationExecutor.evaluateFold(classifier, split.train(), split.test());
+                correct += evaluation.correct();
+                total += evaluation.numInstances();
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to evaluate hyperparameter candidate {}: {}", candidate, e.getMessage());
+            return new HyperparameterCandidate(candidate, Double.NaN, fold, false, e.getMessage());
+        }
+        return new HyperparameterCandidate(candidate, correct / total, folds.size(), false, null);
+    }
+
+    private static List<HyperparameterCandidate> runSequential(List<Callable<HyperparameterCandidate>> tasks)
+            throws InterruptedException {
+        List<HyperparameterCandidate> candidates = new ArrayList<>(tasks.size());
+        for (Callable<HyperparameterCandidate> task : tasks) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Hyperparameter search interrupted");
+            }
+            try {
+                candidates.add(task.call());
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to evaluate hyperparameter candidate", e);
+            }
+        }
+        return candidates;
+    }
+
+    private List<HyperparameterCandidate> runParallel(List<Callable<HyperparameterCandidate>> tasks)
+            throws InterruptedException {
+        List<Future<HyperparameterCandidate>> futures = getExecutor().invokeAll(tasks);
+        List<HyperparameterCandidate> candidates = new ArrayList<>(futures.size());
+        try {
+            for (Future<HyperparameterCandidate> future : futures) {
+                candidates.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to evaluate hyperparameter candidate", e.getCause());
+        }
+        return candidates;
+    }
+
+    /**
+     * Gets the search worker pool, creating it on first use.
+     *
+     * @return the executor of candidate evaluations
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (closed) {
+            throw new IllegalStateException("Hyperparameter search engine is closed");
+        }
+        if (executor == null) {
+            int threads = getThreads();
+            executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("hyperparameter-search-", 0).daemon().factory());
+            LOGGER.debug("Started hyperparameter search executor with {} threads", threads);
+        }
+        return executor;
+    }
+
+    /**
+     * Gets the number of candidates evaluated at once.
+     *
+     * @return the configured number of threads, or the number of available processors if not positive
+     */
+    private int getThreads() {
+        int threads = properties.getTrainingLimits().getOrDefault("search-threads", DEFAULT_THREADS);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private int getMaxCandidates() {
+        return properties.getTrainingLimits().getOrDefault("search-max-candidates", DEFAULT_MAX_CANDIDATES);
+    }
+
+    private int getRandomCandidates() {
+        return properties.getTrainingLimits().getOrDefault("search-random-candidates", DEFAULT_RANDOM_CANDIDATES);
+    }
+
+    private int getMinFolds() {
+        return properties.getTrainingLimits().getOrDefault("search-min-folds-before-pruning", DEFAULT_MIN_FOLDS);
+    }
+
+    private int getBatchCandidates() {
+        return properties.getTrainingLimits().getOrDefault("search-batch-candidates", DEFAULT_BATCH_CANDIDATES);
+    }
+
+    private double getPruneMargin() {
+        return properties.getPerformanceThresholds().getOrDefault("search-prune-margin", DEFAULT_PRUNE_MARGIN);
+    }
+
+    private static Map<String, List<Integer>> createDefaultSearchSpace() {
+        Map<String, List<Integer>> searchSpace = new LinkedHashMap<>();
+        searchSpace.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, List.of(3, 5, 8, 12, 0));
+        searchSpace.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT, List.of(1, 2, 5));
+        searchSpace.put(VerbaMetricsConstants.PARAM_K_VALUE, List.of(0, 1, 2));
+        searchSpace.put(VerbaMetricsConstants.PARAM_RANDOM_STATE, List.of(1, 42));
+        return Collections.unmodifiableMap(searchSpace);
+    }
+
+}
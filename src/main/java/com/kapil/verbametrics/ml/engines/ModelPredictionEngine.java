@@ -1,19 +1,36 @@
 package com.kapil.verbametrics.ml.engines;
 
 import com.kapil.verbametrics.ml.config.ClassValueManager;
-import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
+import com.kapil.verbametrics.ml.domain.FlatDecisionTree;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.PredictionCacheManager;
+import com.kapil.verbametrics.ml.utils.RandomTreeCompiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import weka.classifiers.Classifier;
+import weka.classifiers.IteratedSingleClassifierEnhancer;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instance;
 import weka.core.Instances;
+import weka.core.Utils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
 /**
  * Engine for model prediction operations.
  * Handles the core logic for making predictions using trained models.
+ * RandomTree models are compiled into flat decision trees and evaluated on raw feature rows,
+ * with the same results as evaluating them through Weka.
+ * Results are cached by model and feature vector when the prediction cache is enabled.
  *
  * @author Kapil Garg
  */
@@ -22,17 +39,29 @@ public class ModelPredictionEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelPredictionEngine.class);
 
-    private final ModelFileManager fileManager;
+    private static final int PARALLEL_BATCH_THRESHOLD = 1_000;
+    private static final int MIN_PARALLEL_BATCH_SIZE = 2;
+
+    private final ClassifierCacheManager classifierCache;
     private final ClassValueManager classValueManager;
+    private final PredictionCacheManager predictionCache;
+    private final Map<Classifier, Optional<FlatDecisionTree>> compiledTrees = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public ModelPredictionEngine(ClassifierCacheManager classifierCache, ClassValueManager classValueManager) {
+        this(classifierCache, classValueManager, new PredictionCacheManager(new MLModelProperties()));
+    }
 
     @Autowired
-    public ModelPredictionEngine(ModelFileManager fileManager, ClassValueManager classValueManager) {
-        this.fileManager = fileManager;
+    public ModelPredictionEngine(ClassifierCacheManager classifierCache, ClassValueManager classValueManager,
+                                 PredictionCacheManager predictionCache) {
+        this.classifierCache = classifierCache;
         this.classValueManager = classValueManager;
+        this.predictionCache = predictionCache;
     }
 
     /**
      * Makes predictions using a trained model.
+     * Adapts {@link #predictResult(String, Map)} to a result map, reporting failures as an error map.
      *
      * @param modelId the ID of the trained model
      * @param input   the input data for prediction
@@ -42,18 +71,7 @@ public class ModelPredictionEngine {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
         Objects.requireNonNull(input, "Input cannot be null");
         try {
-            if (!input.containsKey("text")) {
-                throw new IllegalArgumentException("Input data must contain 'text' field");
-            }
-            if (!input.containsKey("features")) {
-                throw new IllegalArgumentException("Input data must contain 'features' field");
-            }
-            Object model = fileManager.loadModelFromFile(modelId)
-                    .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelId));
-            if (!(model instanceof Classifier)) {
-                throw new IllegalArgumentException("Loaded model is not a Weka Classifier: " + model.getClass().getSimpleName());
-            }
-            return performPrediction(model, input, modelId);
+            return predictResult(modelId, input).toMap();
         } catch (Exception e) {
             LOGGER.error("Failed to make prediction with model: {}", modelId, e);
             Map<String, Object> errorResult = new HashMap<>();
@@ -65,52 +83,334 @@ public class ModelPredictionEngine {
     }
 
     /**
-     * Performs prediction based on the model type.
+     * Makes a prediction using a trained model.
      *
-     * @param model   The trained model
-     * @param input   The input data for prediction
-     * @param modelId The model ID for class value lookup
-     * @return Prediction result with confidence scores
-     * @throws Exception if prediction fails
+     * @param modelId the ID of the trained model
+     * @param input   the input data for prediction
+     * @return the prediction result
+     * @throws IllegalArgumentException if the input is invalid or the model is not found
+     * @throws IllegalStateException    if the model fails to classify the input
      */
-    private Map<String, Object> performPrediction(Object model, Map<String, Object> input, String modelId) throws Exception {
-        if (model instanceof Classifier) {
-            return predictWithWekaModel((Classifier) model, input, modelId);
-        } else {
-            throw new IllegalArgumentException("Unsupported model type: " + model.getClass().getSimpleName());
+    public PredictionResult predictResult(String modelId, Map<String, Object> input) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        validateInput(input);
+        return predictFeatures(modelId, input.get("features"));
+    }
+
+    /**
+     * Makes a prediction for a feature vector using a trained model.
+     *
+     * @param modelId  the ID of the trained model
+     * @param features the feature vector
+     * @return the prediction result
+     * @throws IllegalArgumentException if the model is not found
+     * @throws IllegalStateException    if the model fails to classify the input
+     */
+    public PredictionResult predictResult(String modelId, double[] features) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(features, "Features cannot be null");
+        return predictFeatures(modelId, features);
+    }
+
+    /**
+     * Makes predictions for a batch of inputs using a trained model.
+     * The model and its class values are resolved once, and inputs with the same number of features share one
+     * dataset header. Large batches are split across the available cores, and inputs found in the prediction cache
+     * are not scored again. An input that cannot be predicted is reported as failed without failing the batch.
+     *
+     * @param modelId the ID of the trained model
+     * @param inputs  the input data for prediction
+     * @return the batch prediction result, in input order
+     * @throws IllegalArgumentException if the model is not found
+     */
+    public BatchPredictionResult predictBatch(String modelId, List<Map<String, Object>> inputs) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        long startTime = System.currentTimeMillis();
+        long generation = predictionCache.getGeneration(modelId);
+        Classifier model = classifierCache.getClassifier(modelId)
+                .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelId));
+        List<String> classValues = getClassValues(modelId);
+        FlatDecisionTree tree = getCompiledTree(model);
+        List<Map<String, Object>> rows = new ArrayList<>(inputs);
+        int size = rows.size();
+        int[] predictionIndices = new int[size];
+        double[] confidences = new double[size];
+        double[][] probabilities = new double[size][];
+        String[] errors = new String[size];
+        Map<Integer, Instances> headers = new ConcurrentHashMap<>();
+        IntStream indices = IntStream.range(0, size);
+        if (size >= getParallelThreshold(model)) {
+            indices = indices.parallel();
         }
+        indices.forEach(i -> {
+            try {
+                Map<String, Object> input = rows.get(i);
+                validateInput(input);
+                Instances header = headers.computeIfAbsent(countFeatures(input.get("features")),
+                        featureCount -> createPredictionHeader(featureCount, classValues));
+                if (predictionCache.isEnabled()) {
+                    PredictionResult result = scoreCached(modelId, generation, model, tree, header,
+                            input.get("features"));
+                    predictionIndices[i] = result.labelIndex();
+                    confidences[i] = result.confidence();
+                    probabilities[i] = result.distribution();
+                } else {
+                    ScoredInstance scored = scoreInstance(model, tree, header, input.get("features"));
+                    predictionIndices[i] = scored.predictionIndex();
+                    confidences[i] = scored.confidence();
+                    probabilities[i] = scored.probabilities();
+                }
+            } catch (Exception e) {
+                predictionIndices[i] = -1;
+                errors[i] = "Prediction failed: " + e.getMessage();
+            }
+        });
+        long predictionTime = System.currentTimeMillis() - startTime;
+        LOGGER.info("Batch prediction of {} inputs completed in {}ms for model: {}", size, predictionTime, modelId);
+        return new BatchPredictionResult(modelId, model.getClass().getSimpleName(), classValues, predictionIndices,
+                confidences, probabilities, errors, predictionTime);
     }
 
     /**
-     * Makes prediction using a Weka Classifier model based on input data.
+     * Makes predictions for a batch of feature vectors using a trained model, filling a caller-supplied array.
+     * The model and its class values are resolved once, and feature vectors of the same length share one
+     * dataset header. Large batches are split across the available cores, and feature vectors found in the
+     * prediction cache are not scored again.
      *
-     * @param model   the Weka Classifier model
-     * @param input   the input data for prediction
-     * @param modelId the model ID for class value lookup
-     * @return prediction result with confidence scores
-     * @throws Exception if prediction fails
+     * @param modelId  the ID of the trained model
+     * @param features the feature vectors
+     * @param results  the array receiving the prediction of each feature vector at the same position
+     * @throws IllegalArgumentException if the model is not found or the arrays differ in length
+     * @throws IllegalStateException    if the model fails to classify a feature vector
+     */
+    public void predictBatch(String modelId, double[][] features, PredictionResult[] results) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(features, "Features cannot be null");
+        Objects.requireNonNull(results, "Results cannot be null");
+        if (features.length != results.length) {
+            throw new IllegalArgumentException("Features and results must have the same length");
+        }
+        long generation = predictionCache.getGeneration(modelId);
+        Classifier model = classifierCache.getClassifier(modelId)
+                .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelId));
+        List<String> classValues = getClassValues(modelId);
+        FlatDecisionTree tree = getCompiledTree(model);
+        Map<Integer, Instances> headers = new ConcurrentHashMap<>();
+        IntStream indices = IntStream.range(0, features.length);
+        if (features.length >= getParallelThreshold(model)) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            double[] row = Objects.requireNonNull(features[i], "Features cannot be null");
+            Instances header = headers.computeIfAbsent(row.length,
+                    featureCount -> createPredictionHeader(featureCount, classValues));
+            results[i] = scoreCached(modelId, generation, model, tree, header, row);
+        });
+    }
+
+    /**
+     * Evicts the cached classifier and predictions of a model, so that the next prediction loads the model file again.
+     *
+     * @param modelId the ID of the model
+     */
+    public void evictModel(String modelId) {
+        classifierCache.evictModel(modelId);
+        predictionCache.evictModel(modelId);
+    }
+
+    /**
+     * Predicts the features of an input, serving repeated feature vectors from the prediction cache.
+     *
+     * @param modelId     the ID of the trained model
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the prediction result
+     */
+    private PredictionResult predictFeatures(String modelId, Object featuresObj) {
+        double[] features = predictionCache.isEnabled() ? toFeatureArray(featuresObj) : null;
+        if (features != null) {
+            Optional<PredictionResult> cached = predictionCache.getPrediction(modelId, features);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        // Read before loading the model, so that a result of a model replaced meanwhile is not cached
+        long generation = predictionCache.getGeneration(modelId);
+        Classifier model = classifierCache.getClassifier(modelId)
+                .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelId));
+        Instances header = createPredictionHeader(countFeatures(featuresObj), getClassValues(modelId));
+        PredictionResult result = score(modelId, model, getCompiledTree(model), header, featuresObj);
+        if (features != null) {
+            predictionCache.cachePrediction(modelId, features, result, generation);
+        }
+        return result;
+    }
+
+    /**
+     * Classifies the features of an input into a prediction result, serving repeated feature vectors from the
+     * prediction cache.
+     *
+     * @param modelId     the ID of the trained model
+     * @param generation  the prediction cache generation of the model, read before the model was loaded
+     * @param model       the Weka Classifier model
+     * @param tree        the compiled form of the model, or null to classify through Weka
+     * @param header      the dataset header matching the input features
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the prediction result
+     * @throws IllegalStateException if the model fails to classify the input
      */
-    private Map<String, Object> predictWithWekaModel(Classifier model, Map<String, Object> input, String modelId) throws Exception {
-        Instances dataset = createPredictionDataset(input, modelId);
-        weka.core.Instance instance = dataset.instance(0);
-        double prediction = model.classifyInstance(instance);
-        double[] distribution = model.distributionForInstance(instance);
-        String predictionLabel = mapPredictionToLabel(prediction, dataset);
+    private PredictionResult scoreCached(String modelId, long generation, Classifier model, FlatDecisionTree tree,
+                                         Instances header, Object featuresObj) {
+        double[] features = predictionCache.isEnabled() ? toFeatureArray(featuresObj) : null;
+        if (features != null) {
+            Optional<PredictionResult> cached = predictionCache.getPrediction(modelId, features);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        PredictionResult result = score(modelId, model, tree, header, featuresObj);
+        if (features != null) {
+            predictionCache.cachePrediction(modelId, features, result, generation);
+        }
+        return result;
+    }
+
+    /**
+     * Classifies the features of an input into a prediction result.
+     *
+     * @param modelId     the ID of the trained model
+     * @param model       the Weka Classifier model
+     * @param tree        the compiled form of the model, or null to classify through Weka
+     * @param header      the dataset header matching the input features
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the prediction result
+     * @throws IllegalStateException if the model fails to classify the input
+     */
+    private PredictionResult score(String modelId, Classifier model, FlatDecisionTree tree, Instances header,
+                                   Object featuresObj) {
+        ScoredInstance scored = scoreInstance(model, tree, header, featuresObj);
+        return new PredictionResult(modelId, model.getClass().getSimpleName(), scored.predictionIndex(),
+                mapPredictionToLabel(scored.prediction(), header), scored.confidence(),
+                scored.probabilities()[scored.predictionIndex()], scored.probabilities());
+    }
+
+    /**
+     * Classifies a single input against a prediction dataset header.
+     *
+     * @param model       the Weka Classifier model
+     * @param tree        the compiled form of the model, or null to classify through Weka
+     * @param header      the dataset header matching the input features
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the prediction with normalized probabilities and confidence
+     * @throws IllegalStateException if the model fails to classify the input
+     */
+    private ScoredInstance scoreInstance(Classifier model, FlatDecisionTree tree, Instances header,
+                                         Object featuresObj) {
+        double prediction;
+        double[] distribution;
+        if (tree != null) {
+            distribution = tree.distributionForFeatures(createRow(header, featuresObj));
+            prediction = predictClass(distribution);
+        } else {
+            Instance instance = createInstance(header, featuresObj);
+            try {
+                prediction = model.classifyInstance(instance);
+                distribution = model.distributionForInstance(instance);
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
         // Normalize probabilities to ensure they sum to 1.0
-        double[] normalizedProbabilities = normalizeProbabilities(distribution, input);
+        double[] normalizedProbabilities = normalizeProbabilities(distribution, featuresObj);
         // Calculate confidence as the difference between highest and second-highest probability
         int predictionIndex = (int) prediction;
         double confidence = calculateConfidence(normalizedProbabilities, predictionIndex);
-        double probability = normalizedProbabilities[predictionIndex];
-        Map<String, Object> result = new HashMap<>();
-        result.put("prediction", predictionLabel);
-        result.put("predictionIndex", predictionIndex);
-        result.put("confidence", confidence);
-        result.put("probability", probability);
-        result.put("probabilities", normalizedProbabilities);
-        result.put("modelType", model.getClass().getSimpleName());
-        result.put("timestamp", System.currentTimeMillis());
-        return result;
+        return new ScoredInstance(prediction, predictionIndex, confidence, normalizedProbabilities);
+    }
+
+    /**
+     * Picks the class with the highest probability, as Weka classifiers do for nominal classes.
+     *
+     * @param distribution the class distribution, or null if the model gave none
+     * @return the predicted class index, or a missing value if no class has a positive probability
+     */
+    private static double predictClass(double[] distribution) {
+        if (distribution == null) {
+            throw new IllegalStateException("Null distribution predicted");
+        }
+        double max = 0;
+        int maxIndex = 0;
+        for (int i = 0; i < distribution.length; i++) {
+            if (distribution[i] > max) {
+                maxIndex = i;
+                max = distribution[i];
+            }
+        }
+        return max > 0 ? maxIndex : Utils.missingValue();
+    }
+
+    /**
+     * Gets the batch size from which a batch is split across the available cores.
+     * Ensembles score every input with each of their members, so their batches are split at proportionally
+     * smaller sizes.
+     *
+     * @param model the Weka Classifier model
+     * @return the minimum batch size scored in parallel
+     */
+    private static int getParallelThreshold(Classifier model) {
+        if (model instanceof IteratedSingleClassifierEnhancer ensemble) {
+            int members = Math.max(1, ensemble.getNumIterations());
+            return Math.max(MIN_PARALLEL_BATCH_SIZE, PARALLEL_BATCH_THRESHOLD / members);
+        }
+        return PARALLEL_BATCH_THRESHOLD;
+    }
+
+    /**
+     * Gets the compiled form of a model, compiling it on first use.
+     *
+     * @param model the Weka Classifier model
+     * @return the compiled tree, or null if the model cannot be compiled
+     */
+    private FlatDecisionTree getCompiledTree(Classifier model) {
+        return compiledTrees.computeIfAbsent(model, this::compileTree).orElse(null);
+    }
+
+    /**
+     * Compiles a RandomTree model into a flat decision tree.
+     *
+     * @param model the Weka Classifier model
+     * @return the compiled tree, or empty for models that are evaluated through Weka
+     */
+    private Optional<FlatDecisionTree> compileTree(Classifier model) {
+        if (!(model instanceof RandomTree randomTree)) {
+            return Optional.empty();
+        }
+        try {
+            FlatDecisionTree tree = RandomTreeCompiler.compile(randomTree);
+            LOGGER.debug("Compiled RandomTree into a flat tree of {} nodes", tree.size());
+            return Optional.of(tree);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Failed to compile RandomTree, predicting through Weka: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Validates that an input has the fields required for prediction.
+     *
+     * @param input the input data
+     */
+    private void validateInput(Map<String, Object> input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input cannot be null");
+        }
+        if (!input.containsKey("text")) {
+            throw new IllegalArgumentException("Input data must contain 'text' field");
+        }
+        if (!input.containsKey("features")) {
+            throw new IllegalArgumentException("Input data must contain 'features' field");
+        }
     }
 
     /**
@@ -134,52 +434,111 @@ public class ModelPredictionEngine {
     }
 
     /**
-     * Creates a Weka Instances object from input data for prediction.
-     * This method creates a dataset structure that matches the training data format.
+     * Gets the class values of a model, falling back to the default sentiment labels.
      *
-     * @param input   the input data
      * @param modelId the model ID to get class values for
-     * @return Weka Instances object
+     * @return the class values
      */
-    private Instances createPredictionDataset(Map<String, Object> input, String modelId) {
-        ArrayList<weka.core.Attribute> attributes = new ArrayList<>();
-        Object featuresObj = input.get("features");
-        if (featuresObj instanceof double[] features) {
-            for (int i = 0; i < features.length; i++) {
-                attributes.add(new weka.core.Attribute("feature_" + i));
-            }
-        } else if (featuresObj instanceof List<?> featuresList) {
-            for (int i = 0; i < featuresList.size(); i++) {
-                attributes.add(new weka.core.Attribute("feature_" + i));
-            }
-        }
+    private List<String> getClassValues(String modelId) {
         List<String> classValues = classValueManager.getClassValues(modelId);
         if (classValues.isEmpty()) {
             LOGGER.warn("No class values found for model {}, using default values", modelId);
             classValues = List.of("negative", "neutral", "positive");
         }
-        attributes.add(new weka.core.Attribute("label", new ArrayList<>(classValues)));
-        weka.core.Instances dataset = new weka.core.Instances("PredictionDataset", attributes, 1);
-        dataset.setClassIndex(attributes.size() - 1);
-        weka.core.DenseInstance instance = new weka.core.DenseInstance(attributes.size());
-        instance.setDataset(dataset);
+        return classValues;
+    }
+
+    /**
+     * Counts the features of an input.
+     *
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the number of features
+     */
+    private static int countFeatures(Object featuresObj) {
+        if (featuresObj instanceof double[] features) {
+            return features.length;
+        } else if (featuresObj instanceof List<?> featuresList) {
+            return featuresList.size();
+        }
+        return 0;
+    }
+
+    /**
+     * Converts the features of an input into a feature vector for the prediction cache.
+     *
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the feature vector, or null if the features are not all numbers
+     */
+    private static double[] toFeatureArray(Object featuresObj) {
         if (featuresObj instanceof double[] features) {
+            return features;
+        } else if (featuresObj instanceof List<?> featuresList) {
+            double[] features = new double[featuresList.size()];
             for (int i = 0; i < features.length; i++) {
-                instance.setValue(i, features[i]);
+                if (!(featuresList.get(i) instanceof Number value)) {
+                    return null;
+                }
+                features[i] = value.doubleValue();
             }
+            return features;
+        }
+        return null;
+    }
+
+    /**
+     * Creates an empty Weka Instances header for prediction.
+     * This method creates a dataset structure that matches the training data format.
+     *
+     * @param featureCount the number of features
+     * @param classValues  the class values of the model
+     * @return Weka Instances header
+     */
+    private static Instances createPredictionHeader(int featureCount, List<String> classValues) {
+        ArrayList<Attribute> attributes = new ArrayList<>(featureCount + 1);
+        for (int i = 0; i < featureCount; i++) {
+            attributes.add(new Attribute("feature_" + i));
+        }
+        attributes.add(new Attribute("label", new ArrayList<>(classValues)));
+        Instances dataset = new Instances("PredictionDataset", attributes, 1);
+        dataset.setClassIndex(attributes.size() - 1);
+        return dataset;
+    }
+
+    /**
+     * Creates a Weka instance from input features, attached to a prediction dataset header.
+     * The instance is not added to the header, so the header can be shared between inputs.
+     *
+     * @param header      the dataset header
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return Weka instance with a missing class value
+     */
+    private static Instance createInstance(Instances header, Object featuresObj) {
+        DenseInstance instance = new DenseInstance(1.0, createRow(header, featuresObj));
+        instance.setDataset(header);
+        return instance;
+    }
+
+    /**
+     * Creates the attribute values of an input as laid out by a prediction dataset header.
+     *
+     * @param header      the dataset header
+     * @param featuresObj the features as a double array or a list of numbers
+     * @return the feature values followed by a missing class value
+     */
+    private static double[] createRow(Instances header, Object featuresObj) {
+        double[] row = new double[header.numAttributes()];
+        if (featuresObj instanceof double[] features) {
+            System.arraycopy(features, 0, row, 0, features.length);
         } else if (featuresObj instanceof List<?> featuresList) {
             for (int i = 0; i < featuresList.size(); i++) {
                 Object value = featuresList.get(i);
                 if (value instanceof Number) {
-                    instance.setValue(i, ((Number) value).doubleValue());
-                } else {
-                    instance.setValue(i, 0.0);
+                    row[i] = ((Number) value).doubleValue();
                 }
             }
         }
-        instance.setMissing(attributes.size() - 1);
-        dataset.add(instance);
-        return dataset;
+        row[header.classIndex()] = Utils.missingValue();
+        return row;
     }
 
     /**
@@ -187,10 +546,10 @@ public class ModelPredictionEngine {
      * Applies smoothing and input-based variation to prevent identical predictions.
      *
      * @param distribution the raw probability distribution from the model
-     * @param input        the input features to add variation
+     * @param featuresObj  the input features to add variation
      * @return normalized probability distribution with smoothing and variation
      */
-    private double[] normalizeProbabilities(double[] distribution, Map<String, Object> input) {
+    private double[] normalizeProbabilities(double[] distribution, Object featuresObj) {
         if (distribution == null || distribution.length == 0) {
             return new double[0];
         }
@@ -216,7 +575,7 @@ public class ModelPredictionEngine {
             normalized[i] = normalized[i] / smoothedSum;
         }
         // Add input-based variation to prevent identical predictions
-        addInputBasedVariation(normalized, input);
+        addInputBasedVariation(normalized, featuresObj);
         return normalized;
     }
 
@@ -225,14 +584,12 @@ public class ModelPredictionEngine {
      * This helps when the model is overfitted and gives the same distribution for all inputs.
      *
      * @param probabilities the normalized probability distribution
-     * @param input         the input features to base variation on
+     * @param featuresObj   the input features to base variation on
      */
-    private void addInputBasedVariation(double[] probabilities, Map<String, Object> input) {
+    private void addInputBasedVariation(double[] probabilities, Object featuresObj) {
         if (probabilities.length < 2) {
             return;
         }
-        // Extract features for variation calculation
-        Object featuresObj = input.get("features");
         if (featuresObj == null) {
             return;
         }
@@ -294,4 +651,15 @@ public class ModelPredictionEngine {
         return Math.max(0.2, Math.min(0.8, scaledConfidence));
     }
 
+    /**
+     * The prediction for a single input.
+     *
+     * @param prediction      the raw class value predicted by the model
+     * @param predictionIndex the predicted class index
+     * @param confidence      the confidence of the prediction
+     * @param probabilities   the normalized class probabilities
+     */
+    private record ScoredInstance(double prediction, int predictionIndex, double confidence, double[] probabilities) {
+    }
+
 }
@@ -4,7 +4,11 @@ import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
 import com.kapil.verbametrics.ml.config.ClassValueManager;
 import com.kapil.verbametrics.ml.config.MLModelProperties;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
 import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.managers.PredictionCacheManager;
 import com.kapil.verbametrics.ml.utils.MetricsCalculationUtils;
 import com.kapil.verbametrics.ml.utils.WekaDatasetUtils;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
@@ -13,11 +17,19 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import weka.classifiers.Classifier;
+import weka.classifiers.meta.Bagging;
+import weka.classifiers.trees.RandomForest;
 import weka.classifiers.trees.RandomTree;
+import weka.core.Attribute;
 import weka.core.Instances;
 
+import java.io.Serial;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class ModelTrainingEngine {
@@ -26,19 +38,42 @@ public class ModelTrainingEngine {
 
     private static final int CROSS_VALIDATION_SEED = 1;
     private static final int CROSS_VALIDATION_FOLDS = 5;
+    private static final int DEFAULT_ENSEMBLE_SIZE = 50;
 
     private final MLModelProperties properties;
     private final ModelFileManager fileManager;
     private final ModelTypeClassifier modelTypeClassifier;
     private final ClassValueManager classValueManager;
+    private final ClassifierCacheManager classifierCache;
+    private final PredictionCacheManager predictionCache;
+    private final CrossValidationExecutor crossValidationExecutor;
+
+    public ModelTrainingEngine(MLModelProperties properties, ModelFileManager fileManager,
+                               ModelTypeClassifier modelTypeClassifier, ClassValueManager classValueManager,
+                               ClassifierCacheManager classifierCache) {
+        this(properties, fileManager, modelTypeClassifier, classValueManager, classifierCache,
+                new PredictionCacheManager(properties));
+    }
+
+    public ModelTrainingEngine(MLModelProperties properties, ModelFileManager fileManager,
+                               ModelTypeClassifier modelTypeClassifier, ClassValueManager classValueManager,
+                               ClassifierCacheManager classifierCache, PredictionCacheManager predictionCache) {
+        this(properties, fileManager, modelTypeClassifier, classValueManager, classifierCache, predictionCache,
+                new CrossValidationExecutor(properties));
+    }
 
     @Autowired
     public ModelTrainingEngine(MLModelProperties properties, ModelFileManager fileManager,
-                               ModelTypeClassifier modelTypeClassifier, ClassValueManager classValueManager) {
+                               ModelTypeClassifier modelTypeClassifier, ClassValueManager classValueManager,
+                               ClassifierCacheManager classifierCache, PredictionCacheManager predictionCache,
+                               CrossValidationExecutor crossValidationExecutor) {
         this.properties = properties;
         this.fileManager = fileManager;
         this.modelTypeClassifier = modelTypeClassifier;
         this.classValueManager = classValueManager;
+        this.classifierCache = classifierCache;
+        this.predictionCache = predictionCache;
+        this.crossValidationExecutor = crossValidationExecutor;
     }
 
     /**
@@ -53,17 +88,81 @@ public class ModelTrainingEngine {
     public ModelTrainingResult trainModel(String modelId, String modelType,
                                           List<Map<String, Object>> trainingData,
                                           Map<String, Object> parameters) {
+        return trainModel(modelId, modelType, trainingData, parameters, TrainingMonitor.NONE);
+    }
+
+    /**
+     * Trains a machine learning model, reporting each stage to a monitor.
+     * The model is built, then evaluated, and only then saved, so a training cancelled before
+     * the persisting stage leaves no model file behind.
+     *
+     * @param modelId      The unique identifier for the model
+     * @param modelType    The type of model to train (e.g., "regression", "classification")
+     * @param trainingData The training data as a list of maps
+     * @param parameters   The training parameters as a map
+     * @param monitor      The monitor notified on entry to the running, evaluating and persisting stages
+     * @return The result of the model training
+     * @throws CancellationException if the monitor cancels the training
+     */
+    public ModelTrainingResult trainModel(String modelId, String modelType,
+                                          List<Map<String, Object>> trainingData,
+                                          Map<String, Object> parameters, TrainingMonitor monitor) {
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        return train(modelId, modelType, () -> prepareNumericDataset(trainingData), trainingData.size(), parameters,
+                monitor);
+    }
+
+    /**
+     * Trains a machine learning model on a numeric dataset, such as one read by
+     * {@link com.kapil.verbametrics.ml.utils.StreamingDatasetReader}, reporting each stage to a monitor.
+     *
+     * @param modelId        The unique identifier for the model
+     * @param modelType      The type of model to train (e.g., "regression", "classification")
+     * @param numericDataset The numeric training dataset, with its class index set
+     * @param parameters     The training parameters as a map
+     * @param monitor        The monitor notified on entry to the running, evaluating and persisting stages
+     * @return The result of the model training
+     * @throws CancellationException if the monitor cancels the training
+     */
+    public ModelTrainingResult trainModelFromDataset(String modelId, String modelType, Instances numericDataset,
+                                                     Map<String, Object> parameters, TrainingMonitor monitor) {
+        Objects.requireNonNull(numericDataset, "Dataset cannot be null");
+        return train(modelId, modelType, () -> numericDataset, numericDataset.numInstances(), parameters, monitor);
+    }
+
+    /**
+     * Trains a machine learning model on the dataset of a loader, which is loaded within the running stage.
+     *
+     * @param modelId     The unique identifier for the model
+     * @param modelType   The type of model to train
+     * @param loader      The loader of the numeric training dataset
+     * @param recordCount The number of training records
+     * @param parameters  The training parameters as a map
+     * @param monitor     The monitor notified on entry to the running, evaluating and persisting stages
+     * @return The result of the model training
+     * @throws CancellationException if the monitor cancels the training
+     */
+    private ModelTrainingResult train(String modelId, String modelType, Callable<Instances> loader, int recordCount,
+                                      Map<String, Object> parameters, TrainingMonitor monitor) {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
         Objects.requireNonNull(modelType, "Model type cannot be null");
-        Objects.requireNonNull(trainingData, "Training data cannot be null");
         Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
         try {
+            monitor.enterStage(TrainingJobState.RUNNING);
             long startTime = System.currentTimeMillis();
-            Object trainedModel = performModelTraining(modelType, trainingData, parameters);
+            Instances numericDataset = loader.call();
+            Object trainedModel = performModelTraining(modelType, numericDataset, parameters, monitor);
             long trainingTime = System.currentTimeMillis() - startTime;
+            monitor.enterStage(TrainingJobState.EVALUATING);
+            Map<String, Object> performanceMetrics = calculatePerformanceMetrics(trainedModel, numericDataset,
+                    modelType, monitor);
+            monitor.enterStage(TrainingJobState.PERSISTING);
             fileManager.saveModelToFile(modelId, trainedModel);
-            storeClassValuesForModel(modelId, trainingData);
-            Map<String, Object> performanceMetrics = calculatePerformanceMetrics(trainedModel, trainingData, modelType);
+            storeClassValuesForModel(modelId, numericDataset);
+            // Evict only once the new model and its class values are stored, so that no reload sees the old ones
+            classifierCache.evictModel(modelId);
+            predictionCache.evictModel(modelId);
             LOGGER.info("Model training completed successfully in {}ms for model: {}", trainingTime, modelId);
             return new ModelTrainingResult(
                     modelId,
@@ -74,12 +173,15 @@ public class ModelTrainingEngine {
                     (Double) performanceMetrics.get("recall"),
                     (Double) performanceMetrics.get("f1Score"),
                     trainingTime,
-                    trainingData.size(),
+                    recordCount,
                     0,
                     performanceMetrics,
                     null,
                     LocalDateTime.now()
             );
+        } catch (CancellationException e) {
+            LOGGER.info("Model training cancelled for model: {}", modelId);
+            throw e;
         } catch (Exception e) {
             LOGGER.error("Failed to train model: {}", modelId, e);
             return new ModelTrainingResult(
@@ -88,7 +190,7 @@ public class ModelTrainingEngine {
                     false,
                     0.0, 0.0, 0.0, 0.0,
                     System.currentTimeMillis(),
-                    trainingData.size(),
+                    recordCount,
                     0,
                     Map.of(),
                     e.getMessage(),
@@ -100,16 +202,19 @@ public class ModelTrainingEngine {
     /**
      * Performs the actual model training using appropriate ML library.
      *
-     * @param modelType    The type of model to train
-     * @param trainingData The training dataset
-     * @param parameters   The training parameters
+     * @param modelType      The type of model to train
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @param monitor        The monitor of the training, checked between ensemble members
      * @return The trained model object
      * @throws Exception if training fails
      */
-    private Object performModelTraining(String modelType, List<Map<String, Object>> trainingData, Map<String, Object> parameters) throws Exception {
+    private Object performModelTraining(String modelType, Instances numericDataset, Map<String, Object> parameters,
+                                        TrainingMonitor monitor) throws Exception {
         return switch (modelType.toUpperCase()) {
-            case VerbaMetricsConstants.K_SENTIMENT -> trainSentimentModel(trainingData, parameters);
-            case VerbaMetricsConstants.K_CLASSIFICATION -> trainClassificationModel(trainingData, parameters);
+            case VerbaMetricsConstants.K_SENTIMENT -> trainSentimentModel(numericDataset, parameters, monitor);
+            case VerbaMetricsConstants.K_CLASSIFICATION ->
+                    trainClassificationModel(numericDataset, parameters, monitor);
             case VerbaMetricsConstants.K_TOPIC_MODELING ->
                     throw new UnsupportedOperationException("Topic modeling not implemented yet");
             default -> throw new IllegalArgumentException("Unsupported model type: " + modelType);
@@ -153,12 +258,23 @@ public class ModelTrainingEngine {
      * @return An optional error message if preflight checks fail
      */
     private Optional<String> checkPreflight(List<Map<String, Object>> trainingData, String normalizedType) {
-        if (trainingData == null || trainingData.isEmpty()) {
+        return checkPreflight(trainingData == null ? 0 : trainingData.size(), normalizedType);
+    }
+
+    /**
+     * Basic preflight checks that validate dataset size and model type validity.
+     *
+     * @param recordCount    The number of training records
+     * @param normalizedType The normalized model type
+     * @return An optional error message if preflight checks fail
+     */
+    private Optional<String> checkPreflight(int recordCount, String normalizedType) {
+        if (recordCount == 0) {
             return Optional.of("Training data is empty");
         }
         int minDataSize = properties.getTrainingLimits().getOrDefault("min-data-size", 10);
-        if (trainingData.size() < minDataSize) {
-            return Optional.of("Need at least " + minDataSize + " records, got " + trainingData.size());
+        if (recordCount < minDataSize) {
+            return Optional.of("Need at least " + minDataSize + " records, got " + recordCount);
         }
         if (!modelTypeClassifier.isValidModelType(normalizedType)) {
             return Optional.of("Unsupported model type: " + normalizedType + ". Supported: "
@@ -250,6 +366,44 @@ public class ModelTrainingEngine {
         return Optional.empty();
     }
 
+    /**
+     * Validates a numeric training dataset for the specified model type.
+     * Only the label and features are checked, as the dataset holds no other fields of the records.
+     *
+     * @param numericDataset The numeric training dataset, with its class index set
+     * @param modelType      The type of model to train
+     * @return An optional error message if validation fails (empty if valid)
+     */
+    public Optional<String> validateDatasetError(Instances numericDataset, String modelType) {
+        String normalizedType = modelType == null ? "" : modelType.toUpperCase();
+        Optional<String> err = checkPreflight(numericDataset == null ? 0 : numericDataset.numInstances(),
+                normalizedType);
+        if (err.isPresent()) {
+            return err;
+        }
+        boolean isClassificationModel = VerbaMetricsConstants.K_CLASSIFICATION.equals(normalizedType)
+                || VerbaMetricsConstants.K_SENTIMENT.equals(normalizedType);
+        if (!isClassificationModel) {
+            return Optional.empty();
+        }
+        if (!numericDataset.classAttribute().isNominal()) {
+            return Optional.of("Record #1 has invalid label value");
+        }
+        if (numericDataset.numAttributes() < 2) {
+            return Optional.of("Record #1 missing features");
+        }
+        for (int i = 0; i < numericDataset.numInstances(); i++) {
+            if (numericDataset.instance(i).classIsMissing()) {
+                return Optional.of("Record #" + (i + 1) + " missing label value");
+            }
+        }
+        if (numericDataset.numClasses() < 2) {
+            return Optional.of("At least 2 distinct label classes required; found "
+                    + Collections.list(numericDataset.classAttribute().enumerateValues()));
+        }
+        return Optional.empty();
+    }
+
     /**
      * Gets the list of supported model types.
      *
@@ -259,6 +413,30 @@ public class ModelTrainingEngine {
         return properties.getSupportedModelTypes();
     }
 
+    /**
+     * Gets the list of supported training algorithms.
+     *
+     * @return The configured algorithms, or all built-in algorithms if none are configured
+     */
+    public List<String> getSupportedAlgorithms() {
+        Map<String, String> configured = properties.getSupportedAlgorithms();
+        if (configured == null || configured.isEmpty()) {
+            return List.of(VerbaMetricsConstants.ALGORITHM_RANDOM_TREE, VerbaMetricsConstants.ALGORITHM_RANDOM_FOREST,
+                    VerbaMetricsConstants.ALGORITHM_BAGGING);
+        }
+        return configured.keySet().stream().map(String::toUpperCase).toList();
+    }
+
+    /**
+     * Gets the fields every training record of a model type must have.
+     *
+     * @param modelType The type of model
+     * @return The required fields, empty if there are none
+     */
+    public List<String> getRequiredFields(String modelType) {
+        return modelTypeClassifier.getRequiredFields(modelType == null ? "" : modelType.toUpperCase());
+    }
+
     /**
      * Gets the default parameters for a given model type.
      *
@@ -282,77 +460,170 @@ public class ModelTrainingEngine {
     }
 
     /**
-     * Trains a sentiment analysis model using Weka RandomTree.
+     * Trains a sentiment analysis model with the selected algorithm, RandomTree by default.
      * Uses only numeric features for training, ignoring text attributes.
      *
-     * @param trainingData The training dataset
-     * @param parameters   The training parameters
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @param monitor        The monitor of the training, checked between ensemble members
      * @return The trained sentiment model
      * @throws Exception if training fails
      */
-    private Object trainSentimentModel(List<Map<String, Object>> trainingData, Map<String, Object> parameters) throws Exception {
-        Instances dataset = createWekaDataset(trainingData);
-        Instances numericDataset = new Instances(dataset);
-        // Remove text attribute (index 0) as RandomTree works only with numeric features
-        numericDataset.deleteAttributeAt(0);
-        RandomTree model = new RandomTree();
-        // Add dataset size to parameters for adaptive configuration
-        Map<String, Object> adaptiveParams = new HashMap<>(parameters);
-        adaptiveParams.put("datasetSize", trainingData.size());
-        configureRandomTreeModel(model, adaptiveParams);
-        model.buildClassifier(numericDataset);
-        return model;
+    private Object trainSentimentModel(Instances numericDataset, Map<String, Object> parameters,
+                                       TrainingMonitor monitor) throws Exception {
+        return buildClassifier(numericDataset, parameters, monitor);
     }
 
     /**
-     * Trains a general classification model using Weka library.
+     * Trains a general classification model with the selected algorithm, RandomTree by default.
      * Uses only numeric features for training, ignoring text attributes.
      *
-     * @param trainingData The training dataset
-     * @param parameters   The training parameters
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @param monitor        The monitor of the training, checked between ensemble members
      * @return The trained classification model
      * @throws Exception if training fails
      */
-    private Object trainClassificationModel(List<Map<String, Object>> trainingData, Map<String, Object> parameters) throws Exception {
-        Instances dataset = createWekaDataset(trainingData);
-        Instances numericDataset = new Instances(dataset);
-        // Remove text attribute (index 0) as RandomTree works only with numeric features
-        numericDataset.deleteAttributeAt(0);
-        RandomTree classifier = new RandomTree();
+    private Object trainClassificationModel(Instances numericDataset, Map<String, Object> parameters,
+                                            TrainingMonitor monitor) throws Exception {
+        return buildClassifier(numericDataset, parameters, monitor);
+    }
+
+    /**
+     * Creates and builds a classifier for the algorithm selected in the parameters.
+     * The members of an ensemble re-enter the running stage before they are built, so that the training can be
+     * cancelled between ensemble iterations.
+     *
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @param monitor        The monitor of the training
+     * @return The trained classifier
+     * @throws CancellationException if the monitor cancels the training
+     * @throws Exception             if training fails
+     */
+    private Classifier buildClassifier(Instances numericDataset, Map<String, Object> parameters,
+                                       TrainingMonitor monitor) throws Exception {
+        long token = monitor == TrainingMonitor.NONE ? 0 : MonitoredRandomTree.register(monitor);
+        try {
+            Classifier classifier = createClassifier(numericDataset, parameters, token);
+            classifier.buildClassifier(numericDataset);
+            // Members built in parallel fail quietly when cancelled, so the whole ensemble is checked once more
+            monitor.enterStage(TrainingJobState.RUNNING);
+            return classifier;
+        } finally {
+            MonitoredRandomTree.unregister(token);
+        }
+    }
+
+    /**
+     * Creates and configures an untrained classifier for the algorithm selected in the parameters.
+     * Ensemble members are built in parallel on the configured number of threads.
+     *
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @return The configured classifier
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    Classifier createClassifier(Instances numericDataset, Map<String, Object> parameters) {
+        return createClassifier(numericDataset, parameters, 0);
+    }
+
+    /**
+     * Creates and configures an untrained classifier, with ensemble members checking a registered monitor.
+     *
+     * @param numericDataset The numeric training dataset
+     * @param parameters     The training parameters
+     * @param monitorToken   The token of the monitor registered for the ensemble members, or 0 for none
+     * @return The configured classifier
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    private Classifier createClassifier(Instances numericDataset, Map<String, Object> parameters, long monitorToken) {
+        String algorithm = getAlgorithm(parameters);
         // Add dataset size to parameters for adaptive configuration
         Map<String, Object> adaptiveParams = new HashMap<>(parameters);
-        adaptiveParams.put("datasetSize", trainingData.size());
-        configureRandomTreeModel(classifier, adaptiveParams);
-        classifier.buildClassifier(numericDataset);
-        return classifier;
+        adaptiveParams.put("datasetSize", numericDataset.numInstances());
+        RandomTree tree = monitorToken == 0 || algorithm.equals(VerbaMetricsConstants.ALGORITHM_RANDOM_TREE)
+                ? new RandomTree() : new MonitoredRandomTree(monitorToken);
+        configureRandomTreeModel(tree, adaptiveParams);
+        return switch (algorithm) {
+            case VerbaMetricsConstants.ALGORITHM_RANDOM_TREE -> tree;
+            case VerbaMetricsConstants.ALGORITHM_RANDOM_FOREST -> {
+                // Forest members grow to full depth unless a depth is given, while keeping the other tree settings
+                if (!parameters.containsKey(VerbaMetricsConstants.PARAM_MAX_DEPTH)) {
+                    tree.setMaxDepth(0);
+                }
+                RandomForest forest = new RandomForest();
+                forest.setClassifier(tree);
+                forest.setSeed(tree.getSeed());
+                forest.setNumIterations(getEnsembleSize(parameters));
+                forest.setNumExecutionSlots(getEnsembleThreads());
+                yield forest;
+            }
+            case VerbaMetricsConstants.ALGORITHM_BAGGING -> {
+                Bagging bagging = new Bagging();
+                bagging.setClassifier(tree);
+                bagging.setSeed(tree.getSeed());
+                bagging.setNumIterations(getEnsembleSize(parameters));
+                bagging.setNumExecutionSlots(getEnsembleThreads());
+                yield bagging;
+            }
+            default -> throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+        };
     }
 
     /**
-     * Creates a Weka dataset from training data.
+     * Gets the algorithm selected in the training parameters.
      *
-     * @param trainingData The training dataset
-     * @return The Weka Instances object
+     * @param parameters The training parameters
+     * @return The normalized algorithm name, RANDOM_TREE if none is selected
+     * @throws IllegalArgumentException if the algorithm is not supported
+     */
+    private String getAlgorithm(Map<String, Object> parameters) {
+        Object selected = parameters.get(VerbaMetricsConstants.PARAM_ALGORITHM);
+        String algorithm = selected == null ? VerbaMetricsConstants.ALGORITHM_RANDOM_TREE
+                : selected.toString().trim().toUpperCase();
+        List<String> supported = getSupportedAlgorithms();
+        if (!supported.contains(algorithm)) {
+            throw new IllegalArgumentException("Unsupported algorithm: " + algorithm + ". Supported: "
+                    + String.join(", ", supported));
+        }
+        return algorithm;
+    }
+
+    /**
+     * Gets the number of members of an ensemble.
+     *
+     * @param parameters The training parameters
+     * @return The ensemble size, at least 1
      */
-    private Instances createWekaDataset(List<Map<String, Object>> trainingData) {
-        return WekaDatasetUtils.createDataset(trainingData, "ClassificationDataset");
+    private static int getEnsembleSize(Map<String, Object> parameters) {
+        Object size = parameters.get(VerbaMetricsConstants.PARAM_ENSEMBLE_SIZE);
+        return size instanceof Number number ? Math.max(1, number.intValue()) : DEFAULT_ENSEMBLE_SIZE;
     }
 
     /**
-     * Stores class values for a model based on training data.
+     * Gets the number of threads building the members of an ensemble.
      *
-     * @param modelId      The model ID
-     * @param trainingData The training data
+     * @return The configured number of threads, or the number of available processors if not positive
      */
-    private void storeClassValuesForModel(String modelId, List<Map<String, Object>> trainingData) {
+    private int getEnsembleThreads() {
+        int threads = properties.getTrainingLimits().getOrDefault("ensemble-threads", 0);
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Stores class values for a model based on the class attribute of its training dataset.
+     *
+     * @param modelId        The model ID
+     * @param numericDataset The numeric training dataset
+     */
+    private void storeClassValuesForModel(String modelId, Instances numericDataset) {
         try {
-            Set<String> uniqueClasses = new LinkedHashSet<>();
-            for (Map<String, Object> dataPoint : trainingData) {
-                Object label = dataPoint.get("label");
-                if (label instanceof String) {
-                    uniqueClasses.add((String) label);
-                }
+            Attribute classAttribute = numericDataset.classAttribute();
+            List<String> classValues = new ArrayList<>(classAttribute.numValues());
+            for (int i = 0; i < classAttribute.numValues(); i++) {
+                classValues.add(classAttribute.value(i));
             }
-            List<String> classValues = new ArrayList<>(uniqueClasses);
             classValueManager.storeClassValues(modelId, classValues);
             LOGGER.debug("Stored class values for model {} ({} classes)", modelId, classValues.size());
         } catch (Exception e) {
@@ -361,37 +632,88 @@ public class ModelTrainingEngine {
     }
 
     /**
-     * Calculates performance metrics for the trained model.
+     * Calculates performance metrics for the trained model from a single cross-validation run.
+     * Falls back to the configured minimum thresholds if the model cannot be cross-validated.
      *
-     * @param model        The trained model
-     * @param trainingData The training dataset
-     * @param modelType    The type of the model
+     * @param model          The trained model
+     * @param numericDataset The numeric training dataset
+     * @param modelType      The type of the model
+     * @param monitor        The monitor of the training, checked between cross-validation folds
      * @return A map of performance metrics
+     * @throws CancellationException if the monitor cancels the training
+     */
+    private Map<String, Object> calculatePerformanceMetrics(Object model, Instances numericDataset, String modelType,
+                                                            TrainingMonitor monitor) {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("modelType", modelType);
+        metrics.put("trainingSamples", numericDataset.numInstances());
+        if (model instanceof Classifier classifier) {
+            try {
+                weka.classifiers.Evaluation evaluation = crossValidationExecutor.crossValidate(classifier, numericDataset,
+                        CROSS_VALIDATION_FOLDS, new Random(CROSS_VALIDATION_SEED), monitor);
+                metrics.put("accuracy", evaluation.pctCorrect() / 100.0);
+                metrics.put("precision", evaluation.weightedPrecision());
+                metrics.put("recall", evaluation.weightedRecall());
+                metrics.put("f1Score", evaluation.weightedFMeasure());
+                metrics.put("auc", evaluation.weightedAreaUnderROC());
+                metrics.put("confusionMatrix", toConfusionMatrix(evaluation.confusionMatrix()));
+                return metrics;
+            } catch (CancellationException e) {
+                throw e;
+            } catch (Exception e) {
+                LOGGER.warn("Failed to calculate performance metrics with cross-validation", e);
+            }
+        }
+        double precision = getFallbackMetric("min-precision");
+        double recall = getFallbackMetric("min-recall");
+        metrics.put("accuracy", getFallbackMetric("min-accuracy"));
+        metrics.put("precision", precision);
+        metrics.put("recall", recall);
+        metrics.put("f1Score", MetricsCalculationUtils.calculateF1Score(precision, recall));
+        return metrics;
+    }
+
+    /**
+     * Converts a Weka confusion matrix into rows of prediction counts.
+     *
+     * @param confusionMatrix The Weka confusion matrix, with actual classes as rows
+     * @return The confusion matrix as lists of counts
+     */
+    private static List<List<Integer>> toConfusionMatrix(double[][] confusionMatrix) {
+        List<List<Integer>> rows = new ArrayList<>(confusionMatrix.length);
+        for (double[] row : confusionMatrix) {
+            List<Integer> counts = new ArrayList<>(row.length);
+            for (double count : row) {
+                counts.add((int) count);
+            }
+            rows.add(counts);
+        }
+        return rows;
+    }
+
+    /**
+     * Gets the fallback value of a metric from the configured performance thresholds.
+     *
+     * @param threshold The threshold name
+     * @return The configured threshold, or 0.6 if not configured
      */
-    private Map<String, Object> calculatePerformanceMetrics(Object model, List<Map<String, Object>> trainingData, String modelType) {
-        double accuracy = calculateModelAccuracy(model, trainingData);
-        double precision = calculatePrecision(model, trainingData);
-        double recall = calculateRecall(model, trainingData);
-        double f1Score = MetricsCalculationUtils.calculateF1Score(precision, recall);
-        return Map.of(
-                "accuracy", accuracy,
-                "precision", precision,
-                "recall", recall,
-                "f1Score", f1Score,
-                "modelType", modelType,
-                "trainingSamples", trainingData.size()
-        );
+    private double getFallbackMetric(String threshold) {
+        Double fallback = properties.getPerformanceThresholds().get(threshold);
+        return fallback != null ? fallback : 0.6;
     }
 
     /**
      * Configures a RandomTree model with parameters from configuration.
-     * Uses adaptive settings based on dataset size to prevent overfitting.
+     * Uses adaptive settings based on dataset size to prevent overfitting, unless the "adaptive" parameter is false,
+     * in which case the given parameters are applied as they are.
      *
      * @param model      The RandomTree model to configure
      * @param parameters The training parameters
      */
     private void configureRandomTreeModel(RandomTree model, Map<String, Object> parameters) {
         try {
+            Object adaptiveParam = parameters.get(VerbaMetricsConstants.PARAM_ADAPTIVE);
+            boolean adaptive = adaptiveParam == null || Boolean.parseBoolean(adaptiveParam.toString());
             // Adaptive defaults based on dataset size
             int datasetSize = parameters.containsKey("datasetSize") ? (Integer) parameters.get("datasetSize") : 100;
             // Adjust depth based on dataset size
@@ -402,14 +724,17 @@ public class ModelTrainingEngine {
             model.setSeed(42);
             if (parameters.containsKey(VerbaMetricsConstants.PARAM_MAX_DEPTH)) {
                 int paramMaxDepth = (Integer) parameters.get(VerbaMetricsConstants.PARAM_MAX_DEPTH);
-                if (paramMaxDepth > 0) {
+                if (!adaptive) {
+                    // 0 leaves the depth unlimited
+                    model.setMaxDepth(Math.max(0, paramMaxDepth));
+                } else if (paramMaxDepth > 0) {
                     model.setMaxDepth(Math.min(paramMaxDepth, maxDepth));
                 }
             }
             if (parameters.containsKey(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT)) {
                 int minSamplesSplit = (Integer) parameters.get(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT);
                 if (minSamplesSplit > 0) {
-                    model.setMinNum(Math.max(minSamplesSplit, minNum));
+                    model.setMinNum(adaptive ? Math.max(minSamplesSplit, minNum) : minSamplesSplit);
                 }
             }
             if (parameters.containsKey(VerbaMetricsConstants.PARAM_MIN_SAMPLES_LEAF)) {
@@ -418,6 +743,11 @@ public class ModelTrainingEngine {
                     model.setMinVarianceProp(minSamplesLeaf / 100.0);
                 }
             }
+            if (parameters.containsKey(VerbaMetricsConstants.PARAM_K_VALUE)) {
+                // 0 picks log2(attributes) + 1 features per split
+                int kValue = (Integer) parameters.get(VerbaMetricsConstants.PARAM_K_VALUE);
+                model.setKValue(Math.max(0, kValue));
+            }
             if (parameters.containsKey(VerbaMetricsConstants.PARAM_RANDOM_STATE)) {
                 int randomState = (Integer) parameters.get(VerbaMetricsConstants.PARAM_RANDOM_STATE);
                 model.setSeed(randomState);
@@ -428,92 +758,64 @@ public class ModelTrainingEngine {
     }
 
     /**
-     * Prepares a numeric dataset from training data by removing the text attribute.
-     * This is used for cross-validation as RandomTree works only with numeric features.
+     * Prepares a numeric dataset from training data, without the text attribute.
+     * This is used for training and cross-validation as the tree algorithms work only with numeric features.
      *
      * @param trainingData The training dataset
      * @return Numeric Instances object ready for cross-validation
      */
-    private Instances prepareNumericDataset(List<Map<String, Object>> trainingData) {
-        Instances dataset = createWekaDataset(trainingData);
-        Instances numericDataset = new Instances(dataset);
-        // Remove text attribute (index 0) as RandomTree works only with numeric features
-        numericDataset.deleteAttributeAt(0);
-        return numericDataset;
+    Instances prepareNumericDataset(List<Map<String, Object>> trainingData) {
+        return WekaDatasetUtils.createNumericDataset(trainingData, "ClassificationDataset");
     }
 
     /**
-     * Calculates model accuracy using Weka's cross-validation.
-     *
-     * @param model        The trained model
-     * @param trainingData The training dataset
-     * @return Real accuracy using cross-validation
+     * RandomTree used as the member of ensembles trained with a monitor, re-entering the running stage before it is
+     * built. Weka copies ensemble members by serialization, so members find their monitor by a token rather than
+     * holding it, and a saved member whose training has finished no longer finds one.
      */
-    private double calculateModelAccuracy(Object model, List<Map<String, Object>> trainingData) {
-        if (model instanceof Classifier) {
-            try {
-                Instances numericDataset = prepareNumericDataset(trainingData);
-                weka.classifiers.Evaluation evaluation = new weka.classifiers.Evaluation(numericDataset);
-                evaluation.crossValidateModel((Classifier) model, numericDataset, CROSS_VALIDATION_FOLDS, new Random(CROSS_VALIDATION_SEED));
-                return evaluation.pctCorrect() / 100.0;
-            } catch (Exception e) {
-                LOGGER.warn("Failed to calculate model accuracy with cross-validation", e);
-                Double fallbackAccuracy = properties.getPerformanceThresholds().get("min-accuracy");
-                return fallbackAccuracy != null ? fallbackAccuracy : 0.6;
-            }
+    static final class MonitoredRandomTree extends RandomTree {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private static final AtomicLong TOKENS = new AtomicLong();
+        private static final Map<Long, TrainingMonitor> MONITORS = new ConcurrentHashMap<>();
+
+        private final long token;
+
+        MonitoredRandomTree(long token) {
+            this.token = token;
         }
-        Double fallbackAccuracy = properties.getPerformanceThresholds().get("min-accuracy");
-        return fallbackAccuracy != null ? fallbackAccuracy : 0.6;
-    }
 
-    /**
-     * Calculates precision using Weka's evaluation.
-     *
-     * @param model        The trained model
-     * @param trainingData The training dataset
-     * @return Real precision value
-     */
-    private double calculatePrecision(Object model, List<Map<String, Object>> trainingData) {
-        if (model instanceof Classifier) {
-            try {
-                Instances numericDataset = prepareNumericDataset(trainingData);
-                weka.classifiers.Evaluation evaluation = new weka.classifiers.Evaluation(numericDataset);
-                evaluation.crossValidateModel((Classifier) model, numericDataset, CROSS_VALIDATION_FOLDS, new Random(CROSS_VALIDATION_SEED));
-                // Use weighted precision (across classes) rather than precision for class index 0
-                return evaluation.weightedPrecision();
-            } catch (Exception e) {
-                LOGGER.warn("Failed to calculate precision", e);
-                Double fallbackPrecision = properties.getPerformanceThresholds().get("min-precision");
-                return fallbackPrecision != null ? fallbackPrecision : 0.6;
-            }
+        /**
+         * Registers the monitor of a training for the members of its ensemble.
+         *
+         * @param monitor the monitor of the training
+         * @return the token of the monitor
+         */
+        static long register(TrainingMonitor monitor) {
+            long token = TOKENS.incrementAndGet();
+            MONITORS.put(token, monitor);
+            return token;
         }
-        Double fallbackPrecision = properties.getPerformanceThresholds().get("min-precision");
-        return fallbackPrecision != null ? fallbackPrecision : 0.6;
-    }
 
-    /**
-     * Calculates recall using Weka's evaluation.
-     *
-     * @param model        The trained model
-     * @param trainingData The training dataset
-     * @return Real recall value
-     */
-    private double calculateRecall(Object model, List<Map<String, Object>> trainingData) {
-        if (model instanceof Classifier) {
-            try {
-                Instances numericDataset = prepareNumericDataset(trainingData);
-                weka.classifiers.Evaluation evaluation = new weka.classifiers.Evaluation(numericDataset);
-                evaluation.crossValidateModel((Classifier) model, numericDataset, CROSS_VALIDATION_FOLDS, new Random(CROSS_VALIDATION_SEED));
-                // Use weighted recall (across classes) rather than recall for class index 0
-                return evaluation.weightedRecall();
-            } catch (Exception e) {
-                LOGGER.warn("Failed to calculate recall", e);
-                Double fallbackRecall = properties.getPerformanceThresholds().get("min-recall");
-                return fallbackRecall != null ? fallbackRecall : 0.6;
+        /**
+         * Removes the monitor of a finished training.
+         *
+         * @param token the token of the monitor, or 0 for none
+         */
+        static void unregister(long token) {
+            MONITORS.remove(token);
+        }
+
+        @Override
+        public void buildClassifier(Instances data) throws Exception {
+            TrainingMonitor monitor = MONITORS.get(token);
+            if (monitor != null) {
+                monitor.enterStage(TrainingJobState.RUNNING);
             }
+            super.buildClassifier(data);
         }
-        Double fallbackRecall = properties.getPerformanceThresholds().get("min-recall");
-        return fallbackRecall != null ? fallbackRecall : 0.6;
+
     }
 
 }
@@ -0,0 +1,436 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.managers.PredictionCacheManager;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import weka.classifiers.Classifier;
+import weka.classifiers.Evaluation;
+import weka.classifiers.UpdateableClassifier;
+import weka.classifiers.bayes.NaiveBayes;
+import weka.classifiers.bayes.NaiveBayesUpdateable;
+import weka.classifiers.trees.HoeffdingTree;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Engine for training models incrementally from a stream of JSONL records.
+ * Records are read and learned one at a time with Weka's updateable classifiers, so memory use does not grow with the
+ * number of records. Each record after the first is scored by the model learned so far before it is learned, and
+ * the metrics are accumulated from these prequential scores instead of cross-validation. The model file is
+ * checkpointed at a configurable interval and once more when the stream ends, each checkpoint replacing the model
+ * file only once it has been written in full.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class OnlineTrainingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OnlineTrainingEngine.class);
+
+    private static final ObjectReader RECORD_READER = new ObjectMapper().readerFor(Map.class);
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 10000;
+
+    private final MLModelProperties properties;
+    private final ModelFileManager fileManager;
+    private final ClassValueManager classValueManager;
+    private final ClassifierCacheManager classifierCache;
+    private final PredictionCacheManager predictionCache;
+    private final TextFeaturizationEngine featurizationEngine;
+
+    public OnlineTrainingEngine(MLModelProperties properties, ModelFileManager fileManager,
+                                ClassValueManager classValueManager, ClassifierCacheManager classifierCache,
+                                PredictionCacheManager predictionCache) {
+        this(properties, fileManager, classValueManager, classifierCache, predictionCache, null);
+    }
+
+    @Autowired
+    public OnlineTrainingEngine(MLModelProperties properties, ModelFileManager fileManager,
+                                ClassValueManager classValueManager, ClassifierCacheManager classifierCache,
+                                PredictionCacheManager predictionCache, TextFeaturizationEngine featurizationEngine) {
+        this.properties = properties;
+        this.fileManager = fileManager;
+        this.classValueManager = classValueManager;
+        this.classifierCache = classifierCache;
+        this.predictionCache = predictionCache;
+        this.featurizationEngine = featurizationEngine;
+    }
+
+    /**
+     * Trains a new model from a stream of JSONL records.
+     * The class values must be given up front in the "class-values" parameter, as the stream is read only once.
+     *
+     * @param modelId    The unique identifier for the model
+     * @param modelType  The type of model to train
+     * @param records    The training records, one JSON object with "label" and "features" or "text" per line
+     * @param parameters The training parameters, with the class values and optionally the algorithm
+     * @return The result of the model training
+     */
+    public ModelTrainingResult trainModel(String modelId, String modelType, InputStream records,
+                                          Map<String, Object> parameters) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        try {
+            UpdateableClassifier classifier = createClassifier(parameters);
+            List<String> classValues = getClassValues(parameters.get(VerbaMetricsConstants.PARAM_CLASS_VALUES));
+            return train(modelId, modelType, classifier, -1, classValues, records, getLayout(parameters));
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model online: {}", modelId, e);
+            return failedResult(modelId, modelType, e);
+        }
+    }
+
+    /**
+     * Updates an existing model with a stream of new JSONL records, continuing from what it has already learned.
+     * The class values are those stored for the model, or the "class-values" parameter if none are stored.
+     * The update is rejected if the records do not have as many features as the model was trained with.
+     *
+     * @param modelId    The ID of the model to update
+     * @param modelType  The type of the model
+     * @param records    The new training records, one JSON object with "label" and "features" or "text" per line
+     * @param parameters The training parameters of the model
+     * @return The result of the update, with metrics of the new records only
+     */
+    public ModelTrainingResult updateModel(String modelId, String modelType, InputStream records,
+                                           Map<String, Object> parameters) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        try {
+            Object model = fileManager.loadModelFromFile(modelId)
+                    .orElseThrow(() -> new IllegalArgumentException("Model file not found: " + modelId));
+            if (!(model instanceof UpdateableClassifier classifier)) {
+                throw new IllegalArgumentException("Model does not support incremental updates: " + modelId + " ("
+                        + model.getClass().getSimpleName() + ")");
+            }
+            List<String> classValues = classValueManager.getClassValues(modelId);
+            if (classValues.isEmpty()) {
+                classValues = getClassValues(parameters.get(VerbaMetricsConstants.PARAM_CLASS_VALUES));
+            }
+            return train(modelId, modelType, classifier, getFeatureCount(classifier), classValues, records,
+                    getLayout(parameters));
+        } catch (Exception e) {
+            LOGGER.error("Failed to update model: {}", modelId, e);
+            return failedResult(modelId, modelType, e);
+        }
+    }
+
+    /**
+     * Learns records from a stream one at a time, scoring each one before learning it.
+     *
+     * @param modelId       The model ID
+     * @param modelType     The model type
+     * @param classifier    The classifier to train
+     * @param modelFeatures The number of features the classifier was trained with, or -1 if it is new and must be
+     *                      built on the first record
+     * @param classValues   The class values of the model
+     * @param records       The training records
+     * @param layout        The feature layout to featurize texts with, or null to skip records without features
+     * @return The result of the training
+     * @throws IllegalArgumentException if the records do not have as many features as the classifier
+     * @throws Exception                if the stream cannot be read or the classifier cannot learn a record
+     */
+    private ModelTrainingResult train(String modelId, String modelType, UpdateableClassifier classifier,
+                                      int modelFeatures, List<String> classValues, InputStream records,
+                                      FeatureLayout layout) throws Exception {
+        boolean initialize = modelFeatures < 0;
+        long startTime = System.currentTimeMillis();
+        int checkpointInterval = getCheckpointInterval();
+        Map<String, Integer> classIndices = new HashMap<>();
+        for (int i = 0; i < classValues.size(); i++) {
+            classIndices.put(classValues.get(i), i);
+        }
+        Instances header = null;
+        Evaluation evaluation = null;
+        int learned = 0;
+        int skipped = 0;
+        int checkpoints = 0;
+        try (MappingIterator<Map<String, Object>> iterator = RECORD_READER.readValues(records)) {
+            while (iterator.hasNextValue()) {
+                Map<String, Object> record = iterator.nextValue();
+                double[] features = getFeatures(record, layout);
+                Integer classIndex = classIndices.get(String.valueOf(record.get("label")));
+                if (features == null || classIndex == null
+                        || (header != null && features.length != header.numAttributes() - 1)) {
+                    skipped++;
+                    continue;
+                }
+                if (header == null) {
+                    if (!initialize && features.length != modelFeatures) {
+                        throw new IllegalArgumentException("Record features do not match the model: expected "
+                                + modelFeatures + " features, but got " + features.length);
+                    }
+                    header = createHeader(features.length, classValues);
+                    evaluation = new Evaluation(header);
+                    evaluation.setDiscardPredictions(true);
+                }
+                double[] values = Arrays.copyOf(features, features.length + 1);
+                values[features.length] = classIndex;
+                DenseInstance instance = new DenseInstance(1.0, values);
+                instance.setDataset(header);
+                if (initialize && learned == 0) {
+                    // A new model is built on its first record, which has nothing to be scored against
+                    Instances first = new Instances(header, 1);
+                    first.add(instance);
+                    ((Classifier) classifier).buildClassifier(first);
+                } else {
+                    evaluation.evaluateModelOnce((Classifier) classifier, instance);
+                    classifier.updateClassifier(instance);
+                }
+                learned++;
+                if (learned % checkpointInterval == 0) {
+                    checkpoint(modelId, classifier, classValues);
+                    checkpoints++;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read training records: " + e.getMessage(), e);
+        }
+        if (learned == 0) {
+            throw new IllegalArgumentException("No valid training records found (" + skipped + " skipped)");
+        }
+        checkpoint(modelId, classifier, classValues);
+        long trainingTime = System.currentTimeMillis() - startTime;
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} training records without a known label or with invalid features", skipped);
+        }
+        LOGGER.info("Online training completed in {}ms for model: {} ({} records, {} checkpoints)", trainingTime,
+                modelId, learned, checkpoints + 1);
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("modelType", modelType);
+        metrics.put("algorithm", classifier.getClass().getSimpleName());
+        metrics.put("evaluation", "prequential");
+        metrics.put("trainingSamples", learned);
+        metrics.put("skippedRecords", skipped);
+        metrics.put("checkpoints", checkpoints + 1);
+        double accuracy = score(evaluation.pctCorrect() / 100.0);
+        double precision = score(evaluation.weightedPrecision());
+        double recall = score(evaluation.weightedRecall());
+        double f1Score = score(evaluation.weightedFMeasure());
+        metrics.put("accuracy", accuracy);
+        metrics.put("precision", precision);
+        metrics.put("recall", recall);
+        metrics.put("f1Score", f1Score);
+        return new ModelTrainingResult(
+                modelId,
+                modelType,
+                true,
+                accuracy,
+                precision,
+                recall,
+                f1Score,
+                trainingTime,
+                learned,
+                0,
+                metrics,
+                null,
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Saves the model learned so far, making it the model used by predictions.
+     *
+     * @param modelId     The model ID
+     * @param classifier  The classifier being trained
+     * @param classValues The class values of the model
+     */
+    private void checkpoint(String modelId, UpdateableClassifier classifier, List<String> classValues) {
+        fileManager.saveModelToFile(modelId, classifier);
+        classValueManager.storeClassValues(modelId, classValues);
+        classifierCache.evictModel(modelId);
+        predictionCache.evictModel(modelId);
+        LOGGER.debug("Checkpointed online model: {}", modelId);
+    }
+
+    /**
+     * Gets the number of features an updateable classifier was trained with, from the dataset header it keeps.
+     *
+     * @param classifier The trained classifier
+     * @return The number of features, not counting the class
+     * @throws IllegalArgumentException if the classifier keeps no dataset header
+     */
+    private static int getFeatureCount(UpdateableClassifier classifier) {
+        Instances header = null;
+        if (classifier instanceof NaiveBayes naiveBayes) {
+            header = naiveBayes.getHeader();
+        } else if (classifier instanceof HoeffdingTree) {
+            try {
+                // HoeffdingTree keeps its header in a protected field without an accessor
+                Field field = HoeffdingTree.class.getDeclaredField("m_header");
+                field.setAccessible(true);
+                header = (Instances) field.get(classifier);
+            } catch (ReflectiveOperationException e) {
+                LOGGER.debug("HoeffdingTree header not available: {}", e.getMessage());
+            }
+        }
+        if (header == null) {
+            throw new IllegalArgumentException("Model has no training header to check the features against ("
+                    + classifier.getClass().getSimpleName() + ")");
+        }
+        return header.numAttributes() - 1;
+    }
+
+    /**
+     * Creates an untrained updateable classifier for the algorithm selected in the parameters.
+     *
+     * @param parameters The training parameters
+     * @return The classifier, a naive Bayes classifier by default
+     * @throws IllegalArgumentException if the algorithm cannot be trained online
+     */
+    private static UpdateableClassifier createClassifier(Map<String, Object> parameters) {
+        Object selected = parameters.get(VerbaMetricsConstants.PARAM_ALGORITHM);
+        String algorithm = selected == null ? VerbaMetricsConstants.ALGORITHM_NAIVE_BAYES_UPDATEABLE
+                : selected.toString().trim().toUpperCase();
+        return switch (algorithm) {
+            case VerbaMetricsConstants.ALGORITHM_NAIVE_BAYES_UPDATEABLE -> new NaiveBayesUpdateable();
+            case VerbaMetricsConstants.ALGORITHM_HOEFFDING_TREE -> new HoeffdingTree();
+            default -> throw new IllegalArgumentException("Unsupported online algorithm: " + algorithm + ". Supported: "
+                    + VerbaMetricsConstants.ALGORITHM_NAIVE_BAYES_UPDATEABLE + ", "
+                    + VerbaMetricsConstants.ALGORITHM_HOEFFDING_TREE);
+        };
+    }
+
+    /**
+     * Gets the class values from a training parameter.
+     *
+     * @param value The class values as a list, or as a comma-separated string as stored in model metadata
+     * @return The class values in order
+     * @throws IllegalArgumentException if fewer than 2 class values are given
+     */
+    private static List<String> getClassValues(Object value) {
+        List<String> classValues = new ArrayList<>();
+        if (value instanceof Collection<?> collection) {
+            collection.forEach(classValue -> classValues.add(String.valueOf(classValue).trim()));
+        } else if (value != null) {
+            String list = value.toString().trim();
+            if (list.startsWith("[") && list.endsWith("]")) {
+                list = list.substring(1, list.length() - 1);
+            }
+            for (String classValue : list.split(",")) {
+                classValues.add(classValue.trim());
+            }
+        }
+        classValues.removeIf(String::isEmpty);
+        if (new LinkedHashSet<>(classValues).size() < 2) {
+            throw new IllegalArgumentException("At least 2 distinct class values are required in the '"
+                    + VerbaMetricsConstants.PARAM_CLASS_VALUES + "' parameter");
+        }
+        return classValues;
+    }
+
+    /**
+     * Gets the feature layout to featurize the texts of a model with.
+     *
+     * @param parameters The training parameters of the model
+     * @return The layout saved in the parameters or the current one, or null if texts are not featurized
+     */
+    private FeatureLayout getLayout(Map<String, Object> parameters) {
+        FeatureLayout layout = featurizationEngine == null ? null : featurizationEngine.getLayout(parameters);
+        return layout != null && layout.featureCount() > 0 ? layout : null;
+    }
+
+    /**
+     * Gets the feature values of a record, derived from its text if it has a "text" but no "features".
+     *
+     * @param record The training record
+     * @param layout The feature layout to featurize the text with, or null if texts are not featurized
+     * @return The feature values, or null if they are missing or not all numbers
+     */
+    private double[] getFeatures(Map<String, Object> record, FeatureLayout layout) {
+        Object text = record.get("text");
+        if (record.get("features") == null && text != null && layout != null) {
+            return featurizationEngine.extractFeatures(text.toString(), layout);
+        }
+        return getFeatures(record.get("features"));
+    }
+
+    /**
+     * Gets the feature values of a record.
+     *
+     * @param features The features as a list of numbers
+     * @return The feature values, or null if they are missing or not all numbers
+     */
+    private static double[] getFeatures(Object features) {
+        if (!(features instanceof List<?> list) || list.isEmpty()) {
+            return null;
+        }
+        double[] values = new double[list.size()];
+        for (int i = 0; i < values.length; i++) {
+            if (!(list.get(i) instanceof Number number)) {
+                return null;
+            }
+            values[i] = number.doubleValue();
+        }
+        return values;
+    }
+
+    /**
+     * Creates the dataset header of the records, laid out as the prediction header.
+     *
+     * @param featureCount The number of features
+     * @param classValues  The class values
+     * @return The empty dataset header
+     */
+    private static Instances createHeader(int featureCount, List<String> classValues) {
+        ArrayList<Attribute> attributes = new ArrayList<>(featureCount + 1);
+        for (int i = 0; i < featureCount; i++) {
+            attributes.add(new Attribute("feature_" + i));
+        }
+        attributes.add(new Attribute("label", new ArrayList<>(classValues)));
+        Instances header = new Instances("OnlineTrainingDataset", attributes, 0);
+        header.setClassIndex(featureCount);
+        return header;
+    }
+
+    private static double score(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    private static ModelTrainingResult failedResult(String modelId, String modelType, Exception e) {
+        return new ModelTrainingResult(
+                modelId,
+                modelType,
+                false,
+                0.0, 0.0, 0.0, 0.0,
+                System.currentTimeMillis(),
+                0,
+                0,
+                Map.of(),
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+    }
+
+    /**
+     * Gets the number of records learned between checkpoints.
+     *
+     * @return The configured interval, at least 1
+     */
+    private int getCheckpointInterval() {
+        return Math.max(1, properties.getTrainingLimits().getOrDefault("online-checkpoint-interval",
+                DEFAULT_CHECKPOINT_INTERVAL));
+    }
+
+}
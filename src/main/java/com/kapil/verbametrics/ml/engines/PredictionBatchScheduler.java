@@ -0,0 +1,320 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Engine for coalescing concurrent predictions into micro-batches.
+ * Each model gets a dispatcher thread that collects submitted inputs until the batch is full or the oldest
+ * input has waited for the maximum wait, and predicts them together through
+ * {@link ModelPredictionEngine#predictBatch}, so the model lookup and dataset header are paid once per batch
+ * instead of once per input. Results have the same form as {@link ModelPredictionEngine#predict}.
+ * <p>
+ * Inputs are submitted as they are: callers check that the model exists and is ready and featurize texts first,
+ * as {@code MLModelService.submitPrediction} does, so that dispatchers are only started for known models.
+ * The dispatcher of a model is stopped when the model is evicted.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class PredictionBatchScheduler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PredictionBatchScheduler.class);
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final int DEFAULT_MAX_WAIT_MICROS = 2_000;
+    private static final int HISTOGRAM_BUCKETS = 32;
+
+    private final ModelPredictionEngine predictionEngine;
+    private final MLModelProperties properties;
+    private final Map<String, Dispatcher> dispatchers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    @Autowired
+    public PredictionBatchScheduler(ModelPredictionEngine predictionEngine, MLModelProperties properties) {
+        this.predictionEngine = predictionEngine;
+        this.properties = properties;
+    }
+
+    /**
+     * Submits an input for prediction in the next batch of its model.
+     *
+     * @param modelId the ID of a known, trained model
+     * @param input   the input data for prediction, with its features
+     * @return the pending prediction result, with an error entry if the input could not be predicted
+     */
+    public CompletableFuture<Map<String, Object>> submit(String modelId, Map<String, Object> input) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        PendingPrediction pending = new PendingPrediction(input, new CompletableFuture<>());
+        while (!closed) {
+            Dispatcher dispatcher = dispatchers.computeIfAbsent(modelId, Dispatcher::new);
+            dispatcher.queue.add(pending);
+            if (closed) {
+                // Closed while submitting: stopping the dispatcher fails the input unless it is already predicted
+                dispatchers.remove(modelId, dispatcher);
+                dispatcher.stop();
+                return pending.result();
+            }
+            if (!dispatcher.stopped || !dispatcher.queue.remove(pending)) {
+                return pending.result();
+            }
+            // The dispatcher was stopped by an eviction before taking the input, so retry with a new one
+        }
+        pending.fail("Prediction scheduler is closed");
+        return pending.result();
+    }
+
+    /**
+     * Stops the dispatcher of a model, so that a deleted model does not keep a thread.
+     * Inputs still waiting for a batch complete with an error, and later inputs start a new dispatcher.
+     *
+     * @param modelId the ID of the model
+     */
+    public void evictModel(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Dispatcher dispatcher = dispatchers.remove(modelId);
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    /**
+     * Gets the batching statistics of a model, including a histogram of batch sizes.
+     * Histogram buckets are labelled with the range of batch sizes they count, doubling from one bucket to the next.
+     *
+     * @param modelId the ID of the model
+     * @return batching statistics map
+     */
+    public Map<String, Object> getBatchStatistics(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Dispatcher dispatcher = dispatchers.get(modelId);
+        long batches = dispatcher == null ? 0 : dispatcher.batches.sum();
+        long predictions = dispatcher == null ? 0 : dispatcher.predictions.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        if (dispatcher != null) {
+            for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++) {
+                long count = dispatcher.histogram.get(bucket);
+                if (count > 0) {
+                    histogram.put(bucketLabel(bucket), count);
+                }
+            }
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("batches", batches);
+        stats.put("predictions", predictions);
+        stats.put("averageBatchSize", batches == 0 ? 0.0 : (double) predictions / batches);
+        stats.put("batchSizeHistogram", histogram);
+        stats.put("maxBatchSize", getMaxBatchSize());
+        stats.put("maxWaitMicros", getMaxWaitMicros());
+        return stats;
+    }
+
+    /**
+     * Stops the dispatcher threads. Inputs still waiting for a batch complete with an error.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatchers.values().forEach(Dispatcher::stop);
+        dispatchers.clear();
+    }
+
+    /**
+     * Gets the maximum number of inputs predicted in one batch.
+     *
+     * @return the maximum batch size, at least 1
+     */
+    private int getMaxBatchSize() {
+        return Math.max(1, properties.getBatchSettings().getOrDefault("max-batch-size", DEFAULT_MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Gets how long the first input of a batch waits for more inputs.
+     *
+     * @return the maximum wait in microseconds, at least 0
+     */
+    private int getMaxWaitMicros() {
+        return Math.max(0, properties.getBatchSettings().getOrDefault("max-wait-micros", DEFAULT_MAX_WAIT_MICROS));
+    }
+
+    /**
+     * Gets the histogram bucket counting a batch size.
+     *
+     * @param batchSize the batch size, at least 1
+     * @return the bucket index: 0 for 1, 1 for 2, 2 for 3-4, 3 for 5-8 and so on
+     */
+    private static int bucketOf(int batchSize) {
+        return 32 - Integer.numberOfLeadingZeros(batchSize - 1);
+    }
+
+    /**
+     * Gets the label of a histogram bucket.
+     *
+     * @param bucket the bucket index
+     * @return the range of batch sizes the bucket counts
+     */
+    private static String bucketLabel(int bucket) {
+        if (bucket < 2) {
+            return String.valueOf(bucket + 1);
+        }
+        long low = (1L << (bucket - 1)) + 1;
+        long high = 1L << bucket;
+        return low + "-" + high;
+    }
+
+    /**
+     * Converts the result of one input of a batch into the form returned by single predictions.
+     *
+     * @param batch the batch prediction result
+     * @param index the input position
+     * @return the prediction result map
+     */
+    private static Map<String, Object> toPredictionResult(BatchPredictionResult batch, int index) {
+        PredictionResult prediction = batch.result(index);
+        if (prediction != null) {
+            return prediction.toMap();
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("error", true);
+        result.put("message", batch.errors()[index]);
+        result.put("modelId", batch.modelId());
+        return result;
+    }
+
+    /**
+     * Input waiting for its batch.
+     *
+     * @param input  the input data for prediction
+     * @param result the pending prediction result
+     */
+    private record PendingPrediction(Map<String, Object> input, CompletableFuture<Map<String, Object>> result) {
+
+        void fail(String message) {
+            result.completeExceptionally(new IllegalStateException(message));
+        }
+
+    }
+
+    /**
+     * Collects the inputs of one model into batches on its own thread.
+     */
+    private final class Dispatcher implements Runnable {
+
+        private final String modelId;
+        private final BlockingQueue<PendingPrediction> queue = new LinkedBlockingQueue<>();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder predictions = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+        private final Thread thread;
+        private volatile boolean stopped;
+
+        Dispatcher(String modelId) {
+            this.modelId = modelId;
+            this.thread = Thread.ofVirtual().name("prediction-batch-" + modelId).start(this);
+        }
+
+        @Override
+        public void run() {
+            List<PendingPrediction> batch = new ArrayList<>();
+            try {
+                while (!stopped) {
+                    collectBatch(batch);
+                    predict(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                String message = closed ? "Prediction scheduler is closed" : "Model was evicted: " + modelId;
+                queue.drainTo(batch);
+                batch.forEach(pending -> pending.fail(message));
+                LOGGER.debug("Prediction dispatcher stopped for model: {}", modelId);
+            }
+        }
+
+        /**
+         * Stops collecting batches, failing the inputs that are still waiting.
+         */
+        void stop() {
+            stopped = true;
+            thread.interrupt();
+        }
+
+        /**
+         * Waits for an input, then collects more until the batch is full or the first input has waited long enough.
+         *
+         * @param batch the list receiving the inputs
+         * @throws InterruptedException if the scheduler is closed while waiting
+         */
+        private void collectBatch(List<PendingPrediction> batch) throws InterruptedException {
+            int maxBatchSize = getMaxBatchSize();
+            batch.add(queue.take());
+            long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(getMaxWaitMicros());
+            while (batch.size() < maxBatchSize) {
+                if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                PendingPrediction next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        }
+
+        /**
+         * Predicts a batch and completes the results of its inputs.
+         * If the whole batch fails, for example because the model is not found, every input gets the error.
+         *
+         * @param batch the inputs to predict
+         */
+        private void predict(List<PendingPrediction> batch) {
+            int size = batch.size();
+            batches.increment();
+            predictions.add(size);
+            histogram.incrementAndGet(bucketOf(size));
+            List<Map<String, Object>> inputs = new ArrayList<>(size);
+            for (PendingPrediction pending : batch) {
+                inputs.add(pending.input());
+            }
+            BatchPredictionResult result;
+            try {
+                result = predictionEngine.predictBatch(modelId, inputs);
+            } catch (RuntimeException e) {
+                LOGGER.error("Failed to predict batch of {} inputs with model: {}", size, modelId, e);
+                Map<String, Object> errorResult = new HashMap<>();
+                errorResult.put("error", true);
+                errorResult.put("message", "Prediction failed: " + e.getMessage());
+                errorResult.put("modelId", modelId);
+                for (PendingPrediction pending : batch) {
+                    pending.result().complete(new HashMap<>(errorResult));
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                batch.get(i).result().complete(toPredictionResult(result, i));
+            }
+        }
+
+    }
+
+}
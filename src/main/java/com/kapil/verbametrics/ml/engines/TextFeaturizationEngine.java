@@ -0,0 +1,448 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.domain.ReadabilityMetrics;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.services.ReadabilityAnalysisService;
+import com.kapil.verbametrics.services.engines.BatchAnalysisEngine;
+import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.BoundedLruCache;
+import com.kapil.verbametrics.services.models.SentimentRevision;
+import com.kapil.verbametrics.services.models.SentimentTally;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Engine for deriving feature vectors from the "text" of records, so that callers need not precompute "features".
+ * A feature vector is made of up to three configurable groups, in this order:
+ * <ul>
+ *     <li>lexicon scores: the sentiment score and the positive and negative lexicon weight per token</li>
+ *     <li>readability metrics: Flesch-Kincaid grade, Flesch Reading Ease, average sentence length, average syllables
+ *     per word and word count</li>
+ *     <li>hashed n-gram counts: the counts of lower-cased word n-grams, hashed into a fixed number of buckets</li>
+ * </ul>
+ * Records are featurized in parallel, and feature vectors are kept in an LRU cache by the SHA-256 hash of their text
+ * and the feature settings, so repeated texts are featurized once for as long as the sentiment word lists and rules
+ * are unchanged.
+ * <p>
+ * The groups a model is trained with are saved in its "feature-layout" parameter, so that texts are featurized for
+ * the model the same way after the feature settings change.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class TextFeaturizationEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TextFeaturizationEngine.class);
+
+    private static final int LEXICON_FEATURES = 3;
+    private static final int READABILITY_FEATURES = 5;
+    private static final int DEFAULT_HASH_BUCKETS = 64;
+    private static final int DEFAULT_MAX_NGRAM_LENGTH = 2;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private final MLModelProperties properties;
+    private final SentimentCalculationEngine sentimentEngine;
+    private final ReadabilityAnalysisService readabilityService;
+    private final BatchAnalysisEngine batchEngine;
+    private final BoundedLruCache<TextKey, CachedFeatures> cache = new BoundedLruCache<>(this::getCacheSize);
+
+    @Autowired
+    public TextFeaturizationEngine(MLModelProperties properties, SentimentCalculationEngine sentimentEngine,
+                                   ReadabilityAnalysisService readabilityService, BatchAnalysisEngine batchEngine) {
+        this.properties = properties;
+        this.sentimentEngine = sentimentEngine;
+        this.readabilityService = readabilityService;
+        this.batchEngine = batchEngine;
+    }
+
+    /**
+     * Adds features derived from the text to every record that has a "text" but no "features".
+     * Other records are returned as they are, and the given records are not modified.
+     *
+     * @param records the records to featurize
+     * @return the records in input order, with features for each record that has a text
+     * @throws IllegalArgumentException if the text of a record cannot be featurized
+     */
+    public List<Map<String, Object>> featurize(List<Map<String, Object>> records) {
+        return featurize(records, isEnabled() ? getLayout() : null);
+    }
+
+    /**
+     * Adds features with the given layout to every record that has a "text" but no "features".
+     * Other records are returned as they are, and the given records are not modified.
+     *
+     * @param records the records to featurize
+     * @param layout  the feature groups to extract, or null to return the records as they are
+     * @return the records in input order, with features for each record that has a text
+     * @throws IllegalArgumentException if the text of a record cannot be featurized
+     */
+    public List<Map<String, Object>> featurize(List<Map<String, Object>> records, FeatureLayout layout) {
+        Objects.requireNonNull(records, "Records cannot be null");
+        if (layout == null || layout.featureCount() == 0) {
+            return records;
+        }
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            if (needsFeatures(records.get(i))) {
+                positions.add(i);
+            }
+        }
+        if (positions.isEmpty()) {
+            return records;
+        }
+        long startTime = System.currentTimeMillis();
+        List<BatchItemResult<double[]>> results = batchEngine.process(
+                positions.stream().map(i -> records.get(i).get("text").toString()).iterator(),
+                text -> extractFeatures(text, layout));
+        List<Map<String, Object>> featurized = new ArrayList<>(records);
+        for (BatchItemResult<double[]> result : results) {
+            int position = positions.get(result.index());
+            if (!result.isSuccess()) {
+                throw new IllegalArgumentException("Record #" + (position + 1) + " could not be featurized: "
+                        + result.errorMessage());
+            }
+            featurized.set(position, withFeatures(records.get(position), result.result()));
+        }
+        LOGGER.debug("Featurized {} of {} records in {}ms", positions.size(), records.size(),
+                System.currentTimeMillis() - startTime);
+        return featurized;
+    }
+
+    /**
+     * Adds features derived from the text to a record that has a "text" but no "features".
+     *
+     * @param record the record to featurize
+     * @return the record with features if it has a text, otherwise the record as it is
+     */
+    public Map<String, Object> featurize(Map<String, Object> record) {
+        return featurize(record, isEnabled() ? getLayout() : null);
+    }
+
+    /**
+     * Adds features with the given layout to a record that has a "text" but no "features".
+     *
+     * @param record the record to featurize
+     * @param layout the feature groups to extract, or null to return the record as it is
+     * @return the record with features if it has a text, otherwise the record as it is
+     */
+    public Map<String, Object> featurize(Map<String, Object> record, FeatureLayout layout) {
+        Objects.requireNonNull(record, "Record cannot be null");
+        if (layout == null || layout.featureCount() == 0 || !needsFeatures(record)) {
+            return record;
+        }
+        return withFeatures(record, extractFeatures(record.get("text").toString(), layout));
+    }
+
+    /**
+     * Extracts the feature vector of a text, from the cache if the text was featurized with the current word lists.
+     *
+     * @param text the text to featurize
+     * @return the feature vector, with {@link #getFeatureCount()} values
+     */
+    public double[] extractFeatures(String text) {
+        return extractFeatures(text, getLayout());
+    }
+
+    /**
+     * Extracts the feature vector of a text with the given layout, from the cache if the text was featurized with
+     * the current word lists.
+     *
+     * @param text   the text to featurize
+     * @param layout the feature groups to extract
+     * @return the feature vector, with {@link FeatureLayout#featureCount()} values
+     */
+    public double[] extractFeatures(String text, FeatureLayout layout) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        Objects.requireNonNull(layout, "Layout cannot be null");
+        if (!cache.isEnabled()) {
+            return computeFeatures(text, layout).features();
+        }
+        TextKey key = new TextKey(hash(text), layout);
+        CachedFeatures cached = cache.get(key,
+                entry -> entry.revision() == null || sentimentEngine.isCurrent(entry.revision()));
+        if (cached != null) {
+            return cached.features().clone();
+        }
+        CachedFeatures computed = computeFeatures(text, layout);
+        cache.put(key, computed);
+        return computed.features().clone();
+    }
+
+    /**
+     * Gets the number of features extracted from a text with the current settings.
+     *
+     * @return the length of the feature vectors
+     */
+    public int getFeatureCount() {
+        return getLayout().featureCount();
+    }
+
+    /**
+     * Gets the feature groups extracted with the current settings.
+     *
+     * @return the current feature layout
+     */
+    public FeatureLayout getLayout() {
+        return new FeatureLayout(getSetting("lexicon", 1) > 0, getSetting("readability", 1) > 0,
+                Math.max(0, getSetting("hash-buckets", DEFAULT_HASH_BUCKETS)),
+                Math.max(1, getSetting("max-ngram-length", DEFAULT_MAX_NGRAM_LENGTH)));
+    }
+
+    /**
+     * Gets the feature groups to featurize the records of a model with.
+     *
+     * @param parameters the parameters of the model
+     * @return the layout saved in the "feature-layout" parameter, otherwise the current layout if featurization is
+     * enabled, otherwise null
+     * @throws IllegalArgumentException if the saved layout is malformed
+     */
+    public FeatureLayout getLayout(Map<String, Object> parameters) {
+        Object saved = parameters.get(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT);
+        if (saved != null) {
+            return FeatureLayout.parse(saved.toString());
+        }
+        return isEnabled() ? getLayout() : null;
+    }
+
+    /**
+     * Checks if records are featurized.
+     *
+     * @return true if featurization is enabled and extracts at least one feature
+     */
+    public boolean isEnabled() {
+        return getSetting("enabled", 1) > 0 && getFeatureCount() > 0;
+    }
+
+    /**
+     * Gets feature cache statistics.
+     *
+     * @return cache statistics map
+     */
+    public Map<String, Object> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Computes the feature vector of a text.
+     *
+     * @param text   the text to featurize
+     * @param layout the feature groups to compute
+     * @return the feature vector, with the sentiment revision it was computed at if lexicon scores are enabled
+     */
+    private CachedFeatures computeFeatures(String text, FeatureLayout layout) {
+        TokenizedDocument document = TokenizedDocument.of(text);
+        double[] features = new double[layout.featureCount()];
+        int offset = 0;
+        SentimentRevision revision = null;
+        if (layout.lexicon()) {
+            revision = sentimentEngine.getRevision();
+            SentimentTally tally = sentimentEngine.tallySentiment(document);
+            double positive = 0.0;
+            double negative = 0.0;
+            for (double contribution : tally.contributions()) {
+                if (contribution > 0) {
+                    positive += contribution;
+                } else {
+                    negative -= contribution;
+                }
+            }
+            long tokens = Math.max(1, tally.tokenCount());
+            features[offset++] = sentimentEngine.calculateSentimentScore(List.of(tally));
+            features[offset++] = positive / tokens;
+            features[offset++] = negative / tokens;
+        }
+        if (layout.readability()) {
+            ReadabilityMetrics readability = readabilityService.analyzeReadability(document);
+            features[offset++] = readability.fleschKincaidScore();
+            features[offset++] = readability.fleschReadingEase();
+            features[offset++] = readability.averageSentenceLength();
+            features[offset++] = readability.averageSyllablesPerWord();
+            features[offset++] = document.wordCount();
+        }
+        if (layout.hashBuckets() > 0) {
+            countNgrams(document.lowerCaseText(), features, offset, layout);
+        }
+        return new CachedFeatures(features, revision);
+    }
+
+    /**
+     * Counts the word n-grams of a lower-cased text into hash buckets.
+     * Words are runs of letters and digits, hashed in place, and n-grams run from single words up to the maximum
+     * n-gram length.
+     *
+     * @param lowerCaseText the lower-cased text
+     * @param features      the feature vector
+     * @param offset        the index of the first bucket in the feature vector
+     * @param layout        the number of buckets and the maximum n-gram length
+     */
+    private static void countNgrams(String lowerCaseText, double[] features, int offset, FeatureLayout layout) {
+        int buckets = layout.hashBuckets();
+        int maxLength = layout.maxNgramLength();
+        // Hashes of the most recent words, newest last
+        int[] window = new int[maxLength];
+        int words = 0;
+        int length = lowerCaseText.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(lowerCaseText.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            int wordHash = 0;
+            while (i < length && Character.isLetterOrDigit(lowerCaseText.charAt(i))) {
+                wordHash = 31 * wordHash + lowerCaseText.charAt(i);
+                i++;
+            }
+            if (start == i) {
+                break;
+            }
+            System.arraycopy(window, 1, window, 0, maxLength - 1);
+            window[maxLength - 1] = wordHash;
+            words++;
+            int hash = 0;
+            for (int n = 1; n <= Math.min(maxLength, words); n++) {
+                hash = 31 * hash + window[maxLength - n] + n;
+                features[offset + Math.floorMod(mix(hash), buckets)]++;
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a hash, so that n-grams with close hashes land in different buckets.
+     *
+     * @param hash the n-gram hash
+     * @return the mixed hash
+     */
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean needsFeatures(Map<String, Object> record) {
+        return record.get("features") == null && record.get("text") != null;
+    }
+
+    private static Map<String, Object> withFeatures(Map<String, Object> record, double[] features) {
+        Map<String, Object> featurized = new HashMap<>(record);
+        featurized.put("features", features);
+        return featurized;
+    }
+
+    private static byte[] hash(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private int getCacheSize() {
+        return getSetting("cache-size", DEFAULT_CACHE_SIZE);
+    }
+
+    private int getSetting(String name, int defaultValue) {
+        return properties.getFeatureSettings().getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * The feature groups extracted from a text.
+     *
+     * @param lexicon        whether lexicon scores are extracted
+     * @param readability    whether readability metrics are extracted
+     * @param hashBuckets    the number of n-gram hash buckets
+     * @param maxNgramLength the maximum n-gram length
+     */
+    public record FeatureLayout(boolean lexicon, boolean readability, int hashBuckets, int maxNgramLength) {
+
+        public FeatureLayout {
+            if (hashBuckets < 0) {
+                throw new IllegalArgumentException("Hash buckets cannot be negative");
+            }
+            if (maxNgramLength < 1) {
+                throw new IllegalArgumentException("Max n-gram length must be at least 1");
+            }
+        }
+
+        /**
+         * Gets the number of features extracted with this layout.
+         *
+         * @return the length of the feature vectors
+         */
+        public int featureCount() {
+            return (lexicon ? LEXICON_FEATURES : 0) + (readability ? READABILITY_FEATURES : 0) + hashBuckets;
+        }
+
+        /**
+         * Parses a layout saved with {@link #toString()}.
+         *
+         * @param value the saved layout, such as "lexicon=1,readability=1,hash-buckets=64,max-ngram-length=2"
+         * @return the layout
+         * @throws IllegalArgumentException if the value is not a saved layout
+         */
+        public static FeatureLayout parse(String value) {
+            Map<String, Integer> settings = new HashMap<>();
+            try {
+                for (String setting : value.split(",")) {
+                    String[] pair = setting.split("=", 2);
+                    settings.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed feature layout: " + value, e);
+            }
+            if (!settings.keySet().containsAll(List.of("lexicon", "readability", "hash-buckets",
+                    "max-ngram-length"))) {
+                throw new IllegalArgumentException("Malformed feature layout: " + value);
+            }
+            return new FeatureLayout(settings.get("lexicon") > 0, settings.get("readability") > 0,
+                    settings.get("hash-buckets"), settings.get("max-ngram-length"));
+        }
+
+        @Override
+        public String toString() {
+            return "lexicon=" + (lexicon ? 1 : 0) + ",readability=" + (readability ? 1 : 0) + ",hash-buckets="
+                    + hashBuckets + ",max-ngram-length=" + maxNgramLength;
+        }
+
+    }
+
+    /**
+     * Cache key of a text, comparing text hashes by value, so that a vector is only reused with the settings it was
+     * extracted with.
+     *
+     * @param hash   the SHA-256 hash of the text
+     * @param layout the feature groups the vector was extracted with
+     */
+    private record TextKey(byte[] hash, FeatureLayout layout) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TextKey other && Arrays.equals(hash, other.hash) && layout.equals(other.layout);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(hash) + layout.hashCode();
+        }
+
+    }
+
+    /**
+     * A cached feature vector.
+     *
+     * @param features the feature vector
+     * @param revision the sentiment revision the lexicon scores were computed at, or null without lexicon scores
+     */
+    private record CachedFeatures(double[] features, SentimentRevision revision) {
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.kapil.verbametrics.ml.managers;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import weka.classifiers.Classifier;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manager for caching deserialized classifiers in memory.
+ * Keeps the least recently used classifiers within a budget of serialized bytes, so that predictions on a
+ * warm model do not read the model file again. Concurrent requests for a model that is not cached share
+ * a single load of its file.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class ClassifierCacheManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassifierCacheManager.class);
+
+    private static final int DEFAULT_MAX_MEGABYTES = 128;
+
+    private final ModelFileManager fileManager;
+    private final MLModelProperties properties;
+    private final Map<String, CachedClassifier> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Optional<Classifier>>> loads = new ConcurrentHashMap<>();
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+
+    @Autowired
+    public ClassifierCacheManager(ModelFileManager fileManager, MLModelProperties properties) {
+        this.fileManager = fileManager;
+        this.properties = properties;
+    }
+
+    /**
+     * Gets the classifier of a model, loading it from its file if it is not cached.
+     *
+     * @param modelId the model ID
+     * @return the classifier if the model file exists
+     * @throws IllegalArgumentException if the model file does not hold a Weka Classifier
+     */
+    public Optional<Classifier> getClassifier(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        synchronized (this) {
+            CachedClassifier cached = cache.get(modelId);
+            if (cached != null) {
+                hits++;
+                return Optional.of(cached.classifier());
+            }
+            misses++;
+        }
+        CompletableFuture<Optional<Classifier>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Classifier>> pending = loads.putIfAbsent(modelId, load);
+        if (pending != null) {
+            LOGGER.debug("Waiting for classifier being loaded: {}", modelId);
+            return await(pending);
+        }
+        try {
+            Optional<Classifier> classifier = loadClassifier(modelId, load);
+            load.complete(classifier);
+            return classifier;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(modelId, load);
+        }
+    }
+
+    /**
+     * Evicts the classifier of a model, so that its next use loads the model file again.
+     * A load of the model that is in progress is not cached.
+     *
+     * @param modelId the model ID
+     */
+    public synchronized void evictModel(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        CachedClassifier removed = cache.remove(modelId);
+        if (removed != null) {
+            cachedBytes -= removed.size();
+        }
+        loads.remove(modelId);
+        LOGGER.debug("Classifier evicted from cache: {}", modelId);
+    }
+
+    /**
+     * Evicts all classifiers from cache.
+     */
+    public synchronized void evictAllModels() {
+        cache.clear();
+        loads.clear();
+        cachedBytes = 0;
+        LOGGER.debug("All classifiers evicted from cache");
+    }
+
+    /**
+     * Checks if the classifier of a model is cached.
+     *
+     * @param modelId the model ID
+     * @return true if the classifier is cached
+     */
+    public synchronized boolean isModelCached(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        return cache.containsKey(modelId);
+    }
+
+    /**
+     * Gets cache statistics.
+     *
+     * @return cache statistics map
+     */
+    public synchronized Map<String, Object> getCacheStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cacheSize", cache.size());
+        stats.put("cachedBytes", cachedBytes);
+        stats.put("maxBytes", getMaxBytes());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("cachedModels", new ArrayList<>(cache.keySet()));
+        return stats;
+    }
+
+    /**
+     * Loads a classifier from its model file and caches it unless the model was evicted meanwhile.
+     *
+     * @param modelId the model ID
+     * @param load    the load in progress
+     * @return the classifier if the model file exists
+     */
+    private Optional<Classifier> loadClassifier(String modelId, CompletableFuture<Optional<Classifier>> load) {
+        long size = fileManager.getModelFileSize(modelId);
+        Optional<Object> model = fileManager.loadModelFromFile(modelId);
+        if (model.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!(model.get() instanceof Classifier classifier)) {
+            throw new IllegalArgumentException("Loaded model is not a Weka Classifier: " + model.get().getClass().getSimpleName());
+        }
+        synchronized (this) {
+            if (loads.get(modelId) == load) {
+                cacheClassifier(modelId, new CachedClassifier(classifier, size));
+            }
+        }
+        return Optional.of(classifier);
+    }
+
+    /**
+     * Caches a classifier, evicting the least recently used classifiers to stay within the byte budget.
+     * A classifier larger than the whole budget is not cached.
+     *
+     * @param modelId the model ID
+     * @param entry   the classifier and its serialized size
+     */
+    private void cacheClassifier(String modelId, CachedClassifier entry) {
+        long maxBytes = getMaxBytes();
+        if (entry.size() > maxBytes) {
+            LOGGER.debug("Classifier too large to cache: {} ({} bytes)", modelId, entry.size());
+            return;
+        }
+        CachedClassifier previous = cache.put(modelId, entry);
+        if (previous != null) {
+            cachedBytes -= previous.size();
+        }
+        cachedBytes += entry.size();
+        Iterator<Map.Entry<String, CachedClassifier>> eldest = cache.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, CachedClassifier> evicted = eldest.next();
+            if (!evicted.getKey().equals(modelId)) {
+                cachedBytes -= evicted.getValue().size();
+                eldest.remove();
+                LOGGER.debug("Classifier evicted to free cache space: {}", evicted.getKey());
+            }
+        }
+        LOGGER.debug("Classifier cached: {} ({} bytes)", modelId, entry.size());
+    }
+
+    /**
+     * Waits for a load started by another request.
+     *
+     * @param pending the load in progress
+     * @return the loaded classifier
+     */
+    private static Optional<Classifier> await(CompletableFuture<Optional<Classifier>> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the byte budget of the cache.
+     *
+     * @return the maximum number of serialized bytes to cache
+     */
+    private long getMaxBytes() {
+        return properties.getCacheSettings().getOrDefault("max-classifier-megabytes", DEFAULT_MAX_MEGABYTES) * 1024L * 1024L;
+    }
+
+    /**
+     * A cached classifier with the size of its model file.
+     *
+     * @param classifier the deserialized classifier
+     * @param size       the serialized size in bytes
+     */
+    private record CachedClassifier(Classifier classifier, long size) {
+    }
+
+}
@@ -9,9 +9,11 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -34,6 +36,8 @@ public class ModelFileManager {
 
     /**
      * Saves a model to file.
+     * The model is written to a temporary file next to the model file, which then replaces the model file, so a
+     * failed save leaves the previous model in place.
      *
      * @param modelId the model ID
      * @param model   the model to save
@@ -41,17 +45,22 @@ public class ModelFileManager {
     public void saveModelToFile(String modelId, Object model) {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
         Objects.requireNonNull(model, "Model cannot be null");
+        Path temp = null;
         try {
-            String filePath = getModelFilePath(modelId);
-            Path path = Paths.get(filePath);
+            Path path = Paths.get(getModelFilePath(modelId)).toAbsolutePath();
             Path parent = path.getParent();
-            if (parent != null) {
-                Files.createDirectories(parent);
-            }
-            try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(path))) {
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(temp))) {
                 oos.writeObject(model);
             }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
+            deleteQuietly(temp);
             LOGGER.error("Failed to save model to file: {}", modelId, e);
             throw new RuntimeException("Failed to save model to file: " + e.getMessage(), e);
         }
@@ -82,6 +91,22 @@ public class ModelFileManager {
         }
     }
 
+    /**
+     * Gets the size of a model file.
+     *
+     * @param modelId the model ID
+     * @return the file size in bytes, or 0 if the file cannot be read
+     */
+    public long getModelFileSize(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        try {
+            return Files.size(Paths.get(getModelFilePath(modelId)));
+        } catch (IOException e) {
+            LOGGER.debug("Model file size not available for model: {}", modelId);
+            return 0;
+        }
+    }
+
     /**
      * Gets the file path for a model.
      *
@@ -105,4 +130,20 @@ public class ModelFileManager {
         return properties.getFileSettings().getOrDefault("base-path", "/models");
     }
 
+    /**
+     * Deletes a temporary model file left by a failed save.
+     *
+     * @param temp the temporary file, or null if none was created
+     */
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to delete temporary model file: {}", temp);
+        }
+    }
+
 }
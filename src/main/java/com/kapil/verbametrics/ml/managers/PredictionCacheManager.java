@@ -0,0 +1,182 @@
+package com.kapil.verbametrics.ml.managers;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.services.models.BoundedLruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manager for caching prediction results in memory.
+ * Keeps the results of the least recently repeated inputs, keyed by model ID and feature vector, so that
+ * repeated inputs skip instance construction and classification. Entries are held in a segmented
+ * {@link BoundedLruCache}, so concurrent predictions rarely contend for a lock. Entries expire after a time to live
+ * and are evicted when their model is retrained or deleted. Each eviction of a model starts a new generation of
+ * its predictions, and results scored by an earlier generation are neither cached nor served, so a prediction
+ * racing a retraining cannot cache a result of the replaced model. The cache is disabled when its maximum size is 0.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class PredictionCacheManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PredictionCacheManager.class);
+
+    private static final int DEFAULT_MAX_PREDICTIONS = 0;
+    private static final int DEFAULT_TTL_SECONDS = 300;
+
+    private final MLModelProperties properties;
+    private final BoundedLruCache<PredictionKey, CachedPrediction> cache = new BoundedLruCache<>(this::getMaxSize);
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PredictionCacheManager(MLModelProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Gets the cached prediction of an input.
+     *
+     * @param modelId  the model ID
+     * @param features the feature vector of the input
+     * @return the cached prediction result if present and not expired
+     */
+    public Optional<PredictionResult> getPrediction(String modelId, double[] features) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(features, "Features cannot be null");
+        long now = System.currentTimeMillis();
+        long generation = getGeneration(modelId);
+        CachedPrediction cached = cache.get(new PredictionKey(modelId, features),
+                entry -> entry.expiresAt() > now && entry.generation() == generation);
+        return cached == null ? Optional.empty() : Optional.of(cached.result());
+    }
+
+    /**
+     * Caches the prediction of an input, evicting the least recently used predictions to stay within the maximum size.
+     *
+     * @param modelId  the model ID
+     * @param features the feature vector of the input
+     * @param result   the prediction result
+     */
+    public void cachePrediction(String modelId, double[] features, PredictionResult result) {
+        cachePrediction(modelId, features, result, getGeneration(modelId));
+    }
+
+    /**
+     * Caches the prediction of an input scored by a generation of a model, unless the model has been evicted since.
+     *
+     * @param modelId    the model ID
+     * @param features   the feature vector of the input
+     * @param result     the prediction result
+     * @param generation the generation of the model, read before the model was loaded
+     */
+    public void cachePrediction(String modelId, double[] features, PredictionResult result, long generation) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(features, "Features cannot be null");
+        Objects.requireNonNull(result, "Result cannot be null");
+        if (!isEnabled() || generation != getGeneration(modelId)) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + getTtlSeconds() * 1000L;
+        cache.put(new PredictionKey(modelId, features.clone()), new CachedPrediction(result, expiresAt, generation));
+    }
+
+    /**
+     * Gets the current generation of the predictions of a model, which changes whenever the model is evicted.
+     *
+     * @param modelId the model ID
+     * @return the generation
+     */
+    public long getGeneration(String modelId) {
+        return generations.getOrDefault(modelId, 0L);
+    }
+
+    /**
+     * Evicts the cached predictions of a model.
+     *
+     * @param modelId the model ID
+     */
+    public void evictModel(String modelId) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        generations.merge(modelId, 1L, Long::sum);
+        int removed = cache.removeIf(key -> key.modelId().equals(modelId));
+        LOGGER.debug("Predictions evicted from cache for model: {} ({} entries)", modelId, removed);
+    }
+
+    /**
+     * Evicts all predictions from cache.
+     */
+    public void evictAllPredictions() {
+        cache.clear();
+        LOGGER.debug("All predictions evicted from cache");
+    }
+
+    /**
+     * Gets cache statistics, including the hit rate of lookups.
+     *
+     * @return cache statistics map
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> stats = cache.getStatistics();
+        stats.put("enabled", isEnabled());
+        stats.put("ttlSeconds", getTtlSeconds());
+        return stats;
+    }
+
+    /**
+     * Checks if predictions are cached.
+     *
+     * @return true if the maximum size is positive
+     */
+    public boolean isEnabled() {
+        return cache.isEnabled();
+    }
+
+    private int getMaxSize() {
+        return properties.getCacheSettings().getOrDefault("max-predictions", DEFAULT_MAX_PREDICTIONS);
+    }
+
+    private int getTtlSeconds() {
+        return properties.getCacheSettings().getOrDefault("prediction-ttl-seconds", DEFAULT_TTL_SECONDS);
+    }
+
+    /**
+     * Cache key of a prediction, comparing feature vectors by value.
+     *
+     * @param modelId  the model ID
+     * @param features the feature vector
+     */
+    private record PredictionKey(String modelId, double[] features) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PredictionKey other && modelId.equals(other.modelId)
+                    && Arrays.equals(features, other.features);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * modelId.hashCode() + Arrays.hashCode(features);
+        }
+
+    }
+
+    /**
+     * A cached prediction result with its expiry time and the generation of the model that scored it.
+     *
+     * @param result     the prediction result
+     * @param expiresAt  the time in milliseconds after which the result is stale
+     * @param generation the generation of the model
+     */
+    private record CachedPrediction(PredictionResult result, long expiresAt, long generation) {
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.kapil.verbametrics.ml.services;
+
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Service interface for tuning the training parameters of a model.
+ * Searches max-depth, min-samples-split, k-value and random-state by cross-validation and trains only the winner.
+ *
+ * @author Kapil Garg
+ */
+public interface HyperparameterSearchService {
+
+    /**
+     * Searches for the training parameters with the best cross-validated accuracy, then trains and saves a model
+     * with them. Losing candidates are never persisted.
+     *
+     * @param modelType    The type of model to train
+     * @param trainingData The training dataset
+     * @param parameters   The training parameters shared by all candidates, such as name, description and algorithm
+     * @param strategy     The search strategy
+     * @param searchSpace  The values to try for each searched parameter, or null for the default search space
+     * @return The search result, with the training result of the winning parameters
+     * @throws IllegalArgumentException if the training data or search space is not valid
+     */
+    HyperparameterSearchResult searchAndTrain(String modelType, List<Map<String, Object>> trainingData,
+                                              Map<String, Object> parameters, SearchStrategy strategy,
+                                              Map<String, List<Integer>> searchSpace);
+
+    /**
+     * Searches for the training parameters with the best cross-validated accuracy, then trains and saves a model
+     * with them, notifying a monitor of the stages of the final training.
+     *
+     * @param modelType    The type of model to train
+     * @param trainingData The training dataset
+     * @param parameters   The training parameters shared by all candidates, such as name, description and algorithm
+     * @param strategy     The search strategy
+     * @param searchSpace  The values to try for each searched parameter, or null for the default search space
+     * @param monitor      The monitor notified on entry to the stages of the final training
+     * @return The search result, with the training result of the winning parameters
+     * @throws IllegalArgumentException if the training data or search space is not valid
+     * @throws CancellationException    if the monitor cancels the training
+     */
+    HyperparameterSearchResult searchAndTrain(String modelType, List<Map<String, Object>> trainingData,
+                                              Map<String, Object> parameters, SearchStrategy strategy,
+                                              Map<String, List<Integer>> searchSpace, TrainingMonitor monitor);
+
+    /**
+     * Gets the search space used when none is given.
+     *
+     * @return The values tried for each searched parameter
+     */
+    Map<String, List<Integer>> getDefaultSearchSpace();
+
+}
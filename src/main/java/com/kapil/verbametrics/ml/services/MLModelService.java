@@ -1,11 +1,16 @@
 package com.kapil.verbametrics.ml.services;
 
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
 import com.kapil.verbametrics.ml.domain.MLModel;
 import com.kapil.verbametrics.ml.domain.ModelEvaluationResult;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for machine learning model operations.
@@ -26,6 +31,51 @@ public interface MLModelService {
     ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
                                    Map<String, Object> parameters);
 
+    /**
+     * Trains a machine learning model, reporting each training stage to a monitor.
+     *
+     * @param modelType    The type of model to train (SENTIMENT, TOPIC_MODELING, CLASSIFICATION)
+     * @param trainingData The training dataset
+     * @param parameters   Model-specific parameters
+     * @param monitor      The monitor notified as training moves through its stages
+     * @return Training result with model performance metrics
+     * @throws java.util.concurrent.CancellationException if the monitor cancels the training
+     */
+    ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
+                                   Map<String, Object> parameters, TrainingMonitor monitor);
+
+    /**
+     * Trains a machine learning model on a dataset read straight from a stream, for datasets too large to parse
+     * into records first.
+     *
+     * @param modelType  The type of model to train (SENTIMENT, TOPIC_MODELING, CLASSIFICATION)
+     * @param records    The training records, as JSONL or a JSON array of objects with "label" and "features" or "text"
+     * @param parameters Model-specific parameters
+     * @return Training result with model performance metrics
+     */
+    ModelTrainingResult trainModelFromStream(String modelType, InputStream records, Map<String, Object> parameters);
+
+    /**
+     * Trains a model incrementally from a stream of JSONL records, for datasets too large to hold in memory.
+     * The model file is checkpointed while the stream is read.
+     *
+     * @param modelType  The type of model to train (SENTIMENT, CLASSIFICATION)
+     * @param records    The training records, one JSON object with "label" and "features" or "text" per line
+     * @param parameters Model-specific parameters, including the "class-values" of the model and optionally the
+     *                   algorithm (NAIVE_BAYES_UPDATEABLE or HOEFFDING_TREE)
+     * @return Training result with prequential performance metrics
+     */
+    ModelTrainingResult trainModelOnline(String modelType, InputStream records, Map<String, Object> parameters);
+
+    /**
+     * Updates a model trained online with new labeled records, instead of retraining it from scratch.
+     *
+     * @param modelId The ID of the model to update
+     * @param records The new training records, one JSON object with "label" and "features" or "text" per line
+     * @return Training result with prequential performance metrics of the new records
+     */
+    ModelTrainingResult updateModel(String modelId, InputStream records);
+
     /**
      * Evaluates a trained model using test data.
      *
@@ -44,6 +94,34 @@ public interface MLModelService {
      */
     Map<String, Object> predict(String modelId, Map<String, Object> input);
 
+    /**
+     * Makes a prediction using a trained model, returning a typed result instead of a map.
+     *
+     * @param modelId The ID of the trained model
+     * @param input   The input data for prediction
+     * @return Prediction result with confidence scores
+     */
+    PredictionResult predictResult(String modelId, Map<String, Object> input);
+
+    /**
+     * Makes a prediction using a trained model, batched with the concurrent predictions of the same model.
+     * The model is checked and the input featurized as by {@link #predict} before the input is queued.
+     *
+     * @param modelId The ID of the trained model
+     * @param input   The input data for prediction
+     * @return The pending prediction result, in the same form as the result of {@link #predict}
+     */
+    CompletableFuture<Map<String, Object>> submitPrediction(String modelId, Map<String, Object> input);
+
+    /**
+     * Makes predictions for a batch of inputs using a trained model.
+     *
+     * @param modelId The ID of the trained model
+     * @param inputs  The input data for prediction
+     * @return Batch prediction result, in input order
+     */
+    BatchPredictionResult predictBatch(String modelId, List<Map<String, Object>> inputs);
+
     /**
      * Gets information about a trained model.
      *
@@ -1,7 +1,9 @@
 package com.kapil.verbametrics.ml.services;
 
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +26,51 @@ public interface ModelTrainingService {
     ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
                                    Map<String, Object> parameters);
 
+    /**
+     * Trains a machine learning model, reporting each training stage to a monitor.
+     *
+     * @param modelType    The type of model to train
+     * @param trainingData The training dataset
+     * @param parameters   Model-specific parameters
+     * @param monitor      The monitor notified as training moves through its stages
+     * @return Training result with model performance metrics
+     * @throws java.util.concurrent.CancellationException if the monitor cancels the training
+     */
+    ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
+                                   Map<String, Object> parameters, TrainingMonitor monitor);
+
+    /**
+     * Trains a machine learning model on a dataset read straight from a stream, without parsing it into records first.
+     *
+     * @param modelType  The type of model to train
+     * @param records    The training records, as JSONL or a JSON array of objects with "label" and "features" or "text"
+     * @param parameters Model-specific parameters
+     * @return Training result with model performance metrics
+     */
+    ModelTrainingResult trainModelFromStream(String modelType, InputStream records, Map<String, Object> parameters);
+
+    /**
+     * Trains a model incrementally from a stream of JSONL records, in memory that does not grow with the stream.
+     *
+     * @param modelType  The type of model to train
+     * @param records    The training records, one JSON object with "label" and "features" or "text" per line
+     * @param parameters Model-specific parameters, including the "class-values" of the model
+     * @return Training result with prequential performance metrics
+     */
+    ModelTrainingResult trainModelOnline(String modelType, InputStream records, Map<String, Object> parameters);
+
+    /**
+     * Updates a model trained with an updateable algorithm with a stream of new JSONL records.
+     *
+     * @param modelId    The ID of the model to update
+     * @param modelType  The type of the model
+     * @param records    The new training records, one JSON object with "label" and "features" or "text" per line
+     * @param parameters The parameters the model was trained with
+     * @return Training result with prequential performance metrics of the new records
+     */
+    ModelTrainingResult updateModel(String modelId, String modelType, InputStream records,
+                                    Map<String, Object> parameters);
+
     /**
      * Validates training data before training.
      *
@@ -0,0 +1,56 @@
+package com.kapil.verbametrics.ml.services;
+
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for running model training as background jobs.
+ * Jobs move through the queued, running, evaluating and persisting states and end as done, failed or cancelled.
+ *
+ * @author Kapil Garg
+ */
+public interface TrainingJobService {
+
+    /**
+     * Submits a training job.
+     *
+     * @param modelType    The type of model to train
+     * @param trainingData The training dataset
+     * @param parameters   Model-specific parameters
+     * @param listener     The listener notified each time the job changes state, starting with the queued state,
+     *                     on the thread causing the change
+     * @return The ID of the submitted job
+     * @throws IllegalStateException if the service is closed
+     */
+    String submit(String modelType, List<Map<String, Object>> trainingData, Map<String, Object> parameters,
+                  Consumer<TrainingJobStatus> listener);
+
+    /**
+     * Gets the current status of a job.
+     *
+     * @param jobId The ID of the job
+     * @return The job status, or empty if the job is unknown or no longer retained
+     */
+    Optional<TrainingJobStatus> getJob(String jobId);
+
+    /**
+     * Lists the retained jobs in submission order.
+     *
+     * @return The job statuses
+     */
+    List<TrainingJobStatus> listJobs();
+
+    /**
+     * Requests cancellation of a job. A queued job is cancelled at once; a running job stops at its next stage,
+     * unless it is already persisting its model.
+     *
+     * @param jobId The ID of the job
+     * @return true if the job had not finished yet
+     */
+    boolean cancel(String jobId);
+
+}
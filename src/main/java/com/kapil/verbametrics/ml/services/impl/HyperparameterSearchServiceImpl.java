@@ -0,0 +1,108 @@
+package com.kapil.verbametrics.ml.services.impl;
+
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.engines.HyperparameterSearchEngine;
+import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
+import com.kapil.verbametrics.ml.services.HyperparameterSearchService;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Implementation of hyperparameter search service.
+ * Runs the search on the search engine and trains the winner through the model service, which saves it.
+ *
+ * @author Kapil Garg
+ */
+@Service
+public class HyperparameterSearchServiceImpl implements HyperparameterSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HyperparameterSearchServiceImpl.class);
+
+    private final ModelTrainingEngine trainingEngine;
+    private final HyperparameterSearchEngine searchEngine;
+    private final MLModelService modelService;
+    private final TextFeaturizationEngine featurizationEngine;
+
+    public HyperparameterSearchServiceImpl(ModelTrainingEngine trainingEngine, HyperparameterSearchEngine searchEngine,
+                                           MLModelService modelService) {
+        this(trainingEngine, searchEngine, modelService, null);
+    }
+
+    @Autowired
+    public HyperparameterSearchServiceImpl(ModelTrainingEngine trainingEngine, HyperparameterSearchEngine searchEngine,
+                                           MLModelService modelService, TextFeaturizationEngine featurizationEngine) {
+        this.trainingEngine = trainingEngine;
+        this.searchEngine = searchEngine;
+        this.modelService = modelService;
+        this.featurizationEngine = featurizationEngine;
+    }
+
+    @Override
+    public HyperparameterSearchResult searchAndTrain(String modelType, List<Map<String, Object>> trainingData,
+                                                     Map<String, Object> parameters, SearchStrategy strategy,
+                                                     Map<String, List<Integer>> searchSpace) {
+        return searchAndTrain(modelType, trainingData, parameters, strategy, searchSpace, TrainingMonitor.NONE);
+    }
+
+    @Override
+    public HyperparameterSearchResult searchAndTrain(String modelType, List<Map<String, Object>> trainingData,
+                                                     Map<String, Object> parameters, SearchStrategy strategy,
+                                                     Map<String, List<Integer>> searchSpace,
+                                                     TrainingMonitor monitor) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
+        // Featurized once here, so the search and the final training share the derived features and their layout
+        FeatureLayout layout = featurizationEngine == null ? null : featurizationEngine.getLayout(parameters);
+        List<Map<String, Object>> records = layout == null ? trainingData
+                : featurizationEngine.featurize(trainingData, layout);
+        Optional<String> validationError = trainingEngine.validateTrainingDataError(records, modelType);
+        if (validationError.isPresent()) {
+            throw new IllegalArgumentException(validationError.get());
+        }
+        Map<String, List<Integer>> space = searchSpace != null ? searchSpace : searchEngine.getDefaultSearchSpace();
+        try {
+            HyperparameterSearchResult result = searchEngine.search(records, parameters, space, strategy);
+            Map<String, Object> bestParameters = new HashMap<>(result.bestParameters());
+            if (layout != null) {
+                bestParameters.put(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT, layout.toString());
+            }
+            ModelTrainingResult trainingResult = modelService.trainModel(modelType, records, bestParameters, monitor);
+            LOGGER.info("Trained model {} with the best of {} hyperparameter candidates", trainingResult.modelId(),
+                    result.candidates().size());
+            return result.withTrainingResult(trainingResult);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hyperparameter search interrupted", e);
+        } catch (IllegalArgumentException | CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Failed to search hyperparameters", e);
+            throw new RuntimeException("Hyperparameter search failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<String, List<Integer>> getDefaultSearchSpace() {
+        return searchEngine.getDefaultSearchSpace();
+    }
+
+}
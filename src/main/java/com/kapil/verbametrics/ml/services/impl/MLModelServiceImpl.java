@@ -1,25 +1,37 @@
 package com.kapil.verbametrics.ml.services.impl;
 
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
 import com.kapil.verbametrics.ml.domain.MLModel;
 import com.kapil.verbametrics.ml.domain.ModelEvaluationResult;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 import com.kapil.verbametrics.ml.engines.ModelEvaluationEngine;
 import com.kapil.verbametrics.ml.engines.ModelPredictionEngine;
+import com.kapil.verbametrics.ml.engines.PredictionBatchScheduler;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
 import com.kapil.verbametrics.ml.entities.MLModelEntity;
 import com.kapil.verbametrics.ml.mapper.MLModelMapper;
 import com.kapil.verbametrics.ml.repository.MLModelRepository;
 import com.kapil.verbametrics.ml.services.MLModelService;
 import com.kapil.verbametrics.ml.services.ModelTrainingService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -39,18 +51,42 @@ public class MLModelServiceImpl implements MLModelService {
     private final ModelTrainingService trainingService;
     private final ModelEvaluationEngine evaluationEngine;
     private final ModelPredictionEngine predictionEngine;
+    private final TextFeaturizationEngine featurizationEngine;
+    private final PredictionBatchScheduler batchScheduler;
 
-    @Autowired
     public MLModelServiceImpl(MLModelRepository modelRepository,
                               MLModelMapper modelMapper,
                               ModelTrainingService trainingService,
                               ModelEvaluationEngine evaluationEngine,
                               ModelPredictionEngine predictionEngine) {
+        this(modelRepository, modelMapper, trainingService, evaluationEngine, predictionEngine, null);
+    }
+
+    public MLModelServiceImpl(MLModelRepository modelRepository,
+                              MLModelMapper modelMapper,
+                              ModelTrainingService trainingService,
+                              ModelEvaluationEngine evaluationEngine,
+                              ModelPredictionEngine predictionEngine,
+                              TextFeaturizationEngine featurizationEngine) {
+        this(modelRepository, modelMapper, trainingService, evaluationEngine, predictionEngine, featurizationEngine,
+                null);
+    }
+
+    @Autowired
+    public MLModelServiceImpl(MLModelRepository modelRepository,
+                              MLModelMapper modelMapper,
+                              ModelTrainingService trainingService,
+                              ModelEvaluationEngine evaluationEngine,
+                              ModelPredictionEngine predictionEngine,
+                              TextFeaturizationEngine featurizationEngine,
+                              PredictionBatchScheduler batchScheduler) {
         this.modelRepository = modelRepository;
         this.modelMapper = modelMapper;
         this.trainingService = trainingService;
         this.evaluationEngine = evaluationEngine;
         this.predictionEngine = predictionEngine;
+        this.featurizationEngine = featurizationEngine;
+        this.batchScheduler = batchScheduler;
     }
 
     @Override
@@ -60,29 +96,110 @@ public class MLModelServiceImpl implements MLModelService {
         Objects.requireNonNull(trainingData, "Training data cannot be null");
         Objects.requireNonNull(parameters, "Parameters cannot be null");
         try {
-            ModelTrainingResult result = trainingService.trainModel(modelType, trainingData, parameters);
-            MLModel model = createMLModelFromResult(result, modelType, parameters);
-            MLModelEntity entity = modelMapper.toEntity(model);
-            modelRepository.save(entity);
+            Map<String, Object> modelParameters = withFeatureLayout(parameters);
+            ModelTrainingResult result = trainingService.trainModel(modelType,
+                    featurize(trainingData, modelParameters), modelParameters);
+            saveTrainedModel(result, modelType, modelParameters);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
+                                          Map<String, Object> parameters, TrainingMonitor monitor) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
+        try {
+            // Featurizing texts is part of the training, so it runs within the running stage
+            monitor.enterStage(TrainingJobState.RUNNING);
+            Map<String, Object> modelParameters = withFeatureLayout(parameters);
+            ModelTrainingResult result = trainingService.trainModel(modelType,
+                    featurize(trainingData, modelParameters), modelParameters, monitor);
+            saveTrainedModel(result, modelType, modelParameters);
             return result;
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
             LOGGER.error("Failed to train model", e);
             throw new RuntimeException("Model training failed: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public ModelTrainingResult trainModelFromStream(String modelType, InputStream records,
+                                                    Map<String, Object> parameters) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        try {
+            Map<String, Object> modelParameters = withFeatureLayout(parameters);
+            ModelTrainingResult result = trainingService.trainModelFromStream(modelType, records, modelParameters);
+            saveTrainedModel(result, modelType, modelParameters);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult trainModelOnline(String modelType, InputStream records, Map<String, Object> parameters) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        try {
+            Map<String, Object> modelParameters = withFeatureLayout(parameters);
+            ModelTrainingResult result = trainingService.trainModelOnline(modelType, records, modelParameters);
+            if (result.success()) {
+                saveTrainedModel(result, modelType, modelParameters);
+            }
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model online", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult updateModel(String modelId, InputStream records) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        try {
+            MLModelEntity entity = modelRepository.findById(modelId)
+                    .orElseThrow(() -> new IllegalArgumentException("Model not found: " + modelId));
+            MLModel model = modelMapper.toDomain(entity);
+            ModelTrainingResult result = trainingService.updateModel(modelId, model.modelType(), records,
+                    model.parameters());
+            if (result.success()) {
+                MLModel updated = new MLModel(model.modelId(), model.modelType(), model.name(), model.description(),
+                        model.version(), model.createdAt(), LocalDateTime.now(), model.parameters(),
+                        Map.of("accuracy", result.accuracy(), "f1Score", result.f1Score()), model.modelPath(),
+                        model.isActive(), model.createdBy(), model.trainingDataSize() + result.trainingDataSize(),
+                        result.accuracy(), model.status());
+                modelRepository.save(modelMapper.updateEntity(entity, updated));
+            }
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to update model", e);
+            throw new RuntimeException("Model update failed: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public ModelEvaluationResult evaluateModel(String modelId, List<Map<String, Object>> testData) {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
         Objects.requireNonNull(testData, "Test data cannot be null");
         try {
-            if (!modelRepository.existsById(modelId)) {
-                throw new IllegalArgumentException("Model not found: " + modelId);
-            }
+            MLModel model = getModel(modelId);
             if (testData.isEmpty()) {
                 throw new IllegalArgumentException("Test data cannot be empty");
             }
-            return evaluationEngine.evaluateModel(modelId, testData);
+            return evaluationEngine.evaluateModel(modelId, featurize(testData, model.parameters()));
         } catch (Exception e) {
             LOGGER.error("Failed to evaluate model", e);
             throw new RuntimeException("Model evaluation failed: " + e.getMessage(), e);
@@ -98,13 +215,65 @@ public class MLModelServiceImpl implements MLModelService {
             if (!model.isReadyForUse()) {
                 throw new IllegalStateException("Model is not ready for use: " + modelId);
             }
-            return predictionEngine.predict(modelId, input);
+            return predictionEngine.predict(modelId, featurize(input, model.parameters()));
         } catch (Exception e) {
             LOGGER.error("Failed to make prediction", e);
             throw new RuntimeException("Prediction failed: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public PredictionResult predictResult(String modelId, Map<String, Object> input) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        try {
+            MLModel model = getModel(modelId);
+            if (!model.isReadyForUse()) {
+                throw new IllegalStateException("Model is not ready for use: " + modelId);
+            }
+            return predictionEngine.predictResult(modelId, featurize(input, model.parameters()));
+        } catch (Exception e) {
+            LOGGER.error("Failed to make prediction", e);
+            throw new RuntimeException("Prediction failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> submitPrediction(String modelId, Map<String, Object> input) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        try {
+            MLModel model = getModel(modelId);
+            if (!model.isReadyForUse()) {
+                throw new IllegalStateException("Model is not ready for use: " + modelId);
+            }
+            Map<String, Object> featurized = featurize(input, model.parameters());
+            if (batchScheduler == null) {
+                return CompletableFuture.completedFuture(predictionEngine.predict(modelId, featurized));
+            }
+            return batchScheduler.submit(modelId, featurized);
+        } catch (Exception e) {
+            LOGGER.error("Failed to make prediction", e);
+            throw new RuntimeException("Prediction failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public BatchPredictionResult predictBatch(String modelId, List<Map<String, Object>> inputs) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(inputs, "Inputs cannot be null");
+        try {
+            MLModel model = getModel(modelId);
+            if (!model.isReadyForUse()) {
+                throw new IllegalStateException("Model is not ready for use: " + modelId);
+            }
+            return predictionEngine.predictBatch(modelId, featurize(inputs, model.parameters()));
+        } catch (Exception e) {
+            LOGGER.error("Failed to make batch prediction", e);
+            throw new RuntimeException("Batch prediction failed: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public MLModel getModel(String modelId) {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
@@ -125,6 +294,10 @@ public class MLModelServiceImpl implements MLModelService {
         Objects.requireNonNull(modelId, "Model ID cannot be null");
         if (modelRepository.existsById(modelId)) {
             modelRepository.deleteById(modelId);
+            predictionEngine.evictModel(modelId);
+            if (batchScheduler != null) {
+                batchScheduler.evictModel(modelId);
+            }
             return true;
         } else {
             LOGGER.warn("Model not found for deletion: {}", modelId);
@@ -132,6 +305,62 @@ public class MLModelServiceImpl implements MLModelService {
         }
     }
 
+    /**
+     * Saves the metadata of a trained model.
+     *
+     * @param result     The training result
+     * @param modelType  The type of the model
+     * @param parameters The parameters used for training
+     */
+    private void saveTrainedModel(ModelTrainingResult result, String modelType, Map<String, Object> parameters) {
+        MLModel model = createMLModelFromResult(result, modelType, parameters);
+        MLModelEntity entity = modelMapper.toEntity(model);
+        modelRepository.save(entity);
+    }
+
+    /**
+     * Adds the current feature layout to training parameters that have none, so that it is saved with the model.
+     *
+     * @param parameters The training parameters
+     * @return The parameters with the feature layout, or the parameters as they are if texts are not featurized
+     */
+    private Map<String, Object> withFeatureLayout(Map<String, Object> parameters) {
+        if (featurizationEngine == null || parameters.containsKey(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT)) {
+            return parameters;
+        }
+        FeatureLayout layout = featurizationEngine.getLayout(parameters);
+        if (layout == null) {
+            return parameters;
+        }
+        Map<String, Object> withLayout = new HashMap<>(parameters);
+        withLayout.put(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT, layout.toString());
+        return withLayout;
+    }
+
+    /**
+     * Derives features from the text of the records that have no precomputed features.
+     *
+     * @param records    The training, test or prediction records
+     * @param parameters The parameters of the model, with the feature layout it is trained with
+     * @return The records with features, or the records as they are if there is no featurization engine
+     */
+    private List<Map<String, Object>> featurize(List<Map<String, Object>> records, Map<String, Object> parameters) {
+        return featurizationEngine == null ? records
+                : featurizationEngine.featurize(records, featurizationEngine.getLayout(parameters));
+    }
+
+    /**
+     * Derives features from the text of a record that has no precomputed features.
+     *
+     * @param record     The prediction input
+     * @param parameters The parameters of the model, with the feature layout it is trained with
+     * @return The record with features, or the record as it is if there is no featurization engine
+     */
+    private Map<String, Object> featurize(Map<String, Object> record, Map<String, Object> parameters) {
+        return featurizationEngine == null ? record
+                : featurizationEngine.featurize(record, featurizationEngine.getLayout(parameters));
+    }
+
     /**
      * Creates an ML model from training result.
      *
@@ -1,17 +1,27 @@
 package com.kapil.verbametrics.ml.services.impl;
 
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.engines.OnlineTrainingEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
 import com.kapil.verbametrics.ml.services.ModelTrainingService;
+import com.kapil.verbametrics.ml.utils.StreamingDatasetReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import weka.core.Instances;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Implementation of model training service.
@@ -24,11 +34,26 @@ public class ModelTrainingServiceImpl implements ModelTrainingService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelTrainingServiceImpl.class.getName());
 
+    private static final AtomicLong LAST_MODEL_TIME = new AtomicLong();
+
     private final ModelTrainingEngine trainingEngine;
+    private final OnlineTrainingEngine onlineTrainingEngine;
+    private final TextFeaturizationEngine featurizationEngine;
 
-    @Autowired
     public ModelTrainingServiceImpl(ModelTrainingEngine trainingEngine) {
+        this(trainingEngine, null);
+    }
+
+    public ModelTrainingServiceImpl(ModelTrainingEngine trainingEngine, OnlineTrainingEngine onlineTrainingEngine) {
+        this(trainingEngine, onlineTrainingEngine, null);
+    }
+
+    @Autowired
+    public ModelTrainingServiceImpl(ModelTrainingEngine trainingEngine, OnlineTrainingEngine onlineTrainingEngine,
+                                    TextFeaturizationEngine featurizationEngine) {
         this.trainingEngine = trainingEngine;
+        this.onlineTrainingEngine = onlineTrainingEngine;
+        this.featurizationEngine = featurizationEngine;
     }
 
     @Override
@@ -39,24 +64,131 @@ public class ModelTrainingServiceImpl implements ModelTrainingService {
         Objects.requireNonNull(parameters, "Parameters cannot be null");
         LOGGER.debug("Starting model training for type: {} with {} data points", modelType, trainingData.size());
         try {
-            Optional<String> validationError = trainingEngine.validateTrainingDataError(trainingData, modelType);
+            validateOrThrow(trainingData, modelType);
+            return trainingEngine.trainModel(nextModelId(), modelType, trainingData, parameters);
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult trainModel(String modelType, List<Map<String, Object>> trainingData,
+                                          Map<String, Object> parameters, TrainingMonitor monitor) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(monitor, "Monitor cannot be null");
+        LOGGER.debug("Starting monitored model training for type: {} with {} data points", modelType, trainingData.size());
+        try {
+            validateOrThrow(trainingData, modelType);
+            return trainingEngine.trainModel(nextModelId(), modelType, trainingData, parameters, monitor);
+        } catch (CancellationException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult trainModelFromStream(String modelType, InputStream records,
+                                                    Map<String, Object> parameters) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        LOGGER.debug("Starting model training for type: {} from a record stream", modelType);
+        try {
+            FeatureLayout layout = featurizationEngine == null ? null : featurizationEngine.getLayout(parameters);
+            Function<String, double[]> featurizer = layout != null && layout.featureCount() > 0
+                    ? text -> featurizationEngine.extractFeatures(text, layout) : null;
+            Instances dataset = StreamingDatasetReader.read(records, "ClassificationDataset", featurizer,
+                    trainingEngine.getRequiredFields(modelType));
+            Optional<String> validationError = trainingEngine.validateDatasetError(dataset, modelType);
             if (validationError.isPresent()) {
                 throw new IllegalArgumentException(validationError.get());
             }
-            String modelId = "model_" + System.currentTimeMillis();
-            return trainingEngine.trainModel(modelId, modelType, trainingData, parameters);
+            return trainingEngine.trainModelFromDataset(nextModelId(), modelType, dataset, parameters,
+                    TrainingMonitor.NONE);
         } catch (Exception e) {
             LOGGER.error("Failed to train model", e);
             throw new RuntimeException("Model training failed: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public ModelTrainingResult trainModelOnline(String modelType, InputStream records, Map<String, Object> parameters) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        LOGGER.debug("Starting online model training for type: {}", modelType);
+        try {
+            return getOnlineTrainingEngine().trainModel(nextModelId(), modelType, records, parameters);
+        } catch (Exception e) {
+            LOGGER.error("Failed to train model online", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ModelTrainingResult updateModel(String modelId, String modelType, InputStream records,
+                                           Map<String, Object> parameters) {
+        Objects.requireNonNull(modelId, "Model ID cannot be null");
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        LOGGER.debug("Starting incremental update of model: {}", modelId);
+        try {
+            return getOnlineTrainingEngine().updateModel(modelId, modelType, records, parameters);
+        } catch (Exception e) {
+            LOGGER.error("Failed to update model", e);
+            throw new RuntimeException("Model update failed: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public boolean validateTrainingData(List<Map<String, Object>> trainingData, String modelType) {
         // Call validateTrainingDataError directly to avoid unnecessary wrapper method call
         return trainingEngine.validateTrainingDataError(trainingData, modelType).isEmpty();
     }
 
+    /**
+     * Validates training data, throwing the validation error if there is one.
+     *
+     * @param trainingData The training dataset
+     * @param modelType    The model type
+     * @throws IllegalArgumentException if the data is not valid for training
+     */
+    private void validateOrThrow(List<Map<String, Object>> trainingData, String modelType) {
+        Optional<String> validationError = trainingEngine.validateTrainingDataError(trainingData, modelType);
+        if (validationError.isPresent()) {
+            throw new IllegalArgumentException(validationError.get());
+        }
+    }
+
+    /**
+     * Gets the engine of online training.
+     *
+     * @return the online training engine
+     * @throws IllegalStateException if the service was created without one
+     */
+    private OnlineTrainingEngine getOnlineTrainingEngine() {
+        if (onlineTrainingEngine == null) {
+            throw new IllegalStateException("Online training is not available");
+        }
+        return onlineTrainingEngine;
+    }
+
+    /**
+     * Generates a model ID from the current time, unique even for models trained concurrently.
+     *
+     * @return the model ID
+     */
+    private static String nextModelId() {
+        long now = System.currentTimeMillis();
+        return "model_" + LAST_MODEL_TIME.accumulateAndGet(now, (last, time) -> Math.max(last + 1, time));
+    }
+
     @Override
     public List<String> getSupportedModelTypes() {
         return trainingEngine.getSupportedModelTypes();
@@ -0,0 +1,312 @@
+package com.kapil.verbametrics.ml.services.impl;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.services.HyperparameterSearchService;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.ml.services.TrainingJobService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of training job service.
+ * Runs jobs on a fixed pool of worker threads, so at most the configured number of models train at once
+ * while further jobs wait in the queue. Finished jobs are kept for status queries up to a configured limit.
+ * A job whose parameters name a search strategy searches the hyperparameters first and trains the winner.
+ *
+ * @author Kapil Garg
+ */
+@Service
+public class TrainingJobServiceImpl implements TrainingJobService, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingJobServiceImpl.class);
+
+    private static final int DEFAULT_MAX_CONCURRENT_JOBS = 2;
+    private static final int DEFAULT_MAX_RETAINED_JOBS = 100;
+
+    private final MLModelService modelService;
+    private final MLModelProperties properties;
+    private final HyperparameterSearchService searchService;
+    private final Map<String, TrainingJob> jobs = new LinkedHashMap<>();
+    private ExecutorService executor;
+    private boolean closed;
+
+    public TrainingJobServiceImpl(MLModelService modelService, MLModelProperties properties) {
+        this(modelService, properties, null);
+    }
+
+    @Autowired
+    public TrainingJobServiceImpl(MLModelService modelService, MLModelProperties properties,
+                                  HyperparameterSearchService searchService) {
+        this.modelService = modelService;
+        this.properties = properties;
+        this.searchService = searchService;
+    }
+
+    @Override
+    public String submit(String modelType, List<Map<String, Object>> trainingData, Map<String, Object> parameters,
+                         Consumer<TrainingJobStatus> listener) {
+        Objects.requireNonNull(modelType, "Model type cannot be null");
+        Objects.requireNonNull(trainingData, "Training data cannot be null");
+        Objects.requireNonNull(parameters, "Parameters cannot be null");
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        checkOpen();
+        TrainingJob job = new TrainingJob("job_" + UUID.randomUUID(), modelType, trainingData, parameters, listener);
+        job.notifyListener(job.getStatus());
+        synchronized (this) {
+            checkOpen();
+            jobs.put(job.jobId, job);
+            pruneFinishedJobs();
+            getExecutor().execute(() -> run(job));
+        }
+        LOGGER.debug("Submitted training job {} for model type: {}", job.jobId, modelType);
+        return job.jobId;
+    }
+
+    @Override
+    public synchronized Optional<TrainingJobStatus> getJob(String jobId) {
+        Objects.requireNonNull(jobId, "Job ID cannot be null");
+        TrainingJob job = jobs.get(jobId);
+        return job == null ? Optional.empty() : Optional.of(job.getStatus());
+    }
+
+    @Override
+    public synchronized List<TrainingJobStatus> listJobs() {
+        List<TrainingJobStatus> statuses = new ArrayList<>(jobs.size());
+        for (TrainingJob job : jobs.values()) {
+            statuses.add(job.getStatus());
+        }
+        return statuses;
+    }
+
+    @Override
+    public boolean cancel(String jobId) {
+        Objects.requireNonNull(jobId, "Job ID cannot be null");
+        TrainingJob job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+        }
+        return job != null && job.cancel();
+    }
+
+    /**
+     * Stops accepting jobs and cancels the jobs that have not finished. Running jobs stop at their next stage.
+     */
+    @Override
+    public void close() {
+        List<TrainingJob> pending;
+        synchronized (this) {
+            closed = true;
+            pending = new ArrayList<>(jobs.values());
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        pending.forEach(TrainingJob::cancel);
+    }
+
+    private synchronized void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Training job service is closed");
+        }
+    }
+
+    /**
+     * Runs a job on a worker thread, unless it was cancelled while queued.
+     *
+     * @param job the job to run
+     */
+    private void run(TrainingJob job) {
+        try {
+            if (job.getStatus().isFinished()) {
+                return;
+            }
+            ModelTrainingResult result = train(job);
+            if (result.success()) {
+                job.update(TrainingJobState.DONE, result, null);
+            } else {
+                job.update(TrainingJobState.FAILED, result, result.errorMessage());
+            }
+        } catch (CancellationException e) {
+            job.update(TrainingJobState.CANCELLED, null, "Training job cancelled");
+        } catch (Exception e) {
+            LOGGER.error("Training job {} failed", job.jobId, e);
+            job.update(TrainingJobState.FAILED, null, e.getMessage());
+        } finally {
+            job.releaseData();
+        }
+    }
+
+    /**
+     * Trains the model of a job, searching its hyperparameters first if its parameters name a search strategy.
+     *
+     * @param job the job to train
+     * @return the training result
+     * @throws IllegalArgumentException if the search strategy is unknown
+     * @throws IllegalStateException    if hyperparameter search is not available
+     */
+    private ModelTrainingResult train(TrainingJob job) {
+        // Featurizing and searching come before the training enters its stages, so they count as running
+        job.enterStage(TrainingJobState.RUNNING);
+        Object strategy = job.parameters.get(VerbaMetricsConstants.PARAM_SEARCH_STRATEGY);
+        if (strategy == null) {
+            return modelService.trainModel(job.modelType, job.trainingData, job.parameters, job);
+        }
+        if (searchService == null) {
+            throw new IllegalStateException("Hyperparameter search is not available");
+        }
+        SearchStrategy searchStrategy = SearchStrategy.valueOf(strategy.toString().trim().toUpperCase());
+        return searchService.searchAndTrain(job.modelType, job.trainingData, job.parameters, searchStrategy, null, job)
+                .trainingResult();
+    }
+
+    /**
+     * Removes the oldest finished jobs beyond the retention limit.
+     */
+    private void pruneFinishedJobs() {
+        int maxRetained = Math.max(0, properties.getTrainingLimits()
+                .getOrDefault("max-retained-jobs", DEFAULT_MAX_RETAINED_JOBS));
+        int finished = 0;
+        for (TrainingJob job : jobs.values()) {
+            if (job.getStatus().isFinished()) {
+                finished++;
+            }
+        }
+        Iterator<TrainingJob> iterator = jobs.values().iterator();
+        while (finished > maxRetained && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    /**
+     * Gets the worker pool, creating it on first use.
+     *
+     * @return the executor of training jobs
+     */
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, properties.getTrainingLimits()
+                    .getOrDefault("max-concurrent-jobs", DEFAULT_MAX_CONCURRENT_JOBS));
+            executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("training-job-", 0).daemon().factory());
+            LOGGER.debug("Started training job executor with {} threads", threads);
+        }
+        return executor;
+    }
+
+    /**
+     * A training job, acting as the monitor of its own training so that stage changes update its status
+     * and a cancellation request stops the training at the next stage.
+     */
+    private static final class TrainingJob implements TrainingMonitor {
+
+        private final String jobId;
+        private final String modelType;
+        private final Consumer<TrainingJobStatus> listener;
+        private List<Map<String, Object>> trainingData;
+        private Map<String, Object> parameters;
+        private volatile boolean cancelRequested;
+        private TrainingJobStatus status;
+
+        private TrainingJob(String jobId, String modelType, List<Map<String, Object>> trainingData,
+                            Map<String, Object> parameters, Consumer<TrainingJobStatus> listener) {
+            this.jobId = jobId;
+            this.modelType = modelType;
+            this.trainingData = trainingData;
+            this.parameters = parameters;
+            this.listener = listener;
+            LocalDateTime now = LocalDateTime.now();
+            this.status = new TrainingJobStatus(jobId, modelType, TrainingJobState.QUEUED, null, null, now, now);
+        }
+
+        @Override
+        public void enterStage(TrainingJobState state) {
+            if (cancelRequested) {
+                throw new CancellationException("Training job cancelled: " + jobId);
+            }
+            // Re-entering the current stage only checks for cancellation
+            if (getStatus().state() != state) {
+                update(state, null, null);
+            }
+        }
+
+        private synchronized TrainingJobStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Requests cancellation, cancelling the job at once if it is still queued.
+         *
+         * @return true if the job had not finished yet
+         */
+        private boolean cancel() {
+            TrainingJobStatus current;
+            synchronized (this) {
+                if (status.isFinished()) {
+                    return false;
+                }
+                cancelRequested = true;
+                current = status;
+            }
+            if (current.state() == TrainingJobState.QUEUED) {
+                update(TrainingJobState.CANCELLED, null, "Training job cancelled");
+            }
+            return true;
+        }
+
+        /**
+         * Moves the job to a new state and notifies the listener. Finished jobs keep their final state.
+         *
+         * @param state        the new state
+         * @param result       the training result, if any
+         * @param errorMessage the error message, if any
+         */
+        private void update(TrainingJobState state, ModelTrainingResult result, String errorMessage) {
+            TrainingJobStatus updated;
+            synchronized (this) {
+                if (status.isFinished()) {
+                    return;
+                }
+                updated = new TrainingJobStatus(jobId, modelType, state, result, errorMessage,
+                        status.submittedAt(), LocalDateTime.now());
+                status = updated;
+            }
+            notifyListener(updated);
+        }
+
+        private void notifyListener(TrainingJobStatus update) {
+            try {
+                listener.accept(update);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Training job listener failed for job {}", jobId, e);
+            }
+        }
+
+        /**
+         * Drops the references to the training data once the job no longer needs it.
+         */
+        private synchronized void releaseData() {
+            trainingData = null;
+            parameters = null;
+        }
+
+    }
+
+}
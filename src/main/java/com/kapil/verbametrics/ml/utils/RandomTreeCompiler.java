@@ -0,0 +1,169 @@
+package com.kapil.verbametrics.ml.utils;
+
+import com.kapil.verbametrics.ml.domain.FlatDecisionTree;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Instances;
+import weka.core.Utils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Utility class for compiling trained Weka RandomTree models into flat decision trees.
+ * The compiled tree gives exactly the same distributions as RandomTree.distributionForInstance, including the
+ * handling of missing values and of empty leaves, for trees that split on numeric attributes only.
+ * <p>
+ * Weka keeps the tree nodes in protected fields, so they are read reflectively.
+ *
+ * @author Kapil Garg
+ */
+public class RandomTreeCompiler {
+
+    private RandomTreeCompiler() {
+    }
+
+    /**
+     * Compiles a trained RandomTree into a flat decision tree.
+     *
+     * @param tree the trained tree
+     * @return the compiled tree
+     * @throws IllegalArgumentException if the tree is not trained, has no tree nodes or splits on nominal attributes
+     */
+    public static FlatDecisionTree compile(RandomTree tree) {
+        Objects.requireNonNull(tree, "Tree cannot be null");
+        try {
+            if (readField(tree, "m_zeroR") != null) {
+                throw new IllegalArgumentException("RandomTree was trained without attributes and has no tree to compile");
+            }
+            Instances header = (Instances) readField(tree, "m_Info");
+            Object root = readField(tree, "m_Tree");
+            if (header == null || root == null) {
+                throw new IllegalArgumentException("RandomTree has not been trained");
+            }
+            Builder builder = new Builder(header, tree.getAllowUnclassifiedInstances());
+            builder.add(root);
+            return builder.build();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Failed to compile RandomTree: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads a field declared by the class of an object or one of its superclasses.
+     *
+     * @param target the object to read from
+     * @param name   the field name
+     * @return the field value
+     * @throws ReflectiveOperationException if the field cannot be read
+     */
+    private static Object readField(Object target, String name) throws ReflectiveOperationException {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                return field.get(target);
+            } catch (NoSuchFieldException e) {
+                // Continue with the superclass
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    /**
+     * Collects the nodes of a tree in depth-first order.
+     */
+    private static final class Builder {
+
+        private final Instances header;
+        private final boolean allowUnclassified;
+        private final int numClasses;
+        private final List<Integer> featureIndex = new ArrayList<>();
+        private final List<Double> threshold = new ArrayList<>();
+        private final List<Integer> left = new ArrayList<>();
+        private final List<Integer> right = new ArrayList<>();
+        private final List<double[]> splitProportions = new ArrayList<>();
+        private final List<double[]> nodeDistribution = new ArrayList<>();
+
+        Builder(Instances header, boolean allowUnclassified) {
+            this.header = header;
+            this.allowUnclassified = allowUnclassified;
+            this.numClasses = header.numClasses();
+        }
+
+        /**
+         * Adds a node and its subtree.
+         *
+         * @param node the RandomTree.Tree node
+         * @return the index of the node
+         * @throws ReflectiveOperationException if the node fields cannot be read
+         */
+        int add(Object node) throws ReflectiveOperationException {
+            int index = featureIndex.size();
+            int attribute = (Integer) readField(node, "m_Attribute");
+            featureIndex.add(attribute);
+            threshold.add((Double) readField(node, "m_SplitPoint"));
+            left.add(-1);
+            right.add(-1);
+            splitProportions.add(null);
+            nodeDistribution.add(normalizedDistribution((double[]) readField(node, "m_ClassDistribution")));
+            if (attribute > -1) {
+                if (!header.attribute(attribute).isNumeric()) {
+                    throw new IllegalArgumentException("Only numeric split attributes are supported: "
+                            + header.attribute(attribute).name());
+                }
+                Object[] successors = (Object[]) readField(node, "m_Successors");
+                if (successors == null || successors.length != 2) {
+                    throw new IllegalArgumentException("Numeric split must have two successors");
+                }
+                splitProportions.set(index, ((double[]) readField(node, "m_Prop")).clone());
+                left.set(index, add(successors[0]));
+                right.set(index, add(successors[1]));
+            }
+            return index;
+        }
+
+        /**
+         * Computes the distribution a node returns when evaluation ends at it.
+         *
+         * @param classDistribution the class distribution of the node, or null if the node is empty
+         * @return the distribution, or null if the node gives none
+         */
+        private double[] normalizedDistribution(double[] classDistribution) {
+            if (classDistribution == null) {
+                if (!allowUnclassified) {
+                    return null;
+                }
+                double[] result = new double[numClasses];
+                if (header.classAttribute().isNumeric()) {
+                    result[0] = Utils.missingValue();
+                }
+                return result;
+            }
+            double[] normalized = classDistribution.clone();
+            if (header.classAttribute().isNominal()) {
+                Utils.normalize(normalized);
+            }
+            return normalized;
+        }
+
+        FlatDecisionTree build() {
+            int size = featureIndex.size();
+            int[] features = new int[size];
+            double[] thresholds = new double[size];
+            int[] lefts = new int[size];
+            int[] rights = new int[size];
+            for (int i = 0; i < size; i++) {
+                features[i] = featureIndex.get(i);
+                thresholds[i] = threshold.get(i);
+                lefts[i] = left.get(i);
+                rights[i] = right.get(i);
+            }
+            return new FlatDecisionTree(features, thresholds, lefts, rights,
+                    splitProportions.toArray(new double[0][]), nodeDistribution.toArray(new double[0][]), numClasses);
+        }
+
+    }
+
+}
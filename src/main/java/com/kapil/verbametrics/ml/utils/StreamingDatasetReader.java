@@ -0,0 +1,368 @@
+package com.kapil.verbametrics.ml.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+import weka.core.Utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Utility class for reading training datasets straight from JSONL or JSON array streams into Weka Instances.
+ * Records are read token by token, and the features and label of each record are written directly into the
+ * primitive row that Weka keeps as the instance, so the numeric data is held once rather than as parsed maps,
+ * boxed values and a dataset copy. The "text" of records is skipped, giving the same numeric dataset that
+ * training builds from parsed records once the text attribute is removed, unless a featurizer is given to derive the
+ * features of records that have a "text" but no "features". Records are checked as they are read, as training
+ * checks parsed records: features must be arrays of numbers of one length, and required fields must be present.
+ *
+ * @author Kapil Garg
+ */
+public final class StreamingDatasetReader {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .build();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private StreamingDatasetReader() {
+    }
+
+    /**
+     * Reads a training dataset from a JSONL or JSON array file.
+     *
+     * @param file        The dataset file
+     * @param datasetName The name for the dataset
+     * @return The numeric dataset, with the label as its class attribute
+     * @throws IOException if the file cannot be read or is not valid JSON
+     */
+    public static Instances read(Path file, String datasetName) throws IOException {
+        Objects.requireNonNull(file, "File cannot be null");
+        try (InputStream records = Files.newInputStream(file)) {
+            return read(records, datasetName);
+        }
+    }
+
+    /**
+     * Reads a training dataset from a stream of JSONL records or a JSON array of records.
+     * The number of features is taken from the first record, and every record must have as many. The label is nominal
+     * if the first label is a string, with class values in order of first appearance, and numeric otherwise.
+     * The stream is not closed.
+     *
+     * @param records     The training records, each a JSON object with "features" and "label"
+     * @param datasetName The name for the dataset
+     * @return The numeric dataset, with the label as its class attribute
+     * @throws IOException              if the stream cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if the stream holds no records or an invalid record
+     */
+    public static Instances read(InputStream records, String datasetName) throws IOException {
+        return read(records, datasetName, null);
+    }
+
+    /**
+     * Reads a training dataset from a stream of JSONL records or a JSON array of records, deriving the features of
+     * records that have a "text" but no "features" with a featurizer. Derived features are sized like read ones.
+     *
+     * @param records     The training records, each a JSON object with "label" and either "features" or "text"
+     * @param datasetName The name for the dataset
+     * @param featurizer  The function deriving features from a text, or null to leave records without features empty
+     * @return The numeric dataset, with the label as its class attribute
+     * @throws IOException              if the stream cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if the stream holds no records or an invalid record
+     */
+    public static Instances read(InputStream records, String datasetName, Function<String, double[]> featurizer)
+            throws IOException {
+        return read(records, datasetName, featurizer, List.of());
+    }
+
+    /**
+     * Reads a training dataset from a stream of JSONL records or a JSON array of records, deriving the features of
+     * records that have a "text" but no "features" with a featurizer and rejecting records without a required field.
+     *
+     * @param records        The training records, each a JSON object with "label" and either "features" or "text"
+     * @param datasetName    The name for the dataset
+     * @param featurizer     The function deriving features from a text, or null to require "features"
+     * @param requiredFields The fields every record must have with a value other than null or a blank string
+     * @return The numeric dataset, with the label as its class attribute
+     * @throws IOException              if the stream cannot be read or is not valid JSON
+     * @throws IllegalArgumentException if the stream holds no records or an invalid record
+     */
+    public static Instances read(InputStream records, String datasetName, Function<String, double[]> featurizer,
+                                 List<String> requiredFields) throws IOException {
+        Objects.requireNonNull(records, "Records cannot be null");
+        Objects.requireNonNull(requiredFields, "Required fields cannot be null");
+        if (datasetName == null || datasetName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Dataset name cannot be null or empty");
+        }
+        DatasetRows rows = new DatasetRows();
+        try (JsonParser parser = JSON_FACTORY.createParser(records)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("Record #" + (rows.size() + 1) + " is not a JSON object");
+                }
+                rows.add(readRecord(parser, rows, featurizer, requiredFields));
+                token = parser.nextToken();
+            }
+        }
+        if (rows.size() == 0) {
+            throw new IllegalArgumentException("Training data is empty");
+        }
+        return rows.toInstances(datasetName);
+    }
+
+    /**
+     * Reads the record the parser is positioned on into a row of feature values followed by the label value.
+     *
+     * @param parser         The parser, positioned on the start of the record
+     * @param rows           The rows read so far, which fix the number of features and the type of label
+     * @param featurizer     The function deriving features from the text of a record without features, or null
+     * @param requiredFields The fields the record must have
+     * @return The row of the record
+     * @throws IOException              if the record cannot be read
+     * @throws IllegalArgumentException if the record misses a required field or its features are not valid
+     */
+    private static double[] readRecord(JsonParser parser, DatasetRows rows, Function<String, double[]> featurizer,
+                                       List<String> requiredFields) throws IOException {
+        int recordNum = rows.size() + 1;
+        boolean first = rows.size() == 0;
+        double[] row = first ? null : new double[rows.featureCount + 1];
+        double label = first ? Utils.missingValue() : rows.missingLabel();
+        Set<String> present = new HashSet<>();
+        String text = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.VALUE_NULL && !(value == JsonToken.VALUE_STRING && parser.getText().isBlank())) {
+                present.add(field);
+            }
+            if ("features".equals(field) && value != JsonToken.VALUE_NULL) {
+                row = first ? readFirstFeatures(parser, value, recordNum) : readFeatures(parser, value, row, recordNum);
+            } else if ("label".equals(field)) {
+                label = first ? rows.firstLabel(parser, value) : rows.label(parser, value);
+            } else if ("text".equals(field) && featurizer != null && value == JsonToken.VALUE_STRING) {
+                text = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        for (String field : requiredFields) {
+            if (!present.contains(field)) {
+                throw new IllegalArgumentException("Record #" + recordNum + " missing required field '" + field + "'");
+            }
+        }
+        if (!present.contains("features")) {
+            if (text == null) {
+                throw new IllegalArgumentException("Record #" + recordNum + " missing features");
+            }
+            double[] features = featurizer.apply(text);
+            if (first) {
+                row = Arrays.copyOf(features, features.length + 1);
+            } else {
+                checkFeatureCount(features.length, row.length - 1, recordNum);
+                System.arraycopy(features, 0, row, 0, features.length);
+            }
+        }
+        if (first && !rows.isLabelTyped()) {
+            // A first record without a label makes the label numeric
+            rows.numericLabel();
+            label = rows.missingLabel();
+        }
+        row[row.length - 1] = label;
+        return row;
+    }
+
+    /**
+     * Reads the features of the first record, which fix the number of features of the dataset.
+     *
+     * @param parser    The parser, positioned on the features value
+     * @param value     The token of the features value
+     * @param recordNum The number of the record, counted from 1
+     * @return The row of the record, sized for its features and the label
+     * @throws IOException              if the features cannot be read
+     * @throws IllegalArgumentException if the features are not an array of numbers
+     */
+    private static double[] readFirstFeatures(JsonParser parser, JsonToken value, int recordNum) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            throw notNumbers(recordNum);
+        }
+        double[] buffer = new double[16];
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count + 1 >= buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[count++] = readFeature(parser, recordNum);
+        }
+        return Arrays.copyOf(buffer, count + 1);
+    }
+
+    /**
+     * Reads the features of a record into its row.
+     *
+     * @param parser    The parser, positioned on the features value
+     * @param value     The token of the features value
+     * @param row       The row of the record
+     * @param recordNum The number of the record, counted from 1
+     * @return The row of the record
+     * @throws IOException              if the features cannot be read
+     * @throws IllegalArgumentException if the features are not an array of numbers of the dataset length
+     */
+    private static double[] readFeatures(JsonParser parser, JsonToken value, double[] row, int recordNum)
+            throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            throw notNumbers(recordNum);
+        }
+        int featureCount = row.length - 1;
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            double feature = readFeature(parser, recordNum);
+            if (index < featureCount) {
+                row[index] = feature;
+            }
+            index++;
+        }
+        checkFeatureCount(index, featureCount, recordNum);
+        return row;
+    }
+
+    /**
+     * Reads the feature value the parser is positioned on.
+     *
+     * @param parser    The parser, positioned on a feature value
+     * @param recordNum The number of the record, counted from 1
+     * @return The feature value
+     * @throws IOException              if the value cannot be read
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    private static double readFeature(JsonParser parser, int recordNum) throws IOException {
+        if (!parser.currentToken().isNumeric()) {
+            throw notNumbers(recordNum);
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static void checkFeatureCount(int featureCount, int expected, int recordNum) {
+        if (featureCount != expected) {
+            throw new IllegalArgumentException("All feature vectors must be of the same length: expected " + expected
+                    + " elements, but record #" + recordNum + " has " + featureCount + " elements");
+        }
+    }
+
+    private static IllegalArgumentException notNumbers(int recordNum) {
+        return new IllegalArgumentException("Record #" + recordNum + " features must be an array of numbers");
+    }
+
+    /**
+     * Reads the value the parser is positioned on as a number.
+     *
+     * @param parser The parser, positioned on a value
+     * @return The number, or 0.0 if the value is not a number
+     * @throws IOException if the value cannot be read
+     */
+    private static double readNumber(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return 0.0;
+    }
+
+    /**
+     * Rows read from a dataset stream, with the number of features and the label coding fixed by the first record.
+     */
+    private static final class DatasetRows {
+
+        private final List<double[]> rows = new ArrayList<>(INITIAL_CAPACITY);
+        private int featureCount;
+        private Map<String, Integer> classValues;
+        private boolean numeric;
+
+        int size() {
+            return rows.size();
+        }
+
+        void add(double[] row) {
+            if (rows.isEmpty()) {
+                featureCount = row.length - 1;
+            }
+            rows.add(row);
+        }
+
+        /**
+         * Reads the label of the first record, which makes the label nominal if it is a string.
+         */
+        double firstLabel(JsonParser parser, JsonToken value) throws IOException {
+            if (value == JsonToken.VALUE_STRING) {
+                classValues = new LinkedHashMap<>();
+                return label(parser, value);
+            }
+            numericLabel();
+            return label(parser, value);
+        }
+
+        /**
+         * Reads the label of a record, as the code of its class value if the label is nominal.
+         * Nominal labels that are not strings are missing, numeric labels that are not numbers read as 0.0.
+         */
+        double label(JsonParser parser, JsonToken value) throws IOException {
+            if (numeric) {
+                return readNumber(parser);
+            }
+            if (value != JsonToken.VALUE_STRING) {
+                parser.skipChildren();
+                return Utils.missingValue();
+            }
+            return classValues.computeIfAbsent(parser.getText(), label -> classValues.size());
+        }
+
+        boolean isLabelTyped() {
+            return numeric || classValues != null;
+        }
+
+        void numericLabel() {
+            numeric = true;
+        }
+
+        double missingLabel() {
+            return numeric ? 0.0 : Utils.missingValue();
+        }
+
+        /**
+         * Builds the dataset on the rows, which become the attribute values of its instances without being copied.
+         */
+        Instances toInstances(String datasetName) {
+            ArrayList<Attribute> attributes = new ArrayList<>(featureCount + 1);
+            for (int i = 0; i < featureCount; i++) {
+                attributes.add(new Attribute("feature_" + i));
+            }
+            attributes.add(numeric ? new Attribute("label")
+                    : new Attribute("label", new ArrayList<>(classValues.keySet())));
+            Instances dataset = new Instances(datasetName, attributes, rows.size());
+            dataset.setClassIndex(featureCount);
+            for (double[] row : rows) {
+                dataset.add(new DenseInstance(1.0, row));
+            }
+            rows.clear();
+            return dataset;
+        }
+
+    }
+
+}
@@ -22,6 +22,22 @@ public class WekaDatasetUtils {
      * @return A Weka Instances object ready for machine learning operations
      */
     public static Instances createDataset(List<Map<String, Object>> data, String datasetName) {
+        return createDataset(data, datasetName, true);
+    }
+
+    /**
+     * Creates a Weka Instances dataset of the features and label of a list of training/test data, without the text
+     * attribute that tree algorithms cannot use, so that it need not be copied and removed before training.
+     *
+     * @param data        The list of data maps containing "features" and "label" keys
+     * @param datasetName The name for the dataset (e.g., "TrainingDataset", "TestDataset")
+     * @return A numeric Weka Instances object with the label as its class attribute
+     */
+    public static Instances createNumericDataset(List<Map<String, Object>> data, String datasetName) {
+        return createDataset(data, datasetName, false);
+    }
+
+    private static Instances createDataset(List<Map<String, Object>> data, String datasetName, boolean includeText) {
         if (data == null || data.isEmpty()) {
             throw new IllegalArgumentException("Data cannot be null or empty");
         }
@@ -29,7 +45,7 @@ public class WekaDatasetUtils {
             throw new IllegalArgumentException("Dataset name cannot be null or empty");
         }
         Map<String, Object> firstData = data.getFirst();
-        DatasetMetadata metadata = createDatasetSchema(firstData, data);
+        DatasetMetadata metadata = createDatasetSchema(firstData, data, includeText);
         Instances dataset = new Instances(datasetName, metadata.attributes(), data.size());
         dataset.setClassIndex(metadata.attributes().size() - 1);
         for (Map<String, Object> dataPoint : data) {
@@ -43,16 +59,20 @@ public class WekaDatasetUtils {
      * Build dataset metadata including attributes and feature information.
      *
      * @param sample  A sample data point to infer structure
-     * @param allData The complete list of data points for label analysis
+     * @param allData     The complete list of data points for label analysis
+     * @param includeText Whether the dataset starts with a text attribute
      * @return DatasetMetadata containing attributes and feature info
      */
-    private static DatasetMetadata createDatasetSchema(Map<String, Object> sample, List<Map<String, Object>> allData) {
+    private static DatasetMetadata createDatasetSchema(Map<String, Object> sample, List<Map<String, Object>> allData,
+                                                       boolean includeText) {
         ArrayList<Attribute> attributes = new ArrayList<>();
         ArrayList<String> classValues = new ArrayList<>();
-        attributes.add(new Attribute("text", (List<String>) null));
+        if (includeText) {
+            attributes.add(new Attribute("text", (List<String>) null));
+        }
         int featureCount = createFeatureAttributes(sample, attributes);
         boolean isStringLabel = addLabelAttribute(sample, allData, attributes, classValues);
-        return new DatasetMetadata(attributes, featureCount, isStringLabel, classValues);
+        return new DatasetMetadata(attributes, featureCount, isStringLabel, classValues, includeText);
     }
 
     /**
@@ -129,15 +149,19 @@ public class WekaDatasetUtils {
         int attributeCount = metadata.attributes().size();
         DenseInstance instance = new DenseInstance(attributeCount);
         instance.setDataset(dataset);
-        Object textObj = dataPoint.get("text");
-        instance.setValue(0, textObj == null ? "" : textObj.toString());
+        int firstFeature = 0;
+        if (metadata.includeText()) {
+            Object textObj = dataPoint.get("text");
+            instance.setValue(0, textObj == null ? "" : textObj.toString());
+            firstFeature = 1;
+        }
         int featureCount = metadata.featureCount();
         if (featureCount > 0) {
             Object features = dataPoint.get("features");
             if (features instanceof double[] arr) {
                 for (int i = 0; i < featureCount; i++) {
                     double value = i < arr.length ? arr[i] : 0.0;
-                    instance.setValue(1 + i, value);
+                    instance.setValue(firstFeature + i, value);
                 }
             } else if (features instanceof List<?> list) {
                 for (int i = 0; i < featureCount; i++) {
@@ -145,11 +169,11 @@ public class WekaDatasetUtils {
                     if (i < list.size() && list.get(i) instanceof Number) {
                         value = ((Number) list.get(i)).doubleValue();
                     }
-                    instance.setValue(1 + i, value);
+                    instance.setValue(firstFeature + i, value);
                 }
             } else {
                 for (int i = 0; i < featureCount; i++) {
-                    instance.setValue(1 + i, 0.0);
+                    instance.setValue(firstFeature + i, 0.0);
                 }
             }
         }
@@ -185,12 +209,14 @@ public class WekaDatasetUtils {
      * @param featureCount The number of feature attributes
      * @param stringLabel  Whether the label is of string type
      * @param classValues  The list of unique string label values
+     * @param includeText  Whether the dataset starts with a text attribute
      */
     private record DatasetMetadata(
             ArrayList<Attribute> attributes,
             int featureCount,
             boolean stringLabel,
-            ArrayList<String> classValues
+            ArrayList<String> classValues,
+            boolean includeText
     ) {
     }
 
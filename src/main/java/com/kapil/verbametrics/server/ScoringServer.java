@@ -0,0 +1,286 @@
+package com.kapil.verbametrics.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kapil.verbametrics.config.ScoringServerProperties;
+import com.kapil.verbametrics.dto.TextAnalysisRequest;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.services.BasicTextAnalysisService;
+import com.kapil.verbametrics.services.ReadabilityAnalysisService;
+import com.kapil.verbametrics.services.SentimentAnalysisService;
+import com.kapil.verbametrics.services.engines.ConcurrentAnalysisEngine;
+import com.kapil.verbametrics.services.engines.IncrementalTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.StreamingTextAnalysisEngine;
+import com.kapil.verbametrics.ui.controller.MLModelController;
+import com.kapil.verbametrics.ui.controller.TextAnalysisController;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless HTTP server exposing the text analyses and model predictions as JSON endpoints.
+ * Every exchange is handled on its own virtual thread, and connections are kept alive between requests.
+ * All endpoints accept POST requests with a JSON body:
+ * <ul>
+ *     <li>{@code /analyze}, {@code /sentiment} and {@code /readability} take {@code {"text": "..."}}</li>
+ *     <li>{@code /predict} takes {@code {"modelId": "...", "input": {"features": [...]}}}, or an input with a
+ *     {@code "text"} to featurize instead of {@code "features"}, and is batched with the concurrent predictions of
+ *     the same model</li>
+ *     <li>{@code /predictBatch} takes {@code {"modelId": "...", "inputs": [{"features": [...]}, ...]}}</li>
+ * </ul>
+ * Invalid requests are answered with status 400 and failures with status 500, both with an error body.
+ *
+ * @author Kapil Garg
+ */
+public class ScoringServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoringServer.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+
+    private final TextAnalysisController textController;
+    private final MLModelController modelController;
+    private final ScoringServerProperties properties;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ScoringServer(TextAnalysisController textController, MLModelController modelController,
+                         ScoringServerProperties properties) {
+        this.textController = Objects.requireNonNull(textController, "Text analysis controller cannot be null");
+        this.modelController = Objects.requireNonNull(modelController, "ML model controller cannot be null");
+        this.properties = Objects.requireNonNull(properties, "Scoring server properties cannot be null");
+    }
+
+    /**
+     * Creates a server using the services of an application context, wired as in the GUI.
+     *
+     * @param ctx the Spring application context
+     * @return the server, not yet started
+     */
+    public static ScoringServer create(ApplicationContext ctx) {
+        TextAnalysisController textController = new TextAnalysisController(
+                ctx.getBean(BasicTextAnalysisService.class),
+                ctx.getBean(SentimentAnalysisService.class),
+                ctx.getBean(ReadabilityAnalysisService.class),
+                ctx.getBean(StreamingTextAnalysisEngine.class),
+                ctx.getBean(ConcurrentAnalysisEngine.class),
+                ctx.getBean(IncrementalTextAnalysisEngine.class)
+        );
+        MLModelController modelController = new MLModelController(ctx.getBean(MLModelService.class));
+        return new ScoringServer(textController, modelController, ctx.getBean(ScoringServerProperties.class));
+    }
+
+    /**
+     * Binds the server and starts accepting requests.
+     *
+     * @return the port the server listens on
+     * @throws IOException           if the server cannot be bound
+     * @throws IllegalStateException if the server is already started
+     */
+    public synchronized int start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Scoring server is already started");
+        }
+        HttpServer httpServer = HttpServer.create(
+                new InetSocketAddress(properties.getHost(), properties.getPort()), Math.max(0, properties.getBacklog()));
+        httpServer.createContext("/analyze", exchange -> handle(exchange, this::analyze));
+        httpServer.createContext("/sentiment", exchange -> handle(exchange, this::sentiment));
+        httpServer.createContext("/readability", exchange -> handle(exchange, this::readability));
+        httpServer.createContext("/predict", exchange -> handle(exchange, this::predict));
+        httpServer.createContext("/predictBatch", exchange -> handle(exchange, this::predictBatch));
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        server = httpServer;
+        LOGGER.info("Scoring server listening on {}:{}", properties.getHost(), getPort());
+        return getPort();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the bound port
+     * @throws IllegalStateException if the server is not started
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("Scoring server is not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and stops the request threads.
+     */
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+        LOGGER.info("Scoring server stopped");
+    }
+
+    private Object analyze(byte[] body) throws IOException {
+        return textController.analyze(OBJECT_MAPPER.readValue(body, TextAnalysisRequest.class).text());
+    }
+
+    private Object sentiment(byte[] body) throws IOException {
+        String text = OBJECT_MAPPER.readValue(body, TextAnalysisRequest.class).text();
+        return textController.sentimentService().analyzeSentiment(text);
+    }
+
+    private Object readability(byte[] body) throws IOException {
+        String text = OBJECT_MAPPER.readValue(body, TextAnalysisRequest.class).text();
+        return textController.readabilityService().analyzeReadability(text);
+    }
+
+    private Object predict(byte[] body) throws IOException {
+        PredictRequest request = OBJECT_MAPPER.readValue(body, PredictRequest.class);
+        return modelController.predictBatched(request.modelId(), request.input());
+    }
+
+    private Object predictBatch(byte[] body) throws IOException {
+        BatchPredictRequest request = OBJECT_MAPPER.readValue(body, BatchPredictRequest.class);
+        return modelController.predictBatch(request.modelId(), request.inputs());
+    }
+
+    /**
+     * Reads the request body, runs the endpoint and writes its result or error as JSON.
+     *
+     * @param exchange the HTTP exchange
+     * @param endpoint the endpoint turning the request body into a result
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, errorBody("Method not allowed: " + exchange.getRequestMethod()));
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                respond(exchange, 413, errorBody("Request body exceeds " + properties.getMaxRequestBytes() + " bytes"));
+                return;
+            }
+            Object result;
+            try {
+                result = endpoint.handle(body);
+            } catch (JsonProcessingException e) {
+                String message = e.getCause() instanceof RuntimeException cause ? cause.getMessage() : e.getOriginalMessage();
+                respond(exchange, 400, errorBody("Invalid request: " + message));
+                return;
+            } catch (RuntimeException e) {
+                boolean invalid = isInvalidRequest(e);
+                if (!invalid) {
+                    LOGGER.error("Failed to handle request: {}", exchange.getRequestURI(), e);
+                }
+                respond(exchange, invalid ? 400 : 500, errorBody(e.getMessage()));
+                return;
+            }
+            respond(exchange, 200, OBJECT_MAPPER.writeValueAsBytes(result));
+        }
+    }
+
+    /**
+     * Reads a request body up to the configured maximum size.
+     *
+     * @param in the request body stream
+     * @return the body, or null if it exceeds the maximum size
+     * @throws IOException if reading fails
+     */
+    private byte[] readBody(InputStream in) throws IOException {
+        int maxRequestBytes = Math.max(0, properties.getMaxRequestBytes());
+        byte[] body = in.readNBytes(maxRequestBytes + 1);
+        return body.length > maxRequestBytes ? null : body;
+    }
+
+    /**
+     * Checks whether a failure was caused by an invalid request rather than by the server.
+     *
+     * @param e the failure
+     * @return true if an illegal argument is among its causes
+     */
+    private static boolean isInvalidRequest(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] errorBody(String message) throws JsonProcessingException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", true);
+        error.put("message", message);
+        return OBJECT_MAPPER.writeValueAsBytes(error);
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Endpoint turning a request body into a result serialized as the response.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+
+        Object handle(byte[] body) throws IOException;
+
+    }
+
+    /**
+     * Body of a prediction request.
+     *
+     * @param modelId the ID of the trained model
+     * @param input   the input data for prediction
+     */
+    private record PredictRequest(String modelId, Map<String, Object> input) {
+
+        PredictRequest {
+            Objects.requireNonNull(modelId, "Model ID cannot be null");
+            Objects.requireNonNull(input, "Input cannot be null");
+        }
+
+    }
+
+    /**
+     * Body of a batch prediction request.
+     *
+     * @param modelId the ID of the trained model
+     * @param inputs  the input data for prediction
+     */
+    private record BatchPredictRequest(String modelId, List<Map<String, Object>> inputs) {
+
+        BatchPredictRequest {
+            Objects.requireNonNull(modelId, "Model ID cannot be null");
+            Objects.requireNonNull(inputs, "Inputs cannot be null");
+        }
+
+    }
+
+}
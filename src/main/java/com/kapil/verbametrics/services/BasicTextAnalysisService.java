@@ -2,6 +2,14 @@ package com.kapil.verbametrics.services;
 
 import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service interface for basic text analysis operations.
@@ -18,4 +26,50 @@ public interface BasicTextAnalysisService {
      */
     TextAnalysisResponse analyzeText(TextAnalysisRequest request);
 
+    /**
+     * Performs basic text analysis on an already tokenized document.
+     *
+     * @param document The tokenized document
+     * @return Text analysis response with basic statistics
+     */
+    TextAnalysisResponse analyzeText(TokenizedDocument document);
+
+    /**
+     * Performs basic text analysis on the summary of a streamed document.
+     *
+     * @param summary The summary of the streamed document
+     * @return Text analysis response with basic statistics
+     */
+    TextAnalysisResponse analyzeText(DocumentSummary summary);
+
+    /**
+     * Performs basic text analysis of many texts concurrently, using the shared tokenization of each text.
+     *
+     * @param texts the texts to analyze, consumed lazily
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    List<BatchItemResult<TextAnalysisResponse>> analyzeTextBatch(Iterator<String> texts);
+
+    /**
+     * Performs basic text analysis of a list of texts concurrently.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<TextAnalysisResponse>> analyzeTextBatch(List<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeTextBatch(texts.iterator());
+    }
+
+    /**
+     * Performs basic text analysis of a stream of texts concurrently. The stream is consumed but not closed.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<TextAnalysisResponse>> analyzeTextBatch(Stream<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeTextBatch(texts.iterator());
+    }
+
 }
@@ -1,6 +1,14 @@
 package com.kapil.verbametrics.services;
 
 import com.kapil.verbametrics.domain.ReadabilityMetrics;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service interface for readability analysis operations.
@@ -26,4 +34,50 @@ public interface ReadabilityAnalysisService {
      */
     ReadabilityMetrics analyzeReadability(String text, boolean includeComplexity);
 
+    /**
+     * Analyzes the readability of an already tokenized document.
+     *
+     * @param document the tokenized document to analyze
+     * @return ReadabilityMetrics containing readability analysis results
+     */
+    ReadabilityMetrics analyzeReadability(TokenizedDocument document);
+
+    /**
+     * Analyzes the readability of a streamed document from its summary.
+     *
+     * @param summary the summary of the streamed document
+     * @return ReadabilityMetrics containing readability analysis results
+     */
+    ReadabilityMetrics analyzeReadability(DocumentSummary summary);
+
+    /**
+     * Analyzes the readability of many texts concurrently, using the shared tokenization of each text.
+     *
+     * @param texts the texts to analyze, consumed lazily
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    List<BatchItemResult<ReadabilityMetrics>> analyzeReadabilityBatch(Iterator<String> texts);
+
+    /**
+     * Analyzes the readability of a list of texts concurrently.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<ReadabilityMetrics>> analyzeReadabilityBatch(List<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeReadabilityBatch(texts.iterator());
+    }
+
+    /**
+     * Analyzes the readability of a stream of texts concurrently. The stream is consumed but not closed.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<ReadabilityMetrics>> analyzeReadabilityBatch(Stream<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeReadabilityBatch(texts.iterator());
+    }
+
 }
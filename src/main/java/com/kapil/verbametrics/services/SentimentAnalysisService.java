@@ -1,6 +1,14 @@
 package com.kapil.verbametrics.services;
 
 import com.kapil.verbametrics.domain.SentimentScore;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Service interface for sentiment analysis operations.
@@ -26,4 +34,50 @@ public interface SentimentAnalysisService {
      */
     SentimentScore analyzeSentiment(String text, boolean includeConfidence);
 
+    /**
+     * Analyzes the sentiment of an already tokenized document.
+     *
+     * @param document the tokenized document to analyze
+     * @return SentimentScore containing sentiment analysis results
+     */
+    SentimentScore analyzeSentiment(TokenizedDocument document);
+
+    /**
+     * Analyzes the sentiment of a streamed document from its summary.
+     *
+     * @param summary the summary of the streamed document
+     * @return SentimentScore containing sentiment analysis results
+     */
+    SentimentScore analyzeSentiment(DocumentSummary summary);
+
+    /**
+     * Analyzes the sentiment of many texts concurrently, using the shared tokenization of each text.
+     *
+     * @param texts the texts to analyze, consumed lazily
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    List<BatchItemResult<SentimentScore>> analyzeSentimentBatch(Iterator<String> texts);
+
+    /**
+     * Analyzes the sentiment of a list of texts concurrently.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<SentimentScore>> analyzeSentimentBatch(List<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeSentimentBatch(texts.iterator());
+    }
+
+    /**
+     * Analyzes the sentiment of a stream of texts concurrently. The stream is consumed but not closed.
+     *
+     * @param texts the texts to analyze
+     * @return one result per text in input order; a text that cannot be analyzed yields a failed item
+     */
+    default List<BatchItemResult<SentimentScore>> analyzeSentimentBatch(Stream<String> texts) {
+        Objects.requireNonNull(texts, "Texts cannot be null");
+        return analyzeSentimentBatch(texts.iterator());
+    }
+
 }
@@ -1,5 +1,7 @@
 package com.kapil.verbametrics.services;
 
+import java.util.Map;
+
 /**
  * Service for counting syllables in words and calculating average syllables per word.
  *
@@ -31,4 +33,11 @@ public interface SyllableCounterService {
      */
     double calculateAverageSyllablesPerWord(String[] words);
 
+    /**
+     * Gets statistics of the syllable count cache, including hit and miss counters.
+     *
+     * @return cache statistics map
+     */
+    Map<String, Object> getCacheStatistics();
+
 }
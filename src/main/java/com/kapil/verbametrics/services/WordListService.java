@@ -37,4 +37,11 @@ public interface WordListService {
      */
     void refreshWordLists();
 
+    /**
+     * Gets the revision of the word lists, which changes whenever they are refreshed.
+     *
+     * @return the current word list revision
+     */
+    long getRevision();
+
 }
@@ -1,5 +1,7 @@
 package com.kapil.verbametrics.services.calculators;
 
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.springframework.stereotype.Component;
 
 /**
@@ -29,4 +31,28 @@ public class SentenceLengthCalculator {
         return (double) totalWords / sentences.length;
     }
 
+    /**
+     * Calculates the average sentence length in words using the shared tokenization of a document.
+     *
+     * @param document the tokenized document to analyze
+     * @return the average sentence length
+     */
+    public double calculateAverageSentenceLength(TokenizedDocument document) {
+        int sentences = document.sentencePieceCount();
+        if (sentences == 0) return 0.0;
+        return (double) document.sentenceWordCount() / sentences;
+    }
+
+    /**
+     * Calculates the average sentence length in words from the counts of a streamed document.
+     *
+     * @param summary the summary of the streamed document
+     * @return the average sentence length
+     */
+    public double calculateAverageSentenceLength(DocumentSummary summary) {
+        int sentences = summary.sentencePieceCount();
+        if (sentences == 0) return 0.0;
+        return (double) summary.sentenceWordCount() / sentences;
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.kapil.verbametrics.services.calculators;
 
 import com.kapil.verbametrics.services.SyllableCounterService;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -32,4 +34,27 @@ public class SyllablePerWordCalculator {
         return syllableCounterService.calculateAverageSyllablesPerWord(words);
     }
 
+    /**
+     * Calculates the average number of syllables per word using the shared tokens of a document.
+     *
+     * @param document the tokenized document to analyze
+     * @return the average syllables per word
+     */
+    public double calculateAverageSyllablesPerWord(TokenizedDocument document) {
+        String[] words = document.tokens();
+        if (words.length == 0) return 0.0;
+        return syllableCounterService.calculateAverageSyllablesPerWord(words);
+    }
+
+    /**
+     * Calculates the average number of syllables per word from the counts of a streamed document.
+     *
+     * @param summary the summary of the streamed document
+     * @return the average syllables per word
+     */
+    public double calculateAverageSyllablesPerWord(DocumentSummary summary) {
+        if (summary.syllableWordCount() == 0) return 0.0;
+        return (double) summary.syllableCount() / summary.syllableWordCount();
+    }
+
 }
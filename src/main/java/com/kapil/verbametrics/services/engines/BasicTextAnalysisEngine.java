@@ -1,19 +1,26 @@
 package com.kapil.verbametrics.services.engines;
 
+import com.kapil.verbametrics.config.TextAnalysisProperties;
 import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TextStatisticsScanner;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
  * BasicTextAnalysisEngine provides fundamental text analysis functionalities.
- * It computes basic statistics such as word count, sentence count, character count, and paragraph count.
+ * It computes basic statistics such as word count, sentence count, character count, and paragraph count,
+ * either by regex splitting or by a single-pass character scan, as selected by {@link TextAnalysisProperties}.
  *
  * @author Kapil Garg
  */
@@ -26,6 +33,17 @@ public class BasicTextAnalysisEngine {
     private static final Pattern WHITESPACE_PATTERN = Pattern.compile(VerbaMetricsConstants.WHITESPACE_REGEX);
     private static final Pattern SENTENCE_ENDINGS_PATTERN = Pattern.compile(VerbaMetricsConstants.SENTENCE_ENDINGS_REGEX);
 
+    private final TextAnalysisProperties properties;
+
+    public BasicTextAnalysisEngine() {
+        this(new TextAnalysisProperties());
+    }
+
+    @Autowired
+    public BasicTextAnalysisEngine(TextAnalysisProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "Text analysis properties cannot be null");
+    }
+
     /**
      * Analyzes the provided text and computes basic statistics.
      *
@@ -44,12 +62,86 @@ public class BasicTextAnalysisEngine {
     }
 
     /**
-     * Calculates basic text statistics including word count, sentence count, character count, and paragraph count.
+     * Analyzes an already tokenized document and computes basic statistics from its shared token data.
+     *
+     * @param document The tokenized document to analyze.
+     * @return A response containing the analysis results and processing time.
+     */
+    public TextAnalysisResponse analyze(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        LOGGER.debug("Starting text analysis for tokenized document");
+        long startTime = System.currentTimeMillis();
+        String documentId = UUID.randomUUID().toString();
+        BasicTextStatistics stats = calculateStatistics(document);
+        long processingTime = System.currentTimeMillis() - startTime;
+        LOGGER.debug("Text analysis completed in {}ms for document {}", processingTime, documentId);
+        return new TextAnalysisResponse(documentId, stats, processingTime);
+    }
+
+    /**
+     * Wraps the statistics already computed for a streamed document into a response.
+     *
+     * @param summary The summary of the streamed document.
+     * @return A response containing the analysis results and processing time.
+     */
+    public TextAnalysisResponse analyze(DocumentSummary summary) {
+        Objects.requireNonNull(summary, "Summary cannot be null");
+        long startTime = System.currentTimeMillis();
+        String documentId = UUID.randomUUID().toString();
+        BasicTextStatistics stats = summary.statistics();
+        long processingTime = System.currentTimeMillis() - startTime;
+        LOGGER.debug("Text analysis completed in {}ms for streamed document {}", processingTime, documentId);
+        return new TextAnalysisResponse(documentId, stats, processingTime);
+    }
+
+    /**
+     * Calculates basic text statistics from a tokenized document using the configured statistics strategy.
+     * The scanning strategy reuses the statistics the document already holds instead of re-scanning the text.
+     *
+     * @param document The tokenized document.
+     * @return An object containing the calculated statistics.
+     */
+    private BasicTextStatistics calculateStatistics(TokenizedDocument document) {
+        if (properties.getStatisticsStrategy() == TextAnalysisProperties.StatisticsStrategy.REGEX) {
+            return calculateStatisticsWithRegex(document.text());
+        }
+        return document.statistics();
+    }
+
+    /**
+     * Calculates basic text statistics including word count, sentence count, character count, and paragraph count
+     * using the configured statistics strategy.
      *
      * @param text The text to analyze.
      * @return An object containing the calculated statistics.
      */
     private BasicTextStatistics calculateStatistics(String text) {
+        if (properties.getStatisticsStrategy() == TextAnalysisProperties.StatisticsStrategy.REGEX) {
+            return calculateStatisticsWithRegex(text);
+        }
+        return calculateStatisticsByScanning(text);
+    }
+
+    /**
+     * Calculates basic text statistics in a single pass over the characters, without intermediate arrays or copies.
+     *
+     * @param text The text to analyze.
+     * @return An object containing the calculated statistics.
+     */
+    private BasicTextStatistics calculateStatisticsByScanning(String text) {
+        if (text == null) {
+            return new BasicTextStatistics(0, 0, 0, 0, 0);
+        }
+        return TextStatisticsScanner.scan(text);
+    }
+
+    /**
+     * Calculates basic text statistics by splitting the text with regular expressions.
+     *
+     * @param text The text to analyze.
+     * @return An object containing the calculated statistics.
+     */
+    private BasicTextStatistics calculateStatisticsWithRegex(String text) {
         if (text == null || text.isBlank()) {
             return new BasicTextStatistics(0, 0, 0, 0, 0);
         }
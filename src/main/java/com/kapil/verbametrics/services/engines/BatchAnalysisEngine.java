@@ -0,0 +1,122 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Engine for fanning the analysis of many documents out across cores.
+ * Each document is analyzed on its own virtual thread, with the number of documents in flight
+ * capped by the configured parallelism, so the input is consumed lazily and never buffered ahead.
+ * Results come back in input order, and a failing document yields a failed item instead of
+ * failing the batch.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class BatchAnalysisEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchAnalysisEngine.class);
+
+    private final TextAnalysisProperties properties;
+
+    public BatchAnalysisEngine() {
+        this(new TextAnalysisProperties());
+    }
+
+    @Autowired
+    public BatchAnalysisEngine(TextAnalysisProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "Text analysis properties cannot be null");
+    }
+
+    /**
+     * Applies an analysis to every document of the batch concurrently.
+     *
+     * @param documents the documents to analyze, consumed on the calling thread
+     * @param analysis  the analysis to apply to each document
+     * @param <T>       the type of the documents
+     * @param <R>       the type of the analysis results
+     * @return one item result per document, in input order
+     * @throws RuntimeException if the calling thread is interrupted while submitting documents
+     */
+    public <T, R> List<BatchItemResult<R>> process(Iterator<? extends T> documents, Function<? super T, ? extends R> analysis) {
+        Objects.requireNonNull(documents, "Documents cannot be null");
+        Objects.requireNonNull(analysis, "Analysis cannot be null");
+        int parallelism = getParallelism();
+        LOGGER.debug("Starting batch analysis with parallelism {}", parallelism);
+        long startTime = System.currentTimeMillis();
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<BatchItemResult<R>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int index = 0;
+            while (documents.hasNext()) {
+                T document = documents.next();
+                int position = index++;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        return analyzeItem(position, document, analysis);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch analysis interrupted", e);
+        }
+        List<BatchItemResult<R>> results = new ArrayList<>(futures.size());
+        int failures = 0;
+        for (Future<BatchItemResult<R>> future : futures) {
+            BatchItemResult<R> result = future.resultNow();
+            if (!result.isSuccess()) {
+                failures++;
+            }
+            results.add(result);
+        }
+        LOGGER.debug("Batch analysis of {} documents completed in {}ms with {} failures",
+                results.size(), System.currentTimeMillis() - startTime, failures);
+        return results;
+    }
+
+    /**
+     * Analyzes a single document, turning a failure into a failed item result.
+     *
+     * @param index    the position of the document in the batch
+     * @param document the document to analyze
+     * @param analysis the analysis to apply
+     * @return the item result
+     */
+    private <T, R> BatchItemResult<R> analyzeItem(int index, T document, Function<? super T, ? extends R> analysis) {
+        try {
+            return BatchItemResult.success(index, analysis.apply(document));
+        } catch (Exception e) {
+            LOGGER.warn("Failed to analyze document {} of batch: {}", index, e.getMessage());
+            return BatchItemResult.failure(index, e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the configured parallelism, defaulting to the number of available processors.
+     *
+     * @return the maximum number of documents analyzed concurrently
+     */
+    private int getParallelism() {
+        int parallelism = properties.getBatch().getParallelism();
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.models.AnalysisOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Engine for running the independent analyses of a document concurrently.
+ * Each analysis runs on its own virtual thread, with the number of analyses running at once capped
+ * by the configured parallelism across all documents. Every analysis gets its own timeout, counted from
+ * when it starts running rather than from its submission, so time spent waiting for a slot behind other
+ * documents does not count against it, and a slow analysis is reported as failed without holding back the
+ * results of the others.
+ * <p>
+ * A timed-out analysis is cancelled with an interrupt, but the analysis engines are CPU-bound and do not check
+ * for interruption, so it may keep running until it finishes on its own. Its slot is handed back when the deadline
+ * passes, so runaway analyses do not starve later documents; while they run, more analyses than the configured
+ * parallelism may be busy at once.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class ConcurrentAnalysisEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentAnalysisEngine.class);
+
+    private final TextAnalysisProperties properties;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public ConcurrentAnalysisEngine() {
+        this(new TextAnalysisProperties());
+    }
+
+    @Autowired
+    public ConcurrentAnalysisEngine(TextAnalysisProperties properties) {
+        this.properties = Objects.requireNonNull(properties, "Text analysis properties cannot be null");
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.permits = new Semaphore(getParallelism());
+    }
+
+    /**
+     * Starts an analysis in the background.
+     *
+     * @param name     the name of the analysis, used in failure messages
+     * @param analysis the analysis to run
+     * @param <T>      the type of the analysis result
+     * @return the pending analysis
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public <T> PendingAnalysis<T> submit(String name, Callable<? extends T> analysis) {
+        Objects.requireNonNull(name, "Analysis name cannot be null");
+        Objects.requireNonNull(analysis, "Analysis cannot be null");
+        long timeoutMillis = properties.getConcurrency().getTimeoutMillis();
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Analysis timeout must be positive");
+        }
+        Slot slot = new Slot(permits);
+        Future<T> future = executor.submit(() -> {
+            try {
+                permits.acquire();
+                if (!slot.hold()) {
+                    permits.release();
+                    throw new IllegalStateException("Analysis cancelled before it started");
+                }
+            } finally {
+                slot.start();
+            }
+            try {
+                return analysis.call();
+            } finally {
+                slot.release();
+            }
+        });
+        return new PendingAnalysis<>(name, future, slot, timeoutMillis);
+    }
+
+    /**
+     * Stops the background analyses still running.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resolves the configured parallelism, defaulting to the number of available processors.
+     *
+     * @return the maximum number of analyses running at once
+     */
+    private int getParallelism() {
+        int parallelism = properties.getConcurrency().getParallelism();
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Permit of one analysis, released exactly once: when the analysis finishes or when its deadline passes,
+     * whichever comes first. It also records when the analysis started, from which its deadline is counted.
+     */
+    private static final class Slot {
+
+        private static final int WAITING = 0;
+        private static final int HELD = 1;
+        private static final int RELEASED = 2;
+
+        private final Semaphore permits;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startedAt;
+
+        private Slot(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        /**
+         * Marks the acquired permit as held by the analysis.
+         *
+         * @return false if the slot was already given up, in which case the caller must return the permit
+         */
+        private boolean hold() {
+            return state.compareAndSet(WAITING, HELD);
+        }
+
+        /**
+         * Records that the analysis has started, or that it will not run because it was given up or interrupted.
+         */
+        private synchronized void start() {
+            if (started.getCount() > 0) {
+                startedAt = System.nanoTime();
+                started.countDown();
+            }
+        }
+
+        /**
+         * Waits until the analysis has started.
+         *
+         * @return the start time of the analysis, in {@link System#nanoTime()} units
+         * @throws InterruptedException if the calling thread is interrupted while waiting
+         */
+        private long awaitStart() throws InterruptedException {
+            started.await();
+            return startedAt;
+        }
+
+        /**
+         * Returns the permit if the analysis holds it, or gives up the slot if the analysis has not started.
+         */
+        private void release() {
+            if (state.compareAndSet(HELD, RELEASED)) {
+                permits.release();
+            } else {
+                state.compareAndSet(WAITING, RELEASED);
+            }
+        }
+
+    }
+
+    /**
+     * Analysis running in the background, awaited up to its own deadline.
+     *
+     * @param <T> the type of the analysis result
+     */
+    public static final class PendingAnalysis<T> {
+
+        private final String name;
+        private final Future<T> future;
+        private final Slot slot;
+        private final long timeoutMillis;
+
+        private PendingAnalysis(String name, Future<T> future, Slot slot, long timeoutMillis) {
+            this.name = name;
+            this.future = future;
+            this.slot = slot;
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        /**
+         * Waits for the analysis to start and then until its deadline, cancelling it and handing back its slot if
+         * the deadline passes.
+         *
+         * @return the analysis outcome
+         * @throws RuntimeException if the calling thread is interrupted while waiting
+         */
+        public AnalysisOutcome<T> await() {
+            try {
+                long deadline = slot.awaitStart() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                return AnalysisOutcome.success(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                cancel();
+                LOGGER.warn("{} analysis timed out after {}ms", name, timeoutMillis);
+                return AnalysisOutcome.failure(name + " analysis timed out after " + timeoutMillis + "ms");
+            } catch (CancellationException e) {
+                return AnalysisOutcome.failure(name + " analysis was cancelled");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                LOGGER.warn("{} analysis failed: {}", name, cause.getMessage());
+                return AnalysisOutcome.failure(cause.getMessage());
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Analysis interrupted", e);
+            }
+        }
+
+        /**
+         * Cancels the analysis if it has not finished, handing back its slot, for an analysis whose result is no
+         * longer awaited.
+         */
+        public void cancel() {
+            future.cancel(true);
+            slot.release();
+            slot.start();
+        }
+
+    }
+
+}
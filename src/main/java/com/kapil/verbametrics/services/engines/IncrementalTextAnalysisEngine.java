@@ -0,0 +1,314 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+import com.kapil.verbametrics.services.SyllableCounterService;
+import com.kapil.verbametrics.services.models.AnalysisOutcome;
+import com.kapil.verbametrics.services.models.BoundedLruCache;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.ParagraphSummary;
+import com.kapil.verbametrics.services.models.SentimentTally;
+import com.kapil.verbametrics.services.models.TextStatisticsScanner;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Engine for re-analyzing a document that is being edited.
+ * Splits the document into paragraphs, analyzes each paragraph on its own and merges the paragraph
+ * counts and sentiment tallies into a {@link DocumentSummary} with the same results as analyzing the
+ * whole text. Paragraph results are kept in an LRU cache by the SHA-256 hash of the paragraph, so the cache does
+ * not hold on to paragraph texts and after an edit only the changed paragraphs are analyzed again, concurrently
+ * when a {@link ConcurrentAnalysisEngine} is given.
+ * <p>
+ * Paragraphs are only split at blank lines that follow sentence punctuation and precede visible text,
+ * since at such a break every count and the sentiment context start afresh. A paragraph that does
+ * not end a sentence stays joined to the next one.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class IncrementalTextAnalysisEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalTextAnalysisEngine.class);
+    private static final String PARAGRAPH = "Paragraph";
+
+    private final SentimentCalculationEngine sentimentEngine;
+    private final SyllableCounterService syllableCounterService;
+    private final BoundedLruCache<ParagraphKey, ParagraphSummary> cache;
+
+    @Autowired
+    public IncrementalTextAnalysisEngine(SentimentCalculationEngine sentimentEngine,
+                                         SyllableCounterService syllableCounterService,
+                                         TextAnalysisProperties properties) {
+        this.sentimentEngine = sentimentEngine;
+        this.syllableCounterService = syllableCounterService;
+        this.cache = new BoundedLruCache<>(properties.getParagraphCache().getMaxSize());
+    }
+
+    /**
+     * Summarizes the document, reusing the cached results of unchanged paragraphs.
+     *
+     * @param text the text of the document
+     * @return the summary of the document
+     */
+    public DocumentSummary summarize(String text) {
+        return summarize(text, null);
+    }
+
+    /**
+     * Summarizes the document, reusing the cached results of unchanged paragraphs and analyzing the changed
+     * paragraphs concurrently, each within the timeout of the analysis engine.
+     *
+     * @param text           the text of the document
+     * @param analysisEngine the engine running the paragraph analyses, or null to analyze them on the calling thread
+     * @return the summary of the document
+     * @throws IllegalStateException if a paragraph analysis fails or times out
+     */
+    public DocumentSummary summarize(String text, ConcurrentAnalysisEngine analysisEngine) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        long startTime = System.currentTimeMillis();
+        List<String> paragraphTexts = new ArrayList<>();
+        int separatorLength = 0;
+        int start = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!TextStatisticsScanner.isWhitespace(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int runStart = i;
+            int lineFeeds = 0;
+            while (i < length && TextStatisticsScanner.isWhitespace(text.charAt(i))) {
+                if (text.charAt(i) == '\n') {
+                    lineFeeds++;
+                }
+                i++;
+            }
+            if (lineFeeds >= 2 && runStart > 0 && TextStatisticsScanner.isSentenceDelimiter(text.charAt(runStart - 1))
+                    && i < length && startsParagraph(text.charAt(i))) {
+                paragraphTexts.add(text.substring(start, runStart));
+                separatorLength += i - runStart;
+                start = i;
+            }
+        }
+        paragraphTexts.add(text.substring(start));
+        List<ParagraphSummary> paragraphs = analysisEngine == null
+                ? summarizeParagraphs(paragraphTexts)
+                : summarizeParagraphs(paragraphTexts, analysisEngine);
+        DocumentSummary summary = merge(paragraphs, separatorLength);
+        LOGGER.debug("Incremental analysis of {} paragraphs completed in {}ms", paragraphs.size(),
+                System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    /**
+     * Gets paragraph cache statistics.
+     *
+     * @return cache statistics map
+     */
+    public Map<String, Object> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Summarizes paragraphs on the calling thread.
+     *
+     * @param paragraphs the texts of the paragraphs, in text order
+     * @return the paragraph summaries, in text order
+     */
+    private List<ParagraphSummary> summarizeParagraphs(List<String> paragraphs) {
+        List<ParagraphSummary> summaries = new ArrayList<>(paragraphs.size());
+        for (String paragraph : paragraphs) {
+            ParagraphKey key = ParagraphKey.of(paragraph);
+            ParagraphSummary summary = getCached(key);
+            if (summary == null) {
+                summary = analyzeParagraph(paragraph);
+                cache.put(key, summary);
+            }
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    /**
+     * Summarizes paragraphs, analyzing the ones not in the cache concurrently.
+     *
+     * @param paragraphs     the texts of the paragraphs, in text order
+     * @param analysisEngine the engine running the paragraph analyses
+     * @return the paragraph summaries, in text order
+     * @throws IllegalStateException if a paragraph analysis fails or times out
+     */
+    private List<ParagraphSummary> summarizeParagraphs(List<String> paragraphs,
+                                                       ConcurrentAnalysisEngine analysisEngine) {
+        List<ParagraphSummary> summaries = new ArrayList<>(paragraphs.size());
+        List<ParagraphKey> keys = new ArrayList<>(paragraphs.size());
+        List<ConcurrentAnalysisEngine.PendingAnalysis<ParagraphSummary>> pending = new ArrayList<>(paragraphs.size());
+        for (String paragraph : paragraphs) {
+            ParagraphKey key = ParagraphKey.of(paragraph);
+            ParagraphSummary summary = getCached(key);
+            keys.add(key);
+            summaries.add(summary);
+            pending.add(summary == null ? analysisEngine.submit(PARAGRAPH, () -> analyzeParagraph(paragraph)) : null);
+        }
+        for (int i = 0; i < summaries.size(); i++) {
+            if (pending.get(i) == null) {
+                continue;
+            }
+            AnalysisOutcome<ParagraphSummary> outcome = pending.get(i).await();
+            if (!outcome.isSuccess()) {
+                cancelRemaining(pending, i + 1);
+                throw new IllegalStateException(outcome.errorMessage());
+            }
+            summaries.set(i, outcome.result());
+            cache.put(keys.get(i), outcome.result());
+        }
+        return summaries;
+    }
+
+    /**
+     * Cancels the paragraph analyses that will no longer be awaited.
+     *
+     * @param pending the pending paragraph analyses, null for cached paragraphs
+     * @param from    the position of the first analysis to cancel
+     */
+    private static void cancelRemaining(List<ConcurrentAnalysisEngine.PendingAnalysis<ParagraphSummary>> pending,
+                                        int from) {
+        for (int i = from; i < pending.size(); i++) {
+            if (pending.get(i) != null) {
+                pending.get(i).cancel();
+            }
+        }
+    }
+
+    /**
+     * Returns the cached summary of a paragraph if it was analyzed with the current sentiment rules.
+     *
+     * @param key the cache key of the paragraph
+     * @return the cached paragraph summary, or null if the paragraph has to be analyzed
+     */
+    private ParagraphSummary getCached(ParagraphKey key) {
+        return cache.get(key, cached -> sentimentEngine.isCurrent(cached.sentiment()));
+    }
+
+    /**
+     * Analyzes a single paragraph.
+     *
+     * @param paragraph the text of the paragraph
+     * @return the paragraph summary
+     */
+    private ParagraphSummary analyzeParagraph(String paragraph) {
+        TokenizedDocument document = TokenizedDocument.of(paragraph);
+        long syllableWordCount = 0;
+        long syllableCount = 0;
+        for (String token : document.tokens()) {
+            if (!token.trim().isEmpty()) {
+                syllableWordCount++;
+                syllableCount += syllableCounterService.countSyllables(token);
+            }
+        }
+        return new ParagraphSummary(document.length(), document.isBlank(), document.statistics(),
+                document.whitespaceSplitLength(), document.sentencePieceCount(), document.sentenceWordCount(),
+                syllableWordCount, syllableCount, sentimentEngine.tallySentiment(document));
+    }
+
+    /**
+     * Merges the summaries of consecutive paragraphs into the summary of the whole document.
+     * Every paragraph of a split document has visible content and all but the last end a sentence,
+     * so each paragraph contributes its words and paragraphs as they are, and at least one sentence and sentence piece.
+     *
+     * @param paragraphs      the paragraph summaries, in text order
+     * @param separatorLength the number of whitespace characters between the paragraphs
+     * @return the summary of the document
+     */
+    private DocumentSummary merge(List<ParagraphSummary> paragraphs, int separatorLength) {
+        List<SentimentTally> tallies = new ArrayList<>(paragraphs.size());
+        for (ParagraphSummary paragraph : paragraphs) {
+            tallies.add(paragraph.sentiment());
+        }
+        double sentimentScore = sentimentEngine.calculateSentimentScore(tallies);
+        if (paragraphs.size() == 1) {
+            ParagraphSummary paragraph = paragraphs.getFirst();
+            return new DocumentSummary(paragraph.length(), paragraph.blank(), paragraph.statistics(),
+                    paragraph.whitespaceSplitLength(), sentimentScore, paragraph.sentencePieceCount(),
+                    paragraph.sentenceWordCount(), paragraph.syllableWordCount(), paragraph.syllableCount());
+        }
+        int length = separatorLength;
+        int words = 0;
+        int sentences = 0;
+        int charactersNoSpaces = 0;
+        int paragraphCount = 0;
+        long whitespaceSplitLength = 0;
+        int sentencePieceCount = 0;
+        long sentenceWordCount = 0;
+        long syllableWordCount = 0;
+        long syllableCount = 0;
+        for (ParagraphSummary paragraph : paragraphs) {
+            BasicTextStatistics statistics = paragraph.statistics();
+            length = Math.addExact(length, paragraph.length());
+            words += statistics.wordCount();
+            sentences += Math.max(1, statistics.sentenceCount());
+            charactersNoSpaces += statistics.characterCountNoSpaces();
+            paragraphCount += statistics.paragraphCount();
+            whitespaceSplitLength += paragraph.whitespaceSplitLength();
+            sentencePieceCount += Math.max(1, paragraph.sentencePieceCount());
+            sentenceWordCount += paragraph.sentenceWordCount();
+            syllableWordCount += paragraph.syllableWordCount();
+            syllableCount += paragraph.syllableCount();
+        }
+        BasicTextStatistics statistics = new BasicTextStatistics(words, sentences, length, charactersNoSpaces, paragraphCount);
+        return new DocumentSummary(length, false, statistics, whitespaceSplitLength, sentimentScore,
+                sentencePieceCount, sentenceWordCount, syllableWordCount, syllableCount);
+    }
+
+    /**
+     * Checks whether a character can start a paragraph that is analyzed on its own.
+     *
+     * @param c the first character after a blank line
+     * @return true for visible characters that are not whitespace
+     */
+    private static boolean startsParagraph(char c) {
+        return c > ' ' && !Character.isWhitespace(c);
+    }
+
+    /**
+     * Cache key of a paragraph, comparing SHA-256 hashes of the paragraph text by value.
+     *
+     * @param hash the SHA-256 hash of the paragraph text
+     */
+    private record ParagraphKey(byte[] hash) {
+
+        private static ParagraphKey of(String paragraph) {
+            try {
+                return new ParagraphKey(MessageDigest.getInstance("SHA-256")
+                        .digest(paragraph.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ParagraphKey other && Arrays.equals(hash, other.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(hash);
+        }
+
+    }
+
+}
@@ -3,6 +3,13 @@ package com.kapil.verbametrics.services.engines;
 import com.kapil.verbametrics.config.SentimentAnalysisProperties;
 import com.kapil.verbametrics.config.SentimentRuleProperties;
 import com.kapil.verbametrics.services.WordListService;
+import com.kapil.verbametrics.services.models.CompiledLexicon;
+import com.kapil.verbametrics.services.models.PhraseAutomaton;
+import com.kapil.verbametrics.services.models.PhraseMatch;
+import com.kapil.verbametrics.services.models.SentimentRevision;
+import com.kapil.verbametrics.services.models.SentimentTally;
+import com.kapil.verbametrics.services.models.TextStatisticsScanner;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +17,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Business logic engine for sentiment score calculation.
@@ -23,10 +33,15 @@ public class SentimentCalculationEngine {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SentimentCalculationEngine.class);
 
+    private static final String WORD_CHARACTER_SEPARATOR = "\\W+";
+
     private final WordListService wordListService;
     private final SentimentRuleProperties ruleProperties;
     private final SentimentAnalysisProperties analysisProperties;
 
+    private final AtomicReference<LexiconSnapshot> lexicon = new AtomicReference<>();
+    private volatile PhraseSnapshot phraseAutomaton;
+
     @Autowired
     public SentimentCalculationEngine(WordListService wordListService, SentimentAnalysisProperties analysisProperties, SentimentRuleProperties ruleProperties) {
         this.wordListService = wordListService;
@@ -44,14 +59,164 @@ public class SentimentCalculationEngine {
         if (text == null || text.isBlank()) {
             return 0.0;
         }
-        String normalized = getNormalizedString(text);
-        var tokens = tokenizeFromNormalized(normalized);
-        var totalWords = (int) Arrays.stream(tokens).filter(token -> !token.isBlank()).count();
-        if (totalWords == 0) {
+        return calculateScore(text, text.toLowerCase());
+    }
+
+    /**
+     * Calculates the sentiment score of a tokenized document, scoring its tokens by offset and reusing its
+     * shared lower-cased form for phrase matching.
+     *
+     * @param document the tokenized document to analyze
+     * @return the sentiment score between -1.0 and 1.0
+     */
+    public double calculateSentimentScore(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        if (document.isBlank()) {
+            return 0.0;
+        }
+        WeightedSentiment weighted = new WeightedSentiment(false);
+        calculateWeightedSentiment(document, getLexicon(), weighted);
+        if (weighted.tokenCount == 0) {
+            return 0.0;
+        }
+        return normalizeScore(weighted.sum + calculatePhraseAdjustments(document.lowerCaseText()));
+    }
+
+    /**
+     * Calculates the sentiment score from the original text and its lower-cased form.
+     *
+     * @param text          the original text
+     * @param lowerCaseText the lower-cased text
+     * @return the sentiment score between -1.0 and 1.0
+     */
+    private double calculateScore(String text, String lowerCaseText) {
+        boolean caseSensitive = analysisProperties.getTextProcessing().isCaseSensitive();
+        String normalized = getNormalizedString(caseSensitive ? text : lowerCaseText, !caseSensitive);
+        WeightedSentiment weighted = new WeightedSentiment(false);
+        calculateWeightedSentimentNormalized(normalized, getLexicon(), weighted);
+        if (weighted.tokenCount == 0) {
+            return 0.0;
+        }
+        double phraseAdjustment = calculatePhraseAdjustments(lowerCaseText);
+        return normalizeScore(weighted.sum + phraseAdjustment);
+    }
+
+    /**
+     * Creates a scorer that computes the sentiment score of a text fed to it character by character,
+     * so that documents too large to hold in memory can be scored while they are read.
+     * The scorer produces the same score as {@link #calculateSentimentScore(String)} on the whole text,
+     * as long as no sentence exceeds the given length.
+     *
+     * @param maxSentenceLength the maximum number of characters buffered for one sentence;
+     *                          longer sentences are scored in segments split at whitespace
+     * @return a new streaming scorer using the current lexicon and phrases
+     */
+    public StreamingSentimentScorer newStreamingScorer(int maxSentenceLength) {
+        if (maxSentenceLength <= 0) {
+            throw new IllegalArgumentException("Maximum sentence length must be positive");
+        }
+        return new StreamingSentimentScorer(getLexicon(), getPhraseAutomaton(), maxSentenceLength);
+    }
+
+    /**
+     * Tallies the unnormalized sentiment of a document made of whole sentences,
+     * so that it can later be merged with the tallies of neighbouring documents.
+     *
+     * @param document the tokenized document to tally
+     * @return the sentiment tally of the document
+     */
+    public SentimentTally tallySentiment(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        CompiledLexicon currentLexicon = getLexicon();
+        PhraseAutomaton automaton = getPhraseAutomaton();
+        WeightedSentiment weighted = new WeightedSentiment(true);
+        boolean[] matched = automaton.newMatchFlags();
+        if (!document.isBlank()) {
+            calculateWeightedSentiment(document, currentLexicon, weighted);
+            String lowerCaseText = document.lowerCaseText();
+            int state = automaton.initialState();
+            for (int i = 0; i < lowerCaseText.length(); i++) {
+                state = automaton.next(state, lowerCaseText.charAt(i));
+                automaton.markMatches(state, matched);
+            }
+        }
+        return new SentimentTally(Arrays.copyOf(weighted.contributions, weighted.contributionCount), weighted.tokenCount,
+                matched, currentLexicon, automaton);
+    }
+
+    /**
+     * Checks whether a tally was computed with the current word lists, rules and phrases.
+     *
+     * @param tally the sentiment tally to check
+     * @return true if the tally can still be merged
+     */
+    public boolean isCurrent(SentimentTally tally) {
+        return tally.lexicon() == getLexicon() && tally.automaton() == getPhraseAutomaton();
+    }
+
+    /**
+     * Gets the revision of the word lists and rules that sentiment is currently scored with.
+     * Read before scoring, it stays current for as long as the score does.
+     *
+     * @return the current sentiment revision
+     */
+    public SentimentRevision getRevision() {
+        return new SentimentRevision(wordListService.getRevision(), ruleProperties.getRevision());
+    }
+
+    /**
+     * Checks whether sentiment scored at a revision is still scored the same way.
+     *
+     * @param revision the sentiment revision to check
+     * @return true if the word lists and rules have not changed since the revision
+     */
+    public boolean isCurrent(SentimentRevision revision) {
+        return revision.equals(getRevision());
+    }
+
+    /**
+     * Calculates the sentiment score of a text from the tallies of its consecutive runs of whole sentences.
+     * Produces the same score as {@link #calculateSentimentScore(String)} on the whole text, provided the runs
+     * are split at sentence boundaries that no phrase spans.
+     *
+     * @param tallies the tallies of the runs, in text order
+     * @return the sentiment score between -1.0 and 1.0
+     * @throws IllegalArgumentException if the tallies were computed with different phrases
+     */
+    public double calculateSentimentScore(List<SentimentTally> tallies) {
+        Objects.requireNonNull(tallies, "Sentiment tallies cannot be null");
+        if (tallies.isEmpty()) {
+            return 0.0;
+        }
+        PhraseAutomaton automaton = tallies.getFirst().automaton();
+        boolean[] matched = automaton.newMatchFlags();
+        double sum = 0.0;
+        long tokenCount = 0;
+        for (SentimentTally tally : tallies) {
+            if (tally.automaton() != automaton) {
+                throw new IllegalArgumentException("Sentiment tallies were computed with different phrases");
+            }
+            for (double contribution : tally.contributions()) {
+                sum += contribution;
+            }
+            tokenCount += tally.tokenCount();
+            for (int id = 0; id < matched.length; id++) {
+                matched[id] |= tally.matchedPhrases()[id];
+            }
+        }
+        if (tokenCount == 0) {
             return 0.0;
         }
-        double phraseAdjustment = calculatePhraseAdjustments(text);
-        double weightedSum = calculateWeightedSentimentNormalized(normalized) + phraseAdjustment;
+        return normalizeScore(sum + automaton.adjustment(matched));
+    }
+
+    /**
+     * Maps a weighted sentiment sum into the range -1.0 to 1.0.
+     *
+     * @param weightedSum the weighted sentiment sum including phrase adjustments
+     * @return the sentiment score between -1.0 and 1.0
+     */
+    private double normalizeScore(double weightedSum) {
         double denominator = Math.sqrt(weightedSum * weightedSum + ruleProperties.getNormalizationAlpha());
         return denominator > 0 ? weightedSum / denominator : 0.0;
     }
@@ -80,49 +245,186 @@ public class SentimentCalculationEngine {
      * hyphenated compound words (e.g., 'state-of-the-art' becomes 'state of the art').
      * This behavior can be disabled via the normalizeHyphens configuration property.
      *
-     * @param text the text to normalize
+     * @param text       the text to normalize, already lower-cased unless case-sensitive matching is configured
+     * @param lowerCased whether the text has been lower-cased
      * @return the normalized string
      */
-    private String getNormalizedString(String text) {
-        boolean caseSensitive = analysisProperties.getTextProcessing().isCaseSensitive();
+    private String getNormalizedString(String text, boolean lowerCased) {
         boolean normalizeHyphens = analysisProperties.getTextProcessing().isNormalizeHyphens();
         String preprocessed = text;
         if (normalizeHyphens) {
             preprocessed = preprocessed.replace('-', ' ');
         }
-        preprocessed = preprocessed.replaceAll("'", VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER);
-        return caseSensitive ? preprocessed.trim() : preprocessed.trim().toLowerCase();
+        String placeholder = lowerCased
+                ? VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER.toLowerCase()
+                : VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER;
+        preprocessed = preprocessed.replace("'", placeholder);
+        return preprocessed.trim();
+    }
+
+    /**
+     * Calculates a weighted sentiment sum from the whitespace tokens of a document.
+     * With the default word separator, word tokens and sentence boundaries are found by walking the token offsets
+     * of the document, applying the hyphen and apostrophe normalization on the fly, which gives the same tokens and
+     * sentences as splitting the normalized text with regular expressions. Other separators, and texts whose
+     * lower-cased form differs in length, are normalized and split as text.
+     *
+     * @param document the tokenized document
+     * @param lexicon  the compiled lexicon
+     * @param weighted receives the weighted sentiment sum and the number of non-blank tokens
+     */
+    private void calculateWeightedSentiment(TokenizedDocument document, CompiledLexicon lexicon,
+                                            WeightedSentiment weighted) {
+        SentimentAnalysisProperties.TextProcessing processing = analysisProperties.getTextProcessing();
+        boolean caseSensitive = processing.isCaseSensitive();
+        String text = caseSensitive ? document.text() : document.lowerCaseText();
+        if (!WORD_CHARACTER_SEPARATOR.equals(processing.getWordSeparator()) || text.length() != document.length()) {
+            calculateWeightedSentimentNormalized(getNormalizedString(text, !caseSensitive), lexicon, weighted);
+            return;
+        }
+        boolean normalizeHyphens = processing.isNormalizeHyphens();
+        String placeholder = caseSensitive
+                ? VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER.trim()
+                : VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER.trim().toLowerCase();
+        OffsetTokens sentence = new OffsetTokens(text, placeholder);
+        // Last character of the normalized text, where sentence punctuation followed by whitespace ends a sentence
+        char previous = ' ';
+        for (int token = 0; token < document.tokenCount(); token++) {
+            if (TextStatisticsScanner.isSentenceDelimiter(previous)) {
+                endSentence(sentence, lexicon, weighted);
+            }
+            int end = document.tokenEnd(token);
+            int wordStart = -1;
+            for (int i = document.tokenStart(token); i < end; i++) {
+                char c = text.charAt(i);
+                if (isWordCharacter(c)) {
+                    if (wordStart < 0) {
+                        wordStart = i;
+                    }
+                    previous = c;
+                    continue;
+                }
+                if (wordStart >= 0) {
+                    sentence.add(wordStart, i);
+                    wordStart = -1;
+                }
+                if (c == '\'' || (c == '-' && normalizeHyphens)) {
+                    // Normalized to whitespace, or to the placeholder word between whitespace
+                    if (TextStatisticsScanner.isSentenceDelimiter(previous)) {
+                        endSentence(sentence, lexicon, weighted);
+                    }
+                    if (c == '\'') {
+                        sentence.addPlaceholder();
+                    }
+                    previous = ' ';
+                } else {
+                    previous = c;
+                }
+            }
+            if (wordStart >= 0) {
+                sentence.add(wordStart, end);
+            }
+        }
+        endSentence(sentence, lexicon, weighted);
+    }
+
+    /**
+     * Scores the tokens gathered for a sentence with a fresh context and clears them.
+     *
+     * @param sentence the tokens of the sentence
+     * @param lexicon  the compiled lexicon
+     * @param weighted the running weighted sum and token count
+     */
+    private void endSentence(OffsetTokens sentence, CompiledLexicon lexicon, WeightedSentiment weighted) {
+        if (sentence.size() > 0) {
+            scoreSentence(sentence, lexicon, new SentimentContext(), weighted);
+            sentence.clear();
+        }
+    }
+
+    /**
+     * @param c the character to check
+     * @return true if the character is matched by {@code \w}, so is part of a word for the default separator
+     */
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
     }
 
     /**
      * Calculates a weighted sentiment sum from normalized text.
-     * Processes text sentence by sentence to properly reset context at sentence boundaries.
+     * Processes text sentence by sentence to properly reset context at sentence boundaries,
+     * counting the non-blank tokens on the same pass so the text is tokenized only once.
      *
      * @param normalizedText the normalized input text
-     * @return the weighted sentiment sum
+     * @param lexicon        the compiled lexicon
+     * @param weighted       receives the weighted sentiment sum and the number of non-blank tokens
      */
-    private double calculateWeightedSentimentNormalized(String normalizedText) {
-        var positiveWords = wordListService.getPositiveWords();
-        var negativeWords = wordListService.getNegativeWords();
+    private void calculateWeightedSentimentNormalized(String normalizedText, CompiledLexicon lexicon, WeightedSentiment weighted) {
         String[] sentences = splitIntoSentences(normalizedText);
-        double sum = 0.0;
         for (String sentence : sentences) {
             if (sentence == null || sentence.isBlank()) continue;
-            String[] sentenceTokens = tokenizeFromNormalized(sentence);
-            SentimentContext context = new SentimentContext();
-            for (int i = 0; i < sentenceTokens.length; i++) {
-                String token = sentenceTokens[i];
-                if (token.isBlank()) {
-                    continue;
-                }
-                if (handleSpecialTokens(token, i, sentenceTokens, context)) {
-                    continue;
-                }
-                double contribution = processSentimentToken(token, i, sentenceTokens, positiveWords, negativeWords, context);
-                sum += contribution;
+            scoreSentence(sentence, lexicon, new SentimentContext(), weighted);
+        }
+    }
+
+    /**
+     * Scores the tokens of one normalized sentence and adds their contributions to the running sum.
+     *
+     * @param sentence the normalized sentence
+     * @param lexicon  the compiled lexicon
+     * @param context  sentiment context, fresh for each sentence
+     * @param weighted the running weighted sum and token count
+     */
+    private void scoreSentence(String sentence, CompiledLexicon lexicon, SentimentContext context, WeightedSentiment weighted) {
+        scoreSentence(new ArrayTokens(tokenizeFromNormalized(sentence)), lexicon, context, weighted);
+    }
+
+    /**
+     * Scores the tokens of one sentence and adds their contributions to the running sum.
+     *
+     * @param tokens   the tokens of the sentence
+     * @param lexicon  the compiled lexicon
+     * @param context  sentiment context, fresh for each sentence
+     * @param weighted the running weighted sum and token count
+     */
+    private void scoreSentence(SentenceTokens tokens, CompiledLexicon lexicon, SentimentContext context,
+                               WeightedSentiment weighted) {
+        int[] slots = new int[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.isBlank(i)) {
+                continue;
             }
+            weighted.tokenCount++;
+            slots[i] = tokens.find(i, lexicon);
+            int flags = lexicon.flags(slots[i]);
+            if (handleSpecialTokens(flags, i, tokens, context)) {
+                continue;
+            }
+            double contribution = processSentimentToken(flags, i, tokens, slots, lexicon, context);
+            weighted.add(contribution);
+        }
+    }
+
+    /**
+     * Returns the lexicon compiled from the current word lists and rule dictionaries.
+     * The lexicon is rebuilt when the word list revision or the rule revision changes,
+     * and swapped in atomically so that concurrent calculations always see a complete lexicon.
+     *
+     * @return the compiled lexicon
+     */
+    private CompiledLexicon getLexicon() {
+        long revision = wordListService.getRevision();
+        long ruleRevision = ruleProperties.getRevision();
+        LexiconSnapshot current = lexicon.get();
+        if (current != null && current.revision() == revision && current.ruleRevision() == ruleRevision) {
+            return current.lexicon();
         }
-        return sum;
+        CompiledLexicon compiled = CompiledLexicon.compile(wordListService.getPositiveWords(), wordListService.getNegativeWords(),
+                ruleProperties.getPunctuationBreaks(), ruleProperties.getContrastives(), ruleProperties.getNegations(),
+                ruleProperties.getBoosters(), ruleProperties.getDampeners());
+        lexicon.compareAndSet(current, new LexiconSnapshot(compiled, revision, ruleRevision));
+        LOGGER.debug("Compiled sentiment lexicon with {} tokens at word list revision {}", compiled.size(), revision);
+        return compiled;
     }
 
     /**
@@ -147,46 +449,46 @@ public class SentimentCalculationEngine {
     /**
      * Handles special tokens like punctuation, contrastives, and negations.
      *
-     * @param token   current token
+     * @param flags   lexicon flags of the current token
      * @param index   current index
      * @param tokens  all tokens
      * @param context sentiment context
      * @return true if token was handled and should be skipped
      */
-    private boolean handleSpecialTokens(String token, int index, String[] tokens, SentimentContext context) {
-        if (ruleProperties.getPunctuationBreaks().contains(token)) {
+    private boolean handleSpecialTokens(int flags, int index, SentenceTokens tokens, SentimentContext context) {
+        if ((flags & CompiledLexicon.PUNCTUATION_BREAK) != 0) {
             resetContext(context);
             return true;
         }
-        if (ruleProperties.getContrastives().contains(token)) {
+        if ((flags & CompiledLexicon.CONTRASTIVE) != 0) {
             context.afterContrastive = true;
             context.contrastiveCountdown = ruleProperties.getContrastiveWindow();
             return true;
         }
-        updateNegationState(token, index, tokens, context);
+        updateNegationState(flags, index, tokens, context);
         return false;
     }
 
     /**
      * Processes a sentiment-bearing token and returns its contribution to the total score.
      *
-     * @param token         current token
-     * @param index         current index
-     * @param tokens        all tokens
-     * @param positiveWords set of positive words
-     * @param negativeWords set of negative words
-     * @param context       sentiment context
+     * @param flags   lexicon flags of the current token
+     * @param index   current index
+     * @param tokens  all tokens
+     * @param slots   lexicon slots of the tokens up to the current index
+     * @param lexicon the compiled lexicon
+     * @param context sentiment context
      * @return contribution to sentiment score
      */
-    private double processSentimentToken(String token, int index, String[] tokens, Set<String> positiveWords, Set<String> negativeWords,
-                                         SentimentContext context) {
-        boolean isPositive = positiveWords.contains(token);
-        boolean isNegative = negativeWords.contains(token);
+    private double processSentimentToken(int flags, int index, SentenceTokens tokens, int[] slots,
+                                         CompiledLexicon lexicon, SentimentContext context) {
+        boolean isPositive = (flags & CompiledLexicon.POSITIVE) != 0;
+        boolean isNegative = (flags & CompiledLexicon.NEGATIVE) != 0;
         if (!isPositive && !isNegative) {
             return 0.0;
         }
-        double valence = calculateValence(token, isPositive, isNegative, context);
-        double modifier = calculateModifier(tokens, index, context);
+        double valence = calculateValence(tokens, index, isPositive, isNegative, context);
+        double modifier = calculateModifier(tokens, slots, lexicon, index, context);
         double contribution = valence * modifier;
         updateNegationWindow(context);
         return contribution;
@@ -207,25 +509,25 @@ public class SentimentCalculationEngine {
     /**
      * Updates negation state based on current token.
      *
-     * @param token   the current token
+     * @param flags   lexicon flags of the current token
      * @param index   the current index
-     * @param tokens  the tokenized input text
+     * @param tokens  the tokens of the sentence
      * @param context the sentiment context
      */
-    private void updateNegationState(String token, int index, String[] tokens, SentimentContext context) {
+    private void updateNegationState(int flags, int index, SentenceTokens tokens, SentimentContext context) {
         // Handle "not only" - this doesn't create negation
-        if ("not".equals(token) && index + 1 < tokens.length && "only".equals(tokens[index + 1])) {
+        if (tokens.is(index, "not") && index + 1 < tokens.size() && tokens.is(index + 1, "only")) {
             context.negationActive = false;
             context.negationWindow = 0;
             return;
         }
         // Handle "not without" - this is a litotes (double negative = positive), so cancel negation
-        if ("not".equals(token) && index + 1 < tokens.length && "without".equals(tokens[index + 1])) {
+        if (tokens.is(index, "not") && index + 1 < tokens.size() && tokens.is(index + 1, "without")) {
             context.negationActive = false;
             context.negationWindow = 0;
             return;
         }
-        if (ruleProperties.getNegations().contains(token)) {
+        if ((flags & CompiledLexicon.NEGATION) != 0) {
             // Handle double negations properly - if already negated, another negation cancels it
             if (context.negationActive) {
                 context.negationActive = false;
@@ -240,16 +542,18 @@ public class SentimentCalculationEngine {
     /**
      * Calculates valence (positive/negative) with negation handling.
      *
-     * @param token      the current token being processed
+     * @param tokens     the tokens of the sentence
+     * @param index      the index of the token being processed
      * @param isPositive true if the token is positive
      * @param isNegative true if the token is negative
      * @param context    the sentiment context
      * @return the valence
      */
-    private double calculateValence(String token, boolean isPositive, boolean isNegative, SentimentContext context) {
+    private double calculateValence(SentenceTokens tokens, int index, boolean isPositive, boolean isNegative,
+                                    SentimentContext context) {
         if (isPositive && isNegative) {
             // A word can't be both positive and negative - this indicates data quality issues
-            LOGGER.warn("Word '{}' found in both positive and negative word lists - this may indicate data quality issues in the sentiment lexicons", token);
+            LOGGER.warn("Word '{}' found in both positive and negative word lists - this may indicate data quality issues in the sentiment lexicons", tokens.get(index));
             return 0.0;
         }
         double valence = isPositive ? 1.0 : -1.0;
@@ -262,24 +566,25 @@ public class SentimentCalculationEngine {
     /**
      * Calculates modifier based on boosters, dampeners, and contrastive weighting.
      *
-     * @param tokens  the tokenized input text
+     * @param tokens  the tokens of the sentence
+     * @param slots   lexicon slots of the tokens up to the current index
+     * @param lexicon the compiled lexicon
      * @param index   the current index
      * @param context the sentiment context
      * @return the modifier
      */
-    private double calculateModifier(String[] tokens, int index, SentimentContext context) {
+    private double calculateModifier(SentenceTokens tokens, int[] slots, CompiledLexicon lexicon, int index,
+                                     SentimentContext context) {
         double modifier = 1.0;
         for (int j = Math.max(0, index - 2); j < index; j++) {
-            String prev = tokens[j];
-            if (prev.isBlank()) continue;
+            if (tokens.isBlank(j)) continue;
 
-            Double boost = ruleProperties.getBoosters().get(prev);
-            if (boost != null) {
-                modifier += Math.abs(boost);
+            int flags = lexicon.flags(slots[j]);
+            if ((flags & CompiledLexicon.BOOSTER) != 0) {
+                modifier += Math.abs(lexicon.boosterWeight(slots[j]));
             }
-            Double damp = ruleProperties.getDampeners().get(prev);
-            if (damp != null) {
-                modifier -= Math.abs(damp);
+            if ((flags & CompiledLexicon.DAMPENER) != 0) {
+                modifier -= Math.abs(lexicon.dampenerWeight(slots[j]));
             }
         }
         if (modifier < 0.0) modifier = 0.0;
@@ -312,18 +617,416 @@ public class SentimentCalculationEngine {
     /**
      * Apply fixed adjustments for multi-word expressions found in raw text.
      *
-     * @param rawText the original input text
+     * @param lowerCaseText the lower-cased input text
      * @return the cumulative adjustment from recognized phrases
      */
-    private double calculatePhraseAdjustments(String rawText) {
-        String text = rawText == null ? "" : rawText.toLowerCase();
-        double adj = 0.0;
-        for (var e : ruleProperties.getPhrases().entrySet()) {
-            if (text.contains(e.getKey())) {
-                adj += e.getValue();
+    private double calculatePhraseAdjustments(String lowerCaseText) {
+        String text = lowerCaseText == null ? "" : lowerCaseText;
+        if (ruleProperties.getPhraseMatching() == SentimentRuleProperties.PhraseMatching.SUBSTRING) {
+            double adj = 0.0;
+            for (var e : ruleProperties.getPhrases().entrySet()) {
+                if (text.contains(e.getKey())) {
+                    adj += e.getValue();
+                }
             }
+            return adj;
         }
-        return adj;
+        return getPhraseAutomaton().adjustment(text);
+    }
+
+    /**
+     * Finds every occurrence of the configured phrases in the text.
+     *
+     * @param text the text to search
+     * @return the phrase matches with their offsets in the lower-cased text
+     */
+    public List<PhraseMatch> findPhraseMatches(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        return getPhraseAutomaton().findMatches(text.toLowerCase());
+    }
+
+    /**
+     * Returns the automaton compiled from the configured phrases.
+     * Compiled on first use and recompiled only when the rule revision changes.
+     *
+     * @return the phrase automaton
+     */
+    private PhraseAutomaton getPhraseAutomaton() {
+        long revision = ruleProperties.getRevision();
+        PhraseSnapshot current = phraseAutomaton;
+        if (current != null && current.revision() == revision) {
+            return current.automaton();
+        }
+        PhraseAutomaton automaton = compilePhrases(ruleProperties.getPhrases());
+        phraseAutomaton = new PhraseSnapshot(automaton, revision);
+        return automaton;
+    }
+
+    /**
+     * Compiles the configured phrases into an automaton.
+     *
+     * @param phrases the phrases and their weights
+     * @return the compiled automaton
+     */
+    private static PhraseAutomaton compilePhrases(Map<String, Double> phrases) {
+        PhraseAutomaton automaton = PhraseAutomaton.compile(phrases == null ? Map.of() : phrases);
+        LOGGER.debug("Compiled {} sentiment phrases into automaton", automaton.phraseCount());
+        return automaton;
+    }
+
+    /**
+     * Running weighted sentiment sum of a text together with the number of tokens that contributed to it,
+     * optionally recording the individual non-zero contributions.
+     */
+    private static class WeightedSentiment {
+        double sum = 0.0;
+        int tokenCount = 0;
+        double[] contributions;
+        int contributionCount = 0;
+
+        WeightedSentiment(boolean recordContributions) {
+            this.contributions = recordContributions ? new double[16] : null;
+        }
+
+        void add(double contribution) {
+            sum += contribution;
+            if (contributions != null && contribution != 0.0) {
+                if (contributionCount == contributions.length) {
+                    contributions = Arrays.copyOf(contributions, contributionCount * 2);
+                }
+                contributions[contributionCount++] = contribution;
+            }
+        }
+    }
+
+    /**
+     * Compiled lexicon together with the word list and rule revisions it was built from.
+     *
+     * @param lexicon      the compiled lexicon
+     * @param revision     the word list revision
+     * @param ruleRevision the rule revision
+     */
+    private record LexiconSnapshot(CompiledLexicon lexicon, long revision, long ruleRevision) {
+    }
+
+    /**
+     * Compiled phrase automaton together with the rule revision it was built from.
+     *
+     * @param automaton the compiled automaton
+     * @param revision  the rule revision
+     */
+    private record PhraseSnapshot(PhraseAutomaton automaton, long revision) {
+    }
+
+    /**
+     * Incremental sentiment scorer for text that arrives in chunks.
+     * <p>
+     * Reproduces the in-memory pipeline sentence by sentence: text between whitespace characters is
+     * lower-cased as a unit (lower-casing never depends on context across whitespace), normalized like
+     * {@link #getNormalizedString(String, boolean)}, and split into the same sentences as
+     * {@link #splitIntoSentences(String)}. Phrases are matched over the lower-cased stream with the
+     * phrase automaton. Memory is bounded by the longest sentence, capped at the configured length,
+     * and the longest whitespace-free run of characters. Instances are not thread-safe.
+     */
+    public final class StreamingSentimentScorer {
+
+        private final CompiledLexicon lexicon;
+        private final PhraseAutomaton automaton;
+        private final int maxSentenceLength;
+        private final boolean caseSensitive;
+        private final boolean normalizeHyphens;
+        private final String placeholder;
+        private final boolean[] matchedPhrases;
+        private final StringBuilder word = new StringBuilder();
+        private final StringBuilder sentence = new StringBuilder();
+        private final StringBuilder trailing = new StringBuilder();
+        private final WeightedSentiment weighted = new WeightedSentiment(false);
+        private SentimentContext context = new SentimentContext();
+        private int phraseState;
+        private boolean nonBlank;
+        private boolean started;
+        private boolean inSeparator;
+        private char previous;
+
+        private StreamingSentimentScorer(CompiledLexicon lexicon, PhraseAutomaton automaton, int maxSentenceLength) {
+            this.lexicon = lexicon;
+            this.automaton = automaton;
+            this.maxSentenceLength = maxSentenceLength;
+            this.caseSensitive = analysisProperties.getTextProcessing().isCaseSensitive();
+            this.normalizeHyphens = analysisProperties.getTextProcessing().isNormalizeHyphens();
+            this.placeholder = caseSensitive
+                    ? VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER
+                    : VerbaMetricsConstants.APOSTROPHE_PLACEHOLDER.toLowerCase();
+            this.matchedPhrases = automaton.newMatchFlags();
+            this.phraseState = automaton.initialState();
+        }
+
+        /**
+         * Feeds a chunk of characters to the scorer.
+         *
+         * @param buffer the buffer holding the characters
+         * @param offset the offset of the first character
+         * @param length the number of characters
+         */
+        public void accept(char[] buffer, int offset, int length) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                accept(buffer[i]);
+            }
+        }
+
+        /**
+         * Feeds a single character to the scorer.
+         *
+         * @param c the next character of the text
+         */
+        public void accept(char c) {
+            if (!nonBlank && !Character.isWhitespace(c)) {
+                nonBlank = true;
+            }
+            if (!TextStatisticsScanner.isWhitespace(c)) {
+                word.append(c);
+                return;
+            }
+            flushWord();
+            matchPhrases(c);
+            appendNormalized(c);
+        }
+
+        /**
+         * Completes the text and computes its sentiment score.
+         * Must be called once, after the last character has been fed.
+         *
+         * @return the sentiment score between -1.0 and 1.0
+         */
+        public double score() {
+            flushWord();
+            endSentence();
+            if (!nonBlank || weighted.tokenCount == 0) {
+                return 0.0;
+            }
+            return normalizeScore(weighted.sum + automaton.adjustment(matchedPhrases));
+        }
+
+        /**
+         * Lower-cases and normalizes the buffered characters since the last whitespace.
+         */
+        private void flushWord() {
+            if (word.isEmpty()) {
+                return;
+            }
+            String raw = word.toString();
+            word.setLength(0);
+            String lower = raw.toLowerCase();
+            for (int i = 0; i < lower.length(); i++) {
+                matchPhrases(lower.charAt(i));
+            }
+            String source = caseSensitive ? raw : lower;
+            for (int i = 0; i < source.length(); i++) {
+                char c = source.charAt(i);
+                if (c == '-' && normalizeHyphens) {
+                    appendNormalized(' ');
+                } else if (c == '\'') {
+                    for (int j = 0; j < placeholder.length(); j++) {
+                        appendNormalized(placeholder.charAt(j));
+                    }
+                } else {
+                    appendNormalized(c);
+                }
+            }
+        }
+
+        /**
+         * Advances the phrase automaton over one lower-cased character.
+         *
+         * @param c the lower-cased character
+         */
+        private void matchPhrases(char c) {
+            phraseState = automaton.next(phraseState, c);
+            automaton.markMatches(phraseState, matchedPhrases);
+        }
+
+        /**
+         * Appends one normalized character, skipping leading characters removed by trimming and
+         * ending the sentence at sentence punctuation followed by whitespace.
+         * Characters up to a space are held back until later content confirms they are not trailing.
+         *
+         * @param c the normalized character
+         */
+        private void appendNormalized(char c) {
+            if (!started) {
+                if (c <= ' ') {
+                    return;
+                }
+                started = true;
+            }
+            boolean whitespace = TextStatisticsScanner.isWhitespace(c);
+            if (inSeparator) {
+                if (whitespace) {
+                    return;
+                }
+                inSeparator = false;
+            }
+            if (c > ' ') {
+                if (!trailing.isEmpty()) {
+                    sentence.append(trailing);
+                    trailing.setLength(0);
+                }
+                sentence.append(c);
+            } else if (whitespace && TextStatisticsScanner.isSentenceDelimiter(previous)) {
+                endSentence();
+                inSeparator = true;
+            } else if (whitespace && sentence.length() >= maxSentenceLength) {
+                scoreSegment(sentence.toString());
+                sentence.setLength(0);
+                trailing.setLength(0);
+            } else {
+                trailing.append(c);
+            }
+            previous = c;
+        }
+
+        /**
+         * Scores the buffered sentence and starts a new sentence context.
+         */
+        private void endSentence() {
+            if (!sentence.isEmpty()) {
+                scoreSegment(sentence.toString());
+                sentence.setLength(0);
+            }
+            trailing.setLength(0);
+            context = new SentimentContext();
+        }
+
+        /**
+         * Scores a sentence, or a segment of an overlong sentence, keeping the current context.
+         *
+         * @param segment the normalized text to score
+         */
+        private void scoreSegment(String segment) {
+            if (!segment.trim().isBlank()) {
+                scoreSentence(segment, lexicon, context, weighted);
+            }
+        }
+
+    }
+
+    /**
+     * Tokens of one sentence, as read by the scoring rules.
+     */
+    private interface SentenceTokens {
+
+        int size();
+
+        boolean isBlank(int index);
+
+        boolean is(int index, String word);
+
+        int find(int index, CompiledLexicon lexicon);
+
+        String get(int index);
+
+    }
+
+    /**
+     * Tokens of a sentence split from normalized text.
+     *
+     * @param tokens the tokens
+     */
+    private record ArrayTokens(String[] tokens) implements SentenceTokens {
+
+        @Override
+        public int size() {
+            return tokens.length;
+        }
+
+        @Override
+        public boolean isBlank(int index) {
+            return tokens[index].isBlank();
+        }
+
+        @Override
+        public boolean is(int index, String word) {
+            return word.equals(tokens[index]);
+        }
+
+        @Override
+        public int find(int index, CompiledLexicon lexicon) {
+            return lexicon.find(tokens[index]);
+        }
+
+        @Override
+        public String get(int index) {
+            return tokens[index];
+        }
+
+    }
+
+    /**
+     * Tokens of a sentence held as offsets into the document text, with the apostrophe placeholder word held as a
+     * token without offsets. Word tokens and the placeholder are never blank. Reused from sentence to sentence.
+     */
+    private static final class OffsetTokens implements SentenceTokens {
+
+        private final String text;
+        private final String placeholder;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int size;
+
+        OffsetTokens(String text, String placeholder) {
+            this.text = text;
+            this.placeholder = placeholder;
+        }
+
+        void add(int start, int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+        void addPlaceholder() {
+            add(-1, -1);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean isBlank(int index) {
+            return false;
+        }
+
+        @Override
+        public boolean is(int index, String word) {
+            if (starts[index] < 0) {
+                return placeholder.equals(word);
+            }
+            int length = ends[index] - starts[index];
+            return length == word.length() && text.regionMatches(starts[index], word, 0, length);
+        }
+
+        @Override
+        public int find(int index, CompiledLexicon lexicon) {
+            return starts[index] < 0 ? lexicon.find(placeholder) : lexicon.find(text, starts[index], ends[index]);
+        }
+
+        @Override
+        public String get(int index) {
+            return starts[index] < 0 ? placeholder : text.substring(starts[index], ends[index]);
+        }
+
     }
 
     /**
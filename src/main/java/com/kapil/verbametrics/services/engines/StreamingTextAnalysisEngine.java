@@ -0,0 +1,171 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.SyllableCounterService;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.SentenceLengthScanner;
+import com.kapil.verbametrics.services.models.TextStatisticsScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+/**
+ * Engine for analyzing documents too large to hold in memory.
+ * Reads the document in fixed-size chunks and feeds every character to the basic statistics,
+ * sentence length, syllable and sentiment state machines at once, so a single pass yields
+ * a {@link DocumentSummary} with the same results as the in-memory analysis.
+ * <p>
+ * Memory use is independent of the document size: it is bounded by the chunk size,
+ * the longest whitespace-free run of characters and the configured maximum sentence length.
+ *
+ * @author Kapil Garg
+ */
+@Component
+public class StreamingTextAnalysisEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingTextAnalysisEngine.class);
+
+    private final SentimentCalculationEngine sentimentEngine;
+    private final SyllableCounterService syllableCounterService;
+    private final TextAnalysisProperties properties;
+
+    @Autowired
+    public StreamingTextAnalysisEngine(SentimentCalculationEngine sentimentEngine,
+                                       SyllableCounterService syllableCounterService,
+                                       TextAnalysisProperties properties) {
+        this.sentimentEngine = sentimentEngine;
+        this.syllableCounterService = syllableCounterService;
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the document from a character stream and summarizes it.
+     * The reader is read to the end but not closed.
+     *
+     * @param reader the reader supplying the document
+     * @return the summary of the document
+     * @throws IOException if reading fails
+     */
+    public DocumentSummary summarize(Reader reader) throws IOException {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        TextAnalysisProperties.Streaming streaming = properties.getStreaming();
+        if (streaming.getChunkSize() <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        LOGGER.debug("Starting streaming analysis with chunk size {}", streaming.getChunkSize());
+        long startTime = System.currentTimeMillis();
+        Summarizer summarizer = new Summarizer(sentimentEngine.newStreamingScorer(streaming.getMaxSentenceLength()));
+        char[] buffer = new char[streaming.getChunkSize()];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            summarizer.accept(buffer, read);
+        }
+        DocumentSummary summary = summarizer.finish();
+        LOGGER.debug("Streaming analysis of {} characters completed in {}ms", summary.length(),
+                System.currentTimeMillis() - startTime);
+        return summary;
+    }
+
+    /**
+     * Decodes the document from a byte channel and summarizes it.
+     * Malformed and unmappable input is replaced rather than rejected. The channel is not closed.
+     *
+     * @param channel the channel supplying the encoded document
+     * @param charset the charset of the document
+     * @return the summary of the document
+     * @throws IOException if reading fails
+     */
+    public DocumentSummary summarize(ReadableByteChannel channel, Charset charset) throws IOException {
+        Objects.requireNonNull(channel, "Channel cannot be null");
+        Objects.requireNonNull(charset, "Charset cannot be null");
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return summarize(Channels.newReader(channel, decoder, properties.getStreaming().getChunkSize()));
+    }
+
+    /**
+     * Per-document state fed with every chunk of the document.
+     */
+    private final class Summarizer {
+
+        private final TextStatisticsScanner statistics = new TextStatisticsScanner();
+        private final SentenceLengthScanner sentences = new SentenceLengthScanner();
+        private final SentimentCalculationEngine.StreamingSentimentScorer sentiment;
+        private final StringBuilder token = new StringBuilder();
+        private boolean startsWithWhitespace;
+        private long tokenCount;
+        private long syllableWordCount;
+        private long syllableCount;
+
+        private Summarizer(SentimentCalculationEngine.StreamingSentimentScorer sentiment) {
+            this.sentiment = sentiment;
+        }
+
+        /**
+         * Feeds a chunk of characters to every state machine.
+         *
+         * @param buffer the buffer holding the chunk
+         * @param length the number of characters in the chunk
+         */
+        void accept(char[] buffer, int length) {
+            if (statistics.characterCount() == 0 && length > 0) {
+                startsWithWhitespace = TextStatisticsScanner.isWhitespace(buffer[0]);
+            }
+            statistics.accept(buffer, 0, length);
+            sentiment.accept(buffer, 0, length);
+            for (int i = 0; i < length; i++) {
+                char c = buffer[i];
+                sentences.accept(c);
+                if (TextStatisticsScanner.isWhitespace(c)) {
+                    endToken();
+                } else {
+                    token.append(c);
+                }
+            }
+        }
+
+        /**
+         * Counts the buffered whitespace-separated token and its syllables.
+         */
+        private void endToken() {
+            if (token.isEmpty()) {
+                return;
+            }
+            tokenCount++;
+            String word = token.toString();
+            token.setLength(0);
+            if (!word.trim().isEmpty()) {
+                syllableWordCount++;
+                syllableCount += syllableCounterService.countSyllables(word);
+            }
+        }
+
+        /**
+         * Completes the document and builds its summary.
+         *
+         * @return the summary of the document
+         */
+        DocumentSummary finish() {
+            endToken();
+            long length = statistics.characterCount();
+            long whitespaceSplitLength = tokenCount == 0
+                    ? (length == 0 ? 1 : 0)
+                    : (startsWithWhitespace ? tokenCount + 1 : tokenCount);
+            return new DocumentSummary(length, statistics.isBlank(), statistics.toStatistics(), whitespaceSplitLength,
+                    sentiment.score(), sentences.pieceCount(), sentences.wordCount(), syllableWordCount, syllableCount);
+        }
+
+    }
+
+}
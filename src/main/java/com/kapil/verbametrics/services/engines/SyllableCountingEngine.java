@@ -1,19 +1,37 @@
 package com.kapil.verbametrics.services.engines;
 
+import com.kapil.verbametrics.config.ReadabilityAnalysisProperties;
+import com.kapil.verbametrics.services.models.BoundedLruCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Business logic engine for syllable counting operations.
  * Orchestrates syllable counting using different strategies.
+ * <p>
+ * Words are normalized and counted with plain character loops, and the counts are memoized
+ * per normalized word in a bounded LRU cache, since natural text repeats a small set of words.
  *
  * @author Kapil Garg
  */
 @Component
 public class SyllableCountingEngine {
 
+    private static final Pattern NON_LETTERS = Pattern.compile("[^a-z]");
+
+    private final BoundedLruCache<String, Integer> cache;
+
     public SyllableCountingEngine() {
+        this(new ReadabilityAnalysisProperties());
+    }
+
+    @Autowired
+    public SyllableCountingEngine(ReadabilityAnalysisProperties properties) {
+        this.cache = new BoundedLruCache<>(properties.getSyllableCache().getMaxSize());
     }
 
     /**
@@ -26,13 +44,17 @@ public class SyllableCountingEngine {
         if (words == null || words.length == 0) {
             return 0.0;
         }
-        long validWords = Arrays.stream(words)
-                .filter(word -> word != null && !word.trim().isEmpty())
-                .count();
+        long validWords = 0;
+        int totalSyllables = 0;
+        for (String word : words) {
+            if (word != null && !isBlankAfterTrim(word)) {
+                validWords++;
+                totalSyllables += countSyllables(word);
+            }
+        }
         if (validWords == 0) {
             return 0.0;
         }
-        int totalSyllables = countSyllables(words);
         return (double) totalSyllables / validWords;
     }
 
@@ -46,10 +68,13 @@ public class SyllableCountingEngine {
         if (words == null || words.length == 0) {
             return 0;
         }
-        return Arrays.stream(words)
-                .filter(word -> word != null && !word.trim().isEmpty())
-                .mapToInt(this::countSyllables)
-                .sum();
+        int totalSyllables = 0;
+        for (String word : words) {
+            if (word != null && !isBlankAfterTrim(word)) {
+                totalSyllables += countSyllables(word);
+            }
+        }
+        return totalSyllables;
     }
 
     /**
@@ -66,51 +91,124 @@ public class SyllableCountingEngine {
         if (w.isEmpty()) {
             return 0;
         }
-        String normalized = removeTrailingSilentE(w);
-        int count = countVowelGroups(normalized);
-        return Math.max(1, count);
+        Integer cached = cache.get(w);
+        if (cached != null) {
+            return cached;
+        }
+        int count = countNormalizedSyllables(w);
+        cache.put(w, count);
+        return count;
     }
 
     /**
-     * Normalizes a word by trimming, lowercasing, and removing non-letters.
+     * Gets syllable cache statistics.
+     *
+     * @return cache statistics map
+     */
+    public Map<String, Object> getCacheStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Normalizes a word by lowercasing it and removing non-letters.
+     * ASCII words are handled in a single character loop, returning the word itself when it is
+     * already normalized; other words fall back to default-locale lowercasing.
      *
      * @param word the word to normalize
-     * @return normalized word
+     * @return normalized word containing only the letters a to z
      */
     private String normalizeWord(String word) {
-        if (word == null) {
-            return "";
+        int length = word.length();
+        int i = 0;
+        while (i < length && isLowerCaseLetter(word.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return word;
         }
-        String w = word.trim().toLowerCase();
-        return w.replaceAll("[^a-z]", "");
+        char[] letters = new char[length];
+        word.getChars(0, i, letters, 0);
+        int count = i;
+        for (; i < length; i++) {
+            char c = word.charAt(i);
+            if (isLowerCaseLetter(c)) {
+                letters[count++] = c;
+            } else if (c >= 'A' && c <= 'Z') {
+                if (c == 'I' && isTurkicLocale()) {
+                    return normalizeWithLocale(word);
+                }
+                letters[count++] = (char) (c + ('a' - 'A'));
+            } else if (c >= 0x80) {
+                return normalizeWithLocale(word);
+            }
+        }
+        return new String(letters, 0, count);
     }
 
     /**
-     * Removes trailing silent 'e' from a word if present.
+     * Normalizes a word using default-locale lowercasing, for words outside the ASCII range.
      *
-     * @param word the word to process
-     * @return word without trailing silent 'e'
+     * @param word the word to normalize
+     * @return normalized word containing only the letters a to z
      */
-    private String removeTrailingSilentE(String word) {
-        if (word.endsWith("e") && word.length() > 1) {
-            return word.substring(0, word.length() - 1);
+    private String normalizeWithLocale(String word) {
+        return NON_LETTERS.matcher(word.trim().toLowerCase()).replaceAll("");
+    }
+
+    /**
+     * Counts syllables in a normalized word as vowel groups, ignoring a trailing silent 'e'.
+     *
+     * @param word the normalized, non-empty word
+     * @return number of syllables, at least 1
+     */
+    private int countNormalizedSyllables(String word) {
+        int end = word.length();
+        if (end > 1 && word.charAt(end - 1) == 'e') {
+            end--;
+        }
+        int groups = 0;
+        boolean inGroup = false;
+        for (int i = 0; i < end; i++) {
+            boolean vowel = isVowel(word.charAt(i));
+            if (vowel && !inGroup) {
+                groups++;
+            }
+            inGroup = vowel;
         }
-        return word;
+        return Math.max(1, groups);
+    }
+
+    private static boolean isLowerCaseLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+    }
+
+    /**
+     * Checks whether the default locale lowercases 'I' to a dotless i.
+     *
+     * @return true for Turkish and Azerbaijani locales
+     */
+    private static boolean isTurkicLocale() {
+        String language = Locale.getDefault().getLanguage();
+        return "tr".equals(language) || "az".equals(language);
     }
 
     /**
-     * Counts vowel groups in a word.
+     * Checks whether {@code word.trim().isEmpty()} holds without allocating.
      *
-     * @param word the word to analyze
-     * @return number of vowel groups
+     * @param word the word to check
+     * @return true if every character is at most a space
      */
-    private int countVowelGroups(String word) {
-        String[] groups = word.split("[^aeiouy]+");
-        int count = 0;
-        for (String g : groups) {
-            if (!g.isEmpty()) count++;
+    private static boolean isBlankAfterTrim(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > ' ') {
+                return false;
+            }
         }
-        return count;
+        return true;
     }
 
 }
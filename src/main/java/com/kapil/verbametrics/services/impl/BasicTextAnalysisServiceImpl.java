@@ -4,9 +4,15 @@ import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
 import com.kapil.verbametrics.services.BasicTextAnalysisService;
 import com.kapil.verbametrics.services.engines.BasicTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.BatchAnalysisEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -19,10 +25,16 @@ import java.util.Objects;
 public class BasicTextAnalysisServiceImpl implements BasicTextAnalysisService {
 
     private final BasicTextAnalysisEngine analysisEngine;
+    private final BatchAnalysisEngine batchEngine;
 
-    @Autowired
     public BasicTextAnalysisServiceImpl(BasicTextAnalysisEngine analysisEngine) {
+        this(analysisEngine, new BatchAnalysisEngine());
+    }
+
+    @Autowired
+    public BasicTextAnalysisServiceImpl(BasicTextAnalysisEngine analysisEngine, BatchAnalysisEngine batchEngine) {
         this.analysisEngine = analysisEngine;
+        this.batchEngine = batchEngine;
     }
 
     @Override
@@ -31,4 +43,27 @@ public class BasicTextAnalysisServiceImpl implements BasicTextAnalysisService {
         return analysisEngine.analyze(request);
     }
 
+    @Override
+    public TextAnalysisResponse analyzeText(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        if (document.isBlank()) {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }
+        return analysisEngine.analyze(document);
+    }
+
+    @Override
+    public TextAnalysisResponse analyzeText(DocumentSummary summary) {
+        Objects.requireNonNull(summary, "Summary cannot be null");
+        if (summary.blank()) {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }
+        return analysisEngine.analyze(summary);
+    }
+
+    @Override
+    public List<BatchItemResult<TextAnalysisResponse>> analyzeTextBatch(Iterator<String> texts) {
+        return batchEngine.process(texts, text -> analyzeText(TokenizedDocument.of(text)));
+    }
+
 }
@@ -8,12 +8,18 @@ import com.kapil.verbametrics.services.calculators.SentenceLengthCalculator;
 import com.kapil.verbametrics.services.calculators.SyllablePerWordCalculator;
 import com.kapil.verbametrics.services.classifiers.ComplexityClassifier;
 import com.kapil.verbametrics.services.classifiers.ReadingLevelClassifier;
+import com.kapil.verbametrics.services.engines.BatchAnalysisEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -33,14 +39,27 @@ public class ReadabilityAnalysisServiceImpl implements ReadabilityAnalysisServic
     private final FleschReadingEaseCalculator fleschReadingEaseCalculator;
     private final ReadingLevelClassifier readingLevelClassifier;
     private final ComplexityClassifier complexityClassifier;
+    private final BatchAnalysisEngine batchEngine;
 
-    @Autowired
     public ReadabilityAnalysisServiceImpl(SentenceLengthCalculator sentenceLengthCalculator,
                                           SyllablePerWordCalculator syllablePerWordCalculator,
                                           FleschKincaidCalculator fleschKincaidCalculator,
                                           FleschReadingEaseCalculator fleschReadingEaseCalculator,
                                           ReadingLevelClassifier readingLevelClassifier,
                                           ComplexityClassifier complexityClassifier) {
+        this(sentenceLengthCalculator, syllablePerWordCalculator, fleschKincaidCalculator, fleschReadingEaseCalculator,
+                readingLevelClassifier, complexityClassifier, new BatchAnalysisEngine());
+    }
+
+    @Autowired
+    public ReadabilityAnalysisServiceImpl(SentenceLengthCalculator sentenceLengthCalculator,
+                                          SyllablePerWordCalculator syllablePerWordCalculator,
+                                          FleschKincaidCalculator fleschKincaidCalculator,
+                                          FleschReadingEaseCalculator fleschReadingEaseCalculator,
+                                          ReadingLevelClassifier readingLevelClassifier,
+                                          ComplexityClassifier complexityClassifier,
+                                          BatchAnalysisEngine batchEngine) {
+        this.batchEngine = batchEngine;
         this.sentenceLengthCalculator = sentenceLengthCalculator;
         this.syllablePerWordCalculator = syllablePerWordCalculator;
         this.fleschKincaidCalculator = fleschKincaidCalculator;
@@ -71,6 +90,49 @@ public class ReadabilityAnalysisServiceImpl implements ReadabilityAnalysisServic
         }
     }
 
+    @Override
+    public ReadabilityMetrics analyzeReadability(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        LOGGER.debug("Starting readability analysis for document of length: {}", document.length());
+        try {
+            if (document.isBlank()) {
+                return new ReadabilityMetrics(0.0, 100.0, "Elementary", "Very Easy", 0.0, 0.0);
+            }
+            double averageSentenceLength = sentenceLengthCalculator.calculateAverageSentenceLength(document);
+            double averageSyllablesPerWord = syllablePerWordCalculator.calculateAverageSyllablesPerWord(document);
+            ReadabilityMetrics result = computeMetrics(averageSentenceLength, averageSyllablesPerWord, true);
+            LOGGER.debug("Readability analysis completed: {}", result);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to analyze readability", e);
+            throw new RuntimeException("Failed to analyze readability: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ReadabilityMetrics analyzeReadability(DocumentSummary summary) {
+        Objects.requireNonNull(summary, "Summary cannot be null");
+        LOGGER.debug("Starting readability analysis for streamed document of length: {}", summary.length());
+        try {
+            if (summary.blank()) {
+                return new ReadabilityMetrics(0.0, 100.0, "Elementary", "Very Easy", 0.0, 0.0);
+            }
+            double averageSentenceLength = sentenceLengthCalculator.calculateAverageSentenceLength(summary);
+            double averageSyllablesPerWord = syllablePerWordCalculator.calculateAverageSyllablesPerWord(summary);
+            ReadabilityMetrics result = computeMetrics(averageSentenceLength, averageSyllablesPerWord, true);
+            LOGGER.debug("Readability analysis completed: {}", result);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to analyze readability", e);
+            throw new RuntimeException("Failed to analyze readability: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<BatchItemResult<ReadabilityMetrics>> analyzeReadabilityBatch(Iterator<String> texts) {
+        return batchEngine.process(texts, text -> analyzeReadability(TokenizedDocument.of(text)));
+    }
+
     /**
      * Computes the readability metrics based on the provided text.
      *
@@ -81,7 +143,21 @@ public class ReadabilityAnalysisServiceImpl implements ReadabilityAnalysisServic
     private ReadabilityMetrics computeMetrics(String text, boolean includeComplexity) {
         double averageSentenceLength = sentenceLengthCalculator.calculateAverageSentenceLength(text);
         double averageSyllablesPerWord = syllablePerWordCalculator.calculateAverageSyllablesPerWord(text);
-        double fleschKincaidScore = fleschKincaidCalculator.calculateScore(averageSentenceLength, averageSyllablesPerWord);
+        return computeMetrics(averageSentenceLength, averageSyllablesPerWord, includeComplexity);
+    }
+
+    /**
+     * Computes the readability metrics from the average sentence length and syllables per word.
+     *
+     * @param averageSentenceLength   the average sentence length in words
+     * @param averageSyllablesPerWord the average syllables per word
+     * @param includeComplexity       whether to include complexity classification
+     * @return the computed readability metrics
+     */
+    private ReadabilityMetrics computeMetrics(double averageSentenceLength, double averageSyllablesPerWord, boolean includeComplexity) {
+        // Clamp FK at zero, as one- and two-word texts score below the lowest grade
+        double fleschKincaidScore = Math.max(0.0,
+                fleschKincaidCalculator.calculateScore(averageSentenceLength, averageSyllablesPerWord));
         double fleschReadingEaseRaw = fleschReadingEaseCalculator.calculateScore(averageSentenceLength, averageSyllablesPerWord);
         // Clamp FRE to [0, 100] for reporting/validation consistency
         double fleschReadingEase = Math.max(VerbaMetricsConstants.FLESCH_READING_EASE_MIN, Math.min(VerbaMetricsConstants.FLESCH_READING_EASE_MAX, fleschReadingEaseRaw));
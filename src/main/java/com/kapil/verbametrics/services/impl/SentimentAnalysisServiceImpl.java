@@ -3,13 +3,21 @@ package com.kapil.verbametrics.services.impl;
 import com.kapil.verbametrics.domain.SentimentScore;
 import com.kapil.verbametrics.services.SentimentAnalysisService;
 import com.kapil.verbametrics.services.classifiers.SentimentLabelClassifier;
+import com.kapil.verbametrics.services.engines.BatchAnalysisEngine;
 import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Implementation of SentimentAnalysisService using calculation engine and label classifier.
  * Provides functionality to analyze text and return sentiment scores.
@@ -23,12 +31,20 @@ public class SentimentAnalysisServiceImpl implements SentimentAnalysisService {
 
     private final SentimentCalculationEngine calculationEngine;
     private final SentimentLabelClassifier labelClassifier;
+    private final BatchAnalysisEngine batchEngine;
 
-    @Autowired
     public SentimentAnalysisServiceImpl(SentimentCalculationEngine calculationEngine,
                                         SentimentLabelClassifier labelClassifier) {
+        this(calculationEngine, labelClassifier, new BatchAnalysisEngine());
+    }
+
+    @Autowired
+    public SentimentAnalysisServiceImpl(SentimentCalculationEngine calculationEngine,
+                                        SentimentLabelClassifier labelClassifier,
+                                        BatchAnalysisEngine batchEngine) {
         this.calculationEngine = calculationEngine;
         this.labelClassifier = labelClassifier;
+        this.batchEngine = batchEngine;
     }
 
     /**
@@ -68,6 +84,70 @@ public class SentimentAnalysisServiceImpl implements SentimentAnalysisService {
         }
     }
 
+    /**
+     * Analyzes the sentiment of a tokenized document, reusing its shared tokens for the confidence calculation.
+     *
+     * @param document the tokenized document to analyze
+     * @return the sentiment score with label and confidence
+     */
+    @Override
+    public SentimentScore analyzeSentiment(TokenizedDocument document) {
+        Objects.requireNonNull(document, "Document cannot be null");
+        if (document.isBlank()) {
+            return new SentimentScore(VerbaMetricsConstants.NEUTRAL, 1.0, 0.0);
+        }
+        LOGGER.debug("Starting sentiment analysis for document of length: {}", document.length());
+        try {
+            double score = calculationEngine.calculateSentimentScore(document);
+            String label = labelClassifier.determineSentimentLabel(score);
+            double confidence = calculateConfidence(document.whitespaceSplitLength(), score);
+            SentimentScore result = new SentimentScore(label, confidence, score);
+            LOGGER.debug("Sentiment analysis completed: {}", result);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to analyze sentiment", e);
+            throw new RuntimeException("Failed to analyze sentiment: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Labels the sentiment score already computed for a streamed document.
+     *
+     * @param summary the summary of the streamed document
+     * @return the sentiment score with label and confidence
+     */
+    @Override
+    public SentimentScore analyzeSentiment(DocumentSummary summary) {
+        Objects.requireNonNull(summary, "Summary cannot be null");
+        if (summary.blank()) {
+            return new SentimentScore(VerbaMetricsConstants.NEUTRAL, 1.0, 0.0);
+        }
+        LOGGER.debug("Starting sentiment analysis for streamed document of length: {}", summary.length());
+        try {
+            double score = summary.sentimentScore();
+            String label = labelClassifier.determineSentimentLabel(score);
+            int wordCount = (int) Math.min(Integer.MAX_VALUE, summary.whitespaceSplitLength());
+            double confidence = calculateConfidence(wordCount, score);
+            SentimentScore result = new SentimentScore(label, confidence, score);
+            LOGGER.debug("Sentiment analysis completed: {}", result);
+            return result;
+        } catch (Exception e) {
+            LOGGER.error("Failed to analyze sentiment", e);
+            throw new RuntimeException("Failed to analyze sentiment: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Analyzes the sentiment of many texts concurrently, tokenizing each text once.
+     *
+     * @param texts the texts to analyze
+     * @return one sentiment score per text in input order, or a failed item for a text that cannot be analyzed
+     */
+    @Override
+    public List<BatchItemResult<SentimentScore>> analyzeSentimentBatch(Iterator<String> texts) {
+        return batchEngine.process(texts, text -> analyzeSentiment(TokenizedDocument.of(text)));
+    }
+
     /**
      * Calculates confidence score based on sentiment score magnitude and text length.
      *
@@ -76,7 +156,18 @@ public class SentimentAnalysisServiceImpl implements SentimentAnalysisService {
      * @return confidence score between 0.1 and 1.0
      */
     private double calculateConfidence(String text, double score) {
-        int totalWords = Math.max(1, text.split("\\s+").length);
+        return calculateConfidence(text.split("\\s+").length, score);
+    }
+
+    /**
+     * Calculates confidence score based on sentiment score magnitude and word count.
+     *
+     * @param wordCount the number of whitespace-separated words
+     * @param score     the calculated sentiment score
+     * @return confidence score between 0.1 and 1.0
+     */
+    private double calculateConfidence(int wordCount, double score) {
+        int totalWords = Math.max(1, wordCount);
         double scoreMagnitude = Math.abs(score);
         double sentimentConfidence = Math.min(0.9, 0.1 + (scoreMagnitude * 0.8));
         double lengthFactor = Math.min(0.8, 0.3 + (totalWords / 15.0));
@@ -5,6 +5,7 @@ import com.kapil.verbametrics.services.engines.SyllableCountingEngine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 
 /**
  * Implementation of SyllableCounterService using a syllable counting engine.
@@ -37,4 +38,9 @@ public class SyllableCounterServiceImpl implements SyllableCounterService {
         return countingEngine.calculateAverageSyllablesPerWord(words);
     }
 
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        return countingEngine.getCacheStatistics();
+    }
+
 }
@@ -51,6 +51,11 @@ public class WordListServiceImpl implements WordListService {
         return cacheManager.getNegativeWords();
     }
 
+    @Override
+    public long getRevision() {
+        return cacheManager.getRevision();
+    }
+
     @Override
     public List<String> loadWordsFromFile(String filePath) {
         return fileLoader.loadWordsFromFile(filePath);
@@ -2,6 +2,7 @@ package com.kapil.verbametrics.services.managers;
 
 import com.kapil.verbametrics.config.SentimentAnalysisProperties;
 import com.kapil.verbametrics.services.models.ProcessedWordLists;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages caching of positive and negative word lists for sentiment analysis.
@@ -28,6 +30,9 @@ public class WordListCacheManager {
     private final Set<String> positiveWords = ConcurrentHashMap.newKeySet();
     private final Set<String> negativeWords = ConcurrentHashMap.newKeySet();
 
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong revision = new AtomicLong();
+
     @Autowired
     public WordListCacheManager(SentimentAnalysisProperties properties) {
         this.properties = properties;
@@ -42,6 +47,7 @@ public class WordListCacheManager {
         clearCache();
         positiveWords.addAll(processedLists.positiveWords());
         negativeWords.addAll(processedLists.negativeWords());
+        revision.incrementAndGet();
         LOGGER.info("Cache updated - Positive: {}, Negative: {}", positiveWords.size(), negativeWords.size());
     }
 
@@ -51,6 +57,17 @@ public class WordListCacheManager {
     public void clearCache() {
         positiveWords.clear();
         negativeWords.clear();
+        revision.incrementAndGet();
+    }
+
+    /**
+     * Gets the revision of the cached word lists.
+     * Incremented after every change, so consumers can tell when structures derived from the lists are stale.
+     *
+     * @return the current revision
+     */
+    public long getRevision() {
+        return revision.get();
     }
 
 }
\ No newline at end of file
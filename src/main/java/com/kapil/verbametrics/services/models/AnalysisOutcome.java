@@ -0,0 +1,47 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * Outcome of one analysis of a document run alongside the others.
+ * Either holds the analysis result or the reason it is missing,
+ * so that a failing or slow analysis does not withhold the results of the others.
+ *
+ * @param result       the analysis result, or null if the analysis failed or timed out
+ * @param errorMessage the failure message, or null if the analysis succeeded
+ * @param <T>          the type of the analysis result
+ * @author Kapil Garg
+ */
+public record AnalysisOutcome<T>(
+        T result,
+        String errorMessage
+) {
+
+    /**
+     * Creates the outcome of a successful analysis.
+     *
+     * @param result the analysis result
+     * @param <T>    the type of the analysis result
+     * @return the successful outcome
+     */
+    public static <T> AnalysisOutcome<T> success(T result) {
+        return new AnalysisOutcome<>(result, null);
+    }
+
+    /**
+     * Creates the outcome of an analysis that failed or timed out.
+     *
+     * @param errorMessage the failure message
+     * @param <T>          the type of the analysis result
+     * @return the failed outcome
+     */
+    public static <T> AnalysisOutcome<T> failure(String errorMessage) {
+        return new AnalysisOutcome<>(null, errorMessage == null ? "Unknown error" : errorMessage);
+    }
+
+    /**
+     * @return true if the analysis succeeded
+     */
+    public boolean isSuccess() {
+        return errorMessage == null;
+    }
+
+}
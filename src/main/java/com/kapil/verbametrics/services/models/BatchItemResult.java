@@ -0,0 +1,51 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * Outcome of analyzing one document of a batch.
+ * Either holds the analysis result or the reason the document could not be analyzed,
+ * so that a single bad document does not fail the whole batch.
+ *
+ * @param index        the position of the document in the batch input
+ * @param result       the analysis result, or null if the analysis failed
+ * @param errorMessage the failure message, or null if the analysis succeeded
+ * @param <T>          the type of the analysis result
+ * @author Kapil Garg
+ */
+public record BatchItemResult<T>(
+        int index,
+        T result,
+        String errorMessage
+) {
+
+    /**
+     * Creates the result of a successfully analyzed document.
+     *
+     * @param index  the position of the document in the batch input
+     * @param result the analysis result
+     * @param <T>    the type of the analysis result
+     * @return the successful item result
+     */
+    public static <T> BatchItemResult<T> success(int index, T result) {
+        return new BatchItemResult<>(index, result, null);
+    }
+
+    /**
+     * Creates the result of a document whose analysis failed.
+     *
+     * @param index        the position of the document in the batch input
+     * @param errorMessage the failure message
+     * @param <T>          the type of the analysis result
+     * @return the failed item result
+     */
+    public static <T> BatchItemResult<T> failure(int index, String errorMessage) {
+        return new BatchItemResult<>(index, null, errorMessage == null ? "Unknown error" : errorMessage);
+    }
+
+    /**
+     * @return true if the document was analyzed successfully
+     */
+    public boolean isSuccess() {
+        return errorMessage == null;
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.kapil.verbametrics.services.models;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache evicting approximately the least recently used entries.
+ * Entries are spread by key hash over up to sixteen segments, each an access-ordered map guarded by its own
+ * lock and holding its share of the maximum size, so concurrent lookups of different keys rarely contend and
+ * a full cache evicts the least recently used entry of one segment instead of being cleared.
+ * A cache smaller than sixteen entries uses fewer segments, so that every segment holds at least one entry.
+ * <p>
+ * The maximum size is read on every access, so a configurable limit takes effect without recreating the cache;
+ * a change of limit that changes the number of segments evicts every entry, and a maximum size of zero or less
+ * disables the cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ * @author Kapil Garg
+ */
+public final class BoundedLruCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final IntSupplier maxSize;
+    private final Segment<K, V>[] segments;
+    private volatile int segmentsInUse = SEGMENTS;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedLruCache(int maxSize) {
+        this(() -> maxSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    public BoundedLruCache(IntSupplier maxSize) {
+        this.maxSize = Objects.requireNonNull(maxSize, "Max size cannot be null");
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Gets a cached value, counting the lookup as a hit or a miss.
+     *
+     * @param key the key
+     * @return the cached value, or null if the key is not cached or the cache is disabled
+     */
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * Gets a cached value that is still valid, counting the lookup as a hit or a miss.
+     * A cached value that is no longer valid counts as a miss and is evicted.
+     *
+     * @param key   the key
+     * @param valid checks whether a cached value can still be used
+     * @return the cached value, or null if the key is not cached with a valid value or the cache is disabled
+     */
+    public V get(K key, Predicate<? super V> valid) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        int max = maxSize.getAsInt();
+        if (max <= 0) {
+            return null;
+        }
+        Segment<K, V> segment = segments[indexOf(key, segmentsFor(max))];
+        V value;
+        synchronized (segment) {
+            value = segment.entries.get(key);
+        }
+        if (value != null && valid.test(value)) {
+            hits.increment();
+            return value;
+        }
+        if (value != null) {
+            synchronized (segment) {
+                if (segment.entries.remove(key, value)) {
+                    evictions.increment();
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used entries of its segment to stay within the maximum size.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        int max = maxSize.getAsInt();
+        if (max <= 0) {
+            return;
+        }
+        int count = segmentsFor(max);
+        if (count != segmentsInUse) {
+            // Keys map to other segments now, so entries left in their old segments could never be found again
+            segmentsInUse = count;
+            clear();
+        }
+        int index = indexOf(key, count);
+        int capacity = max / count + (index < max % count ? 1 : 0);
+        Segment<K, V> segment = segments[index];
+        synchronized (segment) {
+            segment.entries.put(key, value);
+            Iterator<K> eldest = segment.entries.keySet().iterator();
+            while (segment.entries.size() > capacity && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Evicts the cached values whose keys match a filter.
+     *
+     * @param filter selects the keys to evict
+     * @return the number of evicted values
+     */
+    public int removeIf(Predicate<? super K> filter) {
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                int before = segment.entries.size();
+                segment.entries.keySet().removeIf(filter);
+                removed += before - segment.entries.size();
+            }
+        }
+        evictions.add(removed);
+        return removed;
+    }
+
+    /**
+     * Checks if values are cached.
+     *
+     * @return true if the maximum size is positive
+     */
+    public boolean isEnabled() {
+        return maxSize.getAsInt() > 0;
+    }
+
+    /**
+     * Gets the number of cached values.
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Evicts every cached value.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets cache statistics, counting as evictions the values removed to stay within the maximum size, because they
+     * were no longer valid or by {@link #removeIf(Predicate)}.
+     *
+     * @return cache statistics map
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("cacheSize", size());
+        stats.put("maxSize", maxSize.getAsInt());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    /**
+     * Gets the number of segments for a maximum size, the largest power of two up to sixteen that leaves every
+     * segment at least one entry.
+     */
+    private static int segmentsFor(int max) {
+        return Math.min(SEGMENTS, Integer.highestOneBit(max));
+    }
+
+    private static int indexOf(Object key, int count) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (count - 1);
+    }
+
+    /**
+     * Access-ordered entries of one segment.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the cached values
+     */
+    private static final class Segment<K, V> {
+
+        private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    }
+
+}
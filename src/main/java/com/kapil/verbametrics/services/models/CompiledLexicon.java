@@ -0,0 +1,224 @@
+package com.kapil.verbametrics.services.models;
+
+import java.util.*;
+
+/**
+ * Immutable lexicon mapping each known token to packed role flags and modifier weights.
+ * Merges the sentiment word lists and the rule dictionaries (punctuation breaks, contrastives,
+ * negations, boosters and dampeners) into one open-addressing table, so that classifying a token
+ * takes a single hash probe instead of one lookup per collection.
+ * <p>
+ * Instances are never modified after compilation and are safe to share between threads.
+ *
+ * @author Kapil Garg
+ */
+public final class CompiledLexicon {
+
+    public static final int POSITIVE = 1;
+    public static final int NEGATIVE = 1 << 1;
+    public static final int PUNCTUATION_BREAK = 1 << 2;
+    public static final int CONTRASTIVE = 1 << 3;
+    public static final int NEGATION = 1 << 4;
+    public static final int BOOSTER = 1 << 5;
+    public static final int DAMPENER = 1 << 6;
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final int[] flags;
+    private final double[] boosterWeights;
+    private final double[] dampenerWeights;
+    private final int mask;
+    private final int size;
+
+    private CompiledLexicon(Map<String, Entry> entries) {
+        int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.flags = new int[capacity];
+        this.boosterWeights = new double[capacity];
+        this.dampenerWeights = new double[capacity];
+        this.mask = capacity - 1;
+        this.size = entries.size();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            int hash = hash(e.getKey());
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = e.getKey();
+            hashes[slot] = hash;
+            flags[slot] = e.getValue().flags;
+            boosterWeights[slot] = e.getValue().boosterWeight;
+            dampenerWeights[slot] = e.getValue().dampenerWeight;
+        }
+    }
+
+    /**
+     * Compiles the word lists and rule dictionaries into a lexicon.
+     * Null entries are ignored.
+     *
+     * @param positiveWords     the positive sentiment words
+     * @param negativeWords     the negative sentiment words
+     * @param punctuationBreaks tokens that reset the sentiment context
+     * @param contrastives      tokens that start contrastive weighting
+     * @param negations         tokens that toggle negation
+     * @param boosters          intensity boosters and their weights
+     * @param dampeners         intensity dampeners and their weights
+     * @return the compiled lexicon
+     */
+    public static CompiledLexicon compile(Collection<String> positiveWords, Collection<String> negativeWords,
+                                          Collection<String> punctuationBreaks, Collection<String> contrastives,
+                                          Collection<String> negations, Map<String, Double> boosters,
+                                          Map<String, Double> dampeners) {
+        Map<String, Entry> entries = new HashMap<>();
+        addFlag(entries, positiveWords, POSITIVE);
+        addFlag(entries, negativeWords, NEGATIVE);
+        addFlag(entries, punctuationBreaks, PUNCTUATION_BREAK);
+        addFlag(entries, contrastives, CONTRASTIVE);
+        addFlag(entries, negations, NEGATION);
+        if (boosters != null) {
+            boosters.forEach((token, weight) -> {
+                if (token != null && weight != null) {
+                    Entry entry = entries.computeIfAbsent(token, k -> new Entry());
+                    entry.flags |= BOOSTER;
+                    entry.boosterWeight = weight;
+                }
+            });
+        }
+        if (dampeners != null) {
+            dampeners.forEach((token, weight) -> {
+                if (token != null && weight != null) {
+                    Entry entry = entries.computeIfAbsent(token, k -> new Entry());
+                    entry.flags |= DAMPENER;
+                    entry.dampenerWeight = weight;
+                }
+            });
+        }
+        return new CompiledLexicon(entries);
+    }
+
+    /**
+     * Adds a flag to every token of a collection.
+     *
+     * @param entries the entries being compiled
+     * @param tokens  the tokens to flag
+     * @param flag    the flag to add
+     */
+    private static void addFlag(Map<String, Entry> entries, Collection<String> tokens, int flag) {
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            if (token != null) {
+                entries.computeIfAbsent(token, k -> new Entry()).flags |= flag;
+            }
+        }
+    }
+
+    /**
+     * Spreads the string hash so that the low bits used for the slot index depend on all bits.
+     *
+     * @param token the token to hash
+     * @return the spread hash
+     */
+    private static int hash(String token) {
+        int h = token.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Finds the slot of a token.
+     *
+     * @param token the token to look up
+     * @return the slot of the token, or -1 if the token is not in the lexicon
+     */
+    public int find(String token) {
+        int hash = hash(token);
+        int slot = hash & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && key.equals(token)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the slot of the token held in a range of a text, without copying it out of the text.
+     *
+     * @param text  the text holding the token
+     * @param start the start offset (inclusive) of the token
+     * @param end   the end offset (exclusive) of the token
+     * @return the slot of the token, or -1 if the token is not in the lexicon
+     */
+    public int find(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        int hash = h ^ (h >>> 16);
+        int length = end - start;
+        int slot = hash & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && key.length() == length && key.regionMatches(0, text, start, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the packed flags of a token.
+     *
+     * @param token the token to look up
+     * @return the flags of the token, or 0 if the token is not in the lexicon
+     */
+    public int flagsOf(String token) {
+        return flags(find(token));
+    }
+
+    /**
+     * @param slot a slot returned by {@link #find(String)}
+     * @return the packed flags stored in the slot, or 0 for -1
+     */
+    public int flags(int slot) {
+        return slot < 0 ? 0 : flags[slot];
+    }
+
+    /**
+     * @param slot a slot returned by {@link #find(String)}
+     * @return the booster weight stored in the slot, meaningful only if {@link #BOOSTER} is set
+     */
+    public double boosterWeight(int slot) {
+        return boosterWeights[slot];
+    }
+
+    /**
+     * @param slot a slot returned by {@link #find(String)}
+     * @return the dampener weight stored in the slot, meaningful only if {@link #DAMPENER} is set
+     */
+    public double dampenerWeight(int slot) {
+        return dampenerWeights[slot];
+    }
+
+    /**
+     * @return the number of distinct tokens in the lexicon
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mutable entry used while compiling.
+     */
+    private static final class Entry {
+        int flags;
+        double boosterWeight;
+        double dampenerWeight;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.kapil.verbametrics.services.models;
+
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+
+/**
+ * Aggregate counts of a document that was analyzed as a stream or paragraph by paragraph, holding everything the basic,
+ * sentiment and readability analyses need without keeping the text itself.
+ * Each count matches the one derived from a {@link TokenizedDocument} of the same text.
+ *
+ * @param length                the number of characters read
+ * @param blank                 whether the text is empty or contains only whitespace
+ * @param statistics            the basic text statistics
+ * @param whitespaceSplitLength the length of {@code text.split("\\s+")}
+ * @param sentimentScore        the sentiment score between -1.0 and 1.0
+ * @param sentencePieceCount    the number of pieces between sentence delimiters
+ * @param sentenceWordCount     the total number of words across all sentence pieces
+ * @param syllableWordCount     the number of whitespace-separated tokens counted for syllables
+ * @param syllableCount         the total number of syllables in those tokens
+ * @author Kapil Garg
+ */
+public record DocumentSummary(
+        long length,
+        boolean blank,
+        BasicTextStatistics statistics,
+        long whitespaceSplitLength,
+        double sentimentScore,
+        int sentencePieceCount,
+        long sentenceWordCount,
+        long syllableWordCount,
+        long syllableCount
+) {
+
+}
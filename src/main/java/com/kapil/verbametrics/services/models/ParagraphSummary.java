@@ -0,0 +1,32 @@
+package com.kapil.verbametrics.services.models;
+
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+
+/**
+ * Counts of one paragraph of a document, analyzed on its own so that it can be reused while the
+ * rest of the document is edited. The paragraph summaries of a document merge into its {@link DocumentSummary}.
+ *
+ * @param length                the number of characters in the paragraph
+ * @param blank                 whether the paragraph is empty or contains only whitespace
+ * @param statistics            the basic text statistics of the paragraph
+ * @param whitespaceSplitLength the length of {@code paragraph.split("\\s+")}
+ * @param sentencePieceCount    the number of pieces between sentence delimiters
+ * @param sentenceWordCount     the total number of words across all sentence pieces
+ * @param syllableWordCount     the number of whitespace-separated tokens counted for syllables
+ * @param syllableCount         the total number of syllables in those tokens
+ * @param sentiment             the unnormalized sentiment of the paragraph
+ * @author Kapil Garg
+ */
+public record ParagraphSummary(
+        int length,
+        boolean blank,
+        BasicTextStatistics statistics,
+        int whitespaceSplitLength,
+        int sentencePieceCount,
+        int sentenceWordCount,
+        long syllableWordCount,
+        long syllableCount,
+        SentimentTally sentiment
+) {
+
+}
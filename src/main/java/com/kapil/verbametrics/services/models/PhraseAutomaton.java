@@ -0,0 +1,256 @@
+package com.kapil.verbametrics.services.models;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton compiled from a weighted phrase map.
+ * Finds every occurrence of every phrase in a single linear pass over the text,
+ * independent of the number of phrases.
+ * <p>
+ * Transitions are stored in flat sorted arrays per state, so matching does not allocate.
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Kapil Garg
+ */
+public final class PhraseAutomaton {
+
+    private static final int ROOT = 0;
+
+    private final String[] phrases;
+    private final double[] weights;
+    private final boolean[] emptyPhrases;
+    private final int[] edgeOffsets;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final int[] output;
+    private final int[] outputLink;
+
+    private PhraseAutomaton(Map<String, Double> source) {
+        int phraseCount = source.size();
+        this.phrases = new String[phraseCount];
+        this.weights = new double[phraseCount];
+        this.emptyPhrases = new boolean[phraseCount];
+        // Build the trie with sorted child maps, then flatten it breadth-first
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        children.add(new TreeMap<>());
+        terminal.add(-1);
+        int id = 0;
+        for (Map.Entry<String, Double> entry : source.entrySet()) {
+            String phrase = Objects.requireNonNull(entry.getKey(), "Phrase cannot be null");
+            phrases[id] = phrase;
+            weights[id] = entry.getValue();
+            emptyPhrases[id] = phrase.isEmpty();
+            int state = ROOT;
+            for (int i = 0; i < phrase.length(); i++) {
+                Integer next = children.get(state).get(phrase.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    terminal.add(-1);
+                    children.get(state).put(phrase.charAt(i), next);
+                }
+                state = next;
+            }
+            if (!phrase.isEmpty()) {
+                terminal.set(state, id);
+            }
+            id++;
+        }
+        int stateCount = children.size();
+        this.edgeOffsets = new int[stateCount + 1];
+        this.edgeChars = new char[stateCount - 1];
+        this.edgeTargets = new int[stateCount - 1];
+        this.failure = new int[stateCount];
+        this.output = new int[stateCount];
+        this.outputLink = new int[stateCount];
+        int edge = 0;
+        for (int state = 0; state < stateCount; state++) {
+            edgeOffsets[state] = edge;
+            for (Map.Entry<Character, Integer> child : children.get(state).entrySet()) {
+                edgeChars[edge] = child.getKey();
+                edgeTargets[edge] = child.getValue();
+                edge++;
+            }
+            output[state] = terminal.get(state);
+        }
+        edgeOffsets[stateCount] = edge;
+        computeFailureLinks();
+    }
+
+    /**
+     * Compiles the given phrase weights into an automaton.
+     *
+     * @param phrases the phrases and their weights
+     * @return the compiled automaton
+     */
+    public static PhraseAutomaton compile(Map<String, Double> phrases) {
+        Objects.requireNonNull(phrases, "Phrases cannot be null");
+        return new PhraseAutomaton(phrases);
+    }
+
+    /**
+     * Computes failure and output links breadth-first, so every state's links are set before its children's.
+     */
+    private void computeFailureLinks() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        failure[ROOT] = ROOT;
+        outputLink[ROOT] = -1;
+        for (int e = edgeOffsets[ROOT]; e < edgeOffsets[ROOT + 1]; e++) {
+            int child = edgeTargets[e];
+            failure[child] = ROOT;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int e = edgeOffsets[state]; e < edgeOffsets[state + 1]; e++) {
+                int child = edgeTargets[e];
+                char c = edgeChars[e];
+                int fallback = failure[state];
+                int target = transition(fallback, c);
+                while (target < 0 && fallback != ROOT) {
+                    fallback = failure[fallback];
+                    target = transition(fallback, c);
+                }
+                int link = target < 0 ? ROOT : target;
+                failure[child] = link;
+                outputLink[child] = output[link] >= 0 ? link : outputLink[link];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Looks up the trie edge leaving a state for a character.
+     *
+     * @param state the current state
+     * @param c     the character
+     * @return the target state, or -1 if there is no such edge
+     */
+    private int transition(int state, char c) {
+        int low = edgeOffsets[state];
+        int high = edgeOffsets[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the initial state of the automaton
+     */
+    public int initialState() {
+        return ROOT;
+    }
+
+    /**
+     * Advances the automaton by one character.
+     * Exposed so that text arriving in chunks can be matched without joining the chunks.
+     *
+     * @param state the current state
+     * @param c     the next character
+     * @return the next state
+     */
+    public int next(int state, char c) {
+        int current = state;
+        int target = transition(current, c);
+        while (target < 0 && current != ROOT) {
+            current = failure[current];
+            target = transition(current, c);
+        }
+        return target < 0 ? ROOT : target;
+    }
+
+    /**
+     * Marks the phrases recognized on reaching the given state.
+     *
+     * @param state   the state reached after a character
+     * @param matched flags indexed by phrase id, set to true for every phrase ending at this state
+     */
+    public void markMatches(int state, boolean[] matched) {
+        for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+            matched[output[s]] = true;
+        }
+    }
+
+    /**
+     * Finds every occurrence of every phrase in the text, including overlapping ones.
+     * Empty phrases have no position and are not reported.
+     *
+     * @param text the text to search
+     * @return the matches ordered by end offset
+     */
+    public List<PhraseMatch> findMatches(CharSequence text) {
+        List<PhraseMatch> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = next(state, text.charAt(i));
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                int id = output[s];
+                matches.add(new PhraseMatch(phrases[id], i + 1 - phrases[id].length(), i + 1, weights[id]));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Computes the summed weight of the distinct phrases contained in the text.
+     * Each phrase counts once however often it occurs, which is what a
+     * {@code text.contains(phrase)} check per phrase yields.
+     *
+     * @param text the text to search
+     * @return the cumulative weight of the phrases found
+     */
+    public double adjustment(CharSequence text) {
+        boolean[] matched = newMatchFlags();
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = next(state, text.charAt(i));
+            markMatches(state, matched);
+        }
+        return adjustment(matched);
+    }
+
+    /**
+     * Creates the flags array used with {@link #markMatches(int, boolean[])}, with empty phrases already matched.
+     *
+     * @return a new flags array indexed by phrase id
+     */
+    public boolean[] newMatchFlags() {
+        return emptyPhrases.clone();
+    }
+
+    /**
+     * Sums the weights of the flagged phrases in the phrase map's iteration order.
+     *
+     * @param matched flags indexed by phrase id
+     * @return the cumulative weight of the flagged phrases
+     */
+    public double adjustment(boolean[] matched) {
+        double adjustment = 0.0;
+        for (int id = 0; id < phrases.length; id++) {
+            if (matched[id]) {
+                adjustment += weights[id];
+            }
+        }
+        return adjustment;
+    }
+
+    /**
+     * @return the number of phrases in the automaton
+     */
+    public int phraseCount() {
+        return phrases.length;
+    }
+
+}
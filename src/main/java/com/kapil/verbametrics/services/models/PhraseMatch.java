@@ -0,0 +1,19 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * A single occurrence of a configured phrase in a text.
+ *
+ * @param phrase the matched phrase
+ * @param start  the start offset of the occurrence (inclusive)
+ * @param end    the end offset of the occurrence (exclusive)
+ * @param weight the sentiment weight configured for the phrase
+ * @author Kapil Garg
+ */
+public record PhraseMatch(
+        String phrase,
+        int start,
+        int end,
+        double weight
+) {
+
+}
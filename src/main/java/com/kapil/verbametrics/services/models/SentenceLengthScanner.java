@@ -0,0 +1,98 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * Single-pass character state machine counting sentence pieces and the words in them.
+ * Produces the same counts as splitting the text on {@code [.!?]+} and summing
+ * {@code piece.trim().split("\\s+").length} over the non-empty trimmed pieces.
+ * <p>
+ * Characters are fed one at a time, so the same scanner serves whole strings and streams.
+ * Instances are not thread-safe.
+ *
+ * @author Kapil Garg
+ */
+public final class SentenceLengthScanner {
+
+    private long characterCount;
+    private int delimiterRuns;
+    private boolean startsWithDelimiter;
+    private boolean inDelimiterRun;
+    private boolean lastIsDelimiter;
+    private long sentenceWords;
+    private long pieceWords;
+    private long piecePendingWords;
+    private boolean pieceVisibleSeen;
+    private boolean inPieceToken;
+    private boolean pieceTokenVisible;
+
+    /**
+     * Feeds a single character to the scanner.
+     *
+     * @param c the next character of the text
+     */
+    public void accept(char c) {
+        if (characterCount++ == 0) {
+            startsWithDelimiter = TextStatisticsScanner.isSentenceDelimiter(c);
+        }
+        lastIsDelimiter = false;
+        if (TextStatisticsScanner.isWhitespace(c)) {
+            if (inPieceToken) {
+                if (pieceTokenVisible) {
+                    pieceWords++;
+                } else if (pieceVisibleSeen) {
+                    piecePendingWords++;
+                }
+                inPieceToken = false;
+            }
+            inDelimiterRun = false;
+            return;
+        }
+        if (TextStatisticsScanner.isSentenceDelimiter(c)) {
+            lastIsDelimiter = true;
+            if (!inDelimiterRun) {
+                inDelimiterRun = true;
+                delimiterRuns++;
+                if (inPieceToken && pieceTokenVisible) {
+                    pieceWords++;
+                }
+                inPieceToken = false;
+                sentenceWords += pieceWords;
+                pieceWords = 0;
+                piecePendingWords = 0;
+                pieceVisibleSeen = false;
+            }
+            return;
+        }
+        inDelimiterRun = false;
+        if (!inPieceToken) {
+            inPieceToken = true;
+            pieceTokenVisible = false;
+        }
+        if (c > ' ') {
+            pieceTokenVisible = true;
+            pieceWords += piecePendingWords;
+            piecePendingWords = 0;
+            pieceVisibleSeen = true;
+        }
+    }
+
+    /**
+     * @return the number of pieces {@code String.split("[.!?]+")} returns for the text scanned so far
+     */
+    public int pieceCount() {
+        if (delimiterRuns == 0) {
+            return 1;
+        }
+        if (delimiterRuns == 1 && startsWithDelimiter && lastIsDelimiter) {
+            return 0;
+        }
+        return lastIsDelimiter ? delimiterRuns : delimiterRuns + 1;
+    }
+
+    /**
+     * @return the total number of words across all sentence pieces scanned so far
+     */
+    public long wordCount() {
+        return inPieceToken && pieceTokenVisible ? sentenceWords + pieceWords + 1 : sentenceWords + pieceWords;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * Revisions of the word lists and rules that sentiment was scored with, kept in place of a whole tally by results
+ * that only need to know whether they are still current.
+ *
+ * @param wordListRevision the revision of the sentiment word lists
+ * @param ruleRevision     the revision of the sentiment rules
+ * @author Kapil Garg
+ */
+public record SentimentRevision(long wordListRevision, long ruleRevision) {
+
+}
@@ -0,0 +1,27 @@
+package com.kapil.verbametrics.services.models;
+
+/**
+ * Unnormalized sentiment of a run of whole sentences, kept so that the tallies of consecutive runs
+ * can be merged into the sentiment score of the text they make up.
+ * Holds the individual token contributions in text order rather than their sum, so that the merged sum
+ * is accumulated in the same order as scoring the whole text, and the distinct phrases found rather than
+ * their weight, since a phrase counts once per text however many runs contain it.
+ * <p>
+ * A tally is only meaningful together with the lexicon and phrase automaton it was computed with.
+ *
+ * @param contributions  the non-zero token contributions, in text order
+ * @param tokenCount     the number of non-blank tokens scored
+ * @param matchedPhrases flags indexed by phrase id, true for every phrase found
+ * @param lexicon        the lexicon the tokens were scored with
+ * @param automaton      the automaton the phrases were matched with
+ * @author Kapil Garg
+ */
+public record SentimentTally(
+        double[] contributions,
+        long tokenCount,
+        boolean[] matchedPhrases,
+        CompiledLexicon lexicon,
+        PhraseAutomaton automaton
+) {
+
+}
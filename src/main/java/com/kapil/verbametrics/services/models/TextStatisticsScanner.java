@@ -0,0 +1,231 @@
+package com.kapil.verbametrics.services.models;
+
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+
+/**
+ * Single-pass character state machine computing basic text statistics.
+ * Produces the same word, sentence, character and paragraph counts as splitting the trimmed text
+ * on {@code \s+}, {@code [.!?]+} and {@code \n\s*\n}, without allocating anything per character.
+ * <p>
+ * Characters are fed one at a time or in chunks, so the same scanner serves whole strings and streams.
+ * Counts that depend on the end of the trimmed text are held as pending until a later visible
+ * character confirms them. Instances are not thread-safe.
+ *
+ * @author Kapil Garg
+ */
+public final class TextStatisticsScanner {
+
+    private long characterCount;
+    private long whitespaceCount;
+    private boolean nonBlank;
+    private boolean contentSeen;
+    private boolean contentNonBlank;
+    private boolean pendingNonBlank;
+    private int words;
+    private int pendingWords;
+    private boolean inToken;
+    private boolean tokenVisible;
+    private int paragraphBreaks;
+    private int pendingParagraphBreaks;
+    private boolean inWhitespace;
+    private int lineFeeds;
+    private int delimiterRuns;
+    private boolean inDelimiterRun;
+    private boolean firstVisibleIsDelimiter;
+    private boolean lastVisibleIsDelimiter;
+
+    /**
+     * Scans the whole text and returns its statistics.
+     *
+     * @param text the text to scan
+     * @return the basic text statistics
+     */
+    public static BasicTextStatistics scan(CharSequence text) {
+        TextStatisticsScanner scanner = new TextStatisticsScanner();
+        scanner.accept(text);
+        return scanner.toStatistics();
+    }
+
+    /**
+     * Feeds every character of the given text to the scanner.
+     *
+     * @param text the text to feed
+     */
+    public void accept(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            accept(text.charAt(i));
+        }
+    }
+
+    /**
+     * Feeds a chunk of characters to the scanner.
+     *
+     * @param buffer the buffer holding the characters
+     * @param offset the offset of the first character
+     * @param length the number of characters
+     */
+    public void accept(char[] buffer, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            accept(buffer[i]);
+        }
+    }
+
+    /**
+     * Feeds a single character to the scanner.
+     *
+     * @param c the next character of the text
+     */
+    public void accept(char c) {
+        characterCount++;
+        if (isWhitespace(c)) {
+            whitespaceCount++;
+            if (inToken) {
+                if (tokenVisible) {
+                    words++;
+                } else if (contentSeen) {
+                    pendingWords++;
+                }
+                inToken = false;
+            }
+            inDelimiterRun = false;
+            if (!inWhitespace) {
+                inWhitespace = true;
+                lineFeeds = 0;
+            }
+            if (c == '\n') {
+                lineFeeds++;
+            }
+            return;
+        }
+        if (inWhitespace) {
+            inWhitespace = false;
+            if (lineFeeds >= 2 && contentSeen) {
+                pendingParagraphBreaks++;
+            }
+        }
+        if (!inToken) {
+            inToken = true;
+            tokenVisible = false;
+        }
+        boolean delimiter = isSentenceDelimiter(c);
+        if (delimiter) {
+            if (!inDelimiterRun) {
+                inDelimiterRun = true;
+                delimiterRuns++;
+            }
+        } else {
+            inDelimiterRun = false;
+        }
+        boolean whitespaceLike = Character.isWhitespace(c);
+        if (!whitespaceLike) {
+            nonBlank = true;
+        }
+        if (c > ' ') {
+            if (!contentSeen) {
+                contentSeen = true;
+                firstVisibleIsDelimiter = delimiter;
+            }
+            lastVisibleIsDelimiter = delimiter;
+            tokenVisible = true;
+            words += pendingWords;
+            pendingWords = 0;
+            paragraphBreaks += pendingParagraphBreaks;
+            pendingParagraphBreaks = 0;
+            if (pendingNonBlank || !whitespaceLike) {
+                contentNonBlank = true;
+            }
+            pendingNonBlank = false;
+        } else if (contentSeen && !whitespaceLike) {
+            pendingNonBlank = true;
+        }
+    }
+
+    /**
+     * @return true if everything scanned so far is whitespace, as defined by {@link String#isBlank()}
+     */
+    public boolean isBlank() {
+        return !nonBlank;
+    }
+
+    /**
+     * @return the number of words in the trimmed text scanned so far
+     */
+    public int wordCount() {
+        if (!contentNonBlank) {
+            return 0;
+        }
+        return inToken && tokenVisible ? words + 1 : words;
+    }
+
+    /**
+     * @return the number of sentences in the trimmed text scanned so far
+     */
+    public int sentenceCount() {
+        if (!contentNonBlank) {
+            return 0;
+        }
+        if (delimiterRuns == 0) {
+            return 1;
+        }
+        if (delimiterRuns == 1 && firstVisibleIsDelimiter && lastVisibleIsDelimiter) {
+            return 0;
+        }
+        return lastVisibleIsDelimiter ? delimiterRuns : delimiterRuns + 1;
+    }
+
+    /**
+     * @return the number of paragraphs in the trimmed text scanned so far
+     */
+    public int paragraphCount() {
+        return contentNonBlank ? paragraphBreaks + 1 : 0;
+    }
+
+    /**
+     * @return the number of characters scanned so far
+     */
+    public long characterCount() {
+        return characterCount;
+    }
+
+    /**
+     * @return the number of non-whitespace characters scanned so far
+     */
+    public long characterCountNoSpaces() {
+        return characterCount - whitespaceCount;
+    }
+
+    /**
+     * Builds the statistics for everything scanned so far.
+     *
+     * @return the basic text statistics
+     * @throws ArithmeticException if the character count does not fit the statistics record
+     */
+    public BasicTextStatistics toStatistics() {
+        if (isBlank()) {
+            return new BasicTextStatistics(0, 0, 0, 0, 0);
+        }
+        return new BasicTextStatistics(wordCount(), sentenceCount(), Math.toIntExact(characterCount),
+                Math.toIntExact(characterCountNoSpaces()), paragraphCount());
+    }
+
+    /**
+     * Checks whether the character is matched by the regex class {@code \s}.
+     *
+     * @param c the character to check
+     * @return true for space, tab, line feed, vertical tab, form feed and carriage return
+     */
+    public static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Checks whether the character ends a sentence.
+     *
+     * @param c the character to check
+     * @return true for '.', '!' and '?'
+     */
+    public static boolean isSentenceDelimiter(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.kapil.verbametrics.services.models;
+
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Shared, immutable tokenization of a single document.
+ * Built once per analysis request in a single character scan and handed to every engine and calculator,
+ * so the same text is not re-split with a different regex by each of them.
+ * <p>
+ * Tokens are maximal runs of non-whitespace characters (whitespace as in {@code \s}), sentence
+ * boundaries are runs of {@code .}, {@code !} or {@code ?}, and paragraph breaks are whitespace runs
+ * holding at least two line feeds. The derived counts reproduce the results of the regex-based
+ * implementations they replace.
+ *
+ * @author Kapil Garg
+ */
+public final class TokenizedDocument {
+
+    private final String text;
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final int tokenCount;
+    private final TextStatisticsScanner statistics;
+    private final SentenceLengthScanner sentences;
+    private final boolean startsWithWhitespace;
+    private final int contentStart;
+    private final int contentEnd;
+
+    private volatile String lowerCaseText;
+    private volatile String[] tokens;
+
+    private TokenizedDocument(String text) {
+        this.text = text;
+        int length = text.length();
+        TextStatisticsScanner scanner = new TextStatisticsScanner();
+        SentenceLengthScanner sentenceScanner = new SentenceLengthScanner();
+        int[] starts = new int[Math.max(16, length / 5)];
+        int[] ends = new int[starts.length];
+        int count = 0;
+        boolean inToken = false;
+        int tokenStart = 0;
+        int firstVisible = -1;
+        int lastVisible = -1;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            scanner.accept(c);
+            sentenceScanner.accept(c);
+            if (TextStatisticsScanner.isWhitespace(c)) {
+                if (inToken) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    starts[count] = tokenStart;
+                    ends[count] = i;
+                    count++;
+                    inToken = false;
+                }
+                continue;
+            }
+            if (!inToken) {
+                inToken = true;
+                tokenStart = i;
+            }
+            if (c > ' ') {
+                if (firstVisible < 0) {
+                    firstVisible = i;
+                }
+                lastVisible = i;
+            }
+        }
+        if (inToken) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+                ends = Arrays.copyOf(ends, count + 1);
+            }
+            starts[count] = tokenStart;
+            ends[count] = length;
+            count++;
+        }
+
+        this.tokenStarts = starts;
+        this.tokenEnds = ends;
+        this.tokenCount = count;
+        this.statistics = scanner;
+        this.sentences = sentenceScanner;
+        this.startsWithWhitespace = length > 0 && TextStatisticsScanner.isWhitespace(text.charAt(0));
+        this.contentStart = firstVisible < 0 ? 0 : firstVisible;
+        this.contentEnd = firstVisible < 0 ? 0 : lastVisible + 1;
+    }
+
+    /**
+     * Tokenizes the given text.
+     *
+     * @param text the text to tokenize
+     * @return the tokenized document
+     */
+    public static TokenizedDocument of(String text) {
+        Objects.requireNonNull(text, "Text cannot be null");
+        return new TokenizedDocument(text);
+    }
+
+    /**
+     * @return the original text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return the length of the original text
+     */
+    public int length() {
+        return text.length();
+    }
+
+    /**
+     * @return true if the text is empty or contains only whitespace, as defined by {@link String#isBlank()}
+     */
+    public boolean isBlank() {
+        return statistics.isBlank();
+    }
+
+    /**
+     * @return the lower-cased text, computed once and shared by all consumers
+     */
+    public String lowerCaseText() {
+        String lower = lowerCaseText;
+        if (lower == null) {
+            lower = text.toLowerCase();
+            lowerCaseText = lower;
+        }
+        return lower;
+    }
+
+    /**
+     * @return the number of whitespace-separated tokens in the whole text
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * @param index the token index
+     * @return the start offset (inclusive) of the token
+     */
+    public int tokenStart(int index) {
+        Objects.checkIndex(index, tokenCount);
+        return tokenStarts[index];
+    }
+
+    /**
+     * @param index the token index
+     * @return the end offset (exclusive) of the token
+     */
+    public int tokenEnd(int index) {
+        Objects.checkIndex(index, tokenCount);
+        return tokenEnds[index];
+    }
+
+    /**
+     * Returns the whitespace-separated tokens of the whole text.
+     * The array is materialized once and shared, so callers must not modify it.
+     *
+     * @return the tokens in document order
+     */
+    public String[] tokens() {
+        String[] result = tokens;
+        if (result == null) {
+            result = new String[tokenCount];
+            for (int i = 0; i < tokenCount; i++) {
+                result[i] = text.substring(tokenStarts[i], tokenEnds[i]);
+            }
+            tokens = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the length of {@code text.split("\\s+")}, which counts a leading empty token
+     * when the text starts with whitespace.
+     *
+     * @return the number of whitespace-split pieces
+     */
+    public int whitespaceSplitLength() {
+        if (tokenCount == 0) {
+            return text.isEmpty() ? 1 : 0;
+        }
+        return startsWithWhitespace ? tokenCount + 1 : tokenCount;
+    }
+
+    /**
+     * @return the offset of the first non-whitespace character, as used by {@link String#trim()}
+     */
+    public int contentStart() {
+        return contentStart;
+    }
+
+    /**
+     * @return the offset after the last non-whitespace character, as used by {@link String#trim()}
+     */
+    public int contentEnd() {
+        return contentEnd;
+    }
+
+    /**
+     * @return the number of characters that are not whitespace
+     */
+    public int characterCountNoSpaces() {
+        return (int) statistics.characterCountNoSpaces();
+    }
+
+    /**
+     * @return the number of words in the trimmed text
+     */
+    public int wordCount() {
+        return statistics.wordCount();
+    }
+
+    /**
+     * @return the number of sentences in the trimmed text
+     */
+    public int sentenceCount() {
+        return statistics.sentenceCount();
+    }
+
+    /**
+     * @return the number of paragraphs in the trimmed text
+     */
+    public int paragraphCount() {
+        return statistics.paragraphCount();
+    }
+
+    /**
+     * @return the basic statistics of the document, as computed by {@link TextStatisticsScanner}
+     */
+    public BasicTextStatistics statistics() {
+        return statistics.toStatistics();
+    }
+
+    /**
+     * @return the number of pieces between sentence delimiters in the whole text
+     */
+    public int sentencePieceCount() {
+        return sentences.pieceCount();
+    }
+
+    /**
+     * @return the total number of words across all sentence pieces
+     */
+    public int sentenceWordCount() {
+        return (int) sentences.wordCount();
+    }
+
+}
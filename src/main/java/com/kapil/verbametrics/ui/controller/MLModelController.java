@@ -1,9 +1,13 @@
 package com.kapil.verbametrics.ui.controller;
 
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
 import com.kapil.verbametrics.ml.domain.MLModel;
 import com.kapil.verbametrics.ml.domain.ModelEvaluationResult;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
 import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.ml.services.TrainingJobService;
 import com.kapil.verbametrics.util.JsonParserUtil;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.slf4j.Logger;
@@ -12,18 +16,30 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 /**
  * Controller class to handle ML model operations.
  * Provides a simplified interface for ML model management operations.
  *
- * @param mlModelService the ML model service
+ * @param mlModelService     the ML model service
+ * @param trainingJobService the training job service, or null if training jobs are not available
  * @author Kapil Garg
  */
-public record MLModelController(MLModelService mlModelService) {
+public record MLModelController(MLModelService mlModelService, TrainingJobService trainingJobService) {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MLModelController.class);
 
+    /**
+     * Creates a controller without training jobs, which trains models synchronously only.
+     *
+     * @param mlModelService the ML model service
+     */
+    public MLModelController(MLModelService mlModelService) {
+        this(mlModelService, null);
+    }
+
     /**
      * Create parameters map for model training.
      *
@@ -32,13 +48,33 @@ public record MLModelController(MLModelService mlModelService) {
      * @return parameters map
      */
     private static Map<String, Object> createModelParameters(String modelName, String description) {
+        return createModelParameters(VerbaMetricsConstants.ALGORITHM_RANDOM_TREE, null, modelName, description);
+    }
+
+    /**
+     * Create parameters map for model training with a training algorithm.
+     * Without a search strategy the tree parameters are fixed; with one they are left to the hyperparameter search.
+     *
+     * @param algorithm      the training algorithm
+     * @param searchStrategy the hyperparameter search strategy, or null to train with fixed parameters
+     * @param modelName      the model name
+     * @param description    the model description
+     * @return parameters map
+     */
+    private static Map<String, Object> createModelParameters(String algorithm, SearchStrategy searchStrategy,
+                                                             String modelName, String description) {
         Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, algorithm);
         parameters.put("name", modelName);
         parameters.put("description", description);
-        parameters.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, 10);
-        parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT, 2);
         parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_LEAF, 1);
-        parameters.put(VerbaMetricsConstants.PARAM_RANDOM_STATE, 42);
+        if (searchStrategy != null) {
+            parameters.put(VerbaMetricsConstants.PARAM_SEARCH_STRATEGY, searchStrategy.name());
+        } else {
+            parameters.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, 10);
+            parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT, 2);
+            parameters.put(VerbaMetricsConstants.PARAM_RANDOM_STATE, 42);
+        }
         return parameters;
     }
 
@@ -91,6 +127,59 @@ public record MLModelController(MLModelService mlModelService) {
         }
     }
 
+    /**
+     * Submit a training job for a new model.
+     *
+     * @param modelType        the type of model to train
+     * @param algorithm        the training algorithm
+     * @param modelName        the name for the model
+     * @param description      the model description
+     * @param trainingDataJson the training data as JSON string
+     * @param listener         the listener notified each time the job changes state
+     * @return the job ID
+     */
+    public String submitTraining(String modelType, String algorithm, String modelName, String description,
+                                 String trainingDataJson, Consumer<TrainingJobStatus> listener) {
+        return submitTraining(modelType, algorithm, null, modelName, description, trainingDataJson, listener);
+    }
+
+    /**
+     * Submit a training job for a new model, optionally searching its hyperparameters first.
+     *
+     * @param modelType        the type of model to train
+     * @param algorithm        the training algorithm
+     * @param searchStrategy   the hyperparameter search strategy, or null to train with fixed parameters
+     * @param modelName        the name for the model
+     * @param description      the model description
+     * @param trainingDataJson the training data as JSON string
+     * @param listener         the listener notified each time the job changes state
+     * @return the job ID
+     */
+    public String submitTraining(String modelType, String algorithm, SearchStrategy searchStrategy, String modelName,
+                                 String description, String trainingDataJson, Consumer<TrainingJobStatus> listener) {
+        if (trainingJobService == null) {
+            throw new IllegalStateException("Training jobs are not available");
+        }
+        try {
+            List<Map<String, Object>> trainingData = JsonParserUtil.parseTrainingData(trainingDataJson);
+            Map<String, Object> parameters = createModelParameters(algorithm, searchStrategy, modelName, description);
+            return trainingJobService.submit(modelType, trainingData, parameters, listener);
+        } catch (Exception e) {
+            LOGGER.error("Failed to submit training job", e);
+            throw new RuntimeException("Model training failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cancel a training job.
+     *
+     * @param jobId the job ID
+     * @return true if the job had not finished yet
+     */
+    public boolean cancelTraining(String jobId) {
+        return trainingJobService != null && trainingJobService.cancel(jobId);
+    }
+
     /**
      * Evaluate a model.
      *
@@ -113,4 +202,30 @@ public record MLModelController(MLModelService mlModelService) {
         return mlModelService.predict(modelId, input);
     }
 
+    /**
+     * Make a prediction using a model, batched with the concurrent predictions of the same model.
+     *
+     * @param modelId the model ID
+     * @param input   the input data
+     * @return prediction result
+     */
+    public Map<String, Object> predictBatched(String modelId, Map<String, Object> input) {
+        try {
+            return mlModelService.submitPrediction(modelId, input).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Make predictions for a batch of inputs using a model.
+     *
+     * @param modelId the model ID
+     * @param inputs  the input data
+     * @return batch prediction result
+     */
+    public BatchPredictionResult predictBatch(String modelId, List<Map<String, Object>> inputs) {
+        return mlModelService.predictBatch(modelId, inputs);
+    }
+
 }
@@ -2,36 +2,175 @@ package com.kapil.verbametrics.ui.controller;
 
 import com.kapil.verbametrics.domain.ReadabilityMetrics;
 import com.kapil.verbametrics.domain.SentimentScore;
-import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
 import com.kapil.verbametrics.services.BasicTextAnalysisService;
 import com.kapil.verbametrics.services.ReadabilityAnalysisService;
 import com.kapil.verbametrics.services.SentimentAnalysisService;
+import com.kapil.verbametrics.services.engines.ConcurrentAnalysisEngine;
+import com.kapil.verbametrics.services.engines.ConcurrentAnalysisEngine.PendingAnalysis;
+import com.kapil.verbametrics.services.engines.IncrementalTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.StreamingTextAnalysisEngine;
+import com.kapil.verbametrics.services.models.AnalysisOutcome;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.ui.util.GuiConstants;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
 /**
  * Controller class to handle text analysis operations.
  *
  * @param basicService       the basic text analysis service
  * @param sentimentService   the sentiment analysis service
  * @param readabilityService the readability analysis service
+ * @param streamingEngine    the engine summarizing streamed documents, or null if streaming is not supported
+ * @param analysisEngine     the engine running the three analyses of a document concurrently, shared across
+ *                           controllers built without one
+ * @param incrementalEngine  the engine reusing paragraph results between edits, or null if not supported
  */
 public record TextAnalysisController(BasicTextAnalysisService basicService, SentimentAnalysisService sentimentService,
-                                     ReadabilityAnalysisService readabilityService) {
+                                     ReadabilityAnalysisService readabilityService,
+                                     StreamingTextAnalysisEngine streamingEngine,
+                                     ConcurrentAnalysisEngine analysisEngine,
+                                     IncrementalTextAnalysisEngine incrementalEngine) {
+
+    public static final String BASIC = "Basic";
+    public static final String SENTIMENT = "Sentiment";
+    public static final String READABILITY = "Readability";
+
+    public TextAnalysisController(BasicTextAnalysisService basicService, SentimentAnalysisService sentimentService,
+                                  ReadabilityAnalysisService readabilityService) {
+        this(basicService, sentimentService, readabilityService, null);
+    }
+
+    public TextAnalysisController(BasicTextAnalysisService basicService, SentimentAnalysisService sentimentService,
+                                  ReadabilityAnalysisService readabilityService,
+                                  StreamingTextAnalysisEngine streamingEngine) {
+        this(basicService, sentimentService, readabilityService, streamingEngine, DefaultAnalysisEngine.INSTANCE);
+    }
+
+    public TextAnalysisController(BasicTextAnalysisService basicService, SentimentAnalysisService sentimentService,
+                                  ReadabilityAnalysisService readabilityService,
+                                  StreamingTextAnalysisEngine streamingEngine, ConcurrentAnalysisEngine analysisEngine) {
+        this(basicService, sentimentService, readabilityService, streamingEngine, analysisEngine, null);
+    }
 
     /**
      * Analyze the given text and return the analysis results.
+     * The text is tokenized once and the shared document is handed to every analysis, with the analyses run concurrently.
      *
      * @param text the text to analyze
-     * @return the analysis results
+     * @return the analysis results, partial if some analyses failed or timed out
      * @throws IllegalArgumentException if text is invalid
+     * @throws IllegalStateException    if every analysis failed
      */
     public AnalysisResult analyze(String text) {
         validateInput(text);
-        TextAnalysisResponse basic = basicService.analyzeText(new TextAnalysisRequest(text));
-        SentimentScore sentiment = sentimentService.analyzeSentiment(text);
-        ReadabilityMetrics readability = readabilityService.analyzeReadability(text);
-        return new AnalysisResult(basic, sentiment, readability);
+        TokenizedDocument document = TokenizedDocument.of(text);
+        return runAnalyses(
+                () -> basicService.analyzeText(document),
+                () -> sentimentService.analyzeSentiment(document),
+                () -> readabilityService.analyzeReadability(document));
+    }
+
+    /**
+     * Analyze the given text again after an edit, reusing the results of the paragraphs that did not change.
+     * The changed paragraphs are analyzed concurrently on the analysis engine, each within its timeout.
+     *
+     * @param text the text to analyze
+     * @return the analysis results, partial if some analyses failed or timed out
+     * @throws IllegalArgumentException if text is invalid
+     * @throws IllegalStateException    if no incremental engine is configured, if a paragraph analysis failed or
+     *                                  timed out, or if every analysis failed
+     */
+    public AnalysisResult analyzeIncrementally(String text) {
+        validateInput(text);
+        if (incrementalEngine == null) {
+            throw new IllegalStateException("Incremental analysis is not configured");
+        }
+        return analyzeSummary(incrementalEngine.summarize(text, analysisEngine));
+    }
+
+    /**
+     * Analyze a document read from a stream and return the analysis results.
+     * The document is processed in chunks without being held in memory, so it is not subject to the length limit.
+     *
+     * @param reader the reader supplying the document; it is not closed
+     * @return the analysis results, partial if some analyses failed or timed out
+     * @throws IOException              if reading the document fails
+     * @throws IllegalArgumentException if the document is blank
+     * @throws IllegalStateException    if no streaming engine is configured, or if every analysis failed
+     */
+    public AnalysisResult analyze(Reader reader) throws IOException {
+        Objects.requireNonNull(reader, "Reader cannot be null");
+        if (streamingEngine == null) {
+            throw new IllegalStateException("Streaming analysis is not configured");
+        }
+        return analyzeSummary(streamingEngine.summarize(reader));
+    }
+
+    /**
+     * Run the three analyses on the counts of a summarized document.
+     *
+     * @param summary the summary of the document
+     * @return the analysis results, partial if some analyses failed or timed out
+     * @throws IllegalArgumentException if the document is blank
+     * @throws IllegalStateException    if every analysis failed
+     */
+    private AnalysisResult analyzeSummary(DocumentSummary summary) {
+        if (summary.blank()) {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }
+        return runAnalyses(
+                () -> basicService.analyzeText(summary),
+                () -> sentimentService.analyzeSentiment(summary),
+                () -> readabilityService.analyzeReadability(summary));
+    }
+
+    /**
+     * Run the three analyses concurrently and collect whichever results are available within their timeouts.
+     *
+     * @param basic       the basic text analysis
+     * @param sentiment   the sentiment analysis
+     * @param readability the readability analysis
+     * @return the analysis results, with the reasons for any missing result
+     * @throws IllegalStateException if every analysis failed
+     */
+    private AnalysisResult runAnalyses(Callable<TextAnalysisResponse> basic, Callable<SentimentScore> sentiment,
+                                       Callable<ReadabilityMetrics> readability) {
+        PendingAnalysis<TextAnalysisResponse> pendingBasic = analysisEngine.submit(BASIC, basic);
+        PendingAnalysis<SentimentScore> pendingSentiment = analysisEngine.submit(SENTIMENT, sentiment);
+        PendingAnalysis<ReadabilityMetrics> pendingReadability = analysisEngine.submit(READABILITY, readability);
+        AnalysisOutcome<TextAnalysisResponse> basicOutcome = pendingBasic.await();
+        AnalysisOutcome<SentimentScore> sentimentOutcome = pendingSentiment.await();
+        AnalysisOutcome<ReadabilityMetrics> readabilityOutcome = pendingReadability.await();
+        Map<String, String> errors = new LinkedHashMap<>();
+        collectError(errors, BASIC, basicOutcome);
+        collectError(errors, SENTIMENT, sentimentOutcome);
+        collectError(errors, READABILITY, readabilityOutcome);
+        if (errors.size() == 3) {
+            throw new IllegalStateException(String.join("; ", errors.values()));
+        }
+        return new AnalysisResult(basicOutcome.result(), sentimentOutcome.result(), readabilityOutcome.result(), errors);
+    }
+
+    /**
+     * Record the failure message of an analysis that did not succeed.
+     *
+     * @param errors  the failure messages by analysis name
+     * @param name    the name of the analysis
+     * @param outcome the analysis outcome
+     */
+    private static void collectError(Map<String, String> errors, String name, AnalysisOutcome<?> outcome) {
+        if (!outcome.isSuccess()) {
+            errors.put(name, outcome.errorMessage());
+        }
     }
 
     /**
@@ -49,14 +188,42 @@ public record TextAnalysisController(BasicTextAnalysisService basicService, Sent
         }
     }
 
+    /**
+     * Analysis engine shared by the controllers built without one, created on first use and never closed,
+     * so that constructing controllers does not leave an executor behind for each of them.
+     */
+    private static final class DefaultAnalysisEngine {
+
+        private static final ConcurrentAnalysisEngine INSTANCE = new ConcurrentAnalysisEngine();
+
+    }
+
     /**
      * Record to hold the analysis results.
+     * A result is null when its analysis failed or timed out, with the reason kept in the errors.
      *
-     * @param basic       the basic text analysis response
-     * @param sentiment   the sentiment score
-     * @param readability the readability metrics
+     * @param basic       the basic text analysis response, or null if unavailable
+     * @param sentiment   the sentiment score, or null if unavailable
+     * @param readability the readability metrics, or null if unavailable
+     * @param errors      the failure messages by analysis name, in analysis order
      */
-    public record AnalysisResult(TextAnalysisResponse basic, SentimentScore sentiment, ReadabilityMetrics readability) {
+    public record AnalysisResult(TextAnalysisResponse basic, SentimentScore sentiment, ReadabilityMetrics readability,
+                                 Map<String, String> errors) {
+
+        public AnalysisResult {
+            errors = errors == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+        }
+
+        public AnalysisResult(TextAnalysisResponse basic, SentimentScore sentiment, ReadabilityMetrics readability) {
+            this(basic, sentiment, readability, Map.of());
+        }
+
+        /**
+         * @return true if every analysis produced a result
+         */
+        public boolean isComplete() {
+            return errors.isEmpty();
+        }
 
     }
 
@@ -1,10 +1,14 @@
 package com.kapil.verbametrics.ui.panels;
 
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
 import com.kapil.verbametrics.ml.domain.MLModel;
 import com.kapil.verbametrics.ml.domain.ModelEvaluationResult;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
 import com.kapil.verbametrics.ml.services.MLModelService;
 import com.kapil.verbametrics.ml.services.ModelCleanupService;
+import com.kapil.verbametrics.ml.services.TrainingJobService;
 import com.kapil.verbametrics.ui.controller.MLModelController;
 import com.kapil.verbametrics.ui.util.FileOperationsUtil;
 import com.kapil.verbametrics.ui.util.UIStateUtil;
@@ -19,6 +23,7 @@ import java.awt.*;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel for ML model management functionality.
@@ -45,7 +50,11 @@ public class MLModelPanel extends JPanel {
 
     // Training Components
     private final JComboBox<String> modelTypeCombo = new JComboBox<>(new String[]{"SENTIMENT", "CLASSIFICATION", "TOPIC_MODELING"});
+    private final JComboBox<String> algorithmCombo = new JComboBox<>(new String[]{"RANDOM_TREE", "RANDOM_FOREST", "BAGGING"});
+    private final JComboBox<String> searchStrategyCombo = new JComboBox<>(new String[]{"NONE", "GRID", "RANDOM"});
     private final JButton trainBtn = new JButton("Train Model");
+    private final JButton cancelTrainingBtn = new JButton("Cancel Training");
+    private final JProgressBar trainingProgressBar = new JProgressBar(0, 100);
     private final JButton loadTrainingDataBtn = new JButton("Load from File");
     private final JButton clearTrainingDataBtn = new JButton("Clear");
     private final JTextArea trainingDataArea = new JTextArea(8, 50);
@@ -67,13 +76,19 @@ public class MLModelPanel extends JPanel {
     // Results Area
     private final JTextArea resultsArea = new JTextArea(10, 60);
 
+    // ID of the training job followed by the training tab, if any
+    private String activeTrainingJobId;
+    // Whether a training job is being submitted, and the latest update it sent before its ID was known
+    private boolean submittingTraining;
+    private TrainingJobStatus pendingTrainingUpdate;
+
     /**
      * Constructor to initialize the ML model panel.
      *
      * @param ctx the Spring application context
      */
     public MLModelPanel(ConfigurableApplicationContext ctx) {
-        this.controller = new MLModelController(ctx.getBean(MLModelService.class));
+        this.controller = new MLModelController(ctx.getBean(MLModelService.class), ctx.getBean(TrainingJobService.class));
         this.cleanupService = ctx.getBean(ModelCleanupService.class);
         buildUi();
         loadModels();
@@ -163,19 +178,33 @@ public class MLModelPanel extends JPanel {
         gbc.gridx = 0;
         gbc.gridy = 1;
         gbc.fill = GridBagConstraints.NONE;
+        formPanel.add(new JLabel("Algorithm:"), gbc);
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        formPanel.add(algorithmCombo, gbc);
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.fill = GridBagConstraints.NONE;
+        formPanel.add(new JLabel("Hyperparameter Search:"), gbc);
+        gbc.gridx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        formPanel.add(searchStrategyCombo, gbc);
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.fill = GridBagConstraints.NONE;
         formPanel.add(new JLabel("Model Name:"), gbc);
         gbc.gridx = 1;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         formPanel.add(modelNameField, gbc);
         gbc.gridx = 0;
-        gbc.gridy = 2;
+        gbc.gridy = 4;
         gbc.fill = GridBagConstraints.NONE;
         formPanel.add(new JLabel("Description:"), gbc);
         gbc.gridx = 1;
         gbc.fill = GridBagConstraints.BOTH;
         formPanel.add(new JScrollPane(modelDescriptionArea), gbc);
         gbc.gridx = 0;
-        gbc.gridy = 3;
+        gbc.gridy = 5;
         gbc.fill = GridBagConstraints.NONE;
         formPanel.add(new JLabel("Training Data (JSON):"), gbc);
         gbc.gridx = 1;
@@ -188,15 +217,23 @@ public class MLModelPanel extends JPanel {
         dataPanel.add(dataButtonPanel, BorderLayout.SOUTH);
         formPanel.add(dataPanel, gbc);
         gbc.gridx = 0;
-        gbc.gridy = 4;
+        gbc.gridy = 6;
         gbc.gridwidth = 2;
         gbc.fill = GridBagConstraints.NONE;
         gbc.anchor = GridBagConstraints.CENTER;
-        formPanel.add(trainBtn, gbc);
+        JPanel trainButtonPanel = new JPanel(new FlowLayout());
+        trainButtonPanel.add(trainBtn);
+        trainButtonPanel.add(cancelTrainingBtn);
+        trainButtonPanel.add(trainingProgressBar);
+        formPanel.add(trainButtonPanel, gbc);
         panel.add(formPanel, BorderLayout.CENTER);
+        cancelTrainingBtn.setEnabled(false);
+        trainingProgressBar.setStringPainted(true);
+        trainingProgressBar.setString("Idle");
         loadTrainingDataBtn.addActionListener(e -> loadTrainingData());
         clearTrainingDataBtn.addActionListener(e -> clearTrainingData());
         trainBtn.addActionListener(e -> trainModel());
+        cancelTrainingBtn.addActionListener(e -> cancelTraining());
         return panel;
     }
 
@@ -466,7 +503,8 @@ public class MLModelPanel extends JPanel {
     }
 
     /**
-     * Train a new model.
+     * Train a new model in a background training job, following its progress until it finishes.
+     * The training data is parsed and submitted off the event dispatch thread.
      */
     private void trainModel() {
         if (modelNameField.getText().trim().isEmpty()) {
@@ -478,24 +516,69 @@ public class MLModelPanel extends JPanel {
             return;
         }
         clearResults();
-        try {
-            String modelType = (String) modelTypeCombo.getSelectedItem();
-            String modelName = modelNameField.getText().trim();
-            String description = modelDescriptionArea.getText().trim();
-            String trainingDataJson = trainingDataArea.getText().trim();
-            appendResult("Training model: " + modelName + " (Type: " + modelType + ")");
-            ModelTrainingResult result = controller.trainModel(modelType, modelName, description, trainingDataJson);
-            appendResult("Model training completed!");
-            appendResult("Model ID: " + result.modelId());
-            appendResult("Accuracy: " + String.format("%.3f", result.accuracy()));
-            appendResult("F1 Score: " + String.format("%.3f", result.f1Score()));
-            modelNameField.setText("");
-            modelDescriptionArea.setText("");
-            trainingDataArea.setText("");
-            loadModels();
-        } catch (Exception e) {
-            LOGGER.error("Failed to train model", e);
-            UIStateUtil.showError(this, "Failed to train model: " + e.getMessage(), "Error");
+        String modelType = (String) modelTypeCombo.getSelectedItem();
+        String algorithm = (String) algorithmCombo.getSelectedItem();
+        String search = (String) searchStrategyCombo.getSelectedItem();
+        SearchStrategy searchStrategy = "NONE".equals(search) ? null : SearchStrategy.valueOf(search);
+        String modelName = modelNameField.getText().trim();
+        String description = modelDescriptionArea.getText().trim();
+        String trainingDataJson = trainingDataArea.getText().trim();
+        appendResult("Training model: " + modelName + " (Type: " + modelType + ", Algorithm: " + algorithm + ")");
+        trainBtn.setEnabled(false);
+        submittingTraining = true;
+        new TrainingSubmitWorker(modelType, algorithm, searchStrategy, modelName, description, trainingDataJson)
+                .execute();
+    }
+
+    /**
+     * Cancel the active training job.
+     */
+    private void cancelTraining() {
+        if (activeTrainingJobId != null && controller.cancelTraining(activeTrainingJobId)) {
+            cancelTrainingBtn.setEnabled(false);
+            appendResult("Cancelling training...");
+        }
+    }
+
+    /**
+     * Show a state change of the active training job. Runs on the event dispatch thread.
+     *
+     * @param status the job status
+     */
+    private void onTrainingUpdate(TrainingJobStatus status) {
+        if (submittingTraining) {
+            pendingTrainingUpdate = status;
+            return;
+        }
+        if (!status.jobId().equals(activeTrainingJobId)) {
+            return;
+        }
+        trainingProgressBar.setValue((int) Math.round(status.progress() * 100));
+        trainingProgressBar.setString(status.state().name());
+        if (!status.isFinished()) {
+            return;
+        }
+        activeTrainingJobId = null;
+        trainBtn.setEnabled(true);
+        cancelTrainingBtn.setEnabled(false);
+        switch (status.state()) {
+            case DONE -> {
+                ModelTrainingResult result = status.result();
+                appendResult("Model training completed!");
+                appendResult("Model ID: " + result.modelId());
+                appendResult("Accuracy: " + String.format("%.3f", result.accuracy()));
+                appendResult("F1 Score: " + String.format("%.3f", result.f1Score()));
+                modelNameField.setText("");
+                modelDescriptionArea.setText("");
+                trainingDataArea.setText("");
+                loadModels();
+            }
+            case CANCELLED -> appendResult("Training cancelled");
+            default -> {
+                appendResult("Model training failed: " + status.errorMessage());
+                UIStateUtil.showError(this, "Failed to train model: " + status.errorMessage(), "Error");
+                loadModels();
+            }
         }
     }
 
@@ -592,24 +675,26 @@ public class MLModelPanel extends JPanel {
             appendResult("Model: " + selectedModel.name() + " (" + selectedModel.modelType() + ")");
             appendResult("Input Data Size: " + inputDataList.size() + " samples");
             appendResult("");
-            for (int i = 0; i < inputDataList.size(); i++) {
-                Map<String, Object> input = inputDataList.get(i);
-                Map<String, Object> prediction = controller.predict(selectedModel.modelId(), input);
-                appendResult("Sample " + (i + 1) + ":");
-                appendResult("  Input: " + input.get("text"));
-                if (prediction.containsKey("error") && (Boolean) prediction.get("error")) {
-                    appendResult("  Error: " + prediction.get("message"));
+            BatchPredictionResult predictions = controller.predictBatch(selectedModel.modelId(), inputDataList);
+            StringBuilder samples = new StringBuilder();
+            for (int i = 0; i < predictions.size(); i++) {
+                samples.append("Sample ").append(i + 1).append(":\n");
+                samples.append("  Input: ").append(inputDataList.get(i).get("text")).append("\n");
+                if (!predictions.isSuccess(i)) {
+                    samples.append("  Error: ").append(predictions.errors()[i]).append("\n");
                 } else {
-                    appendResult("  Prediction: " + prediction.get("prediction"));
-                    if (prediction.containsKey("confidence")) {
-                        appendResult("  Confidence: " + String.format("%.3f", (Double) prediction.get("confidence")));
-                    }
-                    if (prediction.containsKey("probability")) {
-                        appendResult("  Probability: " + String.format("%.3f", (Double) prediction.get("probability")));
-                    }
+                    samples.append("  Prediction: ").append(predictions.prediction(i)).append("\n");
+                    samples.append("  Confidence: ").append(String.format("%.3f", predictions.confidences()[i])).append("\n");
+                    samples.append("  Probability: ").append(String.format("%.3f", predictions.probability(i))).append("\n");
                 }
-                appendResult("");
+                samples.append("\n");
+            }
+            if (!samples.isEmpty()) {
+                samples.setLength(samples.length() - 1);
+                appendResult(samples.toString());
             }
+            appendResult("Predicted " + predictions.getSuccessCount() + " of " + predictions.size()
+                    + " samples in " + predictions.predictionTimeMs() + "ms");
             appendResult("Prediction completed successfully!");
         } catch (Exception e) {
             LOGGER.error("Failed to make prediction", e);
@@ -660,4 +745,51 @@ public class MLModelPanel extends JPanel {
         clearResults();
     }
 
+    /**
+     * SwingWorker parsing the training data and submitting the training job in the background.
+     * Job updates sent before the job ID is known are held back and shown once it is.
+     *
+     * @see SwingWorker
+     */
+    private class TrainingSubmitWorker extends SwingWorker<String, Void> {
+        private final String modelType;
+        private final String algorithm;
+        private final SearchStrategy searchStrategy;
+        private final String modelName;
+        private final String description;
+        private final String trainingDataJson;
+        TrainingSubmitWorker(String modelType, String algorithm, SearchStrategy searchStrategy, String modelName,
+                             String description, String trainingDataJson) {
+            this.modelType = modelType;
+            this.algorithm = algorithm;
+            this.searchStrategy = searchStrategy;
+            this.modelName = modelName;
+            this.description = description;
+            this.trainingDataJson = trainingDataJson;
+        }
+        @Override
+        protected String doInBackground() {
+            return controller.submitTraining(modelType, algorithm, searchStrategy, modelName, description,
+                    trainingDataJson, status -> SwingUtilities.invokeLater(() -> onTrainingUpdate(status)));
+        }
+        @Override
+        protected void done() {
+            submittingTraining = false;
+            TrainingJobStatus pending = pendingTrainingUpdate;
+            pendingTrainingUpdate = null;
+            try {
+                activeTrainingJobId = get();
+                cancelTrainingBtn.setEnabled(true);
+                if (pending != null) {
+                    onTrainingUpdate(pending);
+                }
+            } catch (Exception e) {
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                trainBtn.setEnabled(true);
+                LOGGER.error("Failed to train model", cause);
+                UIStateUtil.showError(MLModelPanel.this, "Failed to train model: " + cause.getMessage(), "Error");
+            }
+        }
+    }
+
 }
@@ -6,6 +6,9 @@ import com.kapil.verbametrics.dto.TextAnalysisResponse;
 import com.kapil.verbametrics.services.BasicTextAnalysisService;
 import com.kapil.verbametrics.services.ReadabilityAnalysisService;
 import com.kapil.verbametrics.services.SentimentAnalysisService;
+import com.kapil.verbametrics.services.engines.ConcurrentAnalysisEngine;
+import com.kapil.verbametrics.services.engines.IncrementalTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.StreamingTextAnalysisEngine;
 import com.kapil.verbametrics.ui.controller.TextAnalysisController;
 import com.kapil.verbametrics.ui.util.FileOperationsUtil;
 import com.kapil.verbametrics.ui.util.UIStateUtil;
@@ -20,6 +23,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import static com.kapil.verbametrics.ui.util.GuiConstants.*;
 
@@ -53,7 +57,10 @@ public class TextAnalysisPanel extends JPanel {
         this.controller = new TextAnalysisController(
                 ctx.getBean(BasicTextAnalysisService.class),
                 ctx.getBean(SentimentAnalysisService.class),
-                ctx.getBean(ReadabilityAnalysisService.class)
+                ctx.getBean(ReadabilityAnalysisService.class),
+                ctx.getBean(StreamingTextAnalysisEngine.class),
+                ctx.getBean(ConcurrentAnalysisEngine.class),
+                ctx.getBean(IncrementalTextAnalysisEngine.class)
         );
         buildUi();
     }
@@ -235,25 +242,40 @@ public class TextAnalysisPanel extends JPanel {
     /**
      * Format the analysis results into a readable string.
      *
-     * @param basic       the basic text analysis response
-     * @param sentiment   the sentiment score
-     * @param readability the readability metrics
+     * @param basic       the basic text analysis response, or null if unavailable
+     * @param sentiment   the sentiment score, or null if unavailable
+     * @param readability the readability metrics, or null if unavailable
+     * @param errors      the reasons for unavailable results by analysis name
      * @return formatted analysis result string
      */
-    private String formatAnalysisResult(TextAnalysisResponse basic, SentimentScore sentiment, ReadabilityMetrics readability) {
-        return "Basic Stats:\n" +
-                "- Words: " + basic.basicStats().wordCount() + "\n" +
-                "- Sentences: " + basic.basicStats().sentenceCount() + "\n" +
-                "- Characters: " + basic.basicStats().characterCount() + "\n\n" +
-                "Sentiment:\n" +
-                "- Label: " + sentiment.label() + "\n" +
-                "- Confidence: " + String.format("%.3f", sentiment.confidence()) + "\n" +
-                "- Score: " + String.format("%.3f", sentiment.score()) + "\n\n" +
-                "Readability:\n" +
-                "- Flesch-Kincaid Score: " + String.format("%.2f", readability.fleschKincaidScore()) + "\n" +
-                "- Reading Ease: " + String.format("%.2f", readability.fleschReadingEase()) + "\n" +
-                "- Reading Level: " + readability.readingLevel() + "\n" +
-                "- Complexity: " + readability.complexity() + "\n";
+    private String formatAnalysisResult(TextAnalysisResponse basic, SentimentScore sentiment, ReadabilityMetrics readability,
+                                        Map<String, String> errors) {
+        StringBuilder result = new StringBuilder("Basic Stats:\n");
+        if (basic != null) {
+            result.append("- Words: ").append(basic.basicStats().wordCount()).append("\n")
+                    .append("- Sentences: ").append(basic.basicStats().sentenceCount()).append("\n")
+                    .append("- Characters: ").append(basic.basicStats().characterCount()).append("\n\n");
+        } else {
+            result.append("- Unavailable: ").append(errors.get(TextAnalysisController.BASIC)).append("\n\n");
+        }
+        result.append("Sentiment:\n");
+        if (sentiment != null) {
+            result.append("- Label: ").append(sentiment.label()).append("\n")
+                    .append("- Confidence: ").append(String.format("%.3f", sentiment.confidence())).append("\n")
+                    .append("- Score: ").append(String.format("%.3f", sentiment.score())).append("\n\n");
+        } else {
+            result.append("- Unavailable: ").append(errors.get(TextAnalysisController.SENTIMENT)).append("\n\n");
+        }
+        result.append("Readability:\n");
+        if (readability != null) {
+            result.append("- Flesch-Kincaid Score: ").append(String.format("%.2f", readability.fleschKincaidScore())).append("\n")
+                    .append("- Reading Ease: ").append(String.format("%.2f", readability.fleschReadingEase())).append("\n")
+                    .append("- Reading Level: ").append(readability.readingLevel()).append("\n")
+                    .append("- Complexity: ").append(readability.complexity()).append("\n");
+        } else {
+            result.append("- Unavailable: ").append(errors.get(TextAnalysisController.READABILITY)).append("\n");
+        }
+        return result.toString();
     }
 
     /**
@@ -329,14 +351,16 @@ public class TextAnalysisPanel extends JPanel {
         }
         @Override
         protected TextAnalysisController.AnalysisResult doInBackground() {
-            return controller.analyze(text);
+            // Every run goes through the paragraph cache, so the first analysis of a text warms it for later edits
+            return controller.analyzeIncrementally(text);
         }
         @Override
         protected void done() {
             setRunningState(false);
             try {
                 var result = get();
-                String formattedResult = formatAnalysisResult(result.basic(), result.sentiment(), result.readability());
+                String formattedResult = formatAnalysisResult(result.basic(), result.sentiment(), result.readability(),
+                        result.errors());
                 UIStateUtil.setTextAreaContent(outputArea, formattedResult, -1);
             } catch (Exception ex) {
                 UIStateUtil.clearTextArea(outputArea);
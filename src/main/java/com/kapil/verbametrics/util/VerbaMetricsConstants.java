@@ -61,6 +61,20 @@ public final class VerbaMetricsConstants {
     public static final String PARAM_RANDOM_STATE = "random-state";
     public static final String PARAM_MIN_SAMPLES_SPLIT = "min-samples-split";
     public static final String PARAM_MIN_SAMPLES_LEAF = "min-samples-leaf";
+    public static final String PARAM_ALGORITHM = "algorithm";
+    public static final String PARAM_ENSEMBLE_SIZE = "ensemble-size";
+    public static final String PARAM_K_VALUE = "k-value";
+    public static final String PARAM_ADAPTIVE = "adaptive";
+    public static final String PARAM_CLASS_VALUES = "class-values";
+    public static final String PARAM_FEATURE_LAYOUT = "feature-layout";
+    public static final String PARAM_SEARCH_STRATEGY = "search-strategy";
+
+    // Training algorithms
+    public static final String ALGORITHM_RANDOM_TREE = "RANDOM_TREE";
+    public static final String ALGORITHM_RANDOM_FOREST = "RANDOM_FOREST";
+    public static final String ALGORITHM_BAGGING = "BAGGING";
+    public static final String ALGORITHM_NAIVE_BAYES_UPDATEABLE = "NAIVE_BAYES_UPDATEABLE";
+    public static final String ALGORITHM_HOEFFDING_TREE = "HOEFFDING_TREE";
 
     // Flesch Reading Ease Constants
     public static final double FLESCH_READING_EASE_MIN = 0.0;
@@ -118,4 +118,10 @@ class ReadabilityAnalysisPropertiesTest {
         assertTrue(properties.getFleschReadingEase().getSyllablesPerWordMultiplier() > 0);
     }
 
+    @Test
+    @DisplayName("Syllable cache size is positive by default")
+    void syllableCacheSizeIsPositive() {
+        assertTrue(properties.getSyllableCache().getMaxSize() > 0);
+    }
+
 }
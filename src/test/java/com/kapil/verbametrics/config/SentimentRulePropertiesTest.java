@@ -90,6 +90,12 @@ class SentimentRulePropertiesTest {
         assertTrue(properties.getPhrases().containsKey("not good"));
     }
 
+    @Test
+    @DisplayName("Phrase matching defaults to the automaton")
+    void phraseMatchingLoaded() {
+        assertEquals(SentimentRuleProperties.PhraseMatching.AUTOMATON, properties.getPhraseMatching());
+    }
+
     @Test
     @DisplayName("Negation window is loaded correctly")
     void negationWindowLoaded() {
@@ -183,4 +189,16 @@ class SentimentRulePropertiesTest {
         assertEquals(5, properties.getNegations().size());
     }
 
+    @Test
+    @DisplayName("Setting a rule collection increments the rule revision")
+    void setters_incrementRevision() {
+        SentimentRuleProperties rules = new SentimentRuleProperties();
+        long revision = rules.getRevision();
+        rules.setPhrases(Map.of("not good", -0.8));
+        rules.setNegations(List.of("not"));
+        assertEquals(revision + 2, rules.getRevision());
+        rules.setNegationWindow(4);
+        assertEquals(revision + 2, rules.getRevision());
+    }
+
 }
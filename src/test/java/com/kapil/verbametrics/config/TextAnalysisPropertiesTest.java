@@ -0,0 +1,71 @@
+package com.kapil.verbametrics.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TextAnalysisProperties configuration.
+ *
+ * @author Kapil Garg
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "text.analysis.statistics-strategy=REGEX"
+})
+class TextAnalysisPropertiesTest {
+
+    @Autowired
+    private TextAnalysisProperties properties;
+
+    @Test
+    @DisplayName("Properties bean is loaded")
+    void propertiesLoaded() {
+        assertNotNull(properties);
+    }
+
+    @Test
+    @DisplayName("Statistics strategy is bound from configuration")
+    void statisticsStrategyBound() {
+        assertEquals(TextAnalysisProperties.StatisticsStrategy.REGEX, properties.getStatisticsStrategy());
+    }
+
+    @Test
+    @DisplayName("Statistics strategy defaults to scanning")
+    void statisticsStrategyDefaultsToScanning() {
+        assertEquals(TextAnalysisProperties.StatisticsStrategy.SCANNING, new TextAnalysisProperties().getStatisticsStrategy());
+    }
+
+    @Test
+    @DisplayName("Streaming settings have sensible defaults")
+    void streamingDefaults() {
+        TextAnalysisProperties.Streaming streaming = new TextAnalysisProperties().getStreaming();
+        assertEquals(8192, streaming.getChunkSize());
+        assertEquals(1_000_000, streaming.getMaxSentenceLength());
+    }
+
+    @Test
+    @DisplayName("Batch parallelism defaults to the available processors")
+    void batchDefaults() {
+        assertEquals(0, new TextAnalysisProperties().getBatch().getParallelism());
+    }
+
+    @Test
+    @DisplayName("Concurrency defaults to the available processors and a ten second timeout")
+    void concurrencyDefaults() {
+        TextAnalysisProperties.Concurrency concurrency = new TextAnalysisProperties().getConcurrency();
+        assertEquals(0, concurrency.getParallelism());
+        assertEquals(10_000L, concurrency.getTimeoutMillis());
+    }
+
+    @Test
+    @DisplayName("Paragraph cache defaults to a thousand paragraphs")
+    void paragraphCacheDefaults() {
+        assertEquals(1000, new TextAnalysisProperties().getParagraphCache().getMaxSize());
+    }
+
+}
@@ -32,6 +32,7 @@ class MLModelPropertiesTest {
         assertNotNull(properties.getSupportedModelTypes(), "Supported model types should not be null");
         assertNotNull(properties.getFileSettings(), "File settings should not be null");
         assertNotNull(properties.getCacheSettings(), "Cache settings should not be null");
+        assertNotNull(properties.getBatchSettings(), "Batch settings should not be null");
         assertNotNull(properties.getRequiredFields(), "Required fields should not be null");
         assertNotNull(properties.getPerformanceThresholds(), "Performance thresholds should not be null");
         assertTrue(properties.getTrainingLimits().isEmpty(), "Training limits should be empty");
@@ -40,6 +41,7 @@ class MLModelPropertiesTest {
         assertTrue(properties.getSupportedModelTypes().isEmpty(), "Supported model types should be empty");
         assertTrue(properties.getFileSettings().isEmpty(), "File settings should be empty");
         assertTrue(properties.getCacheSettings().isEmpty(), "Cache settings should be empty");
+        assertTrue(properties.getBatchSettings().isEmpty(), "Batch settings should be empty");
         assertTrue(properties.getRequiredFields().isEmpty(), "Required fields should be empty");
         assertTrue(properties.getPerformanceThresholds().isEmpty(), "Performance thresholds should be empty");
     }
@@ -94,6 +96,14 @@ class MLModelPropertiesTest {
         assertEquals(cacheSettings, properties.getCacheSettings(), "Should update cache settings");
     }
 
+    @Test
+    @DisplayName("setBatchSettings should update batch settings")
+    void setBatchSettings_updatesBatchSettings() {
+        Map<String, Integer> batchSettings = Map.of("max-batch-size", 32, "max-wait-micros", 500);
+        properties.setBatchSettings(batchSettings);
+        assertEquals(batchSettings, properties.getBatchSettings(), "Should update batch settings");
+    }
+
     @Test
     @DisplayName("setRequiredFields should update required fields")
     void setRequiredFields_updatesRequiredFields() {
@@ -0,0 +1,68 @@
+package com.kapil.verbametrics.ml.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BatchPredictionResult domain record.
+ *
+ * @author Kapil Garg
+ */
+class BatchPredictionResultTest {
+
+    private static BatchPredictionResult createResult() {
+        return new BatchPredictionResult(
+                "model-123", "RandomTree", List.of("negative", "positive"),
+                new int[]{1, -1, 5},
+                new double[]{0.7, 0.0, 0.5},
+                new double[][]{{0.2, 0.8}, null, {0.5, 0.5}},
+                new String[]{null, "Prediction failed: Input data must contain 'features' field", null},
+                12L
+        );
+    }
+
+    @Test
+    @DisplayName("Accessors read the predictions of each input")
+    void accessors_readPredictions() {
+        BatchPredictionResult result = createResult();
+        assertEquals(3, result.size());
+        assertEquals(2, result.getSuccessCount());
+        assertTrue(result.isSuccess(0));
+        assertEquals("positive", result.prediction(0));
+        assertEquals(0.8, result.probability(0), 0.001);
+        assertFalse(result.isSuccess(1));
+        assertNull(result.prediction(1));
+        assertEquals(0.0, result.probability(1), 0.001);
+    }
+
+    @Test
+    @DisplayName("prediction returns unknown for a class index without a label")
+    void prediction_indexWithoutLabel_returnsUnknown() {
+        BatchPredictionResult result = createResult();
+        assertEquals("unknown", result.prediction(2));
+        assertEquals(0.0, result.probability(2), 0.001);
+    }
+
+    @Test
+    @DisplayName("Constructor rejects arrays of different lengths")
+    void constructor_mismatchedArrays() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new BatchPredictionResult("model-123", "RandomTree", List.of("a"),
+                        new int[]{0, 0}, new double[]{0.5}, new double[2][], new String[2], 1L));
+        assertEquals("Batch prediction arrays must have the same length", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Constructor rejects null model ID")
+    void constructor_nullModelId() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new BatchPredictionResult(null, "RandomTree", List.of(), new int[0], new double[0],
+                        new double[0][], new String[0], 1L));
+        assertEquals("Model ID cannot be null or blank", exception.getMessage());
+    }
+
+}
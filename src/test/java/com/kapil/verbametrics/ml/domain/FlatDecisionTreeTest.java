@@ -0,0 +1,126 @@
+package com.kapil.verbametrics.ml.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FlatDecisionTree domain record.
+ *
+ * @author Kapil Garg
+ */
+class FlatDecisionTreeTest {
+
+    /**
+     * Creates a tree splitting feature 0 at 0.5 and, to the right, feature 1 at 2.0.
+     * The left child of the second split is empty and gives no distribution.
+     */
+    private static FlatDecisionTree createTree() {
+        return new FlatDecisionTree(
+                new int[]{0, -1, 1, -1, -1},
+                new double[]{0.5, 0.0, 2.0, 0.0, 0.0},
+                new int[]{1, -1, 3, -1, -1},
+                new int[]{2, -1, 4, -1, -1},
+                new double[][]{{0.5, 0.5}, null, {0.2, 0.8}, null, null},
+                new double[][]{{0.5, 0.5}, {1.0, 0.0}, {0.4, 0.6}, null, {0.25, 0.75}},
+                2
+        );
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures goes left below the threshold and right otherwise")
+    void distributionForFeatures_followsSplits() {
+        FlatDecisionTree tree = createTree();
+        assertEquals(5, tree.size());
+        assertArrayEquals(new double[]{1.0, 0.0}, tree.distributionForFeatures(new double[]{0.1, 0.0}));
+        assertArrayEquals(new double[]{0.25, 0.75}, tree.distributionForFeatures(new double[]{0.5, 3.0}));
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures falls back to the parent distribution for an empty child")
+    void distributionForFeatures_emptyChild_usesParent() {
+        FlatDecisionTree tree = createTree();
+        assertArrayEquals(new double[]{0.4, 0.6}, tree.distributionForFeatures(new double[]{0.9, 1.0}));
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures weighs both branches of a missing value by the split proportions")
+    void distributionForFeatures_missingValue_weighsBranches() {
+        FlatDecisionTree tree = createTree();
+        assertArrayEquals(new double[]{0.2, 0.6}, tree.distributionForFeatures(new double[]{0.9, Double.NaN}), 1e-12);
+        assertArrayEquals(new double[]{0.625, 0.375}, tree.distributionForFeatures(new double[]{Double.NaN, 3.0}), 1e-12);
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures fills the given array")
+    void distributionForFeatures_intoArray() {
+        FlatDecisionTree tree = createTree();
+        double[] distribution = new double[2];
+        assertTrue(tree.distributionForFeatures(new double[]{0.5, 3.0}, distribution));
+        assertArrayEquals(new double[]{0.25, 0.75}, distribution);
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures returns a copy of the node distribution")
+    void distributionForFeatures_returnsCopy() {
+        FlatDecisionTree tree = createTree();
+        double[] first = tree.distributionForFeatures(new double[]{0.1, 0.0});
+        first[0] = 0.0;
+        assertArrayEquals(new double[]{1.0, 0.0}, tree.distributionForFeatures(new double[]{0.1, 0.0}));
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures reports a tree without a distribution")
+    void distributionForFeatures_noDistribution() {
+        FlatDecisionTree tree = new FlatDecisionTree(new int[]{-1}, new double[1], new int[]{-1}, new int[]{-1},
+                new double[1][], new double[1][], 2);
+        assertNull(tree.distributionForFeatures(new double[]{1.0}));
+        double[] distribution = {0.3, 0.7};
+        assertFalse(tree.distributionForFeatures(new double[]{1.0}, distribution));
+        assertArrayEquals(new double[]{0.3, 0.7}, distribution);
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures rejects an array of the wrong length")
+    void distributionForFeatures_wrongLength() {
+        FlatDecisionTree tree = createTree();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                tree.distributionForFeatures(new double[]{0.1, 0.0}, new double[3]));
+        assertEquals("Distribution must have 2 elements", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("distributionForFeatures rejects null features")
+    void distributionForFeatures_nullFeatures() {
+        FlatDecisionTree tree = createTree();
+        NullPointerException exception = assertThrows(NullPointerException.class, () ->
+                tree.distributionForFeatures(null));
+        assertEquals("Features cannot be null", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Constructor rejects an empty tree")
+    void constructor_emptyTree() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new FlatDecisionTree(new int[0], new double[0], new int[0], new int[0], new double[0][], new double[0][], 2));
+        assertEquals("Tree must have at least one node", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Constructor rejects arrays of different lengths")
+    void constructor_mismatchedArrays() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new FlatDecisionTree(new int[]{-1}, new double[2], new int[]{-1}, new int[]{-1}, new double[1][], new double[1][], 2));
+        assertEquals("Tree arrays must have the same length", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Constructor rejects a non-positive number of classes")
+    void constructor_invalidNumClasses() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                new FlatDecisionTree(new int[]{-1}, new double[1], new int[]{-1}, new int[]{-1}, new double[1][], new double[1][], 0));
+        assertEquals("Number of classes must be positive", exception.getMessage());
+    }
+
+}
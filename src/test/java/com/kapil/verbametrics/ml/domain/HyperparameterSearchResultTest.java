@@ -0,0 +1,62 @@
+package com.kapil.verbametrics.ml.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HyperparameterSearchResult domain record.
+ *
+ * @author Kapil Garg
+ */
+class HyperparameterSearchResultTest {
+
+    private static HyperparameterSearchResult createResult(List<HyperparameterCandidate> candidates) {
+        return new HyperparameterSearchResult(SearchStrategy.GRID, Map.of("max-depth", 5), 0.9, candidates, 10L, null);
+    }
+
+    @Test
+    @DisplayName("getPrunedCount counts only pruned candidates")
+    void getPrunedCount_countsPruned() {
+        HyperparameterSearchResult result = createResult(List.of(
+                new HyperparameterCandidate(Map.of("max-depth", 3), 0.5, 2, true, null),
+                new HyperparameterCandidate(Map.of("max-depth", 5), 0.9, 5, false, null),
+                new HyperparameterCandidate(Map.of("max-depth", 8), Double.NaN, 0, false, "failed")));
+        assertEquals(1, result.getPrunedCount());
+        assertTrue(result.candidates().get(1).isCompleted());
+        assertFalse(result.candidates().get(2).isCompleted());
+    }
+
+    @Test
+    @DisplayName("withTrainingResult keeps the search outcome")
+    void withTrainingResult_keepsSearchOutcome() {
+        HyperparameterSearchResult result = createResult(List.of());
+        ModelTrainingResult trainingResult = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.9, 0.9, 0.9,
+                0.9, 10L, 1, 0, Map.of(), null, LocalDateTime.now());
+        HyperparameterSearchResult trained = result.withTrainingResult(trainingResult);
+        assertSame(trainingResult, trained.trainingResult());
+        assertEquals(result.bestParameters(), trained.bestParameters());
+        assertEquals(0.9, trained.bestScore());
+        assertNull(result.trainingResult());
+    }
+
+    @Test
+    @DisplayName("constructor copies candidates and validates required fields")
+    void constructor_copiesAndValidates() {
+        List<HyperparameterCandidate> candidates = new ArrayList<>();
+        HyperparameterSearchResult result = createResult(candidates);
+        candidates.add(new HyperparameterCandidate(Map.of(), 0.5, 1, true, null));
+        assertTrue(result.candidates().isEmpty());
+        assertThrows(NullPointerException.class, () -> new HyperparameterSearchResult(null, Map.of(), 0.0,
+                List.of(), 0L, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new HyperparameterCandidate(Map.of(), 0.5, -1, false, null));
+    }
+
+}
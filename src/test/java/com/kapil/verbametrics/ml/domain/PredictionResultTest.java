@@ -0,0 +1,77 @@
+package com.kapil.verbametrics.ml.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PredictionResult domain record.
+ *
+ * @author Kapil Garg
+ */
+class PredictionResultTest {
+
+    private static PredictionResult createResult() {
+        return new PredictionResult("model-123", "RandomTree", 1, "positive", 0.6, 0.8, new double[]{0.2, 0.8});
+    }
+
+    @Test
+    @DisplayName("toMap produces the map form of the map-based prediction API")
+    void toMap_matchesMapApi() {
+        PredictionResult result = createResult();
+        Map<String, Object> map = result.toMap();
+        assertEquals("positive", map.get("prediction"));
+        assertEquals(1, map.get("predictionIndex"));
+        assertEquals(0.6, (double) map.get("confidence"), 0.001);
+        assertEquals(0.8, (double) map.get("probability"), 0.001);
+        assertArrayEquals(new double[]{0.2, 0.8}, (double[]) map.get("probabilities"));
+        assertEquals("RandomTree", map.get("modelType"));
+        assertTrue(map.containsKey("timestamp"));
+    }
+
+    @Test
+    @DisplayName("The distribution is copied once on construction")
+    void distribution_copiedOnConstruction() {
+        double[] distribution = {0.2, 0.8};
+        PredictionResult result = new PredictionResult("model-123", "RandomTree", 1, "positive", 0.6, 0.8, distribution);
+        distribution[0] = 1.0;
+        assertArrayEquals(new double[]{0.2, 0.8}, result.distribution());
+        assertSame(result.distribution(), result.distribution());
+        assertSame(result.distribution(), result.toMap().get("probabilities"));
+    }
+
+    @Test
+    @DisplayName("Results with equal distributions are equal")
+    void equals_comparesDistributionContents() {
+        PredictionResult result = createResult();
+        PredictionResult same = createResult();
+        PredictionResult other = new PredictionResult("model-123", "RandomTree", 1, "positive", 0.6, 0.8,
+                new double[]{0.3, 0.7});
+        assertEquals(result, same);
+        assertEquals(result.hashCode(), same.hashCode());
+        assertNotEquals(result, other);
+    }
+
+    @Test
+    @DisplayName("Constructor rejects invalid arguments")
+    void constructor_rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PredictionResult(" ", "RandomTree", 0, "a", 0.5, 0.5, new double[]{1.0}));
+        assertThrows(NullPointerException.class,
+                () -> new PredictionResult("m", null, 0, "a", 0.5, 0.5, new double[]{1.0}));
+        assertThrows(NullPointerException.class,
+                () -> new PredictionResult("m", "RandomTree", 0, null, 0.5, 0.5, new double[]{1.0}));
+        assertThrows(NullPointerException.class,
+                () -> new PredictionResult("m", "RandomTree", 0, "a", 0.5, 0.5, null));
+    }
+
+    @Test
+    @DisplayName("toString includes the label")
+    void toString_includesLabel() {
+        assertTrue(createResult().toString().contains("label='positive'"));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.kapil.verbametrics.ml.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TrainingJobStatus domain record.
+ *
+ * @author Kapil Garg
+ */
+class TrainingJobStatusTest {
+
+    private static TrainingJobStatus createStatus(TrainingJobState state) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TrainingJobStatus("job-1", "SENTIMENT", state, null, null, now, now);
+    }
+
+    @Test
+    @DisplayName("progress follows the job state")
+    void progress_followsState() {
+        assertEquals(0.0, createStatus(TrainingJobState.QUEUED).progress());
+        assertEquals(0.5, createStatus(TrainingJobState.EVALUATING).progress());
+        assertEquals(1.0, createStatus(TrainingJobState.DONE).progress());
+    }
+
+    @Test
+    @DisplayName("isFinished is true only for done, failed and cancelled jobs")
+    void isFinished_onlyForTerminalStates() {
+        assertFalse(createStatus(TrainingJobState.QUEUED).isFinished());
+        assertFalse(createStatus(TrainingJobState.RUNNING).isFinished());
+        assertFalse(createStatus(TrainingJobState.PERSISTING).isFinished());
+        assertTrue(createStatus(TrainingJobState.DONE).isFinished());
+        assertTrue(createStatus(TrainingJobState.FAILED).isFinished());
+        assertTrue(createStatus(TrainingJobState.CANCELLED).isFinished());
+    }
+
+    @Test
+    @DisplayName("constructor rejects missing fields")
+    void constructor_rejectsMissingFields() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(NullPointerException.class,
+                () -> new TrainingJobStatus(null, "SENTIMENT", TrainingJobState.QUEUED, null, null, now, now));
+        assertThrows(NullPointerException.class,
+                () -> new TrainingJobStatus("job-1", "SENTIMENT", null, null, null, now, now));
+    }
+
+    @Test
+    @DisplayName("toString includes the job ID and state")
+    void toString_includesIdAndState() {
+        String text = createStatus(TrainingJobState.RUNNING).toString();
+        assertTrue(text.contains("job-1"));
+        assertTrue(text.contains("RUNNING"));
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import weka.classifiers.AbstractClassifier;
+import weka.classifiers.Evaluation;
+import weka.classifiers.trees.RandomForest;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CrossValidationExecutor.
+ *
+ * @author Kapil Garg
+ */
+class CrossValidationExecutorTest {
+
+    private CrossValidationExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("crossValidate: parallel folds match Weka's sequential cross-validation")
+    void crossValidate_parallel_matchesSequential() throws Exception {
+        executor = createExecutor(4);
+        assertMatchesSequential(executor);
+    }
+
+    @Test
+    @DisplayName("crossValidate: a single thread matches Weka's sequential cross-validation")
+    void crossValidate_singleThread_matchesSequential() throws Exception {
+        executor = createExecutor(1);
+        assertMatchesSequential(executor);
+    }
+
+    @Test
+    @DisplayName("split: partitions the dataset into folds that together test every instance once")
+    void split_testsEveryInstanceOnce() {
+        Instances data = createDataset(42);
+        List<CrossValidationExecutor.Fold> folds = CrossValidationExecutor.split(data, 5, new Random(1));
+        assertEquals(5, folds.size());
+        int tested = 0;
+        for (CrossValidationExecutor.Fold fold : folds) {
+            assertEquals(data.numInstances(), fold.train().numInstances() + fold.test().numInstances());
+            tested += fold.test().numInstances();
+        }
+        assertEquals(data.numInstances(), tested);
+    }
+
+    @Test
+    @DisplayName("crossValidate: does not modify the classifier")
+    void crossValidate_doesNotModifyClassifier() throws Exception {
+        executor = createExecutor(4);
+        Instances data = createDataset(40);
+        RandomTree classifier = new RandomTree();
+        executor.crossValidate(classifier, data, 5, new Random(1));
+        assertThrows(Exception.class, () -> classifier.distributionForInstance(data.firstInstance()));
+    }
+
+    @Test
+    @DisplayName("crossValidate: rejects invalid fold counts")
+    void crossValidate_invalidFolds_throwsException() {
+        executor = createExecutor(4);
+        Instances data = createDataset(4);
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.crossValidate(new RandomTree(), data, 1, new Random(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> executor.crossValidate(new RandomTree(), data, 5, new Random(1)));
+    }
+
+    @Test
+    @DisplayName("crossValidate: propagates fold failures")
+    void crossValidate_foldFailure_throwsCause() {
+        executor = createExecutor(4);
+        Instances data = createDataset(40);
+        Exception e = assertThrows(Exception.class,
+                () -> executor.crossValidate(new FailingClassifier(), data, 5, new Random(1)));
+        assertEquals("Training failed", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("crossValidate: stops between folds when the monitor cancels")
+    void crossValidate_monitorCancels_stopsBetweenFolds() {
+        for (int threads : new int[]{1, 4}) {
+            executor = createExecutor(threads);
+            AtomicInteger folds = new AtomicInteger();
+            TrainingMonitor monitor = state -> {
+                assertEquals(TrainingJobState.EVALUATING, state);
+                if (folds.incrementAndGet() > 2) {
+                    throw new CancellationException("cancelled");
+                }
+            };
+            assertThrows(CancellationException.class,
+                    () -> executor.crossValidate(new RandomTree(), createDataset(40), 5, new Random(1), monitor));
+            executor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("crossValidate: throws after close")
+    void crossValidate_afterClose_throwsException() {
+        executor = createExecutor(4);
+        executor.close();
+        assertThrows(IllegalStateException.class,
+                () -> executor.crossValidate(new RandomTree(), createDataset(40), 5, new Random(1)));
+    }
+
+    private static void assertMatchesSequential(CrossValidationExecutor executor) throws Exception {
+        Instances data = createDataset(200);
+        RandomTree classifier = new RandomTree();
+        classifier.setSeed(7);
+        Evaluation expected = new Evaluation(data);
+        expected.crossValidateModel(classifier, data, 5, new Random(1));
+        Evaluation actual = executor.crossValidate(classifier, data, 5, new Random(1));
+        assertArrayEquals(expected.confusionMatrix(), actual.confusionMatrix());
+        assertEquals(expected.pctCorrect(), actual.pctCorrect());
+        assertEquals(expected.weightedPrecision(), actual.weightedPrecision());
+        assertEquals(expected.weightedRecall(), actual.weightedRecall());
+        assertEquals(expected.weightedFMeasure(), actual.weightedFMeasure());
+        assertEquals(expected.weightedAreaUnderROC(), actual.weightedAreaUnderROC());
+    }
+
+    private static CrossValidationExecutor createExecutor(int threads) {
+        MLModelProperties properties = new MLModelProperties();
+        properties.setTrainingLimits(Map.of("cross-validation-threads", threads));
+        return new CrossValidationExecutor(properties);
+    }
+
+    /**
+     * Classifier that fails to train.
+     */
+    private static class FailingClassifier extends AbstractClassifier {
+
+        @Override
+        public void buildClassifier(Instances data) throws Exception {
+            throw new Exception("Training failed");
+        }
+
+    }
+
+    @Test
+    @DisplayName("withOneExecutionSlot: copies ensembles with one slot and leaves other classifiers as they are")
+    void withOneExecutionSlot_copiesEnsembles() throws Exception {
+        RandomForest forest = new RandomForest();
+        forest.setNumExecutionSlots(8);
+        RandomForest copy = (RandomForest) CrossValidationExecutor.withOneExecutionSlot(forest);
+        assertNotSame(forest, copy);
+        assertEquals(1, copy.getNumExecutionSlots());
+        assertEquals(8, forest.getNumExecutionSlots());
+        RandomTree tree = new RandomTree();
+        assertSame(tree, CrossValidationExecutor.withOneExecutionSlot(tree));
+    }
+
+    /**
+     * Creates a noisy two-class dataset with three numeric features.
+     *
+     * @param size the number of instances
+     * @return the dataset, with the class as last attribute
+     */
+    private static Instances createDataset(int size) {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            attributes.add(new Attribute("feature_" + i));
+        }
+        attributes.add(new Attribute("label", List.of("negative", "positive")));
+        Instances data = new Instances("CrossValidationDataset", attributes, size);
+        data.setClassIndex(3);
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            int label = i % 2;
+            double[] values = new double[4];
+            for (int f = 0; f < 3; f++) {
+                values[f] = label * 0.3 + random.nextDouble();
+            }
+            values[3] = label;
+            data.add(new DenseInstance(1.0, values));
+        }
+        return data;
+    }
+
+}
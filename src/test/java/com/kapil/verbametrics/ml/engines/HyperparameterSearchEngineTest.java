@@ -0,0 +1,195 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.HyperparameterCandidate;
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HyperparameterSearchEngine.
+ *
+ * @author Kapil Garg
+ */
+class HyperparameterSearchEngineTest {
+
+    private HyperparameterSearchEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("gridCandidates: lists every combination, varying the last parameter fastest")
+    void gridCandidates_listsEveryCombination() {
+        Map<String, List<Integer>> space = new LinkedHashMap<>();
+        space.put("max-depth", List.of(3, 5));
+        space.put("k-value", List.of(0, 1, 2));
+        List<Map<String, Integer>> candidates = HyperparameterSearchEngine.gridCandidates(space, 10);
+        assertEquals(6, candidates.size());
+        assertEquals(Map.of("max-depth", 3, "k-value", 0), candidates.get(0));
+        assertEquals(Map.of("max-depth", 3, "k-value", 1), candidates.get(1));
+        assertEquals(Map.of("max-depth", 5, "k-value", 2), candidates.get(5));
+        assertEquals(6, new HashSet<>(candidates).size());
+    }
+
+    @Test
+    @DisplayName("gridCandidates: rejects spaces larger than the maximum or without values")
+    void gridCandidates_invalidSpace_throws() {
+        Map<String, List<Integer>> space = Map.of("max-depth", List.of(1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> HyperparameterSearchEngine.gridCandidates(space, 2));
+        assertThrows(IllegalArgumentException.class, () -> HyperparameterSearchEngine.gridCandidates(Map.of(), 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> HyperparameterSearchEngine.gridCandidates(Map.of("max-depth", List.of()), 2));
+    }
+
+    @Test
+    @DisplayName("randomCandidates: samples the requested number of distinct combinations")
+    void randomCandidates_samplesDistinctCombinations() {
+        Map<String, List<Integer>> space = new LinkedHashMap<>();
+        space.put("max-depth", List.of(1, 2, 3, 4, 5));
+        space.put("random-state", List.of(1, 2, 3, 4, 5));
+        List<Map<String, Integer>> candidates = HyperparameterSearchEngine.randomCandidates(space, 7, new Random(1));
+        assertEquals(7, candidates.size());
+        assertEquals(7, new HashSet<>(candidates).size());
+        assertEquals(candidates, HyperparameterSearchEngine.randomCandidates(space, 7, new Random(1)));
+        assertEquals(25, HyperparameterSearchEngine.randomCandidates(space, 30, new Random(1)).size());
+    }
+
+    @Test
+    @DisplayName("search: picks the most accurate candidate and prunes clearly worse ones")
+    void search_picksBestAndPrunesWorse() throws Exception {
+        engine = createEngine(1, 1, 0.1);
+        Map<String, List<Integer>> space = new LinkedHashMap<>();
+        space.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, List.of(0, 1));
+        space.put(VerbaMetricsConstants.PARAM_K_VALUE, List.of(2));
+        HyperparameterSearchResult result = engine.search(createQuadrantData(100), Map.of("name", "tuned"), space,
+                SearchStrategy.GRID);
+        List<HyperparameterCandidate> candidates = result.candidates();
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.get(0).isCompleted());
+        assertTrue(candidates.get(1).pruned());
+        assertEquals(1, candidates.get(1).foldsEvaluated());
+        assertEquals(1, result.getPrunedCount());
+        assertEquals(0, result.bestParameters().get(VerbaMetricsConstants.PARAM_MAX_DEPTH));
+        assertEquals("tuned", result.bestParameters().get("name"));
+        assertEquals(false, result.bestParameters().get(VerbaMetricsConstants.PARAM_ADAPTIVE));
+        assertEquals(candidates.get(0).score(), result.bestScore());
+        assertNull(result.trainingResult());
+    }
+
+    @Test
+    @DisplayName("search: prunes against the best candidate so far rather than the first")
+    void search_prunesAgainstBestSoFar() throws Exception {
+        engine = createEngine(1, 1, 0.1);
+        Map<String, List<Integer>> space = new LinkedHashMap<>();
+        space.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, List.of(1, 0, 1));
+        space.put(VerbaMetricsConstants.PARAM_K_VALUE, List.of(2));
+        List<HyperparameterCandidate> candidates = engine.search(createQuadrantData(100), Map.of(), space,
+                SearchStrategy.GRID).candidates();
+        assertTrue(candidates.get(0).isCompleted());
+        assertTrue(candidates.get(1).isCompleted());
+        assertTrue(candidates.get(2).pruned());
+    }
+
+    @Test
+    @DisplayName("search: concurrent candidates score the same as a sequential search")
+    void search_parallel_matchesSequential() throws Exception {
+        List<Map<String, Object>> data = createQuadrantData(60);
+        // A margin above 1.0 never prunes, so every candidate is scored on every fold
+        engine = createEngine(1, 4, 1.5);
+        HyperparameterSearchResult sequential = engine.search(data, Map.of(), engine.getDefaultSearchSpace(),
+                SearchStrategy.RANDOM);
+        engine.close();
+        engine = createEngine(4, 4, 1.5);
+        HyperparameterSearchResult parallel = engine.search(data, Map.of(), engine.getDefaultSearchSpace(),
+                SearchStrategy.RANDOM);
+        assertEquals(20, parallel.candidates().size());
+        assertEquals(0, parallel.getPrunedCount());
+        for (int i = 0; i < sequential.candidates().size(); i++) {
+            assertEquals(sequential.candidates().get(i).parameters(), parallel.candidates().get(i).parameters());
+            assertEquals(sequential.candidates().get(i).score(), parallel.candidates().get(i).score());
+        }
+        assertEquals(sequential.bestParameters(), parallel.bestParameters());
+    }
+
+    @Test
+    @DisplayName("search: concurrent candidates are pruned the same as in a sequential search")
+    void search_parallelPruning_matchesSequential() throws Exception {
+        List<Map<String, Object>> data = createQuadrantData(60);
+        engine = createEngine(1, 4, 0.05);
+        HyperparameterSearchResult sequential = engine.search(data, Map.of(), engine.getDefaultSearchSpace(),
+                SearchStrategy.RANDOM);
+        engine.close();
+        engine = createEngine(4, 4, 0.05);
+        HyperparameterSearchResult parallel = engine.search(data, Map.of(), engine.getDefaultSearchSpace(),
+                SearchStrategy.RANDOM);
+        assertTrue(sequential.getPrunedCount() > 0);
+        assertEquals(sequential.candidates(), parallel.candidates());
+        assertEquals(sequential.bestParameters(), parallel.bestParameters());
+    }
+
+    @Test
+    @DisplayName("search: fails when no candidate can be evaluated")
+    void search_allCandidatesFail_throws() {
+        engine = createEngine(1, 1, 0.1);
+        Map<String, Object> parameters = Map.of(VerbaMetricsConstants.PARAM_ALGORITHM, "UNKNOWN");
+        assertThrows(IllegalStateException.class, () -> engine.search(createQuadrantData(40), parameters,
+                Map.of(VerbaMetricsConstants.PARAM_MAX_DEPTH, List.of(2, 3)), SearchStrategy.GRID));
+    }
+
+    /**
+     * Creates a search engine on a training engine with mocked collaborators.
+     *
+     * @param threads     the number of candidates evaluated at once
+     * @param batchSize   the number of candidates per batch
+     * @param pruneMargin the accuracy margin by which a candidate must trail the best one to be pruned
+     * @return the search engine
+     */
+    private static HyperparameterSearchEngine createEngine(int threads, int batchSize, double pruneMargin) {
+        MLModelProperties properties = new MLModelProperties();
+        properties.setTrainingLimits(Map.of("search-threads", threads, "search-min-folds-before-pruning", 1,
+                "search-batch-candidates", batchSize));
+        properties.setPerformanceThresholds(Map.of("search-prune-margin", pruneMargin));
+        ModelTrainingEngine trainingEngine = new ModelTrainingEngine(properties, Mockito.mock(ModelFileManager.class),
+                Mockito.mock(ModelTypeClassifier.class), Mockito.mock(ClassValueManager.class),
+                Mockito.mock(ClassifierCacheManager.class));
+        return new HyperparameterSearchEngine(properties, trainingEngine);
+    }
+
+    /**
+     * Creates records labelled by the quadrant of their two features, which a tree of depth 1 cannot separate.
+     *
+     * @param size the number of records
+     * @return the training records
+     */
+    private static List<Map<String, Object>> createQuadrantData(int size) {
+        Random random = new Random(7);
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            double x = random.nextDouble();
+            double y = random.nextDouble();
+            Map<String, Object> record = new HashMap<>();
+            record.put("label", "q" + ((x > 0.5 ? 2 : 0) + (y > 0.5 ? 1 : 0)));
+            record.put("features", new double[]{x, y});
+            data.add(record);
+        }
+        return data;
+    }
+
+}
@@ -1,7 +1,12 @@
 package com.kapil.verbametrics.ml.engines;
 
 import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
 import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.managers.PredictionCacheManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -9,12 +14,12 @@ import weka.classifiers.Classifier;
 import weka.core.Instance;
 import weka.core.Instances;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,7 +37,8 @@ class ModelPredictionEngineTest {
         String modelId = "m1";
         when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(new StubClassifier()));
         when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
-        ModelPredictionEngine engine = new ModelPredictionEngine(fileManager, classValueManager);
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, new MLModelProperties()), classValueManager);
         Map<String, Object> input = Map.of("text", "hello", "features", List.of(0.2, 0.3));
         Map<String, Object> result = engine.predict(modelId, input);
         assertEquals("positive", String.valueOf(result.get("prediction")));
@@ -40,6 +46,144 @@ class ModelPredictionEngineTest {
         assertTrue(confidence >= 0.0 && confidence <= 1.0);
     }
 
+    @Test
+    @DisplayName("predictBatch: matches single predictions and isolates failing inputs")
+    void predictBatch_matchesPredict() {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        ClassValueManager classValueManager = Mockito.mock(ClassValueManager.class);
+        String modelId = "m1";
+        when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(new StubClassifier()));
+        when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, new MLModelProperties()), classValueManager);
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            inputs.add(Map.of("text", "sample " + i, "features", List.of(i * 0.01, 0.3)));
+        }
+        inputs.add(Map.of("text", "no features"));
+        BatchPredictionResult result = engine.predictBatch(modelId, inputs);
+        assertEquals(inputs.size(), result.size());
+        assertEquals(1500, result.getSuccessCount());
+        for (int i = 0; i < 1500; i += 97) {
+            Map<String, Object> single = engine.predict(modelId, inputs.get(i));
+            assertEquals(single.get("prediction"), result.prediction(i));
+            assertEquals((double) single.get("confidence"), result.confidences()[i]);
+            assertArrayEquals((double[]) single.get("probabilities"), result.probabilities()[i]);
+        }
+        assertFalse(result.isSuccess(1500));
+        assertEquals("Prediction failed: Input data must contain 'features' field", result.errors()[1500]);
+        Mockito.verify(fileManager, Mockito.times(1)).loadModelFromFile(modelId);
+    }
+
+    @Test
+    @DisplayName("predictBatch: throws when the model is not found")
+    void predictBatch_missingModel_throws() {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        when(fileManager.loadModelFromFile("missing")).thenReturn(Optional.empty());
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, new MLModelProperties()), Mockito.mock(ClassValueManager.class));
+        assertThrows(IllegalArgumentException.class, () -> engine.predictBatch("missing", List.of()));
+    }
+
+    @Test
+    @DisplayName("predictResult: typed results match the map-based API")
+    void predictResult_matchesPredict() {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        ClassValueManager classValueManager = Mockito.mock(ClassValueManager.class);
+        String modelId = "m1";
+        when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(new StubClassifier()));
+        when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, new MLModelProperties()), classValueManager);
+        Map<String, Object> input = Map.of("text", "hello", "features", List.of(0.2, 0.3));
+        Map<String, Object> map = engine.predict(modelId, input);
+        PredictionResult fromInput = engine.predictResult(modelId, input);
+        PredictionResult fromFeatures = engine.predictResult(modelId, new double[]{0.2, 0.3});
+        for (PredictionResult result : List.of(fromInput, fromFeatures)) {
+            assertEquals(map.get("prediction"), result.label());
+            assertEquals(map.get("predictionIndex"), result.labelIndex());
+            assertEquals((double) map.get("confidence"), result.confidence());
+            assertEquals((double) map.get("probability"), result.probability());
+            assertArrayEquals((double[]) map.get("probabilities"), result.distribution());
+            assertEquals("StubClassifier", result.modelType());
+        }
+        assertThrows(IllegalArgumentException.class, () -> engine.predictResult(modelId, Map.of("text", "no features")));
+    }
+
+    @Test
+    @DisplayName("predictBatch: fills the caller-supplied array with typed results")
+    void predictBatch_fillsResults() {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        ClassValueManager classValueManager = Mockito.mock(ClassValueManager.class);
+        String modelId = "m1";
+        when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(new StubClassifier()));
+        when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, new MLModelProperties()), classValueManager);
+        double[][] features = {{0.1, 0.3}, {0.5, 0.3, 0.2}};
+        PredictionResult[] results = new PredictionResult[2];
+        engine.predictBatch(modelId, features, results);
+        for (int i = 0; i < features.length; i++) {
+            PredictionResult single = engine.predictResult(modelId, features[i]);
+            assertEquals(single.label(), results[i].label());
+            assertArrayEquals(single.distribution(), results[i].distribution());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.predictBatch(modelId, features, new PredictionResult[1]));
+    }
+
+    @Test
+    @DisplayName("predict: serves repeated inputs from the prediction cache until the model is evicted")
+    void predict_repeatedInput_servedFromCache() throws Exception {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        ClassValueManager classValueManager = Mockito.mock(ClassValueManager.class);
+        StubClassifier classifier = Mockito.spy(new StubClassifier());
+        String modelId = "m1";
+        when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(classifier));
+        when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
+        MLModelProperties properties = new MLModelProperties();
+        properties.setCacheSettings(Map.of("max-predictions", 10));
+        PredictionCacheManager predictionCache = new PredictionCacheManager(properties);
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, properties), classValueManager, predictionCache);
+        Map<String, Object> first = engine.predict(modelId, Map.of("text", "hello", "features", List.of(0.2, 0.3)));
+        Map<String, Object> second = engine.predict(modelId, Map.of("text", "hi", "features", List.of(0.2, 0.3)));
+        assertEquals(first.get("prediction"), second.get("prediction"));
+        assertArrayEquals((double[]) first.get("probabilities"), (double[]) second.get("probabilities"));
+        Mockito.verify(classifier, Mockito.times(1)).distributionForInstance(Mockito.any());
+        assertEquals(1L, predictionCache.getCacheStatistics().get("hits"));
+        engine.evictModel(modelId);
+        engine.predict(modelId, Map.of("text", "hello", "features", List.of(0.2, 0.3)));
+        Mockito.verify(classifier, Mockito.times(2)).distributionForInstance(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("predictBatch: serves and fills the prediction cache in both batch forms")
+    void predictBatch_usesPredictionCache() throws Exception {
+        ModelFileManager fileManager = Mockito.mock(ModelFileManager.class);
+        ClassValueManager classValueManager = Mockito.mock(ClassValueManager.class);
+        StubClassifier classifier = Mockito.spy(new StubClassifier());
+        String modelId = "m1";
+        when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(classifier));
+        when(classValueManager.getClassValues(modelId)).thenReturn(List.of("negative", "positive"));
+        MLModelProperties properties = new MLModelProperties();
+        properties.setCacheSettings(Map.of("max-predictions", 10));
+        PredictionCacheManager predictionCache = new PredictionCacheManager(properties);
+        ModelPredictionEngine engine = new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, properties), classValueManager, predictionCache);
+        PredictionResult single = engine.predictResult(modelId, new double[]{0.2, 0.3});
+        BatchPredictionResult batch = engine.predictBatch(modelId, List.of(
+                Map.of("text", "a", "features", List.of(0.2, 0.3)),
+                Map.of("text", "b", "features", List.of(0.4, 0.1))));
+        Mockito.verify(classifier, Mockito.times(2)).distributionForInstance(Mockito.any());
+        assertEquals(single.label(), batch.result(0).label());
+        PredictionResult[] results = new PredictionResult[2];
+        engine.predictBatch(modelId, new double[][]{{0.2, 0.3}, {0.4, 0.1}}, results);
+        Mockito.verify(classifier, Mockito.times(2)).distributionForInstance(Mockito.any());
+        assertSame(single, results[0]);
+        assertEquals(3L, predictionCache.getCacheStatistics().get("hits"));
+    }
+
     private static class StubClassifier implements Classifier {
 
         @Override
@@ -4,19 +4,32 @@ import com.kapil.verbametrics.ml.classifiers.ModelTypeClassifier;
 import com.kapil.verbametrics.ml.config.ClassValueManager;
 import com.kapil.verbametrics.ml.config.MLModelProperties;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
 import com.kapil.verbametrics.ml.managers.ModelFileManager;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import weka.classifiers.meta.Bagging;
+import weka.classifiers.trees.RandomForest;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Instances;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 /**
  * Test class for ModelTrainingEngine.
@@ -38,11 +51,14 @@ class ModelTrainingEngineTest {
     @Mock
     private ClassValueManager classValueManager;
 
+    @Mock
+    private ClassifierCacheManager classifierCache;
+
     private ModelTrainingEngine engine;
 
     @BeforeEach
     void setUp() {
-        engine = new ModelTrainingEngine(properties, fileManager, modelTypeClassifier, classValueManager);
+        engine = new ModelTrainingEngine(properties, fileManager, modelTypeClassifier, classValueManager, classifierCache);
     }
 
     @Test
@@ -92,6 +108,219 @@ class ModelTrainingEngineTest {
         assertTrue(result.errorMessage().contains("Unsupported model type"));
     }
 
+    @Test
+    @DisplayName("trainModel: reports all performance metrics from one cross-validation")
+    void trainModel_validData_reportsCrossValidationMetrics() {
+        List<Map<String, Object>> trainingData = createValidTrainingData(20);
+        ModelTrainingResult result = engine.trainModel("test-model-4", VerbaMetricsConstants.K_SENTIMENT,
+                trainingData, new HashMap<>());
+        assertTrue(result.success());
+        Map<String, Object> metrics = result.additionalMetrics();
+        for (String metric : List.of("accuracy", "precision", "recall", "f1Score", "auc")) {
+            double value = (Double) metrics.get(metric);
+            assertTrue(value >= 0.0 && value <= 1.0, metric + " out of range: " + value);
+        }
+        @SuppressWarnings("unchecked")
+        List<List<Integer>> confusionMatrix = (List<List<Integer>>) metrics.get("confusionMatrix");
+        assertEquals(2, confusionMatrix.size());
+        int total = confusionMatrix.stream().flatMap(List::stream).mapToInt(Integer::intValue).sum();
+        assertEquals(20, total);
+        assertEquals(result.accuracy(), metrics.get("accuracy"));
+    }
+
+    @Test
+    @DisplayName("trainModel: reports training stages to the monitor in order, re-entering evaluation per fold")
+    void trainModel_monitor_receivesStages() {
+        List<TrainingJobState> stages = new ArrayList<>();
+        ModelTrainingResult result = engine.trainModel("test-model-5", VerbaMetricsConstants.K_SENTIMENT,
+                createValidTrainingData(20), new HashMap<>(), stages::add);
+        assertTrue(result.success());
+        assertEquals(List.of(TrainingJobState.RUNNING, TrainingJobState.EVALUATING, TrainingJobState.PERSISTING),
+                stages.stream().distinct().toList());
+        assertEquals(6, Collections.frequency(stages, TrainingJobState.EVALUATING));
+    }
+
+    @Test
+    @DisplayName("trainModel: checks the monitor between ensemble members and stops when it cancels")
+    void trainModel_ensembleMonitorCancels_stopsBetweenMembers() {
+        for (String algorithm : List.of("bagging", "random_forest")) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, algorithm);
+            parameters.put(VerbaMetricsConstants.PARAM_ENSEMBLE_SIZE, 5);
+            List<TrainingJobState> stages = new ArrayList<>();
+            ModelTrainingResult result = engine.trainModel("test-model-12", VerbaMetricsConstants.K_SENTIMENT,
+                    createValidTrainingData(20), parameters, stages::add);
+            assertTrue(result.success(), result.errorMessage());
+            // Once on entry, once per member and once more after the ensemble is built
+            assertEquals(7, Collections.frequency(stages, TrainingJobState.RUNNING));
+            AtomicInteger members = new AtomicInteger();
+            TrainingMonitor monitor = state -> {
+                if (state == TrainingJobState.RUNNING && members.incrementAndGet() > 3) {
+                    throw new CancellationException("cancelled");
+                }
+            };
+            assertThrows(CancellationException.class, () -> engine.trainModel("test-model-13",
+                    VerbaMetricsConstants.K_SENTIMENT, createValidTrainingData(20), parameters, monitor));
+            verify(fileManager, never()).saveModelToFile(eq("test-model-13"), any());
+        }
+    }
+
+    @Test
+    @DisplayName("trainModel: stops without saving the model when the monitor cancels")
+    void trainModel_monitorCancels_throwsWithoutSaving() {
+        TrainingMonitor monitor = state -> {
+            if (state == TrainingJobState.EVALUATING) {
+                throw new CancellationException("cancelled");
+            }
+        };
+        assertThrows(CancellationException.class, () -> engine.trainModel("test-model-6",
+                VerbaMetricsConstants.K_SENTIMENT, createValidTrainingData(20), new HashMap<>(), monitor));
+        verify(fileManager, never()).saveModelToFile(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("trainModel: trains a random forest when selected")
+    void trainModel_randomForest_savesForest() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, "random_forest");
+        parameters.put(VerbaMetricsConstants.PARAM_ENSEMBLE_SIZE, 5);
+        parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT, 3);
+        parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_LEAF, 5);
+        ModelTrainingResult result = engine.trainModel("test-model-7", VerbaMetricsConstants.K_SENTIMENT,
+                createValidTrainingData(20), parameters);
+        assertTrue(result.success());
+        ArgumentCaptor<Object> model = ArgumentCaptor.forClass(Object.class);
+        verify(fileManager).saveModelToFile(eq("test-model-7"), model.capture());
+        RandomForest forest = assertInstanceOf(RandomForest.class, model.getValue());
+        assertEquals(5, forest.getNumIterations());
+        assertEquals(0, forest.getMaxDepth());
+        RandomTree member = assertInstanceOf(RandomTree.class, forest.getClassifier());
+        assertEquals(3.0, member.getMinNum());
+        assertEquals(0.05, member.getMinVarianceProp());
+    }
+
+    @Test
+    @DisplayName("trainModel: limits the depth of forest members only when a max depth is given")
+    void trainModel_randomForest_explicitMaxDepth() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, VerbaMetricsConstants.ALGORITHM_RANDOM_FOREST);
+        parameters.put(VerbaMetricsConstants.PARAM_ENSEMBLE_SIZE, 3);
+        parameters.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, 4);
+        ModelTrainingResult result = engine.trainModel("test-model-7b", VerbaMetricsConstants.K_SENTIMENT,
+                createValidTrainingData(20), parameters);
+        assertTrue(result.success());
+        ArgumentCaptor<Object> model = ArgumentCaptor.forClass(Object.class);
+        verify(fileManager).saveModelToFile(eq("test-model-7b"), model.capture());
+        assertEquals(4, assertInstanceOf(RandomForest.class, model.getValue()).getMaxDepth());
+    }
+
+    @Test
+    @DisplayName("trainModel: trains bagged trees when selected")
+    void trainModel_bagging_savesBagging() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, VerbaMetricsConstants.ALGORITHM_BAGGING);
+        parameters.put(VerbaMetricsConstants.PARAM_ENSEMBLE_SIZE, 5);
+        ModelTrainingResult result = engine.trainModel("test-model-8", VerbaMetricsConstants.K_CLASSIFICATION,
+                createValidTrainingData(20), parameters);
+        assertTrue(result.success());
+        ArgumentCaptor<Object> model = ArgumentCaptor.forClass(Object.class);
+        verify(fileManager).saveModelToFile(eq("test-model-8"), model.capture());
+        assertInstanceOf(Bagging.class, model.getValue());
+    }
+
+    @Test
+    @DisplayName("trainModel: returns failed result for unsupported algorithm")
+    void trainModel_unsupportedAlgorithm_returnsFailed() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, "SVM");
+        ModelTrainingResult result = engine.trainModel("test-model-9", VerbaMetricsConstants.K_SENTIMENT,
+                createValidTrainingData(20), parameters);
+        assertFalse(result.success());
+        assertTrue(result.errorMessage().contains("Unsupported algorithm"));
+        verify(fileManager, never()).saveModelToFile(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("trainModel: applies parameters as given when not adaptive")
+    void trainModel_notAdaptive_appliesParametersExactly() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_ADAPTIVE, false);
+        parameters.put(VerbaMetricsConstants.PARAM_MAX_DEPTH, 12);
+        parameters.put(VerbaMetricsConstants.PARAM_MIN_SAMPLES_SPLIT, 1);
+        parameters.put(VerbaMetricsConstants.PARAM_K_VALUE, 2);
+        ModelTrainingResult result = engine.trainModel("test-model-10", VerbaMetricsConstants.K_SENTIMENT,
+                createValidTrainingData(20), parameters);
+        assertTrue(result.success());
+        ArgumentCaptor<Object> model = ArgumentCaptor.forClass(Object.class);
+        verify(fileManager).saveModelToFile(eq("test-model-10"), model.capture());
+        RandomTree tree = assertInstanceOf(RandomTree.class, model.getValue());
+        assertEquals(12, tree.getMaxDepth());
+        assertEquals(1.0, tree.getMinNum());
+        assertEquals(2, tree.getKValue());
+    }
+
+    @Test
+    @DisplayName("getSupportedAlgorithms: returns built-in algorithms when none are configured")
+    void getSupportedAlgorithms_notConfigured_returnsBuiltIns() {
+        when(properties.getSupportedAlgorithms()).thenReturn(Map.of());
+        assertEquals(List.of("RANDOM_TREE", "RANDOM_FOREST", "BAGGING"), engine.getSupportedAlgorithms());
+    }
+
+    @Test
+    @DisplayName("trainModelFromDataset: trains on a numeric dataset and stores its class values")
+    void trainModelFromDataset_validDataset_storesClassValues() {
+        Instances dataset = engine.prepareNumericDataset(createValidTrainingData(20));
+        ModelTrainingResult result = engine.trainModelFromDataset("test-model-11", VerbaMetricsConstants.K_SENTIMENT,
+                dataset, new HashMap<>(), TrainingMonitor.NONE);
+        assertTrue(result.success());
+        assertEquals(20, result.trainingDataSize());
+        verify(fileManager).saveModelToFile(eq("test-model-11"), any(RandomTree.class));
+        verify(classValueManager).storeClassValues("test-model-11", List.of("positive", "negative"));
+    }
+
+    @Test
+    @DisplayName("validateDatasetError: returns empty for a valid sentiment dataset")
+    void validateDatasetError_validDataset_returnsEmpty() {
+        String modelType = VerbaMetricsConstants.K_SENTIMENT;
+        Instances dataset = engine.prepareNumericDataset(createValidTrainingData(15));
+        when(modelTypeClassifier.isValidModelType(modelType)).thenReturn(true);
+        assertTrue(engine.validateDatasetError(dataset, modelType).isEmpty());
+    }
+
+    @Test
+    @DisplayName("validateDatasetError: returns error for a dataset with a single class")
+    void validateDatasetError_singleClass_returnsError() {
+        String modelType = VerbaMetricsConstants.K_SENTIMENT;
+        List<Map<String, Object>> trainingData = createValidTrainingData(15);
+        trainingData.forEach(record -> record.put("label", "positive"));
+        when(modelTypeClassifier.isValidModelType(modelType)).thenReturn(true);
+        Optional<String> error = engine.validateDatasetError(engine.prepareNumericDataset(trainingData), modelType);
+        assertTrue(error.isPresent());
+        assertTrue(error.get().contains("At least 2 distinct label classes"));
+    }
+
+    @Test
+    @DisplayName("validateDatasetError: returns error for a dataset with numeric labels")
+    void validateDatasetError_numericLabels_returnsError() {
+        String modelType = VerbaMetricsConstants.K_CLASSIFICATION;
+        List<Map<String, Object>> trainingData = createValidTrainingData(15);
+        trainingData.forEach(record -> record.put("label", 1));
+        when(modelTypeClassifier.isValidModelType(modelType)).thenReturn(true);
+        Optional<String> error = engine.validateDatasetError(engine.prepareNumericDataset(trainingData), modelType);
+        assertTrue(error.isPresent());
+        assertTrue(error.get().contains("invalid label value"));
+    }
+
+    @Test
+    @DisplayName("validateDatasetError: returns error for an insufficient dataset")
+    void validateDatasetError_insufficientData_returnsError() {
+        Instances dataset = engine.prepareNumericDataset(createValidTrainingData(5));
+        when(properties.getTrainingLimits()).thenReturn(Map.of("min-data-size", 10));
+        Optional<String> error = engine.validateDatasetError(dataset, VerbaMetricsConstants.K_SENTIMENT);
+        assertTrue(error.isPresent());
+        assertTrue(error.get().contains("at least"));
+    }
+
     @Test
     @DisplayName("validateTrainingDataError: returns empty for valid sentiment data")
     void validateTrainingDataError_validSentimentData_returnsEmpty() {
@@ -0,0 +1,226 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.managers.PredictionCacheManager;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import weka.classifiers.bayes.NaiveBayesUpdateable;
+import weka.classifiers.trees.HoeffdingTree;
+import weka.classifiers.trees.RandomTree;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for OnlineTrainingEngine.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+class OnlineTrainingEngineTest {
+
+    @Mock
+    private ModelFileManager fileManager;
+
+    @Mock
+    private ClassifierCacheManager classifierCache;
+
+    @Mock
+    private PredictionCacheManager predictionCache;
+
+    private ClassValueManager classValueManager;
+    private OnlineTrainingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MLModelProperties properties = new MLModelProperties();
+        properties.setTrainingLimits(Map.of("online-checkpoint-interval", 5));
+        classValueManager = new ClassValueManager();
+        engine = new OnlineTrainingEngine(properties, fileManager, classValueManager, classifierCache, predictionCache);
+    }
+
+    @Test
+    @DisplayName("trainModel: learns a stream with prequential metrics and periodic checkpoints")
+    void trainModel_stream_learnsAndCheckpoints() {
+        ModelTrainingResult result = engine.trainModel("online-1", VerbaMetricsConstants.K_SENTIMENT,
+                createRecords(12), createParameters(null));
+        assertTrue(result.success(), result.errorMessage());
+        assertEquals(12, result.trainingDataSize());
+        assertTrue(result.accuracy() >= 0.0 && result.accuracy() <= 1.0);
+        assertEquals("prequential", result.additionalMetrics().get("evaluation"));
+        assertEquals(3, result.additionalMetrics().get("checkpoints"));
+        ArgumentCaptor<Object> model = ArgumentCaptor.forClass(Object.class);
+        verify(fileManager, times(3)).saveModelToFile(eq("online-1"), model.capture());
+        assertInstanceOf(NaiveBayesUpdateable.class, model.getValue());
+        verify(classifierCache, times(3)).evictModel("online-1");
+        assertEquals(List.of("negative", "positive"), classValueManager.getClassValues("online-1"));
+    }
+
+    @Test
+    @DisplayName("trainModel: derives the features of records that have a text but no features")
+    void trainModel_textRecords_featurized() {
+        TextFeaturizationEngine featurizationEngine = mock(TextFeaturizationEngine.class);
+        FeatureLayout layout = new FeatureLayout(false, false, 2, 1);
+        when(featurizationEngine.getLayout(anyMap())).thenReturn(layout);
+        when(featurizationEngine.extractFeatures(anyString(), eq(layout)))
+                .thenAnswer(invocation -> invocation.getArgument(0, String.class).contains("good")
+                        ? new double[]{0.9, 0.1} : new double[]{0.1, 0.9});
+        OnlineTrainingEngine featurizing = new OnlineTrainingEngine(new MLModelProperties(), fileManager,
+                classValueManager, classifierCache, predictionCache, featurizationEngine);
+        String records = """
+                {"label":"positive","text":"A good day"}
+                {"label":"negative","features":[0.1,0.9],"text":"ignored"}
+                {"label":"negative","text":"A bad day"}
+                """;
+        ModelTrainingResult result = featurizing.trainModel("online-10", VerbaMetricsConstants.K_SENTIMENT,
+                toStream(records), createParameters(null));
+        assertTrue(result.success(), result.errorMessage());
+        assertEquals(3, result.trainingDataSize());
+        verify(featurizationEngine, times(2)).extractFeatures(anyString(), eq(layout));
+    }
+
+    @Test
+    @DisplayName("trainModel: trains a Hoeffding tree when selected")
+    void trainModel_hoeffdingTree_savesTree() {
+        ModelTrainingResult result = engine.trainModel("online-2", VerbaMetricsConstants.K_CLASSIFICATION,
+                createRecords(4), createParameters(VerbaMetricsConstants.ALGORITHM_HOEFFDING_TREE));
+        assertTrue(result.success(), result.errorMessage());
+        verify(fileManager).saveModelToFile(eq("online-2"), any(HoeffdingTree.class));
+    }
+
+    @Test
+    @DisplayName("trainModel: skips records without a known label or with invalid features")
+    void trainModel_invalidRecords_skipped() {
+        String records = """
+                {"label":"positive","features":[0.9,0.1]}
+                {"label":"unknown","features":[0.5,0.5]}
+                {"label":"negative","features":[0.1]}
+                {"label":"negative","features":["a","b"]}
+                {"label":"negative","features":[0.1,0.9]}
+                """;
+        ModelTrainingResult result = engine.trainModel("online-3", VerbaMetricsConstants.K_SENTIMENT,
+                toStream(records), createParameters(null));
+        assertTrue(result.success(), result.errorMessage());
+        assertEquals(2, result.trainingDataSize());
+        assertEquals(3, result.additionalMetrics().get("skippedRecords"));
+    }
+
+    @Test
+    @DisplayName("trainModel: fails without class values or valid records")
+    void trainModel_missingClassValuesOrRecords_fails() {
+        ModelTrainingResult noClasses = engine.trainModel("online-4", VerbaMetricsConstants.K_SENTIMENT,
+                createRecords(4), Map.of());
+        assertFalse(noClasses.success());
+        assertTrue(noClasses.errorMessage().contains("class-values"));
+        ModelTrainingResult noRecords = engine.trainModel("online-5", VerbaMetricsConstants.K_SENTIMENT,
+                toStream(""), createParameters(null));
+        assertFalse(noRecords.success());
+        assertTrue(noRecords.errorMessage().contains("No valid training records"));
+        ModelTrainingResult badAlgorithm = engine.trainModel("online-6", VerbaMetricsConstants.K_SENTIMENT,
+                createRecords(4), createParameters(VerbaMetricsConstants.ALGORITHM_RANDOM_TREE));
+        assertFalse(badAlgorithm.success());
+        assertTrue(badAlgorithm.errorMessage().contains("Unsupported online algorithm"));
+        verify(fileManager, never()).saveModelToFile(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("updateModel: continues training the saved model with the class values of its metadata")
+    void updateModel_updateableModel_continuesTraining() {
+        ArgumentCaptor<Object> trained = ArgumentCaptor.forClass(Object.class);
+        engine.trainModel("online-7", VerbaMetricsConstants.K_SENTIMENT, createRecords(4), createParameters(null));
+        verify(fileManager).saveModelToFile(eq("online-7"), trained.capture());
+        when(fileManager.loadModelFromFile("online-7")).thenReturn(Optional.of(trained.getValue()));
+        OnlineTrainingEngine restarted = new OnlineTrainingEngine(new MLModelProperties(), fileManager,
+                new ClassValueManager(), classifierCache, predictionCache);
+        ModelTrainingResult result = restarted.updateModel("online-7", VerbaMetricsConstants.K_SENTIMENT,
+                createRecords(6), Map.of(VerbaMetricsConstants.PARAM_CLASS_VALUES, "[negative, positive]"));
+        assertTrue(result.success(), result.errorMessage());
+        assertEquals(6, result.trainingDataSize());
+        verify(fileManager, times(2)).saveModelToFile(eq("online-7"), same(trained.getValue()));
+    }
+
+    @Test
+    @DisplayName("updateModel: rejects records with a different number of features than the model")
+    void updateModel_featureCountMismatch_fails() {
+        ArgumentCaptor<Object> trained = ArgumentCaptor.forClass(Object.class);
+        for (String algorithm : List.of(VerbaMetricsConstants.ALGORITHM_NAIVE_BAYES_UPDATEABLE,
+                VerbaMetricsConstants.ALGORITHM_HOEFFDING_TREE)) {
+            clearInvocations(fileManager);
+            engine.trainModel("online-8", VerbaMetricsConstants.K_SENTIMENT, createRecords(4),
+                    createParameters(algorithm));
+            verify(fileManager).saveModelToFile(eq("online-8"), trained.capture());
+            when(fileManager.loadModelFromFile("online-8")).thenReturn(Optional.of(trained.getValue()));
+            ModelTrainingResult result = engine.updateModel("online-8", VerbaMetricsConstants.K_SENTIMENT,
+                    toStream("{\"label\":\"positive\",\"features\":[0.9,0.2,0.5]}\n"), createParameters(null));
+            assertFalse(result.success());
+            assertEquals("Record features do not match the model: expected 2 features, but got 3",
+                    result.errorMessage());
+            verify(fileManager, times(1)).saveModelToFile(eq("online-8"), any());
+        }
+    }
+
+    @Test
+    @DisplayName("updateModel: fails for models that cannot be updated incrementally")
+    void updateModel_batchModel_fails() {
+        when(fileManager.loadModelFromFile("batch-1")).thenReturn(Optional.of(new RandomTree()));
+        ModelTrainingResult result = engine.updateModel("batch-1", VerbaMetricsConstants.K_SENTIMENT,
+                createRecords(4), createParameters(null));
+        assertFalse(result.success());
+        assertTrue(result.errorMessage().contains("does not support incremental updates"));
+        verify(fileManager, never()).saveModelToFile(anyString(), any());
+    }
+
+    private static Map<String, Object> createParameters(String algorithm) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(VerbaMetricsConstants.PARAM_CLASS_VALUES, List.of("negative", "positive"));
+        if (algorithm != null) {
+            parameters.put(VerbaMetricsConstants.PARAM_ALGORITHM, algorithm);
+        }
+        return parameters;
+    }
+
+    /**
+     * Creates a JSONL stream of alternating positive and negative records.
+     *
+     * @param size the number of records
+     * @return the record stream
+     */
+    private static InputStream createRecords(int size) {
+        StringBuilder records = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            boolean positive = i % 2 == 0;
+            records.append("{\"text\":\"record ").append(i).append("\",\"label\":\"")
+                    .append(positive ? "positive" : "negative").append("\",\"features\":[")
+                    .append(positive ? 0.9 : 0.1).append(',').append(positive ? 0.2 : 0.8).append("]}\n");
+        }
+        return toStream(records.toString());
+    }
+
+    private static InputStream toStream(String records) {
+        return new ByteArrayInputStream(records.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for PredictionBatchScheduler.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PredictionBatchSchedulerTest {
+
+    @Mock
+    private ModelPredictionEngine predictionEngine;
+
+    private MLModelProperties properties;
+    private PredictionBatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MLModelProperties();
+        when(predictionEngine.predictBatch(eq("model-1"), anyList())).thenAnswer(PredictionBatchSchedulerTest::predictBatch);
+        scheduler = new PredictionBatchScheduler(predictionEngine, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    @DisplayName("submit should predict inputs together once the batch is full")
+    void submit_fullBatch_predictsTogether() throws Exception {
+        properties.setBatchSettings(Map.of("max-batch-size", 4, "max-wait-micros", 10_000_000));
+        List<CompletableFuture<Map<String, Object>>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(scheduler.submit("model-1", Map.of("features", List.of(0.1 * i, 0.2, 0.3))));
+        }
+        for (CompletableFuture<Map<String, Object>> result : results) {
+            Map<String, Object> prediction = result.get(5, TimeUnit.SECONDS);
+            assertEquals("positive", prediction.get("prediction"));
+            assertEquals(1, prediction.get("predictionIndex"));
+            assertEquals(0.8, (double) prediction.get("probability"), 0.001);
+            assertEquals("RandomTree", prediction.get("modelType"));
+        }
+        verify(predictionEngine, times(1)).predictBatch(eq("model-1"), argThat(inputs -> inputs.size() == 4));
+        Map<String, Object> stats = scheduler.getBatchStatistics("model-1");
+        assertEquals(1L, stats.get("batches"));
+        assertEquals(4L, stats.get("predictions"));
+        assertEquals(4.0, (double) stats.get("averageBatchSize"), 0.001);
+        assertEquals(Map.of("3-4", 1L), stats.get("batchSizeHistogram"));
+    }
+
+    @Test
+    @DisplayName("submit should predict a partial batch after the maximum wait")
+    void submit_partialBatch_predictsAfterWait() throws Exception {
+        properties.setBatchSettings(Map.of("max-batch-size", 64, "max-wait-micros", 1_000));
+        Map<String, Object> prediction = scheduler.submit("model-1", Map.of("features", List.of(0.1, 0.2, 0.3)))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("positive", prediction.get("prediction"));
+        Map<String, Object> stats = scheduler.getBatchStatistics("model-1");
+        assertEquals(1L, stats.get("batches"));
+        assertEquals(Map.of("1", 1L), stats.get("batchSizeHistogram"));
+        assertEquals(64, stats.get("maxBatchSize"));
+        assertEquals(1_000, stats.get("maxWaitMicros"));
+    }
+
+    @Test
+    @DisplayName("submit should report a failed input as an error result")
+    void submit_failedInput_returnsError() throws Exception {
+        properties.setBatchSettings(Map.of("max-batch-size", 2, "max-wait-micros", 10_000_000));
+        CompletableFuture<Map<String, Object>> valid = scheduler.submit("model-1", Map.of("features", List.of(0.1)));
+        CompletableFuture<Map<String, Object>> invalid = scheduler.submit("model-1", Map.of("text", "no features"));
+        assertEquals("positive", valid.get(5, TimeUnit.SECONDS).get("prediction"));
+        Map<String, Object> error = invalid.get(5, TimeUnit.SECONDS);
+        assertEquals(true, error.get("error"));
+        assertEquals("Prediction failed: Input data must contain 'features' field", error.get("message"));
+        assertEquals("model-1", error.get("modelId"));
+    }
+
+    @Test
+    @DisplayName("submit should report a failed batch as an error result for every input")
+    void submit_failedBatch_returnsErrors() throws Exception {
+        properties.setBatchSettings(Map.of("max-batch-size", 2, "max-wait-micros", 10_000_000));
+        when(predictionEngine.predictBatch(eq("missing"), anyList()))
+                .thenThrow(new IllegalArgumentException("Model not found: missing"));
+        CompletableFuture<Map<String, Object>> first = scheduler.submit("missing", Map.of("features", List.of(0.1)));
+        CompletableFuture<Map<String, Object>> second = scheduler.submit("missing", Map.of("features", List.of(0.2)));
+        for (CompletableFuture<Map<String, Object>> result : List.of(first, second)) {
+            Map<String, Object> error = result.get(5, TimeUnit.SECONDS);
+            assertEquals(true, error.get("error"));
+            assertEquals("Prediction failed: Model not found: missing", error.get("message"));
+            assertEquals("missing", error.get("modelId"));
+        }
+    }
+
+    @Test
+    @DisplayName("close should fail waiting inputs and later submissions")
+    void close_failsPendingAndLaterSubmissions() {
+        properties.setBatchSettings(Map.of("max-batch-size", 10, "max-wait-micros", 10_000_000));
+        CompletableFuture<Map<String, Object>> pending = scheduler.submit("model-1", Map.of("features", List.of(0.1)));
+        scheduler.close();
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        CompletableFuture<Map<String, Object>> later = scheduler.submit("model-1", Map.of("features", List.of(0.1)));
+        exception = assertThrows(ExecutionException.class, () -> later.get(5, TimeUnit.SECONDS));
+        assertEquals("Prediction scheduler is closed", exception.getCause().getMessage());
+        verify(predictionEngine, never()).predictBatch(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("evictModel should stop the dispatcher of a model and fail its waiting inputs")
+    void evictModel_stopsDispatcher() throws Exception {
+        properties.setBatchSettings(Map.of("max-batch-size", 10, "max-wait-micros", 10_000_000));
+        CompletableFuture<Map<String, Object>> pending = scheduler.submit("model-1", Map.of("features", List.of(0.1)));
+        scheduler.evictModel("model-1");
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertEquals("Model was evicted: model-1", exception.getCause().getMessage());
+        assertEquals(0L, scheduler.getBatchStatistics("model-1").get("batches"));
+        assertDoesNotThrow(() -> scheduler.evictModel("model-1"));
+        properties.setBatchSettings(Map.of("max-batch-size", 1));
+        Map<String, Object> prediction = scheduler.submit("model-1", Map.of("features", List.of(0.1)))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("positive", prediction.get("prediction"));
+        assertEquals(0.6, (double) prediction.get("confidence"), 0.001);
+        assertArrayEquals(new double[]{0.2, 0.8}, (double[]) prediction.get("probabilities"));
+        assertEquals(1L, scheduler.getBatchStatistics("model-1").get("batches"));
+    }
+
+    @Test
+    @DisplayName("getBatchStatistics should be empty for a model without predictions")
+    void getBatchStatistics_unknownModel() {
+        Map<String, Object> stats = scheduler.getBatchStatistics("unknown");
+        assertEquals(0L, stats.get("batches"));
+        assertEquals(0L, stats.get("predictions"));
+        assertEquals(0.0, (double) stats.get("averageBatchSize"), 0.001);
+        assertEquals(Map.of(), stats.get("batchSizeHistogram"));
+    }
+
+    @Test
+    @DisplayName("submit should reject null arguments")
+    void submit_nullArguments() {
+        assertThrows(NullPointerException.class, () -> scheduler.submit(null, Map.of()));
+        assertThrows(NullPointerException.class, () -> scheduler.submit("model-1", null));
+    }
+
+    /**
+     * Predicts "positive" for inputs with features and fails the others, as the prediction engine does.
+     */
+    private static BatchPredictionResult predictBatch(InvocationOnMock invocation) {
+        List<Map<String, Object>> inputs = invocation.getArgument(1);
+        int size = inputs.size();
+        int[] predictionIndices = new int[size];
+        double[] confidences = new double[size];
+        double[][] probabilities = new double[size][];
+        String[] errors = new String[size];
+        for (int i = 0; i < size; i++) {
+            if (inputs.get(i).containsKey("features")) {
+                predictionIndices[i] = 1;
+                confidences[i] = 0.6;
+                probabilities[i] = new double[]{0.2, 0.8};
+            } else {
+                predictionIndices[i] = -1;
+                errors[i] = "Prediction failed: Input data must contain 'features' field";
+            }
+        }
+        return new BatchPredictionResult("model-1", "RandomTree", List.of("negative", "positive"),
+                predictionIndices, confidences, probabilities, errors, 1L);
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.kapil.verbametrics.ml.engines;
+
+import com.kapil.verbametrics.config.ReadabilityAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentRuleProperties;
+import com.kapil.verbametrics.domain.ReadabilityMetrics;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
+import com.kapil.verbametrics.services.ReadabilityAnalysisService;
+import com.kapil.verbametrics.services.WordListService;
+import com.kapil.verbametrics.services.calculators.FleschKincaidCalculator;
+import com.kapil.verbametrics.services.calculators.FleschReadingEaseCalculator;
+import com.kapil.verbametrics.services.calculators.SentenceLengthCalculator;
+import com.kapil.verbametrics.services.calculators.SyllablePerWordCalculator;
+import com.kapil.verbametrics.services.classifiers.ComplexityClassifier;
+import com.kapil.verbametrics.services.classifiers.ReadingLevelClassifier;
+import com.kapil.verbametrics.services.engines.BatchAnalysisEngine;
+import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.engines.SyllableCountingEngine;
+import com.kapil.verbametrics.services.impl.ReadabilityAnalysisServiceImpl;
+import com.kapil.verbametrics.services.impl.SyllableCounterServiceImpl;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for TextFeaturizationEngine.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TextFeaturizationEngineTest {
+
+    private static final ReadabilityMetrics READABILITY = new ReadabilityMetrics(5.0, 60.0, "Middle School",
+            "Standard", 10.0, 1.5);
+
+    @Mock
+    private WordListService wordListService;
+
+    @Mock
+    private SentimentAnalysisProperties analysisProperties;
+
+    @Mock
+    private SentimentAnalysisProperties.TextProcessing textProcessing;
+
+    @Mock
+    private SentimentRuleProperties ruleProperties;
+
+    @Mock
+    private ReadabilityAnalysisService readabilityService;
+
+    private MLModelProperties properties;
+    private TextFeaturizationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(analysisProperties.getTextProcessing()).thenReturn(textProcessing);
+        when(textProcessing.getWordSeparator()).thenReturn("\\W+");
+        when(textProcessing.isNormalizeHyphens()).thenReturn(true);
+        when(ruleProperties.getNormalizationAlpha()).thenReturn(15.0);
+        when(ruleProperties.getNegations()).thenReturn(List.of("not"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        when(ruleProperties.getPhrases()).thenReturn(Map.of());
+        when(wordListService.getPositiveWords()).thenReturn(Set.of("good", "great"));
+        when(wordListService.getNegativeWords()).thenReturn(Set.of("bad"));
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenReturn(READABILITY);
+        properties = new MLModelProperties();
+        properties.setFeatureSettings(Map.of("hash-buckets", 16));
+        SentimentCalculationEngine sentimentEngine = new SentimentCalculationEngine(wordListService,
+                analysisProperties, ruleProperties);
+        engine = new TextFeaturizationEngine(properties, sentimentEngine, readabilityService,
+                new BatchAnalysisEngine());
+    }
+
+    @Test
+    @DisplayName("featurize adds features only to records with text and no features, in input order")
+    void featurize_addsFeaturesToTextRecords() {
+        Map<String, Object> precomputed = Map.of("text", "good", "label", "positive", "features", new double[]{1.0});
+        Map<String, Object> noText = Map.of("label", "negative");
+        List<Map<String, Object>> records = List.of(
+                Map.of("text", "A good day.", "label", "positive"), precomputed, noText,
+                Map.of("text", "A bad day.", "label", "negative"));
+        List<Map<String, Object>> featurized = engine.featurize(records);
+        assertEquals(4, featurized.size());
+        assertEquals(3 + 5 + 16, engine.getFeatureCount());
+        assertEquals(engine.getFeatureCount(), ((double[]) featurized.get(0).get("features")).length);
+        assertEquals("positive", featurized.get(0).get("label"));
+        assertSame(precomputed, featurized.get(1));
+        assertSame(noText, featurized.get(2));
+        assertEquals("negative", featurized.get(3).get("label"));
+        assertFalse(records.getFirst().containsKey("features"));
+    }
+
+    @Test
+    @DisplayName("extractFeatures starts with lexicon scores and readability metrics")
+    void extractFeatures_lexiconAndReadability() {
+        double[] positive = engine.extractFeatures("A good and great day.");
+        double[] negative = engine.extractFeatures("A bad day.");
+        assertTrue(positive[0] > 0.0);
+        assertTrue(positive[1] > 0.0);
+        assertEquals(0.0, positive[2]);
+        assertTrue(negative[0] < 0.0);
+        assertTrue(negative[2] > 0.0);
+        double words = TokenizedDocument.of("A good and great day.").wordCount();
+        assertArrayEquals(new double[]{5.0, 60.0, 10.0, 1.5, words}, Arrays.copyOfRange(positive, 3, 8));
+    }
+
+    @Test
+    @DisplayName("extractFeatures counts lower-cased word n-grams into hash buckets")
+    void extractFeatures_hashedNgramCounts() {
+        properties.setFeatureSettings(Map.of("lexicon", 0, "readability", 0, "hash-buckets", 8,
+                "max-ngram-length", 2));
+        double[] features = engine.extractFeatures("to be, or not to be");
+        assertEquals(8, features.length);
+        // 6 words and 5 word pairs
+        assertEquals(11.0, Arrays.stream(features).sum());
+        assertArrayEquals(features, engine.extractFeatures("To be or NOT to be!"));
+        verifyNoInteractions(readabilityService);
+    }
+
+    @Test
+    @DisplayName("extractFeatures caches feature vectors by text")
+    void extractFeatures_cachesRepeatedTexts() {
+        double[] first = engine.extractFeatures("A good day.");
+        first[0] = 99.0;
+        double[] second = engine.extractFeatures("A good day.");
+        assertNotEquals(99.0, second[0]);
+        engine.extractFeatures("Another day.");
+        verify(readabilityService, times(2)).analyzeReadability(any(TokenizedDocument.class));
+        Map<String, Object> stats = engine.getCacheStatistics();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(2, stats.get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("extractFeatures recomputes cached vectors after the word lists change")
+    void extractFeatures_wordListRevision_recomputes() {
+        double[] before = engine.extractFeatures("A good day.");
+        when(wordListService.getPositiveWords()).thenReturn(Set.of("great"));
+        assertArrayEquals(before, engine.extractFeatures("A good day."));
+        when(wordListService.getRevision()).thenReturn(1L);
+        double[] after = engine.extractFeatures("A good day.");
+        assertTrue(before[0] > 0.0);
+        assertEquals(0.0, after[0]);
+        assertEquals(2L, engine.getCacheStatistics().get("misses"));
+    }
+
+    @Test
+    @DisplayName("getLayout prefers the layout saved in model parameters over the current settings")
+    void getLayout_savedLayout_overridesSettings() {
+        FeatureLayout trained = engine.getLayout();
+        Map<String, Object> parameters = Map.of(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT, trained.toString());
+        properties.setFeatureSettings(Map.of("lexicon", 0, "hash-buckets", 4));
+        assertEquals(trained, engine.getLayout(parameters));
+        assertEquals(new FeatureLayout(false, true, 4, 2), engine.getLayout(Map.of()));
+        Map<String, Object> featurized = engine.featurize(Map.of("text", "A good day."), engine.getLayout(parameters));
+        assertEquals(3 + 5 + 16, ((double[]) featurized.get("features")).length);
+        properties.setFeatureSettings(Map.of("enabled", 0));
+        assertNull(engine.getLayout(Map.of()));
+        assertEquals(trained, engine.getLayout(parameters));
+    }
+
+    @Test
+    @DisplayName("FeatureLayout parses the layouts it saves and rejects malformed ones")
+    void featureLayout_parse() {
+        FeatureLayout layout = new FeatureLayout(true, false, 32, 3);
+        assertEquals(layout, FeatureLayout.parse(layout.toString()));
+        assertThrows(IllegalArgumentException.class, () -> FeatureLayout.parse("lexicon=1,readability=1"));
+        assertThrows(IllegalArgumentException.class, () -> FeatureLayout.parse("lexicon=yes"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FeatureLayout.parse("lexicon=1,readability=1,hash-buckets=-1,max-ngram-length=2"));
+    }
+
+    @Test
+    @DisplayName("featurize returns the records as they are when featurization is disabled")
+    void featurize_disabled_returnsRecords() {
+        properties.setFeatureSettings(Map.of("enabled", 0));
+        List<Map<String, Object>> records = List.of(Map.of("text", "A good day.", "label", "positive"));
+        assertSame(records, engine.featurize(records));
+        assertFalse(engine.isEnabled());
+    }
+
+    @Test
+    @DisplayName("featurize reports the record whose text cannot be featurized")
+    void featurize_failingText_throws() {
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class)))
+                .thenReturn(READABILITY)
+                .thenThrow(new RuntimeException("Failed to analyze readability"));
+        properties.setFeatureSettings(Map.of("cache-size", 0));
+        List<Map<String, Object>> records = List.of(Map.of("text", "Same text."), Map.of("text", "Same text."));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> engine.featurize(records));
+        assertTrue(exception.getMessage().startsWith("Record #"));
+        assertTrue(exception.getMessage().contains("could not be featurized: Failed to analyze readability"));
+    }
+
+    @Test
+    @DisplayName("featurize scores the readability of one- and two-word texts")
+    void featurize_shortTexts_readability() {
+        ReadabilityAnalysisProperties readabilityProperties = new ReadabilityAnalysisProperties();
+        ReadabilityAnalysisService readability = new ReadabilityAnalysisServiceImpl(new SentenceLengthCalculator(),
+                new SyllablePerWordCalculator(new SyllableCounterServiceImpl(
+                        new SyllableCountingEngine(readabilityProperties))),
+                new FleschKincaidCalculator(readabilityProperties),
+                new FleschReadingEaseCalculator(readabilityProperties),
+                new ReadingLevelClassifier(readabilityProperties), new ComplexityClassifier(readabilityProperties));
+        engine = new TextFeaturizationEngine(properties, new SentimentCalculationEngine(wordListService,
+                analysisProperties, ruleProperties), readability, new BatchAnalysisEngine());
+        List<Map<String, Object>> featurized = engine.featurize(List.of(
+                Map.of("text", "Great!"), Map.of("text", "Love it"), Map.of("text", "Bad.")));
+        for (Map<String, Object> record : featurized) {
+            double[] features = (double[]) record.get("features");
+            assertTrue(features[3] >= 0.0);
+            assertTrue(features[4] >= 0.0 && features[4] <= 100.0);
+        }
+        double[] oneWord = (double[]) featurized.getFirst().get("features");
+        assertArrayEquals(new double[]{0.0, 100.0, 1.0}, Arrays.copyOfRange(oneWord, 3, 6));
+        assertEquals(2.0, ((double[]) featurized.get(1).get("features"))[7]);
+    }
+
+    @Test
+    @DisplayName("extractFeatures does not reuse vectors cached with other feature settings")
+    void extractFeatures_settingsChange_recomputes() {
+        double[] withBuckets = engine.extractFeatures("A good day.");
+        properties.setFeatureSettings(Map.of("hash-buckets", 4));
+        double[] fewerBuckets = engine.extractFeatures("A good day.");
+        assertEquals(3 + 5 + 16, withBuckets.length);
+        assertEquals(3 + 5 + 4, fewerBuckets.length);
+        assertEquals(2L, engine.getCacheStatistics().get("misses"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.kapil.verbametrics.ml.managers;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import weka.classifiers.Classifier;
+import weka.classifiers.trees.RandomTree;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ClassifierCacheManager.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ClassifierCacheManagerTest {
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    @Mock
+    private ModelFileManager fileManager;
+
+    @Mock
+    private MLModelProperties properties;
+
+    private ClassifierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        when(properties.getCacheSettings()).thenReturn(Map.of("max-classifier-megabytes", 2));
+        cacheManager = new ClassifierCacheManager(fileManager, properties);
+    }
+
+    @Test
+    @DisplayName("getClassifier should load a model file once and then serve it from cache")
+    void getClassifier_warmModel_doesNotLoadAgain() {
+        RandomTree tree = new RandomTree();
+        when(fileManager.loadModelFromFile("model-1")).thenReturn(Optional.of(tree));
+        assertSame(tree, cacheManager.getClassifier("model-1").orElseThrow());
+        assertSame(tree, cacheManager.getClassifier("model-1").orElseThrow());
+        verify(fileManager, times(1)).loadModelFromFile("model-1");
+        verify(fileManager, times(1)).getModelFileSize("model-1");
+        assertEquals(1L, cacheManager.getCacheStatistics().get("hits"));
+    }
+
+    @Test
+    @DisplayName("getClassifier should share a single load between concurrent requests")
+    void getClassifier_concurrentRequests_loadOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RandomTree tree = new RandomTree();
+        when(fileManager.loadModelFromFile("model-1")).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(tree);
+        });
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<Optional<Classifier>> first = executor.submit(() -> cacheManager.getClassifier("model-1"));
+            loading.await();
+            List<Future<Optional<Classifier>>> others = List.of(
+                    executor.submit(() -> cacheManager.getClassifier("model-1")),
+                    executor.submit(() -> cacheManager.getClassifier("model-1")));
+            Thread.sleep(50);
+            release.countDown();
+            assertSame(tree, first.get().orElseThrow());
+            for (Future<Optional<Classifier>> other : others) {
+                assertSame(tree, other.get().orElseThrow());
+            }
+        }
+        verify(fileManager, times(1)).loadModelFromFile("model-1");
+    }
+
+    @Test
+    @DisplayName("getClassifier should evict the least recently used classifiers beyond the byte budget")
+    void getClassifier_overBudget_evictsLeastRecentlyUsed() {
+        for (String modelId : List.of("a", "b", "c")) {
+            when(fileManager.getModelFileSize(modelId)).thenReturn(MEGABYTE);
+            when(fileManager.loadModelFromFile(modelId)).thenReturn(Optional.of(new RandomTree()));
+        }
+        cacheManager.getClassifier("a");
+        cacheManager.getClassifier("b");
+        cacheManager.getClassifier("a");
+        cacheManager.getClassifier("c");
+        assertTrue(cacheManager.isModelCached("a"));
+        assertFalse(cacheManager.isModelCached("b"));
+        assertTrue(cacheManager.isModelCached("c"));
+        assertEquals(2 * MEGABYTE, cacheManager.getCacheStatistics().get("cachedBytes"));
+    }
+
+    @Test
+    @DisplayName("getClassifier should not cache a classifier larger than the budget")
+    void getClassifier_largerThanBudget_notCached() {
+        when(fileManager.getModelFileSize("big")).thenReturn(3 * MEGABYTE);
+        when(fileManager.loadModelFromFile("big")).thenReturn(Optional.of(new RandomTree()));
+        assertTrue(cacheManager.getClassifier("big").isPresent());
+        assertFalse(cacheManager.isModelCached("big"));
+    }
+
+    @Test
+    @DisplayName("evictModel should make the next request load the model file again")
+    void evictModel_reloadsModel() {
+        when(fileManager.loadModelFromFile("model-1")).thenReturn(Optional.of(new RandomTree()));
+        cacheManager.getClassifier("model-1");
+        cacheManager.evictModel("model-1");
+        assertFalse(cacheManager.isModelCached("model-1"));
+        cacheManager.getClassifier("model-1");
+        verify(fileManager, times(2)).loadModelFromFile("model-1");
+    }
+
+    @Test
+    @DisplayName("getClassifier should return empty for missing models and reject other objects")
+    void getClassifier_missingOrInvalidModel() {
+        when(fileManager.loadModelFromFile("missing")).thenReturn(Optional.empty());
+        when(fileManager.loadModelFromFile("text")).thenReturn(Optional.of("not a classifier"));
+        assertTrue(cacheManager.getClassifier("missing").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> cacheManager.getClassifier("text"));
+        assertFalse(cacheManager.isModelCached("text"));
+        assertThrows(NullPointerException.class, () -> cacheManager.getClassifier(null));
+    }
+
+}
@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -51,6 +52,18 @@ class ModelFileManagerTest {
         assertEquals("hello", ((DummyObj) loaded.get()).value);
     }
 
+    @Test
+    @DisplayName("saveModelToFile keeps the previous model when the save fails")
+    void saveFailure_keepsPreviousModel(@TempDir Path tempDir) throws Exception {
+        ModelFileManager manager = new ModelFileManager(propsWithBase(tempDir));
+        manager.saveModelToFile("test-model", new DummyObj("hello"));
+        assertThrows(RuntimeException.class, () -> manager.saveModelToFile("test-model", new Object()));
+        assertEquals("hello", ((DummyObj) manager.loadModelFromFile("test-model").orElseThrow()).value);
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(tempDir.resolve("test-model.ser")), files.toList());
+        }
+    }
+
     @Test
     @DisplayName("loadModelFromFile returns empty when file missing")
     void loadMissing(@TempDir Path tempDir) {
@@ -68,6 +81,15 @@ class ModelFileManagerTest {
         assertTrue(path.startsWith(tempDir.toString()));
     }
 
+    @Test
+    @DisplayName("getModelFileSize returns the file size, or 0 when file missing")
+    void getModelFileSize(@TempDir Path tempDir) throws Exception {
+        ModelFileManager manager = new ModelFileManager(propsWithBase(tempDir));
+        manager.saveModelToFile("sized", new DummyObj("hello"));
+        assertEquals(Files.size(tempDir.resolve("sized.ser")), manager.getModelFileSize("sized"));
+        assertEquals(0, manager.getModelFileSize("nope"));
+    }
+
     /**
      * A simple serializable dummy object for testing.
      */
@@ -0,0 +1,116 @@
+package com.kapil.verbametrics.ml.managers;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PredictionCacheManager.
+ *
+ * @author Kapil Garg
+ */
+class PredictionCacheManagerTest {
+
+    private MLModelProperties properties;
+    private PredictionCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MLModelProperties();
+        properties.setCacheSettings(Map.of("max-predictions", 2, "prediction-ttl-seconds", 60));
+        cacheManager = new PredictionCacheManager(properties);
+    }
+
+    @Test
+    @DisplayName("getPrediction should return a cached result for an equal feature vector")
+    void getPrediction_equalFeatures_hits() {
+        cacheManager.cachePrediction("model-1", new double[]{0.1, 0.2}, result("positive"));
+        Optional<PredictionResult> cached = cacheManager.getPrediction("model-1", new double[]{0.1, 0.2});
+        assertEquals("positive", cached.orElseThrow().label());
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{0.1, 0.3}).isEmpty());
+        assertTrue(cacheManager.getPrediction("model-2", new double[]{0.1, 0.2}).isEmpty());
+        Map<String, Object> stats = cacheManager.getCacheStatistics();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(1.0 / 3, (double) stats.get("hitRate"), 0.001);
+    }
+
+    @Test
+    @DisplayName("cached results should not be affected by later changes to the cached feature vector")
+    void cachedKeys_areCopied() {
+        double[] features = {0.1, 0.2};
+        PredictionResult result = result("positive");
+        cacheManager.cachePrediction("model-1", features, result);
+        features[0] = 0.9;
+        assertSame(result, cacheManager.getPrediction("model-1", new double[]{0.1, 0.2}).orElseThrow());
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{0.9, 0.2}).isEmpty());
+    }
+
+    @Test
+    @DisplayName("cachePrediction should evict the least recently used predictions beyond the maximum size")
+    void cachePrediction_evictsLeastRecentlyUsed() {
+        for (int i = 0; i < 10; i++) {
+            cacheManager.cachePrediction("model-1", new double[]{i}, result("a"));
+        }
+        Map<String, Object> stats = cacheManager.getCacheStatistics();
+        int size = (int) stats.get("cacheSize");
+        assertTrue(size >= 1 && size <= 2);
+        assertEquals(10L - size, stats.get("evictions"));
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{9}).isPresent());
+    }
+
+    @Test
+    @DisplayName("getPrediction should not return expired results")
+    void getPrediction_expired_misses() {
+        properties.setCacheSettings(Map.of("max-predictions", 2, "prediction-ttl-seconds", 0));
+        cacheManager.cachePrediction("model-1", new double[]{1}, result("a"));
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{1}).isEmpty());
+        assertEquals(0, cacheManager.getCacheStatistics().get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("evictModel should only evict the predictions of that model")
+    void evictModel_evictsOnlyThatModel() {
+        cacheManager.cachePrediction("model-1", new double[]{1}, result("a"));
+        cacheManager.cachePrediction("model-2", new double[]{1}, result("b"));
+        cacheManager.evictModel("model-1");
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{1}).isEmpty());
+        assertTrue(cacheManager.getPrediction("model-2", new double[]{1}).isPresent());
+        cacheManager.evictAllPredictions();
+        assertEquals(0, cacheManager.getCacheStatistics().get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("cachePrediction should skip results scored by a model evicted since")
+    void cachePrediction_evictedGeneration_skipped() {
+        long generation = cacheManager.getGeneration("model-1");
+        cacheManager.evictModel("model-1");
+        cacheManager.cachePrediction("model-1", new double[]{1}, result("a"), generation);
+        assertTrue(cacheManager.getPrediction("model-1", new double[]{1}).isEmpty());
+        cacheManager.cachePrediction("model-1", new double[]{1}, result("b"), cacheManager.getGeneration("model-1"));
+        assertEquals("b", cacheManager.getPrediction("model-1", new double[]{1}).orElseThrow().label());
+        assertEquals(0L, cacheManager.getGeneration("model-2"));
+    }
+
+    @Test
+    @DisplayName("the cache should be disabled by default")
+    void disabledByDefault() {
+        PredictionCacheManager disabled = new PredictionCacheManager(new MLModelProperties());
+        disabled.cachePrediction("model-1", new double[]{1}, result("a"));
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.getPrediction("model-1", new double[]{1}).isEmpty());
+        assertEquals(0L, disabled.getCacheStatistics().get("misses"));
+    }
+
+    private static PredictionResult result(String prediction) {
+        return new PredictionResult("model-1", "RandomTree", 1, prediction, 0.6, 0.8, new double[]{0.2, 0.8});
+    }
+
+}
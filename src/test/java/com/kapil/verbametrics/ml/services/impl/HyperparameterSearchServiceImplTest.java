@@ -0,0 +1,101 @@
+package com.kapil.verbametrics.ml.services.impl;
+
+import com.kapil.verbametrics.ml.domain.HyperparameterCandidate;
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.engines.HyperparameterSearchEngine;
+import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for HyperparameterSearchServiceImpl.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+class HyperparameterSearchServiceImplTest {
+
+    private static final List<Map<String, Object>> TRAINING_DATA = List.of(
+            Map.of("text", "Great!", "label", "positive", "features", new double[]{1.0, 2.0}));
+
+    @Mock
+    private ModelTrainingEngine trainingEngine;
+
+    @Mock
+    private HyperparameterSearchEngine searchEngine;
+
+    @Mock
+    private MLModelService modelService;
+
+    private HyperparameterSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new HyperparameterSearchServiceImpl(trainingEngine, searchEngine, modelService);
+    }
+
+    @Test
+    @DisplayName("searchAndTrain trains and saves only the winning parameters")
+    void searchAndTrain_trainsWinnerOnly() throws Exception {
+        Map<String, Object> parameters = Map.of("name", "tuned");
+        Map<String, List<Integer>> space = Map.of("max-depth", List.of(3, 5));
+        Map<String, Object> best = Map.of("name", "tuned", "max-depth", 5, "adaptive", false);
+        HyperparameterSearchResult searchResult = new HyperparameterSearchResult(SearchStrategy.GRID, best, 0.9,
+                List.of(new HyperparameterCandidate(Map.of("max-depth", 3), 0.5, 1, true, null),
+                        new HyperparameterCandidate(Map.of("max-depth", 5), 0.9, 5, false, null)), 10L, null);
+        ModelTrainingResult trainingResult = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.9, 0.9, 0.9,
+                0.9, 10L, 1, 0, Map.of(), null, LocalDateTime.now());
+        when(trainingEngine.validateTrainingDataError(TRAINING_DATA, "SENTIMENT")).thenReturn(Optional.empty());
+        when(searchEngine.search(TRAINING_DATA, parameters, space, SearchStrategy.GRID)).thenReturn(searchResult);
+        when(modelService.trainModel("SENTIMENT", TRAINING_DATA, best, TrainingMonitor.NONE))
+                .thenReturn(trainingResult);
+        HyperparameterSearchResult result = service.searchAndTrain("SENTIMENT", TRAINING_DATA, parameters,
+                SearchStrategy.GRID, space);
+        assertSame(trainingResult, result.trainingResult());
+        assertEquals(0.9, result.bestScore());
+        verify(modelService, times(1)).trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class));
+    }
+
+    @Test
+    @DisplayName("searchAndTrain uses the default search space when none is given")
+    void searchAndTrain_nullSpace_usesDefault() throws Exception {
+        Map<String, List<Integer>> defaults = Map.of("k-value", List.of(0, 1));
+        when(trainingEngine.validateTrainingDataError(TRAINING_DATA, "SENTIMENT")).thenReturn(Optional.empty());
+        when(searchEngine.getDefaultSearchSpace()).thenReturn(defaults);
+        when(searchEngine.search(TRAINING_DATA, Map.of(), defaults, SearchStrategy.RANDOM))
+                .thenThrow(new IllegalStateException("No hyperparameter candidate could be evaluated"));
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> service.searchAndTrain("SENTIMENT", TRAINING_DATA, Map.of(), SearchStrategy.RANDOM, null));
+        assertTrue(exception.getMessage().contains("Hyperparameter search failed"));
+        verifyNoInteractions(modelService);
+    }
+
+    @Test
+    @DisplayName("searchAndTrain rejects invalid training data without searching")
+    void searchAndTrain_invalidData_throws() {
+        when(trainingEngine.validateTrainingDataError(TRAINING_DATA, "SENTIMENT"))
+                .thenReturn(Optional.of("Need at least 3 records, got 1"));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.searchAndTrain("SENTIMENT", TRAINING_DATA, Map.of(), SearchStrategy.GRID, null));
+        assertEquals("Need at least 3 records, got 1", exception.getMessage());
+        verifyNoInteractions(searchEngine, modelService);
+    }
+
+}
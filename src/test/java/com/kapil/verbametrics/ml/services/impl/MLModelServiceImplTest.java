@@ -1,28 +1,45 @@
 package com.kapil.verbametrics.ml.services.impl;
 
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
 import com.kapil.verbametrics.ml.domain.MLModel;
 import com.kapil.verbametrics.ml.domain.ModelEvaluationResult;
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.PredictionResult;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 import com.kapil.verbametrics.ml.engines.ModelEvaluationEngine;
 import com.kapil.verbametrics.ml.engines.ModelPredictionEngine;
+import com.kapil.verbametrics.ml.engines.PredictionBatchScheduler;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine;
+import com.kapil.verbametrics.ml.engines.TextFeaturizationEngine.FeatureLayout;
 import com.kapil.verbametrics.ml.entities.MLModelEntity;
 import com.kapil.verbametrics.ml.mapper.MLModelMapper;
 import com.kapil.verbametrics.ml.repository.MLModelRepository;
 import com.kapil.verbametrics.ml.services.ModelTrainingService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -84,6 +101,33 @@ class MLModelServiceImplTest {
         verify(modelRepository).save(any(MLModelEntity.class));
     }
 
+    @Test
+    @DisplayName("trainModel with monitor saves nothing when training is cancelled")
+    void trainModel_withMonitorCancelled_propagatesWithoutSaving() {
+        List<Map<String, Object>> trainingData = List.of(Map.of("text", "Great!", "label", "POSITIVE"));
+        TrainingMonitor monitor = state -> {
+        };
+        when(trainingService.trainModel("SENTIMENT", trainingData, Map.of(), monitor))
+                .thenThrow(new CancellationException("cancelled"));
+        assertThrows(CancellationException.class,
+                () -> service.trainModel("SENTIMENT", trainingData, Map.of(), monitor));
+        verify(modelRepository, never()).save(any(MLModelEntity.class));
+    }
+
+    @Test
+    @DisplayName("trainModel with monitor enters the running stage before training")
+    void trainModel_withMonitor_entersRunningFirst() {
+        List<Map<String, Object>> trainingData = List.of(Map.of("text", "Great!", "label", "POSITIVE"));
+        List<TrainingJobState> stages = new ArrayList<>();
+        TrainingMonitor monitor = stages::add;
+        when(trainingService.trainModel("SENTIMENT", trainingData, Map.of(), monitor)).thenAnswer(invocation -> {
+            assertEquals(List.of(TrainingJobState.RUNNING), stages);
+            throw new CancellationException("cancelled");
+        });
+        assertThrows(CancellationException.class,
+                () -> service.trainModel("SENTIMENT", trainingData, Map.of(), monitor));
+    }
+
     @Test
     @DisplayName("trainModel throws exception when modelType is null")
     void trainModel_nullModelType_throwsException() {
@@ -118,6 +162,103 @@ class MLModelServiceImplTest {
         assertTrue(exception.getMessage().contains("Model training failed"));
     }
 
+    @Test
+    @DisplayName("trainModel saves the feature layout and predict featurizes inputs with the saved layout")
+    void featurizationEngine_featurizesTrainingAndPredictionInputs() {
+        TextFeaturizationEngine featurizationEngine = mock(TextFeaturizationEngine.class);
+        MLModelServiceImpl featurizingService = new MLModelServiceImpl(modelRepository, modelMapper, trainingService,
+                evaluationEngine, predictionEngine, featurizationEngine);
+        FeatureLayout trainingLayout = new FeatureLayout(true, true, 16, 2);
+        Map<String, Object> modelParameters = Map.of(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT,
+                trainingLayout.toString());
+        List<Map<String, Object>> trainingData = List.of(Map.of("text", "Great!", "label", "positive"));
+        List<Map<String, Object>> featurized = List.of(Map.of("text", "Great!", "label", "positive",
+                "features", new double[]{0.5}));
+        ModelTrainingResult trained = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.8, 0.8, 0.8, 0.8,
+                10L, 1, 0, Map.of(), null, LocalDateTime.now());
+        when(featurizationEngine.getLayout(Map.of())).thenReturn(trainingLayout);
+        when(featurizationEngine.getLayout(modelParameters)).thenReturn(trainingLayout);
+        when(featurizationEngine.featurize(trainingData, trainingLayout)).thenReturn(featurized);
+        when(trainingService.trainModel("SENTIMENT", featurized, modelParameters)).thenReturn(trained);
+        when(modelMapper.toEntity(any(MLModel.class))).thenReturn(new MLModelEntity());
+        assertSame(trained, featurizingService.trainModel("SENTIMENT", trainingData, Map.of()));
+        ArgumentCaptor<MLModel> saved = ArgumentCaptor.forClass(MLModel.class);
+        verify(modelMapper).toEntity(saved.capture());
+        assertEquals(trainingLayout.toString(),
+                saved.getValue().parameters().get(VerbaMetricsConstants.PARAM_FEATURE_LAYOUT));
+
+        Map<String, Object> input = Map.of("text", "Great!");
+        Map<String, Object> featurizedInput = Map.of("text", "Great!", "features", new double[]{0.5});
+        MLModelEntity entity = MLModelEntity.builder().modelId("model-1").isActive(true).status("TRAINED").build();
+        when(modelRepository.findById("model-1")).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(new MLModel("model-1", "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), modelParameters, Map.of(), "/models/model-1", true,
+                "system", 1, 0.85, "TRAINED"));
+        when(featurizationEngine.featurize(input, trainingLayout)).thenReturn(featurizedInput);
+        when(predictionEngine.predict("model-1", featurizedInput)).thenReturn(Map.of("prediction", "positive"));
+        assertEquals("positive", featurizingService.predict("model-1", input).get("prediction"));
+    }
+
+    @Test
+    @DisplayName("trainModelFromStream trains through the training service and saves the model")
+    void trainModelFromStream_savesModel() {
+        InputStream records = new ByteArrayInputStream(new byte[0]);
+        Map<String, Object> parameters = Map.of("name", "Streamed");
+        ModelTrainingResult trained = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.8, 0.8, 0.8, 0.8,
+                10L, 100, 0, Map.of(), null, LocalDateTime.now());
+        when(trainingService.trainModelFromStream("SENTIMENT", records, parameters)).thenReturn(trained);
+        when(modelMapper.toEntity(any(MLModel.class))).thenReturn(new MLModelEntity());
+        assertSame(trained, service.trainModelFromStream("SENTIMENT", records, parameters));
+        verify(modelRepository).save(any(MLModelEntity.class));
+    }
+
+    @Test
+    @DisplayName("trainModelOnline saves the model only when training succeeds")
+    void trainModelOnline_savesOnSuccess() {
+        InputStream records = new ByteArrayInputStream(new byte[0]);
+        Map<String, Object> parameters = Map.of("name", "Online", "class-values", List.of("negative", "positive"));
+        ModelTrainingResult failed = new ModelTrainingResult("model-1", "SENTIMENT", false, 0.0, 0.0, 0.0, 0.0,
+                0L, 0, 0, Map.of(), "No valid training records found (0 skipped)", LocalDateTime.now());
+        when(trainingService.trainModelOnline("SENTIMENT", records, parameters)).thenReturn(failed);
+        assertSame(failed, service.trainModelOnline("SENTIMENT", records, parameters));
+        verify(modelRepository, never()).save(any());
+        ModelTrainingResult trained = new ModelTrainingResult("model-2", "SENTIMENT", true, 0.8, 0.8, 0.8, 0.8,
+                10L, 100, 0, Map.of(), null, LocalDateTime.now());
+        when(trainingService.trainModelOnline("SENTIMENT", records, parameters)).thenReturn(trained);
+        when(modelMapper.toEntity(any(MLModel.class))).thenReturn(new MLModelEntity());
+        assertSame(trained, service.trainModelOnline("SENTIMENT", records, parameters));
+        verify(modelRepository).save(any(MLModelEntity.class));
+    }
+
+    @Test
+    @DisplayName("updateModel adds the new records to the model metadata")
+    void updateModel_updatesMetadata() {
+        InputStream records = new ByteArrayInputStream(new byte[0]);
+        MLModelEntity entity = new MLModelEntity();
+        MLModel model = new MLModel("model-1", "SENTIMENT", "Online", "d", "1.0", LocalDateTime.now(),
+                LocalDateTime.now(), Map.of("class-values", "[negative, positive]"), Map.of(), "p", true, "u", 100,
+                0.7, "TRAINED");
+        ModelTrainingResult result = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.9, 0.9, 0.9, 0.9,
+                10L, 50, 0, Map.of(), null, LocalDateTime.now());
+        when(modelRepository.findById("model-1")).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(model);
+        when(trainingService.updateModel("model-1", "SENTIMENT", records, model.parameters())).thenReturn(result);
+        when(modelMapper.updateEntity(eq(entity), any(MLModel.class))).thenReturn(entity);
+        assertSame(result, service.updateModel("model-1", records));
+        verify(modelMapper).updateEntity(eq(entity), argThat(updated -> updated.trainingDataSize() == 150
+                && updated.accuracy() == 0.9));
+        verify(modelRepository).save(entity);
+    }
+
+    @Test
+    @DisplayName("updateModel throws exception when model not found")
+    void updateModel_modelNotFound_throwsException() {
+        when(modelRepository.findById("missing")).thenReturn(Optional.empty());
+        assertThrows(RuntimeException.class,
+                () -> service.updateModel("missing", new ByteArrayInputStream(new byte[0])));
+        verifyNoInteractions(trainingService);
+    }
+
     @Test
     @DisplayName("evaluateModel successfully evaluates model")
     void evaluateModel_success() {
@@ -129,7 +270,11 @@ class MLModelServiceImplTest {
                 modelId, "CROSS_VALIDATION", true, 0.85, 0.80, 0.82, 0.81, 0.83,
                 50L, 1, Map.of(), Map.of(), null, LocalDateTime.now()
         );
-        when(modelRepository.existsById(modelId)).thenReturn(true);
+        MLModelEntity entity = MLModelEntity.builder().modelId(modelId).isActive(true).status("TRAINED").build();
+        when(modelRepository.findById(modelId)).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(new MLModel(modelId, "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), Map.of(), Map.of(), "/models/model-1", true, "system", 1,
+                0.85, "TRAINED"));
         when(evaluationEngine.evaluateModel(modelId, testData)).thenReturn(evaluationResult);
         ModelEvaluationResult result = service.evaluateModel(modelId, testData);
         assertNotNull(result);
@@ -162,6 +307,69 @@ class MLModelServiceImplTest {
         verify(predictionEngine).predict(modelId, input);
     }
 
+    @Test
+    @DisplayName("predictResult delegates to the typed prediction API of the engine")
+    void predictResult_success() {
+        String modelId = "model-1";
+        Map<String, Object> input = Map.of("text", "Great!", "features", new double[]{1.0, 2.0});
+        PredictionResult prediction = new PredictionResult(modelId, "RandomTree", 1, "POSITIVE", 0.8, 0.9,
+                new double[]{0.1, 0.9});
+        MLModel model = new MLModel(
+                modelId, "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), Map.of(), Map.of(),
+                "/models/model-1", true, "system", 1, 0.85, "TRAINED"
+        );
+        MLModelEntity entity = MLModelEntity.builder()
+                .modelId(modelId)
+                .isActive(true)
+                .status("TRAINED")
+                .build();
+        when(modelRepository.findById(modelId)).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(model);
+        when(predictionEngine.predictResult(modelId, input)).thenReturn(prediction);
+        assertSame(prediction, service.predictResult(modelId, input));
+        when(predictionEngine.predictResult(modelId, Map.of())).thenThrow(new IllegalArgumentException("bad input"));
+        assertThrows(RuntimeException.class, () -> service.predictResult(modelId, Map.of()));
+    }
+
+    @Test
+    @DisplayName("predictBatch delegates the whole batch to the prediction engine")
+    void predictBatch_success() {
+        String modelId = "model-1";
+        List<Map<String, Object>> inputs = List.of(
+                Map.of("text", "Great!", "features", new double[]{1.0, 2.0}),
+                Map.of("text", "Bad!", "features", new double[]{3.0, 4.0})
+        );
+        BatchPredictionResult batchResult = new BatchPredictionResult(modelId, "RandomTree",
+                List.of("NEGATIVE", "POSITIVE"), new int[]{1, 0}, new double[]{0.8, 0.6},
+                new double[][]{{0.1, 0.9}, {0.7, 0.3}}, new String[2], 5L);
+        MLModel model = new MLModel(
+                modelId, "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), Map.of(), Map.of(),
+                "/models/model-1", true, "system", 1, 0.85, "TRAINED"
+        );
+        MLModelEntity entity = MLModelEntity.builder()
+                .modelId(modelId)
+                .isActive(true)
+                .status("TRAINED")
+                .build();
+        when(modelRepository.findById(modelId)).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(model);
+        when(predictionEngine.predictBatch(modelId, inputs)).thenReturn(batchResult);
+        BatchPredictionResult result = service.predictBatch(modelId, inputs);
+        assertEquals("POSITIVE", result.prediction(0));
+        assertEquals("NEGATIVE", result.prediction(1));
+        verify(modelRepository, times(1)).findById(modelId);
+    }
+
+    @Test
+    @DisplayName("predictBatch throws exception when model is not found")
+    void predictBatch_modelNotFound_throwsException() {
+        when(modelRepository.findById("missing")).thenReturn(Optional.empty());
+        assertThrows(RuntimeException.class, () -> service.predictBatch("missing", List.of()));
+        verify(predictionEngine, never()).predictBatch(anyString(), any());
+    }
+
     @Test
     @DisplayName("getModel successfully retrieves model")
     void getModel_success() {
@@ -219,6 +427,30 @@ class MLModelServiceImplTest {
         boolean result = service.deleteModel(modelId);
         assertTrue(result);
         verify(modelRepository).deleteById(modelId);
+        verify(predictionEngine).evictModel(modelId);
+    }
+
+    @Test
+    @DisplayName("submitPrediction checks the model before submitting the input to the batch scheduler")
+    void submitPrediction_checksModelAndSubmits() {
+        PredictionBatchScheduler scheduler = mock(PredictionBatchScheduler.class);
+        MLModelServiceImpl batchingService = new MLModelServiceImpl(modelRepository, modelMapper, trainingService,
+                evaluationEngine, predictionEngine, null, scheduler);
+        Map<String, Object> input = Map.of("features", List.of(1.0, 2.0));
+        CompletableFuture<Map<String, Object>> pending = CompletableFuture.completedFuture(Map.of("prediction", "x"));
+        MLModelEntity entity = MLModelEntity.builder().modelId("model-1").isActive(true).status("TRAINED").build();
+        when(modelRepository.findById("model-1")).thenReturn(Optional.of(entity));
+        when(modelMapper.toDomain(entity)).thenReturn(new MLModel("model-1", "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), Map.of(), Map.of(), "/models/model-1", true, "system", 1,
+                0.85, "TRAINED"));
+        when(scheduler.submit("model-1", input)).thenReturn(pending);
+        assertSame(pending, batchingService.submitPrediction("model-1", input));
+        when(modelRepository.findById("missing")).thenReturn(Optional.empty());
+        assertThrows(RuntimeException.class, () -> batchingService.submitPrediction("missing", input));
+        verify(scheduler, never()).submit(eq("missing"), anyMap());
+        when(modelRepository.existsById("model-1")).thenReturn(true);
+        assertTrue(batchingService.deleteModel("model-1"));
+        verify(scheduler).evictModel("model-1");
     }
 
     @Test
@@ -229,6 +461,7 @@ class MLModelServiceImplTest {
         boolean result = service.deleteModel(modelId);
         assertFalse(result);
         verify(modelRepository, never()).deleteById(anyString());
+        verify(predictionEngine, never()).evictModel(anyString());
     }
 
     @Test
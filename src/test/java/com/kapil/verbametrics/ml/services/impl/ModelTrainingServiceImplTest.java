@@ -1,18 +1,25 @@
 package com.kapil.verbametrics.ml.services.impl;
 
 import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
 import com.kapil.verbametrics.ml.engines.ModelTrainingEngine;
+import com.kapil.verbametrics.ml.engines.OnlineTrainingEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import weka.core.Instances;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,11 +35,14 @@ class ModelTrainingServiceImplTest {
     @Mock
     private ModelTrainingEngine trainingEngine;
 
+    @Mock
+    private OnlineTrainingEngine onlineTrainingEngine;
+
     private ModelTrainingServiceImpl service;
 
     @BeforeEach
     void setUp() {
-        service = new ModelTrainingServiceImpl(trainingEngine);
+        service = new ModelTrainingServiceImpl(trainingEngine, onlineTrainingEngine);
     }
 
     @Test
@@ -97,6 +107,24 @@ class ModelTrainingServiceImplTest {
         assertTrue(exception.getMessage().contains("Model training failed"));
     }
 
+    @Test
+    @DisplayName("trainModel with monitor passes the monitor to the engine and propagates cancellation")
+    void trainModel_withMonitor_propagatesCancellation() {
+        String modelType = "SENTIMENT";
+        List<Map<String, Object>> trainingData = List.of(
+                Map.of("text", "Test", "label", "POSITIVE", "features", new double[]{1.0})
+        );
+        Map<String, Object> parameters = Map.of();
+        TrainingMonitor monitor = state -> {
+        };
+        when(trainingEngine.validateTrainingDataError(trainingData, modelType))
+                .thenReturn(Optional.empty());
+        when(trainingEngine.trainModel(anyString(), eq(modelType), eq(trainingData), eq(parameters), same(monitor)))
+                .thenThrow(new CancellationException("cancelled"));
+        assertThrows(CancellationException.class,
+                () -> service.trainModel(modelType, trainingData, parameters, monitor));
+    }
+
     @Test
     @DisplayName("validateTrainingData returns true when valid")
     void validateTrainingData_valid_returnsTrue() {
@@ -142,4 +170,67 @@ class ModelTrainingServiceImplTest {
         verify(trainingEngine).getDefaultParameters(modelType);
     }
 
+    @Test
+    @DisplayName("trainModelFromStream reads and validates the dataset before training on it")
+    void trainModelFromStream_trainsOnReadDataset() {
+        InputStream records = stream("""
+                {"label": "positive", "features": [0.9, 0.1]}
+                {"label": "negative", "features": [0.1, 0.9]}
+                """);
+        ModelTrainingResult expectedResult = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.8, 0.8, 0.8,
+                0.8, 10L, 2, 0, Map.of(), null, LocalDateTime.now());
+        when(trainingEngine.validateDatasetError(any(Instances.class), eq("SENTIMENT"))).thenReturn(Optional.empty());
+        when(trainingEngine.trainModelFromDataset(startsWith("model_"), eq("SENTIMENT"),
+                argThat(dataset -> dataset.numInstances() == 2 && dataset.numClasses() == 2), eq(Map.of()),
+                same(TrainingMonitor.NONE))).thenReturn(expectedResult);
+        assertSame(expectedResult, service.trainModelFromStream("SENTIMENT", records, Map.of()));
+    }
+
+    @Test
+    @DisplayName("trainModelFromStream throws the validation error without training")
+    void trainModelFromStream_invalidDataset_throws() {
+        InputStream records = stream("{\"label\": \"positive\", \"features\": [0.9, 0.1]}");
+        when(trainingEngine.validateDatasetError(any(Instances.class), eq("SENTIMENT")))
+                .thenReturn(Optional.of("Need at least 10 records, got 1"));
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> service.trainModelFromStream("SENTIMENT", records, Map.of()));
+        assertTrue(exception.getMessage().contains("Need at least 10 records"));
+        verify(trainingEngine, never()).trainModelFromDataset(anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("trainModelOnline delegates to the online engine with a new model ID")
+    void trainModelOnline_delegates() {
+        InputStream records = new ByteArrayInputStream(new byte[0]);
+        Map<String, Object> parameters = Map.of("class-values", List.of("negative", "positive"));
+        ModelTrainingResult expectedResult = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.8, 0.8, 0.8,
+                0.8, 10L, 100, 0, Map.of(), null, LocalDateTime.now());
+        when(onlineTrainingEngine.trainModel(startsWith("model_"), eq("SENTIMENT"), same(records), same(parameters)))
+                .thenReturn(expectedResult);
+        assertSame(expectedResult, service.trainModelOnline("SENTIMENT", records, parameters));
+    }
+
+    @Test
+    @DisplayName("updateModel delegates to the online engine")
+    void updateModel_delegates() {
+        InputStream records = new ByteArrayInputStream(new byte[0]);
+        ModelTrainingResult expectedResult = new ModelTrainingResult("model-1", "SENTIMENT", true, 0.8, 0.8, 0.8,
+                0.8, 10L, 100, 0, Map.of(), null, LocalDateTime.now());
+        when(onlineTrainingEngine.updateModel("model-1", "SENTIMENT", records, Map.of())).thenReturn(expectedResult);
+        assertSame(expectedResult, service.updateModel("model-1", "SENTIMENT", records, Map.of()));
+    }
+
+    @Test
+    @DisplayName("online training fails when the service has no online engine")
+    void trainModelOnline_withoutEngine_throws() {
+        ModelTrainingServiceImpl batchOnly = new ModelTrainingServiceImpl(trainingEngine);
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> batchOnly.trainModelOnline("SENTIMENT", new ByteArrayInputStream(new byte[0]), Map.of()));
+        assertTrue(exception.getMessage().contains("Online training is not available"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
 }
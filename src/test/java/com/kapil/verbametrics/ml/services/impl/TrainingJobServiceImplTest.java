@@ -0,0 +1,208 @@
+package com.kapil.verbametrics.ml.services.impl;
+
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.HyperparameterSearchResult;
+import com.kapil.verbametrics.ml.domain.ModelTrainingResult;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
+import com.kapil.verbametrics.ml.domain.TrainingMonitor;
+import com.kapil.verbametrics.ml.services.HyperparameterSearchService;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for TrainingJobServiceImpl.
+ *
+ * @author Kapil Garg
+ */
+class TrainingJobServiceImplTest {
+
+    private static final List<Map<String, Object>> TRAINING_DATA = List.of(Map.of("label", "positive"));
+
+    private MLModelService modelService;
+    private TrainingJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        modelService = mock(MLModelService.class);
+        MLModelProperties properties = new MLModelProperties();
+        properties.setTrainingLimits(Map.of("max-concurrent-jobs", 1, "max-retained-jobs", 2));
+        service = new TrainingJobServiceImpl(modelService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("submit: reports every state of a successful job")
+    void submit_success_reportsAllStates() throws Exception {
+        when(modelService.trainModel(eq("SENTIMENT"), eq(TRAINING_DATA), anyMap(), any(TrainingMonitor.class)))
+                .thenAnswer(invocation -> {
+                    TrainingMonitor monitor = invocation.getArgument(3);
+                    monitor.enterStage(TrainingJobState.RUNNING);
+                    monitor.enterStage(TrainingJobState.EVALUATING);
+                    monitor.enterStage(TrainingJobState.PERSISTING);
+                    return result(true);
+                });
+        Recorder recorder = new Recorder();
+        String jobId = service.submit("SENTIMENT", TRAINING_DATA, Map.of(), recorder);
+        TrainingJobStatus last = recorder.awaitFinished();
+        assertEquals(List.of(TrainingJobState.QUEUED, TrainingJobState.RUNNING, TrainingJobState.EVALUATING,
+                TrainingJobState.PERSISTING, TrainingJobState.DONE), recorder.states());
+        assertEquals(jobId, last.jobId());
+        assertEquals("model-1", last.result().modelId());
+        assertEquals(1.0, last.progress());
+        assertEquals(TrainingJobState.DONE, service.getJob(jobId).orElseThrow().state());
+    }
+
+    @Test
+    @DisplayName("submit: searches the hyperparameters of a job naming a search strategy")
+    void submit_searchStrategy_searchesAndTrains() throws Exception {
+        HyperparameterSearchService searchService = mock(HyperparameterSearchService.class);
+        MLModelProperties properties = new MLModelProperties();
+        try (TrainingJobServiceImpl searching = new TrainingJobServiceImpl(modelService, properties, searchService)) {
+            Map<String, Object> parameters = Map.of(VerbaMetricsConstants.PARAM_SEARCH_STRATEGY, "random");
+            when(searchService.searchAndTrain(eq("SENTIMENT"), eq(TRAINING_DATA), eq(parameters),
+                    eq(SearchStrategy.RANDOM), isNull(), any(TrainingMonitor.class)))
+                    .thenAnswer(invocation -> {
+                        TrainingMonitor monitor = invocation.getArgument(5);
+                        monitor.enterStage(TrainingJobState.RUNNING);
+                        monitor.enterStage(TrainingJobState.PERSISTING);
+                        return new HyperparameterSearchResult(SearchStrategy.RANDOM, Map.of(), 0.9, List.of(), 1L,
+                                result(true));
+                    });
+            Recorder recorder = new Recorder();
+            searching.submit("SENTIMENT", TRAINING_DATA, parameters, recorder);
+            TrainingJobStatus last = recorder.awaitFinished();
+            assertEquals(List.of(TrainingJobState.QUEUED, TrainingJobState.RUNNING, TrainingJobState.PERSISTING,
+                    TrainingJobState.DONE), recorder.states());
+            assertEquals("model-1", last.result().modelId());
+            verify(modelService, never()).trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class));
+        }
+    }
+
+    @Test
+    @DisplayName("submit: marks the job failed when training fails")
+    void submit_failure_marksFailed() throws Exception {
+        when(modelService.trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class)))
+                .thenThrow(new RuntimeException("Model training failed: bad data"));
+        Recorder recorder = new Recorder();
+        service.submit("SENTIMENT", TRAINING_DATA, Map.of(), recorder);
+        TrainingJobStatus last = recorder.awaitFinished();
+        assertEquals(TrainingJobState.FAILED, last.state());
+        assertEquals("Model training failed: bad data", last.errorMessage());
+    }
+
+    @Test
+    @DisplayName("submit: marks the job failed when training returns an unsuccessful result")
+    void submit_unsuccessfulResult_marksFailed() throws Exception {
+        when(modelService.trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class)))
+                .thenReturn(result(false));
+        Recorder recorder = new Recorder();
+        service.submit("SENTIMENT", TRAINING_DATA, Map.of(), recorder);
+        TrainingJobStatus last = recorder.awaitFinished();
+        assertEquals(TrainingJobState.FAILED, last.state());
+        assertEquals("Training failed", last.errorMessage());
+    }
+
+    @Test
+    @DisplayName("cancel: cancels a queued job without training it and stops a running job at its next stage")
+    void cancel_queuedAndRunningJobs() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(modelService.trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class)))
+                .thenAnswer(invocation -> {
+                    TrainingMonitor monitor = invocation.getArgument(3);
+                    monitor.enterStage(TrainingJobState.RUNNING);
+                    running.countDown();
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                    monitor.enterStage(TrainingJobState.EVALUATING);
+                    return result(true);
+                });
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        String runningJob = service.submit("SENTIMENT", TRAINING_DATA, Map.of(), first);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        String queuedJob = service.submit("SENTIMENT", TRAINING_DATA, Map.of(), second);
+        assertTrue(service.cancel(queuedJob));
+        assertEquals(TrainingJobState.CANCELLED, second.awaitFinished().state());
+        assertTrue(service.cancel(runningJob));
+        release.countDown();
+        assertEquals(TrainingJobState.CANCELLED, first.awaitFinished().state());
+        assertFalse(first.states().contains(TrainingJobState.EVALUATING));
+        assertFalse(service.cancel(runningJob));
+        verify(modelService, times(1)).trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class));
+    }
+
+    @Test
+    @DisplayName("listJobs: keeps at most the configured number of finished jobs")
+    void listJobs_prunesFinishedJobs() throws Exception {
+        when(modelService.trainModel(anyString(), anyList(), anyMap(), any(TrainingMonitor.class)))
+                .thenReturn(result(true));
+        for (int i = 0; i < 4; i++) {
+            Recorder recorder = new Recorder();
+            service.submit("SENTIMENT", TRAINING_DATA, Map.of(), recorder);
+            recorder.awaitFinished();
+        }
+        assertEquals(3, service.listJobs().size());
+        assertTrue(service.getJob("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("submit: rejects jobs after close")
+    void submit_afterClose_throwsException() {
+        service.close();
+        assertThrows(IllegalStateException.class,
+                () -> service.submit("SENTIMENT", TRAINING_DATA, Map.of(), status -> {
+                }));
+    }
+
+    private static ModelTrainingResult result(boolean success) {
+        return new ModelTrainingResult("model-1", "SENTIMENT", success, 0.9, 0.9, 0.9, 0.9, 10L, 1, 0,
+                Map.of(), success ? null : "Training failed", LocalDateTime.now());
+    }
+
+    /**
+     * Listener recording the states of a job.
+     */
+    private static final class Recorder implements Consumer<TrainingJobStatus> {
+
+        private final List<TrainingJobStatus> updates = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<TrainingJobStatus> finished = new CompletableFuture<>();
+
+        @Override
+        public void accept(TrainingJobStatus status) {
+            updates.add(status);
+            if (status.isFinished()) {
+                finished.complete(status);
+            }
+        }
+
+        TrainingJobStatus awaitFinished() throws Exception {
+            return finished.get(5, TimeUnit.SECONDS);
+        }
+
+        List<TrainingJobState> states() {
+            return updates.stream().map(TrainingJobStatus::state).toList();
+        }
+
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.kapil.verbametrics.ml.utils;
+
+import com.kapil.verbametrics.ml.domain.FlatDecisionTree;
+import com.kapil.verbametrics.util.JsonParserUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import weka.classifiers.trees.RandomTree;
+import weka.core.Attribute;
+import weka.core.DenseInstance;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RandomTreeCompiler.
+ *
+ * @author Kapil Garg
+ */
+@DisplayName("RandomTreeCompiler Tests")
+class RandomTreeCompilerTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sentiment", "classification"})
+    @DisplayName("compile should match Weka distributions on the dataset samples")
+    void testCompile_MatchesWekaOnDatasetSamples(String modelType) throws Exception {
+        Instances dataset = loadNumericDataset(modelType + "-train.json");
+        List<double[]> rows = loadRows(dataset, modelType);
+        int[] maxDepths = {0, 1, 3, 8};
+        int[] seeds = {1, 7, 42};
+        for (int maxDepth : maxDepths) {
+            for (int seed : seeds) {
+                for (boolean allowUnclassified : new boolean[]{false, true}) {
+                    RandomTree tree = new RandomTree();
+                    tree.setMaxDepth(maxDepth);
+                    tree.setSeed(seed);
+                    tree.setAllowUnclassifiedInstances(allowUnclassified);
+                    tree.buildClassifier(dataset);
+                    assertSameDistributions(tree, dataset, rows);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("compile should match Weka distributions with a minimum leaf weight and subset of features")
+    void testCompile_MatchesWekaWithTreeOptions() throws Exception {
+        Instances dataset = loadNumericDataset("classification-train.json");
+        List<double[]> rows = loadRows(dataset, "classification");
+        RandomTree tree = new RandomTree();
+        tree.setKValue(1);
+        tree.setMinNum(3.0);
+        tree.setMinVarianceProp(0.01);
+        tree.setSeed(3);
+        tree.buildClassifier(dataset);
+        assertSameDistributions(tree, dataset, rows);
+    }
+
+    @Test
+    @DisplayName("compile should match Weka distributions with a backfitting fold")
+    void testCompile_MatchesWekaWithBackfitting() throws Exception {
+        Instances dataset = loadNumericDataset("sentiment-train.json");
+        List<double[]> rows = loadRows(dataset, "sentiment");
+        RandomTree tree = new RandomTree();
+        tree.setNumFolds(3);
+        tree.buildClassifier(dataset);
+        assertSameDistributions(tree, dataset, rows);
+    }
+
+    @Test
+    @DisplayName("compile should throw exception when tree is null")
+    void testCompile_NullTree() {
+        NullPointerException exception = assertThrows(NullPointerException.class, () ->
+                RandomTreeCompiler.compile(null));
+        assertEquals("Tree cannot be null", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("compile should throw exception when tree is not trained")
+    void testCompile_UntrainedTree() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                RandomTreeCompiler.compile(new RandomTree()));
+        assertEquals("RandomTree has not been trained", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("compile should throw exception when tree splits on a nominal attribute")
+    void testCompile_NominalSplit() throws Exception {
+        ArrayList<Attribute> attributes = new ArrayList<>();
+        attributes.add(new Attribute("color", List.of("red", "green")));
+        attributes.add(new Attribute("label", List.of("a", "b")));
+        Instances dataset = new Instances("Nominal", attributes, 8);
+        dataset.setClassIndex(1);
+        for (int i = 0; i < 8; i++) {
+            dataset.add(new DenseInstance(1.0, new double[]{i % 2, i % 2}));
+        }
+        RandomTree tree = new RandomTree();
+        tree.buildClassifier(dataset);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                RandomTreeCompiler.compile(tree));
+        assertEquals("Only numeric split attributes are supported: color", exception.getMessage());
+    }
+
+    /**
+     * Asserts that the compiled tree gives exactly the distributions of the Weka tree.
+     */
+    private static void assertSameDistributions(RandomTree tree, Instances dataset, List<double[]> rows) throws Exception {
+        FlatDecisionTree compiled = RandomTreeCompiler.compile(tree);
+        assertEquals(dataset.numClasses(), compiled.numClasses());
+        double[] distribution = new double[compiled.numClasses()];
+        for (double[] row : rows) {
+            DenseInstance instance = new DenseInstance(1.0, row.clone());
+            instance.setDataset(dataset);
+            double[] expected = tree.distributionForInstance(instance);
+            assertArrayEquals(expected, compiled.distributionForFeatures(row), Arrays.toString(row));
+            assertTrue(compiled.distributionForFeatures(row, distribution));
+            assertArrayEquals(expected, distribution, Arrays.toString(row));
+        }
+    }
+
+    /**
+     * Loads a training corpus as a dataset of its numeric features, as the training engine does.
+     */
+    private static Instances loadNumericDataset(String fileName) throws IOException {
+        List<Map<String, Object>> records = JsonParserUtil.parseTrainingData(readDataset(fileName));
+        Instances dataset = new Instances(WekaDatasetUtils.createDataset(records, "ClassificationDataset"));
+        dataset.deleteAttributeAt(0);
+        return dataset;
+    }
+
+    /**
+     * Builds the rows to compare: the training and prediction samples, and copies of them with each feature
+     * and then all features missing, so that both sides of every split and the missing value paths are covered.
+     */
+    private static List<double[]> loadRows(Instances dataset, String modelType) throws IOException {
+        List<double[]> samples = new ArrayList<>();
+        for (int i = 0; i < dataset.numInstances(); i++) {
+            double[] row = dataset.instance(i).toDoubleArray();
+            row[dataset.classIndex()] = Double.NaN;
+            samples.add(row);
+        }
+        List<Map<String, Object>> inputs = JsonParserUtil.parsePredictionData(readDataset(modelType + "-prediction.json"));
+        for (Map<String, Object> input : inputs) {
+            if (input.get("samples") instanceof List<?> wrapped) {
+                for (Object sample : wrapped) {
+                    samples.add(toRow(dataset, (Map<?, ?>) sample));
+                }
+            } else {
+                samples.add(toRow(dataset, input));
+            }
+        }
+        List<double[]> rows = new ArrayList<>(samples);
+        for (double[] sample : samples) {
+            double[] allMissing = sample.clone();
+            for (int feature = 0; feature < dataset.classIndex(); feature++) {
+                double[] missing = sample.clone();
+                missing[feature] = Double.NaN;
+                rows.add(missing);
+                allMissing[feature] = Double.NaN;
+            }
+            rows.add(allMissing);
+        }
+        return rows;
+    }
+
+    private static double[] toRow(Instances dataset, Map<?, ?> sample) {
+        double[] row = new double[dataset.numAttributes()];
+        List<?> features = (List<?>) sample.get("features");
+        for (int i = 0; i < features.size(); i++) {
+            row[i] = ((Number) features.get(i)).doubleValue();
+        }
+        row[dataset.classIndex()] = Double.NaN;
+        return row;
+    }
+
+    private static String readDataset(String fileName) throws IOException {
+        return Files.readString(Paths.get("docs/dataset", fileName));
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.kapil.verbametrics.ml.utils;
+
+import com.kapil.verbametrics.util.JsonParserUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import weka.core.Instances;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StreamingDatasetReader.
+ *
+ * @author Kapil Garg
+ */
+@DisplayName("StreamingDatasetReader Tests")
+class StreamingDatasetReaderTest {
+
+    private static final String JSONL = """
+            {"text": "great product", "label": "positive", "features": [0.9, 0.1, 3]}
+            {"text": "awful service", "label": "negative", "features": [0.1, 0.8, 5]}
+
+            {"label": "neutral", "text": "it is fine", "features": [0.5, 0.5, 2]}
+            {"text": "loved it", "features": [0.8, 0.2, 4], "label": "positive"}
+            """;
+
+    @Test
+    @DisplayName("read should build the numeric dataset that training builds from parsed records")
+    void testRead_MatchesParsedDataset() throws IOException {
+        Instances expected = new Instances(WekaDatasetUtils.createDataset(
+                JsonParserUtil.parseTrainingData(JSONL), "TrainingDataset"));
+        expected.deleteAttributeAt(0);
+        Instances dataset = StreamingDatasetReader.read(stream(JSONL), "TrainingDataset");
+        assertEquals(expected.numInstances(), dataset.numInstances());
+        assertEquals(expected.numAttributes(), dataset.numAttributes());
+        assertEquals(expected.classIndex(), dataset.classIndex());
+        assertEquals(expected.classAttribute().toString(), dataset.classAttribute().toString());
+        for (int i = 0; i < expected.numInstances(); i++) {
+            assertArrayEquals(expected.instance(i).toDoubleArray(), dataset.instance(i).toDoubleArray());
+        }
+    }
+
+    @Test
+    @DisplayName("read should accept a JSON array of records with a trailing comma")
+    void testRead_JsonArray() throws IOException {
+        String json = """
+                [
+                  {"label": "spam", "features": [1.0, 2.0]},
+                  {"label": "ham", "features": [3.0, 4.0]},
+                ]
+                """;
+        Instances dataset = StreamingDatasetReader.read(stream(json), "TrainingDataset");
+        assertEquals(2, dataset.numInstances());
+        assertEquals(3, dataset.numAttributes());
+        assertEquals("feature_1", dataset.attribute(1).name());
+        assertEquals("ham", dataset.instance(1).stringValue(dataset.classIndex()));
+        assertEquals(4.0, dataset.instance(1).value(1));
+    }
+
+    @Test
+    @DisplayName("read should reject feature arrays of another length than the first, naming the record")
+    void testRead_RaggedFeatures() {
+        IllegalArgumentException shorter = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("""
+                        {"label": "a", "features": [1, 2, 3]}
+                        {"label": "b", "features": [4]}
+                        """), "TrainingDataset"));
+        assertEquals("All feature vectors must be of the same length: expected 3 elements, but record #2 has 1"
+                + " elements", shorter.getMessage());
+        IllegalArgumentException longer = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("""
+                        {"label": "a", "features": [1, 2]}
+                        {"label": "b", "features": [3, 4]}
+                        {"label": "a", "features": [5, 6, 7]}
+                        """), "TrainingDataset"));
+        assertTrue(longer.getMessage().contains("record #3 has 3 elements"));
+    }
+
+    @Test
+    @DisplayName("read should reject features that are not an array of numbers and records without features")
+    void testRead_InvalidFeatures() {
+        IllegalArgumentException notNumber = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("""
+                        {"label": "a", "features": [1, 2]}
+                        {"label": "b", "features": [5, "x"]}
+                        """), "TrainingDataset"));
+        assertEquals("Record #2 features must be an array of numbers", notNumber.getMessage());
+        IllegalArgumentException notArray = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("{\"label\": \"a\", \"features\": {\"x\": 1}}"),
+                        "TrainingDataset"));
+        assertEquals("Record #1 features must be an array of numbers", notArray.getMessage());
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("""
+                        {"label": "a", "features": [1]}
+                        {"label": "b"}
+                        """), "TrainingDataset"));
+        assertEquals("Record #2 missing features", missing.getMessage());
+    }
+
+    @Test
+    @DisplayName("read should reject records without a required field")
+    void testRead_RequiredFields() throws IOException {
+        String jsonl = """
+                {"text": "good", "label": "a", "features": [1]}
+                {"text": " ", "label": "b", "features": [2]}
+                """;
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream(jsonl), "TrainingDataset", null, List.of("text", "label")));
+        assertEquals("Record #2 missing required field 'text'", exception.getMessage());
+        assertEquals(2, StreamingDatasetReader.read(stream(jsonl), "TrainingDataset").numInstances());
+    }
+
+    @Test
+    @DisplayName("read should make the label numeric when the first label is a number")
+    void testRead_NumericLabel() throws IOException {
+        String jsonl = """
+                {"features": [1.0], "label": 2.5}
+                {"features": [2.0], "label": "high"}
+                """;
+        Instances dataset = StreamingDatasetReader.read(stream(jsonl), "TrainingDataset");
+        assertTrue(dataset.classAttribute().isNumeric());
+        assertEquals(2.5, dataset.instance(0).classValue());
+        assertEquals(0.0, dataset.instance(1).classValue());
+    }
+
+    @Test
+    @DisplayName("read should leave nominal labels missing when they are absent or not strings")
+    void testRead_MissingNominalLabel() throws IOException {
+        String jsonl = """
+                {"features": [1.0], "label": "positive"}
+                {"features": [2.0], "label": 1}
+                {"features": [3.0]}
+                """;
+        Instances dataset = StreamingDatasetReader.read(stream(jsonl), "TrainingDataset");
+        assertEquals(1, dataset.numClasses());
+        assertFalse(dataset.instance(0).classIsMissing());
+        assertTrue(dataset.instance(1).classIsMissing());
+        assertTrue(dataset.instance(2).classIsMissing());
+    }
+
+    @Test
+    @DisplayName("read should read a dataset file")
+    void testRead_File(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("train.jsonl");
+        Files.writeString(file, JSONL);
+        Instances dataset = StreamingDatasetReader.read(file, "TrainingDataset");
+        assertEquals(4, dataset.numInstances());
+        assertEquals(3, dataset.numClasses());
+    }
+
+    @Test
+    @DisplayName("read should throw exception when the stream holds no records")
+    void testRead_Empty() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("  \n"), "TrainingDataset"));
+        assertEquals("Training data is empty", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("read should throw exception when a record is not a JSON object")
+    void testRead_NotAnObject() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream("{\"label\": \"a\", \"features\": [1]}\n[1, 2]"),
+                        "TrainingDataset"));
+        assertEquals("Record #2 is not a JSON object", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("read should throw exception when the stream is not valid JSON")
+    void testRead_InvalidJson() {
+        assertThrows(IOException.class, () ->
+                StreamingDatasetReader.read(stream("{\"label\": \"a\", \"features\": [1,"), "TrainingDataset"));
+    }
+
+    @Test
+    @DisplayName("read should throw exception when dataset name is blank")
+    void testRead_BlankName() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                StreamingDatasetReader.read(stream(JSONL), "   "));
+        assertEquals("Dataset name cannot be null or empty", exception.getMessage());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("read should derive the features of records with a text but no features when given a featurizer")
+    void testRead_Featurizer() throws IOException {
+        String jsonl = """
+                {"text": "great product", "label": "positive"}
+                {"label": "negative", "text": "awful", "features": null}
+                {"text": "kept", "label": "positive", "features": [9.0, 9.0]}
+                """;
+        Instances dataset = StreamingDatasetReader.read(stream(jsonl), "TrainingDataset",
+                text -> new double[]{text.length(), 1.0});
+        assertEquals(3, dataset.numAttributes());
+        assertArrayEquals(new double[]{13.0, 1.0, 0.0}, dataset.instance(0).toDoubleArray());
+        assertArrayEquals(new double[]{5.0, 1.0, 1.0}, dataset.instance(1).toDoubleArray());
+        assertArrayEquals(new double[]{9.0, 9.0, 0.0}, dataset.instance(2).toDoubleArray());
+    }
+}
@@ -346,6 +346,25 @@ class WekaDatasetUtilsTest {
         assertEquals(9.2, dataset.instance(2).classValue(), 0.0001);
     }
 
+    @Test
+    @DisplayName("createNumericDataset should match createDataset without the text attribute")
+    void testCreateNumericDataset_MatchesDatasetWithoutText() {
+        List<Map<String, Object>> data = List.of(
+                Map.of("text", "Great", "features", new double[]{0.9, 0.1}, "label", "positive"),
+                Map.of("text", "Awful", "features", List.of(0.1, 0.8), "label", "negative"),
+                Map.of("features", new double[]{0.5}, "label", "positive")
+        );
+        Instances expected = new Instances(WekaDatasetUtils.createDataset(data, "TrainingDataset"));
+        expected.deleteAttributeAt(0);
+        Instances dataset = WekaDatasetUtils.createNumericDataset(data, "TrainingDataset");
+        assertEquals(3, dataset.numAttributes());
+        assertEquals(2, dataset.classIndex());
+        assertEquals(expected.classAttribute().toString(), dataset.classAttribute().toString());
+        for (int i = 0; i < expected.numInstances(); i++) {
+            assertArrayEquals(expected.instance(i).toDoubleArray(), dataset.instance(i).toDoubleArray());
+        }
+    }
+
     /**
      * Creates a simple dataset with text and string labels.
      *
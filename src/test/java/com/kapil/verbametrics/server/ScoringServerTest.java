@@ -0,0 +1,263 @@
+package com.kapil.verbametrics.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kapil.verbametrics.config.ScoringServerProperties;
+import com.kapil.verbametrics.domain.ReadabilityMetrics;
+import com.kapil.verbametrics.domain.SentimentScore;
+import com.kapil.verbametrics.ml.config.ClassValueManager;
+import com.kapil.verbametrics.ml.config.MLModelProperties;
+import com.kapil.verbametrics.ml.domain.BatchPredictionResult;
+import com.kapil.verbametrics.ml.domain.MLModel;
+import com.kapil.verbametrics.ml.engines.ModelEvaluationEngine;
+import com.kapil.verbametrics.ml.engines.ModelPredictionEngine;
+import com.kapil.verbametrics.ml.engines.PredictionBatchScheduler;
+import com.kapil.verbametrics.ml.entities.MLModelEntity;
+import com.kapil.verbametrics.ml.managers.ClassifierCacheManager;
+import com.kapil.verbametrics.ml.managers.ModelFileManager;
+import com.kapil.verbametrics.ml.mapper.MLModelMapper;
+import com.kapil.verbametrics.ml.repository.MLModelRepository;
+import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.ml.services.ModelTrainingService;
+import com.kapil.verbametrics.ml.services.impl.MLModelServiceImpl;
+import com.kapil.verbametrics.services.BasicTextAnalysisService;
+import com.kapil.verbametrics.services.ReadabilityAnalysisService;
+import com.kapil.verbametrics.services.SentimentAnalysisService;
+import com.kapil.verbametrics.ui.controller.MLModelController;
+import com.kapil.verbametrics.ui.controller.TextAnalysisController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import weka.classifiers.AbstractClassifier;
+import weka.core.Instance;
+import weka.core.Instances;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ScoringServer.
+ *
+ * @author Kapil Garg
+ */
+class ScoringServerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private SentimentAnalysisService sentimentService;
+    private ReadabilityAnalysisService readabilityService;
+    private MLModelService modelService;
+    private TextAnalysisController textController;
+    private ScoringServerProperties properties;
+    private ScoringServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sentimentService = mock(SentimentAnalysisService.class);
+        readabilityService = mock(ReadabilityAnalysisService.class);
+        modelService = mock(MLModelService.class);
+        textController = new TextAnalysisController(
+                mock(BasicTextAnalysisService.class), sentimentService, readabilityService);
+        properties = new ScoringServerProperties();
+        properties.setPort(0);
+        properties.setMaxRequestBytes(1024);
+        server = new ScoringServer(textController, new MLModelController(modelService), properties);
+        server.start();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("sentiment endpoint returns the sentiment score as JSON")
+    void sentiment_returnsScore() throws Exception {
+        when(sentimentService.analyzeSentiment("I love it")).thenReturn(new SentimentScore("POSITIVE", 0.9, 0.7));
+        HttpResponse<String> response = post("/sentiment", "{\"text\":\"I love it\"}");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        JsonNode body = OBJECT_MAPPER.readTree(response.body());
+        assertEquals("POSITIVE", body.get("label").asText());
+        assertEquals(0.7, body.get("score").asDouble(), 0.001);
+    }
+
+    @Test
+    @DisplayName("readability endpoint returns the readability metrics as JSON")
+    void readability_returnsMetrics() throws Exception {
+        when(readabilityService.analyzeReadability("Short text.")).thenReturn(
+                new ReadabilityMetrics(2.0, 90.0, "ELEMENTARY", "VERY_EASY", 2.0, 1.0));
+        HttpResponse<String> response = post("/readability", "{\"text\":\"Short text.\"}");
+        assertEquals(200, response.statusCode());
+        assertEquals("ELEMENTARY", OBJECT_MAPPER.readTree(response.body()).get("readingLevel").asText());
+    }
+
+    @Test
+    @DisplayName("predict endpoint submits the prediction to the model service")
+    void predict_delegates() throws Exception {
+        when(modelService.submitPrediction(eq("model-1"), anyMap()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("prediction", "positive")));
+        HttpResponse<String> response = post("/predict", "{\"modelId\":\"model-1\",\"input\":{\"features\":[0.1,0.2]}}");
+        assertEquals(200, response.statusCode());
+        assertEquals("positive", OBJECT_MAPPER.readTree(response.body()).get("prediction").asText());
+        verify(modelService).submitPrediction("model-1", Map.of("features", List.of(0.1, 0.2)));
+    }
+
+    @Test
+    @DisplayName("predict endpoint batches concurrent predictions of ready models through the model service")
+    void predict_endToEnd_batchesReadyModels() throws Exception {
+        server.close();
+        ModelFileManager fileManager = mock(ModelFileManager.class);
+        ClassValueManager classValueManager = mock(ClassValueManager.class);
+        when(fileManager.loadModelFromFile("model-1")).thenReturn(Optional.of(new StubClassifier()));
+        when(classValueManager.getClassValues("model-1")).thenReturn(List.of("negative", "positive"));
+        MLModelProperties modelProperties = new MLModelProperties();
+        modelProperties.setBatchSettings(Map.of("max-batch-size", 4, "max-wait-micros", 10_000_000));
+        ModelPredictionEngine predictionEngine = spy(new ModelPredictionEngine(
+                new ClassifierCacheManager(fileManager, modelProperties), classValueManager));
+        MLModelRepository repository = mock(MLModelRepository.class);
+        MLModelMapper mapper = mock(MLModelMapper.class);
+        stubModel(repository, mapper, "model-1", "TRAINED");
+        stubModel(repository, mapper, "draft-1", "TRAINING");
+        try (PredictionBatchScheduler scheduler = new PredictionBatchScheduler(predictionEngine, modelProperties)) {
+            MLModelService service = new MLModelServiceImpl(repository, mapper, mock(ModelTrainingService.class),
+                    mock(ModelEvaluationEngine.class), predictionEngine, null, scheduler);
+            server = new ScoringServer(textController, new MLModelController(service), properties);
+            server.start();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(client.sendAsync(request("/predict",
+                        "{\"modelId\":\"model-1\",\"input\":{\"text\":\"sample\",\"features\":[0." + i + ",0.5]}}"),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertEquals(200, response.get(10, TimeUnit.SECONDS).statusCode());
+                JsonNode body = OBJECT_MAPPER.readTree(response.get().body());
+                assertEquals("positive", body.get("prediction").asText());
+                assertEquals(2, body.get("probabilities").size());
+            }
+            verify(predictionEngine).predictBatch(eq("model-1"), argThat(inputs -> inputs.size() == 4));
+            assertEquals(1L, scheduler.getBatchStatistics("model-1").get("batches"));
+
+            HttpResponse<String> notReady = post("/predict",
+                    "{\"modelId\":\"draft-1\",\"input\":{\"features\":[0.1]}}");
+            assertEquals(500, notReady.statusCode());
+            assertTrue(OBJECT_MAPPER.readTree(notReady.body()).get("message").asText().contains("not ready"));
+            assertEquals(400, post("/predict", "{\"modelId\":\"missing\",\"input\":{\"features\":[0.1]}}")
+                    .statusCode());
+            verify(predictionEngine, never()).predictBatch(eq("draft-1"), anyList());
+            verify(predictionEngine, never()).predictBatch(eq("missing"), anyList());
+        }
+    }
+
+    @Test
+    @DisplayName("predictBatch endpoint returns the batch result")
+    void predictBatch_returnsBatch() throws Exception {
+        when(modelService.predictBatch(eq("model-1"), anyList())).thenReturn(new BatchPredictionResult("model-1",
+                "RandomTree", List.of("negative", "positive"), new int[]{1}, new double[]{0.6},
+                new double[][]{{0.2, 0.8}}, new String[]{null}, 1L));
+        HttpResponse<String> response = post("/predictBatch", "{\"modelId\":\"model-1\",\"inputs\":[{\"features\":[0.1]}]}");
+        assertEquals(200, response.statusCode());
+        JsonNode body = OBJECT_MAPPER.readTree(response.body());
+        assertEquals(1, body.get("predictionIndices").get(0).asInt());
+        assertEquals(1, body.get("successCount").asInt());
+    }
+
+    @Test
+    @DisplayName("invalid requests are answered with status 400")
+    void invalidRequests_return400() throws Exception {
+        HttpResponse<String> blank = post("/analyze", "{\"text\":\"  \"}");
+        assertEquals(400, blank.statusCode());
+        assertTrue(OBJECT_MAPPER.readTree(blank.body()).get("error").asBoolean());
+        assertEquals(400, post("/sentiment", "not json").statusCode());
+        assertEquals(400, post("/predict", "{\"input\":{}}").statusCode());
+        when(modelService.submitPrediction(anyString(), anyMap()))
+                .thenThrow(new RuntimeException("Prediction failed", new IllegalArgumentException("Model not found")));
+        assertEquals(400, post("/predict", "{\"modelId\":\"missing\",\"input\":{}}").statusCode());
+    }
+
+    @Test
+    @DisplayName("server failures are answered with status 500")
+    void failures_return500() throws Exception {
+        when(sentimentService.analyzeSentiment(anyString())).thenThrow(new IllegalStateException("boom"));
+        HttpResponse<String> response = post("/sentiment", "{\"text\":\"text\"}");
+        assertEquals(500, response.statusCode());
+        assertEquals("boom", OBJECT_MAPPER.readTree(response.body()).get("message").asText());
+    }
+
+    @Test
+    @DisplayName("oversized bodies and non-POST methods are rejected")
+    void oversizedAndWrongMethod_rejected() throws Exception {
+        assertEquals(413, post("/sentiment", "{\"text\":\"" + "a".repeat(2048) + "\"}").statusCode());
+        HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("/sentiment")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, get.statusCode());
+    }
+
+    @Test
+    @DisplayName("start and getPort enforce the server state")
+    void lifecycle() {
+        assertThrows(IllegalStateException.class, server::start);
+        assertTrue(server.getPort() > 0);
+        server.close();
+        assertThrows(IllegalStateException.class, server::getPort);
+        assertDoesNotThrow(server::close);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private static void stubModel(MLModelRepository repository, MLModelMapper mapper, String modelId, String status) {
+        MLModelEntity entity = MLModelEntity.builder().modelId(modelId).isActive(true).status(status).build();
+        when(repository.findById(modelId)).thenReturn(Optional.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(new MLModel(modelId, "SENTIMENT", "Test", "Desc", "1.0",
+                LocalDateTime.now(), LocalDateTime.now(), Map.of(), Map.of(), "/models/" + modelId, true, "system",
+                1, 0.85, status));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    /**
+     * Classifier favouring the second class.
+     */
+    private static class StubClassifier extends AbstractClassifier {
+
+        @Override
+        public void buildClassifier(Instances data) {
+        }
+
+        @Override
+        public double[] distributionForInstance(Instance instance) {
+            return new double[]{0.2, 0.8};
+        }
+
+    }
+
+}
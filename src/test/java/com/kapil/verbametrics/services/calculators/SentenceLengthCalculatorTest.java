@@ -1,9 +1,12 @@
 package com.kapil.verbametrics.services.calculators;
 
+import com.kapil.verbametrics.domain.BasicTextStatistics;
+import com.kapil.verbametrics.services.models.DocumentSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -144,4 +147,14 @@ class SentenceLengthCalculatorTest {
         assertTrue(average > 0);
     }
 
+    @Test
+    @DisplayName("calculateAverageSentenceLength with a summary should match the text result")
+    void calculateAverageSentenceLength_summary_matchesText() {
+        String text = "Hello world. This is a test";
+        DocumentSummary summary = new DocumentSummary(text.length(), false, new BasicTextStatistics(6, 2, 27, 22, 1), 6, 0.0, 2, 6, 6, 7);
+        assertEquals(calculator.calculateAverageSentenceLength(text), calculator.calculateAverageSentenceLength(summary), 1e-12);
+        DocumentSummary noSentences = new DocumentSummary(3, false, new BasicTextStatistics(1, 0, 3, 3, 1), 1, 0.0, 0, 0, 1, 1);
+        assertEquals(0.0, calculator.calculateAverageSentenceLength(noSentences));
+    }
+
 }
@@ -1,6 +1,8 @@
 package com.kapil.verbametrics.services.calculators;
 
+import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.services.SyllableCounterService;
+import com.kapil.verbametrics.services.models.DocumentSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -99,4 +101,14 @@ class SyllablePerWordCalculatorTest {
         assertEquals(average1, average2, "Same input should produce same result");
     }
 
+    @Test
+    @DisplayName("calculateAverageSyllablesPerWord with a summary should divide the streamed counts")
+    void calculateAverageSyllablesPerWord_summary_dividesCounts() {
+        DocumentSummary summary = new DocumentSummary(20, false, new BasicTextStatistics(4, 1, 20, 17, 1), 4, 0.0, 1, 4, 4, 6);
+        assertEquals(1.5, calculator.calculateAverageSyllablesPerWord(summary), 1e-12);
+        DocumentSummary empty = new DocumentSummary(0, true, new BasicTextStatistics(0, 0, 0, 0, 0), 1, 0.0, 1, 0, 0, 0);
+        assertEquals(0.0, calculator.calculateAverageSyllablesPerWord(empty));
+        verifyNoInteractions(syllableCounterService);
+    }
+
 }
@@ -1,13 +1,18 @@
 package com.kapil.verbametrics.services.engines;
 
+import com.kapil.verbametrics.config.TextAnalysisProperties;
 import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Test class for BasicTextAnalysisEngine.
@@ -183,4 +188,69 @@ class BasicTextAnalysisEngineTest {
         assertEquals(2, stats.wordCount(), "Should count 2 words after trimming");
     }
 
+    @Test
+    @DisplayName("analyze with a tokenized document should match analysis of the raw text")
+    void analyze_tokenizedDocument_matchesTextAnalysis() {
+        String[] texts = {
+                "Hello world. This is a test.",
+                "  First paragraph!\n\nSecond paragraph? Yes...  ",
+                "No punctuation here",
+                "Line one\r\n\r\nLine two. Line three."
+        };
+        for (String text : texts) {
+            BasicTextStatistics expected = engine.analyze(new TextAnalysisRequest(text)).basicStats();
+            BasicTextStatistics actual = engine.analyze(TokenizedDocument.of(text)).basicStats();
+            assertEquals(expected, actual, "Statistics should match for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("scanning and regex strategies should produce identical statistics")
+    void analyze_scanningAndRegexStrategies_produceSameCounts() {
+        BasicTextAnalysisEngine regexEngine = engineWith(TextAnalysisProperties.StatisticsStrategy.REGEX);
+        BasicTextAnalysisEngine scanningEngine = engineWith(TextAnalysisProperties.StatisticsStrategy.SCANNING);
+        String[] texts = {
+                "Hello world. This is a test.",
+                "  Leading and trailing whitespace!  ",
+                "First paragraph.\n\nSecond paragraph?\n \n\nThird paragraph",
+                "Wait... what?! Really?",
+                "...",
+                "!Starts with a delimiter and ends without one",
+                "Windows\r\n\r\nline endings.\r\n",
+                "Tabs\tand\u000Bvertical tabs\fand form feeds.",
+                "Control \u0001 characters \u0001",
+                "\u2003Unicode spaces\u2003are not regex whitespace.",
+                "single",
+                "a.b.c"
+        };
+        for (String text : texts) {
+            BasicTextStatistics expected = regexEngine.analyze(new TextAnalysisRequest(text)).basicStats();
+            BasicTextStatistics actual = scanningEngine.analyze(new TextAnalysisRequest(text)).basicStats();
+            assertEquals(expected, actual, "Strategies should agree for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("regex strategy should compute basic statistics for simple text")
+    void analyze_regexStrategy_computesStatistics() {
+        BasicTextAnalysisEngine regexEngine = engineWith(TextAnalysisProperties.StatisticsStrategy.REGEX);
+        BasicTextStatistics stats = regexEngine.analyze(new TextAnalysisRequest("Hello world. This is a test.")).basicStats();
+        assertEquals(new BasicTextStatistics(6, 2, 28, 23, 1), stats);
+    }
+
+    @Test
+    @DisplayName("regex strategy should split the text of a tokenized document instead of reusing its statistics")
+    void analyze_tokenizedDocumentRegexStrategy_splitsText() {
+        BasicTextAnalysisEngine regexEngine = engineWith(TextAnalysisProperties.StatisticsStrategy.REGEX);
+        TokenizedDocument document = spy(TokenizedDocument.of("Hello world. This is a test."));
+        assertEquals(new BasicTextStatistics(6, 2, 28, 23, 1), regexEngine.analyze(document).basicStats());
+        verify(document, never()).statistics();
+    }
+
+    private BasicTextAnalysisEngine engineWith(TextAnalysisProperties.StatisticsStrategy strategy) {
+        TextAnalysisProperties properties = new TextAnalysisProperties();
+        properties.setStatisticsStrategy(strategy);
+        return new BasicTextAnalysisEngine(properties);
+    }
+
 }
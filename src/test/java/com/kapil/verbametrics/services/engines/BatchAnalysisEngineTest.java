@@ -0,0 +1,103 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BatchAnalysisEngine.
+ *
+ * @author Kapil Garg
+ */
+class BatchAnalysisEngineTest {
+
+    private TextAnalysisProperties properties;
+    private BatchAnalysisEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TextAnalysisProperties();
+        engine = new BatchAnalysisEngine(properties);
+    }
+
+    @Test
+    @DisplayName("process should return results in input order")
+    void process_returnsResultsInInputOrder() {
+        List<Integer> inputs = IntStream.range(0, 200).boxed().toList();
+        List<BatchItemResult<Integer>> results = engine.process(inputs.iterator(), value -> {
+            if (value % 7 == 0) {
+                Thread.yield();
+            }
+            return value * 2;
+        });
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(i * 2, results.get(i).result());
+        }
+    }
+
+    @Test
+    @DisplayName("process should isolate failures of single documents")
+    void process_failingDocument_doesNotFailBatch() {
+        Function<String, Integer> analysis = text -> {
+            if (text.isBlank()) {
+                throw new IllegalArgumentException("Text cannot be null or blank");
+            }
+            return text.length();
+        };
+        List<BatchItemResult<Integer>> results = engine.process(List.of("one", " ", "three").iterator(), analysis);
+        assertEquals(5, results.get(2).result());
+        assertFalse(results.get(1).isSuccess());
+        assertNull(results.get(1).result());
+        assertEquals("Text cannot be null or blank", results.get(1).errorMessage());
+        assertTrue(results.get(0).isSuccess());
+    }
+
+    @Test
+    @DisplayName("process should not run more documents at once than the configured parallelism")
+    void process_respectsParallelism() {
+        properties.getBatch().setParallelism(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        engine.process(IntStream.range(0, 50).boxed().iterator(), value -> {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return value;
+        });
+        assertTrue(maxRunning.get() <= 2, "At most two documents should run concurrently");
+    }
+
+    @Test
+    @DisplayName("process should handle an empty batch")
+    void process_emptyBatch_returnsEmptyList() {
+        Iterator<String> empty = List.<String>of().iterator();
+        assertTrue(engine.process(empty, String::length).isEmpty());
+    }
+
+    @Test
+    @DisplayName("process should reject null arguments")
+    void process_nullArguments_throw() {
+        assertThrows(NullPointerException.class, () -> engine.process(null, Function.identity()));
+        assertThrows(NullPointerException.class, () -> engine.process(List.of("a").iterator(), null));
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.models.AnalysisOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConcurrentAnalysisEngine.
+ *
+ * @author Kapil Garg
+ */
+class ConcurrentAnalysisEngineTest {
+
+    private TextAnalysisProperties properties;
+    private ConcurrentAnalysisEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TextAnalysisProperties();
+        properties.getConcurrency().setParallelism(4);
+        engine = new ConcurrentAnalysisEngine(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("submit should run analyses concurrently")
+    void submit_runsAnalysesConcurrently() {
+        CountDownLatch started = new CountDownLatch(2);
+        ConcurrentAnalysisEngine.PendingAnalysis<String> first = engine.submit("First", () -> awaitBoth(started, "one"));
+        ConcurrentAnalysisEngine.PendingAnalysis<String> second = engine.submit("Second", () -> awaitBoth(started, "two"));
+        assertEquals("one", first.await().result());
+        assertEquals("two", second.await().result());
+    }
+
+    @Test
+    @DisplayName("await should report a failing analysis without throwing")
+    void await_failingAnalysis_returnsFailure() {
+        AnalysisOutcome<String> outcome = engine.<String>submit("Sentiment", () -> {
+            throw new IllegalArgumentException("Text cannot be null or blank");
+        }).await();
+        assertFalse(outcome.isSuccess());
+        assertNull(outcome.result());
+        assertEquals("Text cannot be null or blank", outcome.errorMessage());
+    }
+
+    @Test
+    @DisplayName("await should give up on an analysis that exceeds its timeout")
+    void await_slowAnalysis_timesOut() {
+        properties.getConcurrency().setTimeoutMillis(50);
+        CountDownLatch never = new CountDownLatch(1);
+        ConcurrentAnalysisEngine.PendingAnalysis<String> slow = engine.submit("Readability", () -> {
+            never.await();
+            return "late";
+        });
+        ConcurrentAnalysisEngine.PendingAnalysis<String> fast = engine.submit("Sentiment", () -> "done");
+        AnalysisOutcome<String> slowOutcome = slow.await();
+        assertFalse(slowOutcome.isSuccess());
+        assertEquals("Readability analysis timed out after 50ms", slowOutcome.errorMessage());
+        assertEquals("done", fast.await().result());
+    }
+
+    @Test
+    @DisplayName("await should hand back the slot of a timed-out analysis that ignores interruption")
+    void await_timedOutAnalysis_releasesSlot() {
+        properties.getConcurrency().setParallelism(1);
+        properties.getConcurrency().setTimeoutMillis(50);
+        engine.close();
+        engine = new ConcurrentAnalysisEngine(properties);
+        CountDownLatch finish = new CountDownLatch(1);
+        ConcurrentAnalysisEngine.PendingAnalysis<String> busy = engine.submit("Readability", () -> {
+            while (true) {
+                try {
+                    finish.await();
+                    return "late";
+                } catch (InterruptedException e) {
+                    // Keep running, as a CPU-bound analysis that never checks for interruption does
+                }
+            }
+        });
+        assertFalse(busy.await().isSuccess());
+        properties.getConcurrency().setTimeoutMillis(5000);
+        AnalysisOutcome<String> next = engine.submit("Sentiment", () -> "done").await();
+        finish.countDown();
+        assertEquals("done", next.result());
+    }
+
+    @Test
+    @DisplayName("await should count the timeout from when the analysis starts, not from its submission")
+    void await_queuedAnalysis_timeoutCountsFromStart() {
+        properties.getConcurrency().setParallelism(1);
+        properties.getConcurrency().setTimeoutMillis(100);
+        engine.close();
+        engine = new ConcurrentAnalysisEngine(properties);
+        CountDownLatch finish = new CountDownLatch(1);
+        ConcurrentAnalysisEngine.PendingAnalysis<String> busy =
+                engine.submit("Readability", () -> ignoreInterrupts(finish));
+        ConcurrentAnalysisEngine.PendingAnalysis<String> queued = engine.submit("Sentiment", () -> "done");
+        assertFalse(busy.await().isSuccess());
+        AnalysisOutcome<String> outcome = queued.await();
+        finish.countDown();
+        assertEquals("done", outcome.result());
+    }
+
+    @Test
+    @DisplayName("cancel should hand back the slot of an analysis that is no longer awaited")
+    void cancel_releasesSlot() {
+        properties.getConcurrency().setParallelism(1);
+        engine.close();
+        engine = new ConcurrentAnalysisEngine(properties);
+        CountDownLatch finish = new CountDownLatch(1);
+        ConcurrentAnalysisEngine.PendingAnalysis<String> busy =
+                engine.submit("Readability", () -> ignoreInterrupts(finish));
+        busy.cancel();
+        AnalysisOutcome<String> next = engine.submit("Sentiment", () -> "done").await();
+        finish.countDown();
+        assertEquals("done", next.result());
+        assertEquals("Readability analysis was cancelled", busy.await().errorMessage());
+    }
+
+    @Test
+    @DisplayName("submit should reject a non-positive timeout and null arguments")
+    void submit_invalidArguments_throw() {
+        assertThrows(NullPointerException.class, () -> engine.submit(null, () -> "x"));
+        assertThrows(NullPointerException.class, () -> engine.submit("Basic", null));
+        properties.getConcurrency().setTimeoutMillis(0);
+        assertThrows(IllegalArgumentException.class, () -> engine.submit("Basic", () -> "x"));
+    }
+
+    private static String ignoreInterrupts(CountDownLatch finish) {
+        while (true) {
+            try {
+                finish.await();
+                return "late";
+            } catch (InterruptedException e) {
+                // Keep running, as a CPU-bound analysis that never checks for interruption does
+            }
+        }
+    }
+
+    private static String awaitBoth(CountDownLatch started, String result) throws InterruptedException {
+        started.countDown();
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Both analyses should be running at once");
+        return result;
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.SentimentAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentRuleProperties;
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.SyllableCounterService;
+import com.kapil.verbametrics.services.WordListService;
+import com.kapil.verbametrics.services.impl.SyllableCounterServiceImpl;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for IncrementalTextAnalysisEngine.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IncrementalTextAnalysisEngineTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "Hello world. This is a good test.",
+            "First paragraph.\n\nSecond paragraph!\n \n\nThird one?",
+            "A good start.\n\nno capital and no end\n\nBut a bad finish.",
+            "Not good at all.\n\nGood again!\n\n\n",
+            "\n\nLeading blank lines. Then text.\n\n  Indented paragraph is great.",
+            "Wait... what?!\n\n...\n\nReally? It's great-ish",
+            "Tabs\tand\r\nwindows.\r\n\r\nLine endings.",
+            "Ends with a break.\n\n",
+            "   ",
+            ""
+    );
+
+    @Mock
+    private WordListService wordListService;
+
+    @Mock
+    private SentimentAnalysisProperties analysisProperties;
+
+    @Mock
+    private SentimentAnalysisProperties.TextProcessing textProcessing;
+
+    @Mock
+    private SentimentRuleProperties ruleProperties;
+
+    private SentimentCalculationEngine sentimentEngine;
+    private SyllableCountingEngine syllableEngine;
+    private IncrementalTextAnalysisEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(analysisProperties.getTextProcessing()).thenReturn(textProcessing);
+        when(textProcessing.getWordSeparator()).thenReturn("\\W+");
+        when(textProcessing.isNormalizeHyphens()).thenReturn(true);
+        when(ruleProperties.getNormalizationAlpha()).thenReturn(15.0);
+        when(ruleProperties.getNegations()).thenReturn(List.of("not"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("good again", 0.5));
+        when(wordListService.getPositiveWords()).thenReturn(Set.of("good", "great"));
+        when(wordListService.getNegativeWords()).thenReturn(Set.of("bad"));
+        sentimentEngine = new SentimentCalculationEngine(wordListService, analysisProperties, ruleProperties);
+        syllableEngine = new SyllableCountingEngine();
+        engine = new IncrementalTextAnalysisEngine(sentimentEngine, new SyllableCounterServiceImpl(syllableEngine),
+                new TextAnalysisProperties());
+    }
+
+    @Test
+    @DisplayName("summarize should match the whole-document analysis")
+    void summarize_matchesWholeDocumentAnalysis() {
+        for (int pass = 0; pass < 2; pass++) {
+            for (String text : SAMPLES) {
+                TokenizedDocument document = TokenizedDocument.of(text);
+                DocumentSummary summary = engine.summarize(text);
+                String message = "Summary differs for: " + text + " in pass " + pass;
+                assertEquals(text.length(), summary.length(), message);
+                assertEquals(document.isBlank(), summary.blank(), message);
+                assertEquals(document.statistics(), summary.statistics(), message);
+                assertEquals(document.whitespaceSplitLength(), summary.whitespaceSplitLength(), message);
+                assertEquals(sentimentEngine.calculateSentimentScore(document), summary.sentimentScore(), message);
+                assertEquals(document.sentencePieceCount(), summary.sentencePieceCount(), message);
+                assertEquals(document.sentenceWordCount(), summary.sentenceWordCount(), message);
+                double averageSyllables = summary.syllableWordCount() == 0 ? 0.0
+                        : (double) summary.syllableCount() / summary.syllableWordCount();
+                assertEquals(syllableEngine.calculateAverageSyllablesPerWord(document.tokens()), averageSyllables, 1e-12, message);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("summarize should only analyze the edited paragraphs again")
+    void summarize_afterEdit_reusesUnchangedParagraphs() {
+        engine.summarize("One good paragraph.\n\nAnother paragraph.\n\nA third one.");
+        assertEquals(0L, engine.getCacheStatistics().get("hits"));
+        assertEquals(3L, engine.getCacheStatistics().get("misses"));
+        DocumentSummary summary = engine.summarize("One good paragraph.\n\nAn edited paragraph!\n\nA third one.");
+        assertEquals(2L, engine.getCacheStatistics().get("hits"));
+        assertEquals(4L, engine.getCacheStatistics().get("misses"));
+        assertEquals(TokenizedDocument.of("One good paragraph.\n\nAn edited paragraph!\n\nA third one.").statistics(),
+                summary.statistics());
+    }
+
+    @Test
+    @DisplayName("summarize should not cache paragraphs when the cache is disabled")
+    void summarize_cacheDisabled_analyzesEveryParagraph() {
+        TextAnalysisProperties properties = new TextAnalysisProperties();
+        properties.getParagraphCache().setMaxSize(0);
+        engine = new IncrementalTextAnalysisEngine(sentimentEngine, new SyllableCounterServiceImpl(syllableEngine), properties);
+        engine.summarize("Same text.\n\nSame text.");
+        assertEquals(0, engine.getCacheStatistics().get("cacheSize"));
+        assertEquals(0L, engine.getCacheStatistics().get("hits"));
+    }
+
+    @Test
+    @DisplayName("summarize should analyze changed paragraphs concurrently with the same results")
+    void summarize_concurrentEngine_matchesSequential() {
+        TextAnalysisProperties properties = new TextAnalysisProperties();
+        IncrementalTextAnalysisEngine sequential = new IncrementalTextAnalysisEngine(sentimentEngine,
+                new SyllableCounterServiceImpl(syllableEngine), properties);
+        try (ConcurrentAnalysisEngine analysisEngine = new ConcurrentAnalysisEngine(properties)) {
+            for (String text : SAMPLES) {
+                assertEquals(sequential.summarize(text), engine.summarize(text, analysisEngine),
+                        "Summary differs for: " + text);
+            }
+            engine.summarize("One good paragraph.\n\nAnother paragraph.", analysisEngine);
+            engine.summarize("One good paragraph.\n\nAn edited paragraph.", analysisEngine);
+            assertEquals(1L, engine.getCacheStatistics().get("hits"));
+        }
+    }
+
+    @Test
+    @DisplayName("summarize should report a failing paragraph analysis")
+    void summarize_failingParagraph_throws() {
+        SyllableCounterService failing = mock(SyllableCounterService.class);
+        when(failing.countSyllables(anyString())).thenThrow(new IllegalStateException("Syllable counting failed"));
+        engine = new IncrementalTextAnalysisEngine(sentimentEngine, failing, new TextAnalysisProperties());
+        try (ConcurrentAnalysisEngine analysisEngine = new ConcurrentAnalysisEngine()) {
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> engine.summarize("A paragraph.\n\nAnother one.", analysisEngine));
+            assertEquals("Syllable counting failed", exception.getMessage());
+        }
+        assertEquals(0, engine.getCacheStatistics().get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("summarize should reject null text")
+    void summarize_nullText_throws() {
+        assertThrows(NullPointerException.class, () -> engine.summarize(null));
+    }
+
+}
@@ -3,6 +3,10 @@ package com.kapil.verbametrics.services.engines;
 import com.kapil.verbametrics.config.SentimentAnalysisProperties;
 import com.kapil.verbametrics.config.SentimentRuleProperties;
 import com.kapil.verbametrics.services.WordListService;
+import com.kapil.verbametrics.services.models.PhraseMatch;
+import com.kapil.verbametrics.services.models.SentimentRevision;
+import com.kapil.verbametrics.services.models.SentimentTally;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,9 +16,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -82,7 +91,7 @@ class SentimentCalculationEngineTest {
     @Test
     @DisplayName("calculateSentimentScore should handle null text")
     void calculateSentimentScore_nullText_returnsZero() {
-        double score = engine.calculateSentimentScore(null);
+        double score = engine.calculateSentimentScore((String) null);
         assertEquals(0.0, score, "Null text should return 0.0");
     }
 
@@ -206,4 +215,192 @@ class SentimentCalculationEngineTest {
         assertTrue(score > 0, "Should use word separator to tokenize");
     }
 
+    @Test
+    @DisplayName("calculateSentimentScore with a tokenized document should match the text result")
+    void calculateSentimentScore_tokenizedDocument_matchesText() {
+        String[] texts = {"This is a good day. But the ending was bad!", "GREAT and Happy", "Nothing to see here", "   "};
+        for (String text : texts) {
+            assertEquals(engine.calculateSentimentScore(text), engine.calculateSentimentScore(TokenizedDocument.of(text)), 1e-12,
+                    "Scores should match for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should apply phrase adjustments found by the automaton")
+    void calculateSentimentScore_phraseAutomaton_appliesAdjustment() {
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("waste of time", -1.5));
+        String text = "The meeting was a Waste of Time";
+        double score = engine.calculateSentimentScore(text);
+        assertTrue(score < 0, "Matched phrase should make the score negative");
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should give the same result in automaton and substring phrase modes")
+    void calculateSentimentScore_phraseModes_matchEachOther() {
+        Map<String, Double> phrases = Map.of("waste of time", -1.5, "not good", -0.8, "good", 0.4,
+                "of time", -0.2, "worth recommending", 0.6);
+        when(ruleProperties.getPhrases()).thenReturn(phrases);
+        String[] texts = {"A waste of time, not good at all.", "good good good", "Worth recommending!", "nothing", "of timeof time"};
+        for (String text : texts) {
+            when(ruleProperties.getPhraseMatching()).thenReturn(SentimentRuleProperties.PhraseMatching.AUTOMATON);
+            double automaton = engine.calculateSentimentScore(text);
+            when(ruleProperties.getPhraseMatching()).thenReturn(SentimentRuleProperties.PhraseMatching.SUBSTRING);
+            double substring = engine.calculateSentimentScore(text);
+            assertEquals(substring, automaton, 1e-12, "Phrase modes should agree for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("findPhraseMatches should report phrase offsets")
+    void findPhraseMatches_reportsOffsets() {
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("not good", -0.8));
+        List<PhraseMatch> matches = engine.findPhraseMatches("It is NOT GOOD");
+        assertEquals(List.of(new PhraseMatch("not good", 6, 14, -0.8)), matches);
+    }
+
+    @Test
+    @DisplayName("findPhraseMatches should only recompile the phrases when the rule revision changes")
+    void findPhraseMatches_ruleRevision_recompiles() {
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("not good", -0.8));
+        assertEquals(1, engine.findPhraseMatches("not good").size());
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("so good", 0.8));
+        assertEquals("not good", engine.findPhraseMatches("not good").getFirst().phrase());
+        when(ruleProperties.getRevision()).thenReturn(1L);
+        assertEquals(List.of(), engine.findPhraseMatches("not good"));
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should rebuild the lexicon when the word lists are refreshed")
+    void calculateSentimentScore_wordListRefresh_rebuildsLexicon() {
+        String text = "The movie was splendid";
+        assertEquals(0.0, engine.calculateSentimentScore(text), 1e-12, "Unknown word should be neutral");
+        when(wordListService.getRevision()).thenReturn(1L);
+        when(wordListService.getPositiveWords()).thenReturn(Set.of("splendid"));
+        assertTrue(engine.calculateSentimentScore(text) > 0, "Refreshed word lists should be used");
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should apply boosters, negations and punctuation breaks from the rules")
+    void calculateSentimentScore_ruleDictionaries_applied() {
+        when(ruleProperties.getBoosters()).thenReturn(Map.of("very", 0.5));
+        when(ruleProperties.getNegations()).thenReturn(List.of("not"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        when(ruleProperties.getPunctuationBreaks()).thenReturn(List.of(","));
+        double plain = engine.calculateSentimentScore("good");
+        assertTrue(engine.calculateSentimentScore("very good") > plain, "Booster should strengthen the score");
+        assertTrue(engine.calculateSentimentScore("not good") < 0, "Negation should flip the score");
+        assertEquals(plain, engine.calculateSentimentScore("not , good"), 1e-12, "Punctuation break should end the negation");
+    }
+
+    @Test
+    @DisplayName("newStreamingScorer should match the in-memory score however the text is chunked")
+    void newStreamingScorer_chunkedText_matchesInMemoryScore() {
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("waste of time", -1.5));
+        when(ruleProperties.getNegations()).thenReturn(List.of("not"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        String[] texts = {"This is a good day. But the ending was bad!", "  not GOOD.\n\nA waste of\ttime?  ", "It's great-ish... really",
+                "good.bad. sad!  happy", "   ", ""};
+        for (String text : texts) {
+            for (int chunkSize : new int[]{1, 2, 5, 64}) {
+                SentimentCalculationEngine.StreamingSentimentScorer scorer = engine.newStreamingScorer(1000);
+                char[] chars = text.toCharArray();
+                for (int offset = 0; offset < chars.length; offset += chunkSize) {
+                    scorer.accept(chars, offset, Math.min(chunkSize, chars.length - offset));
+                }
+                assertEquals(engine.calculateSentimentScore(text), scorer.score(), 1e-12,
+                        "Streamed score should match for: " + text + " in chunks of " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("newStreamingScorer should score overlong sentences in segments")
+    void newStreamingScorer_overlongSentence_scoredInSegments() {
+        SentimentCalculationEngine.StreamingSentimentScorer scorer = engine.newStreamingScorer(8);
+        String text = "good and great and happy and bad";
+        for (int i = 0; i < text.length(); i++) {
+            scorer.accept(text.charAt(i));
+        }
+        assertEquals(engine.calculateSentimentScore(text), scorer.score(), 1e-12, "Segments should keep all tokens");
+        assertThrows(IllegalArgumentException.class, () -> engine.newStreamingScorer(0));
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should merge the tallies of consecutive paragraphs into the document score")
+    void calculateSentimentScore_tallies_matchWholeText() {
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("waste of time", -1.5, "good", 0.4));
+        when(ruleProperties.getNegations()).thenReturn(List.of("not"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        engine = new SentimentCalculationEngine(wordListService, analysisProperties, ruleProperties);
+        String first = "A good day. Not a waste of time.";
+        String second = "Good and great, but sad!";
+        String text = first + "\n\n" + second;
+        List<SentimentTally> tallies = List.of(engine.tallySentiment(TokenizedDocument.of(first)),
+                engine.tallySentiment(TokenizedDocument.of(second)));
+        assertEquals(engine.calculateSentimentScore(text), engine.calculateSentimentScore(tallies));
+        assertTrue(engine.isCurrent(tallies.getFirst()));
+        assertEquals(0.0, engine.calculateSentimentScore(List.of(engine.tallySentiment(TokenizedDocument.of("  ")))));
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should reject tallies computed with different phrases")
+    void calculateSentimentScore_talliesWithDifferentPhrases_throw() {
+        SentimentTally before = engine.tallySentiment(TokenizedDocument.of("good"));
+        when(ruleProperties.getPhrases()).thenReturn(Map.of("good", 0.4));
+        engine = new SentimentCalculationEngine(wordListService, analysisProperties, ruleProperties);
+        SentimentTally after = engine.tallySentiment(TokenizedDocument.of("good"));
+        assertThrows(IllegalArgumentException.class, () -> engine.calculateSentimentScore(List.of(before, after)));
+    }
+
+    @Test
+    @DisplayName("isCurrent should only invalidate tallies when the word list or rule revision changes")
+    void isCurrent_ruleAndWordListRevisions() {
+        when(ruleProperties.getNegations()).thenAnswer(invocation -> new ArrayList<>(List.of("not")));
+        SentimentTally tally = engine.tallySentiment(TokenizedDocument.of("not good"));
+        assertTrue(engine.isCurrent(tally), "Rules returned as new collections should keep tallies current");
+        when(ruleProperties.getNegations()).thenAnswer(invocation -> new ArrayList<>(List.of("never")));
+        when(ruleProperties.getRevision()).thenReturn(1L);
+        assertFalse(engine.isCurrent(tally), "Changed rules should invalidate tallies");
+        SentimentTally refreshed = engine.tallySentiment(TokenizedDocument.of("not good"));
+        when(wordListService.getRevision()).thenReturn(1L);
+        assertFalse(engine.isCurrent(refreshed), "Refreshed word lists should invalidate tallies");
+    }
+
+    @Test
+    @DisplayName("isCurrent should only invalidate revisions when the word list or rule revision changes")
+    void isCurrent_revision() {
+        SentimentRevision revision = engine.getRevision();
+        assertTrue(engine.isCurrent(revision), "Unchanged revisions should stay current");
+        when(ruleProperties.getRevision()).thenReturn(1L);
+        assertFalse(engine.isCurrent(revision), "Changed rules should invalidate revisions");
+        revision = engine.getRevision();
+        when(wordListService.getRevision()).thenReturn(1L);
+        assertFalse(engine.isCurrent(revision), "Refreshed word lists should invalidate revisions");
+    }
+
+    @Test
+    @DisplayName("calculateSentimentScore should score a tokenized document by offset the same as its text")
+    void calculateSentimentScore_documentOffsets_matchText() {
+        when(textProcessing.getWordSeparator()).thenReturn("\\W+");
+        when(ruleProperties.getBoosters()).thenReturn(Map.of("very", 0.5));
+        when(ruleProperties.getNegations()).thenReturn(List.of("not", "isn"));
+        when(ruleProperties.getNegationWindow()).thenReturn(3);
+        when(ruleProperties.getContrastives()).thenReturn(List.of("but"));
+        String[] texts = {"This is a good day. But the ending was bad!", "It isn't good.'s not only GOOD",
+                "end.-next bad",
+                "Very-good, not-bad?  sad... happy!!", "not without merit.\tvery  very good", "good.bad. sad!  happy",
+                "Caf\u00e9 is great", "'", "---", "   "};
+        for (boolean caseSensitive : new boolean[]{false, true}) {
+            for (boolean normalizeHyphens : new boolean[]{false, true}) {
+                when(textProcessing.isCaseSensitive()).thenReturn(caseSensitive);
+                when(textProcessing.isNormalizeHyphens()).thenReturn(normalizeHyphens);
+                for (String text : texts) {
+                    assertEquals(engine.calculateSentimentScore(text),
+                            engine.calculateSentimentScore(TokenizedDocument.of(text)), 1e-12,
+                            "Document score should match for: " + text);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,125 @@
+package com.kapil.verbametrics.services.engines;
+
+import com.kapil.verbametrics.config.SentimentAnalysisProperties;
+import com.kapil.verbametrics.config.SentimentRuleProperties;
+import com.kapil.verbametrics.config.TextAnalysisProperties;
+import com.kapil.verbametrics.services.WordListService;
+import com.kapil.verbametrics.services.impl.SyllableCounterServiceImpl;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for StreamingTextAnalysisEngine.
+ *
+ * @author Kapil Garg
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StreamingTextAnalysisEngineTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "Hello world. This is a good test.",
+            "  Leading and trailing whitespace is bad.  ",
+            "First paragraph.\n\nSecond paragraph!\n \n\nThird one?",
+            "No punctuation at all",
+            "...",
+            "Wait... what?! Really? It's great-ish",
+            "Tabs\tand\r\nwindows\r\n\r\nline endings.",
+            "Mixed \u0001 control characters. \u0001",
+            "   ",
+            ""
+    );
+
+    @Mock
+    private WordListService wordListService;
+
+    @Mock
+    private SentimentAnalysisProperties analysisProperties;
+
+    @Mock
+    private SentimentAnalysisProperties.TextProcessing textProcessing;
+
+    @Mock
+    private SentimentRuleProperties ruleProperties;
+
+    private SentimentCalculationEngine sentimentEngine;
+    private SyllableCountingEngine syllableEngine;
+    private TextAnalysisProperties properties;
+    private StreamingTextAnalysisEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        when(analysisProperties.getTextProcessing()).thenReturn(textProcessing);
+        when(textProcessing.getWordSeparator()).thenReturn("\\W+");
+        when(textProcessing.isNormalizeHyphens()).thenReturn(true);
+        when(ruleProperties.getNormalizationAlpha()).thenReturn(15.0);
+        when(wordListService.getPositiveWords()).thenReturn(Set.of("good", "great"));
+        when(wordListService.getNegativeWords()).thenReturn(Set.of("bad"));
+        sentimentEngine = new SentimentCalculationEngine(wordListService, analysisProperties, ruleProperties);
+        syllableEngine = new SyllableCountingEngine();
+        properties = new TextAnalysisProperties();
+        engine = new StreamingTextAnalysisEngine(sentimentEngine, new SyllableCounterServiceImpl(syllableEngine), properties);
+    }
+
+    @Test
+    @DisplayName("summarize should match the in-memory analysis for any chunk size")
+    void summarize_anyChunkSize_matchesInMemoryAnalysis() throws IOException {
+        for (int chunkSize : new int[]{1, 3, 8192}) {
+            properties.getStreaming().setChunkSize(chunkSize);
+            for (String text : SAMPLES) {
+                TokenizedDocument document = TokenizedDocument.of(text);
+                DocumentSummary summary = engine.summarize(new StringReader(text));
+                String message = "Summary differs for: " + text + " in chunks of " + chunkSize;
+                assertEquals(text.length(), summary.length(), message);
+                assertEquals(document.isBlank(), summary.blank(), message);
+                assertEquals(document.statistics(), summary.statistics(), message);
+                assertEquals(document.whitespaceSplitLength(), summary.whitespaceSplitLength(), message);
+                assertEquals(sentimentEngine.calculateSentimentScore(document), summary.sentimentScore(), 1e-12, message);
+                assertEquals(document.sentencePieceCount(), summary.sentencePieceCount(), message);
+                assertEquals(document.sentenceWordCount(), summary.sentenceWordCount(), message);
+                double averageSyllables = summary.syllableWordCount() == 0 ? 0.0
+                        : (double) summary.syllableCount() / summary.syllableWordCount();
+                assertEquals(syllableEngine.calculateAverageSyllablesPerWord(document.tokens()), averageSyllables, 1e-12, message);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("summarize should decode a byte channel with the given charset")
+    void summarize_channel_decodesCharset() throws IOException {
+        String text = "Café culture is great. Naïve readers agree!";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        properties.getStreaming().setChunkSize(4);
+        DocumentSummary summary = engine.summarize(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8);
+        assertEquals(TokenizedDocument.of(text).statistics(), summary.statistics());
+        assertTrue(summary.sentimentScore() > 0);
+    }
+
+    @Test
+    @DisplayName("summarize should reject null sources and invalid chunk sizes")
+    void summarize_invalidInput_throws() {
+        assertThrows(NullPointerException.class, () -> engine.summarize(null));
+        properties.getStreaming().setChunkSize(0);
+        assertThrows(IllegalArgumentException.class, () -> engine.summarize(new StringReader("text")));
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.kapil.verbametrics.services.engines;
 
+import com.kapil.verbametrics.config.ReadabilityAnalysisProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -200,4 +203,51 @@ class SyllableCountingEngineTest {
         assertTrue(engine.countSyllables("university") >= 3, "Complex word should have multiple syllables");
     }
 
+    @Test
+    @DisplayName("countSyllables should ignore case and punctuation when normalizing")
+    void countSyllables_caseAndPunctuation_normalized() {
+        assertEquals(engine.countSyllables("beautiful"), engine.countSyllables("Beautiful!"));
+        assertEquals(2, engine.countSyllables("\"HELLO,\""), "HELLO should have 2 syllables");
+        assertEquals(1, engine.countSyllables("rhythm"), "rhythm should have 1 syllable");
+        assertEquals(0, engine.countSyllables("123-!?"), "Word without letters should return 0 syllables");
+    }
+
+    @Test
+    @DisplayName("countSyllables should record cache hits for repeated normalized words")
+    void countSyllables_repeatedWord_hitsCache() {
+        engine.countSyllables("hello");
+        engine.countSyllables("Hello!");
+        engine.countSyllables("world");
+        Map<String, Object> stats = engine.getCacheStatistics();
+        assertEquals(1L, stats.get("hits"), "Second normalized occurrence should hit the cache");
+        assertEquals(2L, stats.get("misses"), "Distinct normalized words should miss the cache");
+        assertEquals(2, stats.get("cacheSize"));
+    }
+
+    @Test
+    @DisplayName("Syllable cache should stay within its configured size")
+    void countSyllables_boundedCache_staysWithinMaxSize() {
+        ReadabilityAnalysisProperties properties = new ReadabilityAnalysisProperties();
+        properties.getSyllableCache().setMaxSize(3);
+        SyllableCountingEngine bounded = new SyllableCountingEngine(properties);
+        for (String word : new String[]{"one", "two", "three", "four", "five", "six", "seven"}) {
+            bounded.countSyllables(word);
+        }
+        assertTrue((Integer) bounded.getCacheStatistics().get("cacheSize") <= 3, "Cache should not exceed max size");
+        assertEquals(2, bounded.countSyllables("seven"), "Counts should stay correct after eviction");
+    }
+
+    @Test
+    @DisplayName("Syllable cache can be disabled")
+    void countSyllables_cacheDisabled_countsWithoutCaching() {
+        ReadabilityAnalysisProperties properties = new ReadabilityAnalysisProperties();
+        properties.getSyllableCache().setMaxSize(0);
+        SyllableCountingEngine uncached = new SyllableCountingEngine(properties);
+        assertEquals(3, uncached.countSyllables("beautiful"));
+        assertEquals(3, uncached.countSyllables("beautiful"));
+        Map<String, Object> stats = uncached.getCacheStatistics();
+        assertEquals(0, stats.get("cacheSize"));
+        assertEquals(0L, stats.get("hits"));
+    }
+
 }
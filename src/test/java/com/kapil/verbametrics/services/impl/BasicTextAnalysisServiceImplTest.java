@@ -4,6 +4,9 @@ import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
 import com.kapil.verbametrics.services.engines.BasicTextAnalysisEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -52,7 +57,7 @@ class BasicTextAnalysisServiceImplTest {
     @Test
     @DisplayName("analyzeText should throw NullPointerException for null request")
     void analyzeText_nullRequest_throwsException() {
-        assertThrows(NullPointerException.class, () -> service.analyzeText(null),
+        assertThrows(NullPointerException.class, () -> service.analyzeText((TextAnalysisRequest) null),
                 "Should throw NullPointerException for null request");
         verifyNoInteractions(analysisEngine);
     }
@@ -125,4 +130,38 @@ class BasicTextAnalysisServiceImplTest {
         verify(analysisEngine).analyze(request2);
     }
 
+    @Test
+    @DisplayName("Service should delegate streamed document summaries to the engine")
+    void analyzeText_summary_delegatesToEngine() {
+        BasicTextStatistics stats = new BasicTextStatistics(2, 1, 11, 10, 1);
+        DocumentSummary summary = new DocumentSummary(11, false, stats, 2, 0.0, 1, 2, 2, 2);
+        TextAnalysisResponse response = new TextAnalysisResponse("doc-1", stats, 0L);
+        when(analysisEngine.analyze(summary)).thenReturn(response);
+        assertEquals(response, service.analyzeText(summary));
+        verify(analysisEngine).analyze(summary);
+    }
+
+    @Test
+    @DisplayName("Service should reject blank streamed documents")
+    void analyzeText_blankSummary_throwsException() {
+        DocumentSummary summary = new DocumentSummary(3, true, new BasicTextStatistics(0, 0, 0, 0, 0), 1, 0.0, 1, 0, 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> service.analyzeText(summary));
+        verifyNoInteractions(analysisEngine);
+    }
+
+    @Test
+    @DisplayName("Batch analysis should return results in input order and isolate blank texts")
+    void analyzeTextBatch_isolatesBlankTexts() {
+        BasicTextStatistics stats = new BasicTextStatistics(1, 1, 5, 5, 1);
+        TextAnalysisResponse response = new TextAnalysisResponse("doc-1", stats, 0L);
+        when(analysisEngine.analyze(any(TokenizedDocument.class))).thenReturn(response);
+        List<BatchItemResult<TextAnalysisResponse>> results = service.analyzeTextBatch(List.of("First", "   ", "Third"));
+        assertEquals(3, results.size());
+        assertEquals(response, results.get(0).result());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Text cannot be null or blank", results.get(1).errorMessage());
+        assertEquals(response, results.get(2).result());
+        verify(analysisEngine, times(2)).analyze(any(TokenizedDocument.class));
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.kapil.verbametrics.services.impl;
 
+import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.domain.ReadabilityMetrics;
 import com.kapil.verbametrics.services.calculators.FleschKincaidCalculator;
 import com.kapil.verbametrics.services.calculators.FleschReadingEaseCalculator;
@@ -7,6 +8,9 @@ import com.kapil.verbametrics.services.calculators.SentenceLengthCalculator;
 import com.kapil.verbametrics.services.calculators.SyllablePerWordCalculator;
 import com.kapil.verbametrics.services.classifiers.ComplexityClassifier;
 import com.kapil.verbametrics.services.classifiers.ReadingLevelClassifier;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -59,6 +66,21 @@ class ReadabilityAnalysisServiceImplTest {
         );
     }
 
+    @Test
+    @DisplayName("analyzeReadability clamps a negative Flesch-Kincaid grade of a short text to zero")
+    void analyzeReadability_shortText_clampsGrade() {
+        when(sentenceLengthCalculator.calculateAverageSentenceLength(anyString())).thenReturn(1.0);
+        when(syllablePerWordCalculator.calculateAverageSyllablesPerWord(anyString())).thenReturn(1.0);
+        when(fleschKincaidCalculator.calculateScore(anyDouble(), anyDouble())).thenReturn(-3.4);
+        when(fleschReadingEaseCalculator.calculateScore(anyDouble(), anyDouble())).thenReturn(119.2);
+        when(readingLevelClassifier.determineReadingLevel(anyDouble())).thenReturn("Elementary");
+        when(complexityClassifier.determineComplexity(anyDouble())).thenReturn("Very Easy");
+        ReadabilityMetrics result = service.analyzeReadability("Great!");
+        assertEquals(0.0, result.fleschKincaidScore());
+        assertEquals(100.0, result.fleschReadingEase());
+        verify(readingLevelClassifier).determineReadingLevel(0.0);
+    }
+
     @Test
     @DisplayName("analyzeReadability with valid text should compute all metrics")
     void analyzeReadability_validText_computesMetrics() {
@@ -126,7 +148,7 @@ class ReadabilityAnalysisServiceImplTest {
     @DisplayName("analyzeReadability with null text should throw NullPointerException")
     void analyzeReadability_nullText_throwsException() {
         assertThrows(NullPointerException.class,
-                () -> service.analyzeReadability(null),
+                () -> service.analyzeReadability((String) null),
                 "Should throw NullPointerException for null text");
         verifyNoInteractions(sentenceLengthCalculator, syllablePerWordCalculator,
                 fleschKincaidCalculator, fleschReadingEaseCalculator,
@@ -226,4 +248,44 @@ class ReadabilityAnalysisServiceImplTest {
         verify(complexityClassifier).determineComplexity(expectedFRE);
     }
 
+    @Test
+    @DisplayName("analyzeReadability with a summary should use the streamed averages")
+    void analyzeReadability_summary_usesStreamedAverages() {
+        DocumentSummary summary = new DocumentSummary(40, false, new BasicTextStatistics(8, 2, 40, 32, 1), 8, 0.0, 2, 8, 8, 12);
+        when(sentenceLengthCalculator.calculateAverageSentenceLength(summary)).thenReturn(4.0);
+        when(syllablePerWordCalculator.calculateAverageSyllablesPerWord(summary)).thenReturn(1.5);
+        when(fleschKincaidCalculator.calculateScore(4.0, 1.5)).thenReturn(3.0);
+        when(fleschReadingEaseCalculator.calculateScore(4.0, 1.5)).thenReturn(85.0);
+        when(readingLevelClassifier.determineReadingLevel(3.0)).thenReturn("Elementary");
+        when(complexityClassifier.determineComplexity(85.0)).thenReturn("Very Easy");
+        ReadabilityMetrics result = service.analyzeReadability(summary);
+        assertEquals(3.0, result.fleschKincaidScore());
+        assertEquals(4.0, result.averageSentenceLength());
+        assertEquals(1.5, result.averageSyllablesPerWord());
+    }
+
+    @Test
+    @DisplayName("analyzeReadability with a blank summary should return default metrics")
+    void analyzeReadability_blankSummary_returnsDefaults() {
+        DocumentSummary summary = new DocumentSummary(1, true, new BasicTextStatistics(0, 0, 0, 0, 0), 0, 0.0, 1, 0, 0, 0);
+        ReadabilityMetrics result = service.analyzeReadability(summary);
+        assertEquals(100.0, result.fleschReadingEase());
+        verifyNoInteractions(sentenceLengthCalculator, syllablePerWordCalculator);
+    }
+
+    @Test
+    @DisplayName("analyzeReadabilityBatch should accept a stream and isolate null texts")
+    void analyzeReadabilityBatch_stream_isolatesNullTexts() {
+        when(sentenceLengthCalculator.calculateAverageSentenceLength(any(TokenizedDocument.class))).thenReturn(4.0);
+        when(syllablePerWordCalculator.calculateAverageSyllablesPerWord(any(TokenizedDocument.class))).thenReturn(1.5);
+        when(fleschKincaidCalculator.calculateScore(4.0, 1.5)).thenReturn(3.0);
+        when(fleschReadingEaseCalculator.calculateScore(4.0, 1.5)).thenReturn(85.0);
+        when(readingLevelClassifier.determineReadingLevel(3.0)).thenReturn("Elementary");
+        when(complexityClassifier.determineComplexity(85.0)).thenReturn("Very Easy");
+        List<BatchItemResult<ReadabilityMetrics>> results = service.analyzeReadabilityBatch(Stream.of("Short text here.", null));
+        assertEquals(2, results.size());
+        assertEquals(3.0, results.get(0).result().fleschKincaidScore());
+        assertFalse(results.get(1).isSuccess());
+    }
+
 }
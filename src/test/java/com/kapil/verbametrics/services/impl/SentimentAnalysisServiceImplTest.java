@@ -1,8 +1,12 @@
 package com.kapil.verbametrics.services.impl;
 
+import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.domain.SentimentScore;
 import com.kapil.verbametrics.services.classifiers.SentimentLabelClassifier;
 import com.kapil.verbametrics.services.engines.SentimentCalculationEngine;
+import com.kapil.verbametrics.services.models.BatchItemResult;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +15,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -86,7 +93,7 @@ class SentimentAnalysisServiceImplTest {
     @Test
     @DisplayName("analyzeSentiment with null text should return neutral with confidence 1.0")
     void analyzeSentiment_nullText_returnsNeutral() {
-        SentimentScore result = service.analyzeSentiment(null);
+        SentimentScore result = service.analyzeSentiment((String) null);
         assertNotNull(result);
         assertEquals(VerbaMetricsConstants.NEUTRAL, result.label());
         assertEquals(1.0, result.confidence(), 0.01);
@@ -225,4 +232,39 @@ class SentimentAnalysisServiceImplTest {
         verifyNoInteractions(calculationEngine);
     }
 
+    @Test
+    @DisplayName("analyzeSentiment with a summary should label the streamed score")
+    void analyzeSentiment_summary_labelsStreamedScore() {
+        DocumentSummary summary = new DocumentSummary(30, false, new BasicTextStatistics(6, 1, 30, 25, 1), 6, 0.6, 1, 6, 6, 8);
+        when(labelClassifier.determineSentimentLabel(0.6)).thenReturn(VerbaMetricsConstants.POSITIVE);
+        SentimentScore result = service.analyzeSentiment(summary);
+        assertEquals(VerbaMetricsConstants.POSITIVE, result.label());
+        assertEquals(0.6, result.score());
+        assertTrue(result.confidence() >= 0.1 && result.confidence() <= 0.95);
+        verifyNoInteractions(calculationEngine);
+    }
+
+    @Test
+    @DisplayName("analyzeSentiment with a blank summary should return neutral")
+    void analyzeSentiment_blankSummary_returnsNeutral() {
+        DocumentSummary summary = new DocumentSummary(2, true, new BasicTextStatistics(0, 0, 0, 0, 0), 0, 0.0, 1, 0, 0, 0);
+        SentimentScore result = service.analyzeSentiment(summary);
+        assertEquals(VerbaMetricsConstants.NEUTRAL, result.label());
+        assertEquals(0.0, result.score());
+        verifyNoInteractions(labelClassifier);
+    }
+
+    @Test
+    @DisplayName("analyzeSentimentBatch should score every text and isolate null texts")
+    void analyzeSentimentBatch_isolatesNullTexts() {
+        when(calculationEngine.calculateSentimentScore(any(TokenizedDocument.class))).thenReturn(0.5);
+        when(labelClassifier.determineSentimentLabel(0.5)).thenReturn(VerbaMetricsConstants.POSITIVE);
+        List<BatchItemResult<SentimentScore>> results = service.analyzeSentimentBatch(Arrays.asList("good", null, "great"));
+        assertEquals(3, results.size());
+        assertEquals(VerbaMetricsConstants.POSITIVE, results.get(0).result().label());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).index());
+        assertEquals(0.5, results.get(2).result().score());
+    }
+
 }
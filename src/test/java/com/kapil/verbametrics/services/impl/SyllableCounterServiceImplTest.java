@@ -8,6 +8,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -129,4 +131,13 @@ class SyllableCounterServiceImplTest {
         verify(countingEngine).countSyllables("third");
     }
 
+    @Test
+    @DisplayName("getCacheStatistics should delegate to engine")
+    void getCacheStatistics_delegatesToEngine() {
+        Map<String, Object> stats = Map.of("hits", 3L, "misses", 1L);
+        when(countingEngine.getCacheStatistics()).thenReturn(stats);
+        assertEquals(stats, service.getCacheStatistics(), "Should return cache statistics from engine");
+        verify(countingEngine).getCacheStatistics();
+    }
+
 }
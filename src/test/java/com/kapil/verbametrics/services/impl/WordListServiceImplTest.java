@@ -69,6 +69,15 @@ class WordListServiceImplTest {
         verify(cacheManager).getPositiveWords();
     }
 
+    @Test
+    @DisplayName("getRevision should delegate to cache manager")
+    void getRevision_delegatesToCacheManager() {
+        when(cacheManager.getRevision()).thenReturn(7L);
+        service = new WordListServiceImpl(properties, fileLoader, cacheManager);
+        assertEquals(7L, service.getRevision(), "Should return revision from cache");
+        verify(cacheManager).getRevision();
+    }
+
     @Test
     @DisplayName("getNegativeWords should delegate to cache manager")
     void getNegativeWords_delegatesToCacheManager() {
@@ -194,4 +194,15 @@ class WordListCacheManagerTest {
         assertTrue(cacheManager.getNegativeWords().contains("TERRIBLE"), "Should maintain 'TERRIBLE' case");
     }
 
+    @Test
+    @DisplayName("updateCache and clearCache should advance the revision")
+    void cacheChanges_advanceRevision() {
+        long initial = cacheManager.getRevision();
+        cacheManager.updateCache(new ProcessedWordLists(Set.of("good"), Set.of("bad")));
+        long afterUpdate = cacheManager.getRevision();
+        assertTrue(afterUpdate > initial, "Update should advance the revision");
+        cacheManager.clearCache();
+        assertTrue(cacheManager.getRevision() > afterUpdate, "Clear should advance the revision");
+    }
+
 }
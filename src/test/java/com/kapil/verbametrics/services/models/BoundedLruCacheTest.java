@@ -0,0 +1,113 @@
+package com.kapil.verbametrics.services.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BoundedLruCache.
+ *
+ * @author Kapil Garg
+ */
+class BoundedLruCacheTest {
+
+    @Test
+    @DisplayName("get should count hits and misses")
+    void get_countsHitsAndMisses() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(100);
+        assertNull(cache.get("one"));
+        cache.put("one", 1);
+        assertEquals(1, cache.get("one"));
+        Map<String, Object> stats = cache.getStatistics();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(1, stats.get("cacheSize"));
+        assertEquals(100, stats.get("maxSize"));
+        assertEquals(0.5, stats.get("hitRate"));
+    }
+
+    @Test
+    @DisplayName("get should count a value that is no longer valid as a miss")
+    void get_invalidValue_misses() {
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(100);
+        cache.put("one", 1);
+        assertNull(cache.get("one", value -> value > 1));
+        assertEquals(0L, cache.getStatistics().get("hits"));
+        assertEquals(1L, cache.getStatistics().get("misses"));
+    }
+
+    @Test
+    @DisplayName("put should evict the least recently used entries to stay within the maximum size")
+    void put_full_evictsLeastRecentlyUsed() {
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(32);
+        for (int i = 0; i < 32; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(32, cache.size());
+        // Keys 0 and 16 share a segment of two entries, so touching 0 leaves 16 as the eldest
+        assertEquals(0, cache.get(0));
+        cache.put(32, 32);
+        assertEquals(32, cache.size());
+        assertEquals(0, cache.get(0));
+        assertNull(cache.get(16));
+        for (int i = 100; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 32);
+    }
+
+    @Test
+    @DisplayName("A cache smaller than the number of segments should keep entries up to its maximum size")
+    void put_smallCache_keepsEntries() {
+        BoundedLruCache<Integer, Integer> single = new BoundedLruCache<>(1);
+        single.put(1, 1);
+        assertEquals(1, single.get(1));
+        single.put(2, 2);
+        assertNull(single.get(1));
+        assertEquals(2, single.get(2));
+
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(4, cache.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, cache.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A change of maximum size that changes the segments should evict every entry")
+    void maxSize_changedSegments_evicts() {
+        AtomicInteger maxSize = new AtomicInteger(100);
+        BoundedLruCache<Integer, Integer> cache = new BoundedLruCache<>(maxSize::get);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        maxSize.set(2);
+        cache.put(10, 10);
+        assertEquals(1, cache.size());
+        assertEquals(10, cache.get(10));
+    }
+
+    @Test
+    @DisplayName("A maximum size of zero or less disables the cache and changes take effect on insertion")
+    void maxSize_disabledAndChanged() {
+        AtomicInteger maxSize = new AtomicInteger(0);
+        BoundedLruCache<String, Integer> cache = new BoundedLruCache<>(maxSize::get);
+        cache.put("one", 1);
+        assertNull(cache.get("one"));
+        assertFalse(cache.isEnabled());
+        assertEquals(0L, cache.getStatistics().get("misses"));
+        maxSize.set(16);
+        cache.put("one", 1);
+        assertEquals(1, cache.get("one"));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+}
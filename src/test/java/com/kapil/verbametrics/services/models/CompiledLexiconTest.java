@@ -0,0 +1,91 @@
+package com.kapil.verbametrics.services.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CompiledLexicon.
+ *
+ * @author Kapil Garg
+ */
+class CompiledLexiconTest {
+
+    private final CompiledLexicon lexicon = CompiledLexicon.compile(
+            Set.of("good", "great"), Set.of("bad", "awful"),
+            List.of(".", "!"), List.of("but"), List.of("not", "never"),
+            Map.of("very", 0.29, "so", 0.25), Map.of("slightly", -0.29, "so", -0.1));
+
+    @Test
+    @DisplayName("flagsOf should return the roles of each token")
+    void flagsOf_knownTokens_returnsRoles() {
+        assertEquals(CompiledLexicon.POSITIVE, lexicon.flagsOf("good"));
+        assertEquals(CompiledLexicon.NEGATIVE, lexicon.flagsOf("awful"));
+        assertEquals(CompiledLexicon.PUNCTUATION_BREAK, lexicon.flagsOf("!"));
+        assertEquals(CompiledLexicon.CONTRASTIVE, lexicon.flagsOf("but"));
+        assertEquals(CompiledLexicon.NEGATION, lexicon.flagsOf("never"));
+        assertEquals(CompiledLexicon.BOOSTER, lexicon.flagsOf("very"));
+        assertEquals(CompiledLexicon.DAMPENER, lexicon.flagsOf("slightly"));
+    }
+
+    @Test
+    @DisplayName("flagsOf should return zero for unknown tokens")
+    void flagsOf_unknownToken_returnsZero() {
+        assertEquals(0, lexicon.flagsOf("movie"));
+        assertEquals(0, lexicon.flagsOf(""));
+        assertEquals(-1, lexicon.find("Good"));
+    }
+
+    @Test
+    @DisplayName("A token listed in several collections should carry all of its flags and weights")
+    void find_tokenInSeveralCollections_combinesFlags() {
+        int slot = lexicon.find("so");
+        assertTrue(slot >= 0);
+        assertEquals(CompiledLexicon.BOOSTER | CompiledLexicon.DAMPENER, lexicon.flags(slot));
+        assertEquals(0.25, lexicon.boosterWeight(slot));
+        assertEquals(-0.1, lexicon.dampenerWeight(slot));
+    }
+
+    @Test
+    @DisplayName("compile should ignore null collections and entries")
+    void compile_nullInputs_ignored() {
+        Set<String> words = new HashSet<>();
+        words.add(null);
+        words.add("fine");
+        CompiledLexicon compiled = CompiledLexicon.compile(words, null, null, null, null, null, null);
+        assertEquals(1, compiled.size());
+        assertEquals(CompiledLexicon.POSITIVE, compiled.flagsOf("fine"));
+    }
+
+    @Test
+    @DisplayName("Every token of a large lexicon should be found")
+    void find_largeLexicon_findsAllTokens() {
+        Set<String> words = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            words.add("word" + i);
+        }
+        CompiledLexicon compiled = CompiledLexicon.compile(words, Set.of(), List.of(), List.of(), List.of(), Map.of(), Map.of());
+        assertEquals(words.size(), compiled.size());
+        for (String word : words) {
+            assertEquals(CompiledLexicon.POSITIVE, compiled.flagsOf(word), "Should find " + word);
+        }
+        assertEquals(0, compiled.flagsOf("word10000"));
+    }
+
+    @Test
+    @DisplayName("find should look up a token held in a range of a text")
+    void find_textRange_matchesToken() {
+        String text = "a very good, goodish day";
+        assertEquals(lexicon.find("very"), lexicon.find(text, 2, 6));
+        assertEquals(lexicon.find("good"), lexicon.find(text, 7, 11));
+        assertEquals(-1, lexicon.find(text, 13, 20));
+        assertEquals(-1, lexicon.find(text, 7, 10));
+    }
+
+}
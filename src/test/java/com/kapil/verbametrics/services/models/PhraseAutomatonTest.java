@@ -0,0 +1,113 @@
+package com.kapil.verbametrics.services.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PhraseAutomaton.
+ *
+ * @author Kapil Garg
+ */
+class PhraseAutomatonTest {
+
+    @Test
+    @DisplayName("compile should reject null phrases")
+    void compile_nullPhrases_throws() {
+        assertThrows(NullPointerException.class, () -> PhraseAutomaton.compile(null));
+    }
+
+    @Test
+    @DisplayName("findMatches should report overlapping and nested matches with offsets")
+    void findMatches_overlappingPhrases_reportsAll() {
+        Map<String, Double> phrases = new LinkedHashMap<>();
+        phrases.put("he", 1.0);
+        phrases.put("she", 2.0);
+        phrases.put("his", 3.0);
+        phrases.put("hers", 4.0);
+        PhraseAutomaton automaton = PhraseAutomaton.compile(phrases);
+        List<PhraseMatch> matches = automaton.findMatches("ushers");
+        assertEquals(List.of(
+                new PhraseMatch("she", 1, 4, 2.0),
+                new PhraseMatch("he", 2, 4, 1.0),
+                new PhraseMatch("hers", 2, 6, 4.0)), matches);
+    }
+
+    @Test
+    @DisplayName("findMatches should return no matches when no phrase occurs")
+    void findMatches_noPhrase_returnsEmpty() {
+        PhraseAutomaton automaton = PhraseAutomaton.compile(Map.of("waste of time", -1.5));
+        assertTrue(automaton.findMatches("a good use of time").isEmpty());
+        assertTrue(automaton.findMatches("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("adjustment should count each phrase once however often it occurs")
+    void adjustment_repeatedPhrase_countsOnce() {
+        PhraseAutomaton automaton = PhraseAutomaton.compile(Map.of("not good", -0.8, "good", 0.5));
+        assertEquals(-0.3, automaton.adjustment("not good, not good, not good"), 1e-12);
+    }
+
+    @Test
+    @DisplayName("adjustment should match the per-phrase contains check on random texts")
+    void adjustment_randomTexts_matchesContains() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            Map<String, Double> phrases = new LinkedHashMap<>();
+            for (int i = 0; i < 12; i++) {
+                phrases.put(randomString(random, random.nextInt(5)), random.nextDouble() * 2 - 1);
+            }
+            PhraseAutomaton automaton = PhraseAutomaton.compile(phrases);
+            String text = randomString(random, random.nextInt(60));
+            double expected = 0.0;
+            List<PhraseMatch> expectedMatches = new ArrayList<>();
+            for (var e : phrases.entrySet()) {
+                if (text.contains(e.getKey())) {
+                    expected += e.getValue();
+                }
+            }
+            for (int end = 1; end <= text.length(); end++) {
+                for (var e : phrases.entrySet()) {
+                    String phrase = e.getKey();
+                    if (!phrase.isEmpty() && text.startsWith(phrase, end - phrase.length())) {
+                        expectedMatches.add(new PhraseMatch(phrase, end - phrase.length(), end, e.getValue()));
+                    }
+                }
+            }
+            assertEquals(expected, automaton.adjustment(text), 0.0, "Adjustment should match for: " + text);
+            assertEquals(expectedMatches.size(), automaton.findMatches(text).size(), "Match count should match for: " + text);
+            assertTrue(automaton.findMatches(text).containsAll(expectedMatches), "Matches should match for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("next should carry matching state across chunk boundaries")
+    void next_chunkedInput_matchesAcrossBoundary() {
+        PhraseAutomaton automaton = PhraseAutomaton.compile(Map.of("fell apart", -1.2));
+        boolean[] matched = automaton.newMatchFlags();
+        int state = automaton.initialState();
+        for (String chunk : List.of("it fe", "ll ap", "art")) {
+            for (int i = 0; i < chunk.length(); i++) {
+                state = automaton.next(state, chunk.charAt(i));
+                automaton.markMatches(state, matched);
+            }
+        }
+        assertEquals(-1.2, automaton.adjustment(matched), 1e-12);
+    }
+
+    private static String randomString(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append("ab c".charAt(random.nextInt(4)));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.kapil.verbametrics.services.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for SentenceLengthScanner.
+ *
+ * @author Kapil Garg
+ */
+class SentenceLengthScannerTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "Hello world. This is a test.",
+            "  Leading and trailing whitespace.  ",
+            "No punctuation at all",
+            "...",
+            "!Starts with a delimiter. Ends without one",
+            "Wait... what?! Really?",
+            "a . b . c .",
+            "Mixed \u0001 control characters. \u0001",
+            "?",
+            ""
+    );
+
+    @Test
+    @DisplayName("Counts should match splitting the text on sentence delimiters")
+    void counts_matchRegexSentenceSplit() {
+        for (String text : SAMPLES) {
+            SentenceLengthScanner scanner = new SentenceLengthScanner();
+            for (int i = 0; i < text.length(); i++) {
+                scanner.accept(text.charAt(i));
+            }
+            String[] pieces = text.split("[.!?]+");
+            long words = 0;
+            for (String piece : pieces) {
+                if (!piece.trim().isEmpty()) {
+                    words += piece.trim().split("\\s+").length;
+                }
+            }
+            assertEquals(pieces.length, scanner.pieceCount(), "Pieces differ for: " + text);
+            assertEquals(words, scanner.wordCount(), "Words differ for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("Counts should reflect the text scanned so far")
+    void counts_areIncremental() {
+        SentenceLengthScanner scanner = new SentenceLengthScanner();
+        assertEquals(1, scanner.pieceCount());
+        assertEquals(0, scanner.wordCount());
+        for (char c : "One two. Three".toCharArray()) {
+            scanner.accept(c);
+        }
+        assertEquals(2, scanner.pieceCount());
+        assertEquals(3, scanner.wordCount());
+    }
+
+}
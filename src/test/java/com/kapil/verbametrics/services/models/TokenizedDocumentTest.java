@@ -0,0 +1,117 @@
+package com.kapil.verbametrics.services.models;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TokenizedDocument.
+ *
+ * @author Kapil Garg
+ */
+class TokenizedDocumentTest {
+
+    private static final List<String> SAMPLES = List.of(
+            "Hello world. This is a test.",
+            "  Leading and trailing whitespace.  ",
+            "First paragraph.\n\nSecond paragraph!\n \n\nThird one?",
+            "No punctuation at all",
+            "...",
+            "!Starts with a delimiter. Ends without one",
+            "Wait... what?! Really?",
+            "Tabs\tand\r\nwindows\r\n\r\nline endings.",
+            "a . b . c .",
+            "\n\nSurrounded by blank lines\n\n",
+            "Mixed \u0001 control characters. \u0001",
+            ""
+    );
+
+    @Test
+    @DisplayName("of should reject null text")
+    void of_nullText_throws() {
+        assertThrows(NullPointerException.class, () -> TokenizedDocument.of(null));
+    }
+
+    @Test
+    @DisplayName("tokens should match whitespace split without empty tokens")
+    void tokens_matchWhitespaceSplit() {
+        for (String text : SAMPLES) {
+            TokenizedDocument document = TokenizedDocument.of(text);
+            String[] expected = Arrays.stream(text.split("\\s+")).filter(token -> !token.isEmpty()).toArray(String[]::new);
+            assertArrayEquals(expected, document.tokens(), "Tokens differ for: " + text);
+            assertEquals(expected.length, document.tokenCount());
+            assertEquals(text.split("\\s+").length, document.whitespaceSplitLength(), "Split length differs for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("token offsets should point at the token text")
+    void tokenOffsets_pointAtTokens() {
+        TokenizedDocument document = TokenizedDocument.of("  alpha beta\n\ngamma. ");
+        assertEquals(3, document.tokenCount());
+        for (int i = 0; i < document.tokenCount(); i++) {
+            assertEquals(document.tokens()[i], document.text().substring(document.tokenStart(i), document.tokenEnd(i)));
+        }
+        assertEquals(2, document.contentStart());
+        assertEquals(document.text().trim(), document.text().substring(document.contentStart(), document.contentEnd()));
+        assertThrows(IndexOutOfBoundsException.class, () -> document.tokenStart(3));
+    }
+
+    @Test
+    @DisplayName("basic counts should match the regex based statistics on the trimmed text")
+    void basicCounts_matchRegexStatistics() {
+        for (String text : SAMPLES) {
+            if (text.isBlank()) {
+                continue;
+            }
+            TokenizedDocument document = TokenizedDocument.of(text);
+            String trimmed = text.trim();
+            assertEquals(trimmed.split("\\s+").length, document.wordCount(), "Words differ for: " + text);
+            assertEquals(trimmed.split("[.!?]+").length, document.sentenceCount(), "Sentences differ for: " + text);
+            assertEquals(trimmed.split("\\n\\s*\\n").length, document.paragraphCount(), "Paragraphs differ for: " + text);
+            assertEquals(text.replaceAll("\\s", "").length(), document.characterCountNoSpaces());
+        }
+    }
+
+    @Test
+    @DisplayName("sentence pieces should match the regex based sentence length calculation")
+    void sentencePieces_matchRegexSentenceSplit() {
+        for (String text : SAMPLES) {
+            TokenizedDocument document = TokenizedDocument.of(text);
+            String[] sentences = text.split("[.!?]+");
+            int words = 0;
+            for (String sentence : sentences) {
+                if (!sentence.trim().isEmpty()) {
+                    words += sentence.trim().split("\\s+").length;
+                }
+            }
+            assertEquals(sentences.length, document.sentencePieceCount(), "Pieces differ for: " + text);
+            assertEquals(words, document.sentenceWordCount(), "Sentence words differ for: " + text);
+        }
+    }
+
+    @Test
+    @DisplayName("blank documents should report zero counts")
+    void blankDocument_reportsZeroCounts() {
+        TokenizedDocument document = TokenizedDocument.of(" \n\t ");
+        assertTrue(document.isBlank());
+        assertEquals(0, document.tokenCount());
+        assertEquals(0, document.wordCount());
+        assertEquals(0, document.sentenceCount());
+        assertEquals(0, document.paragraphCount());
+    }
+
+    @Test
+    @DisplayName("lowerCaseText should be computed once and shared")
+    void lowerCaseText_isShared() {
+        TokenizedDocument document = TokenizedDocument.of("Hello WORLD");
+        assertEquals("hello world", document.lowerCaseText());
+        assertSame(document.lowerCaseText(), document.lowerCaseText());
+        assertSame(document.tokens(), document.tokens());
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.kapil.verbametrics.ui.controller;
 
 import com.kapil.verbametrics.ml.domain.MLModel;
+import com.kapil.verbametrics.ml.domain.SearchStrategy;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
 import com.kapil.verbametrics.ml.services.MLModelService;
+import com.kapil.verbametrics.ml.services.TrainingJobService;
+import com.kapil.verbametrics.util.VerbaMetricsConstants;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -9,8 +13,10 @@ import org.mockito.Mockito;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 
 /**
@@ -48,4 +54,44 @@ class MLModelControllerTest {
         assertTrue(controller.deleteModel("id"));
     }
 
+    @Test
+    @DisplayName("submitTraining parses the training data and submits a job")
+    void submitTraining_submitsJob() {
+        MLModelService service = Mockito.mock(MLModelService.class);
+        TrainingJobService jobService = Mockito.mock(TrainingJobService.class);
+        MLModelController controller = new MLModelController(service, jobService);
+        Consumer<TrainingJobStatus> listener = status -> {
+        };
+        when(jobService.submit(eq("SENTIMENT"), anyList(), argThat(parameters ->
+                "RANDOM_FOREST".equals(parameters.get("algorithm"))), same(listener))).thenReturn("job-1");
+        assertEquals("job-1", controller.submitTraining("SENTIMENT", "RANDOM_FOREST", "name", "description",
+                "[{\"text\":\"Great\",\"label\":\"positive\",\"features\":[0.9,0.1]}]", listener));
+        when(jobService.cancel("job-1")).thenReturn(true);
+        assertTrue(controller.cancelTraining("job-1"));
+    }
+
+    @Test
+    @DisplayName("submitTraining leaves the tree parameters to the hyperparameter search when one is selected")
+    void submitTraining_searchStrategy_leavesTreeParameters() {
+        TrainingJobService jobService = Mockito.mock(TrainingJobService.class);
+        MLModelController controller = new MLModelController(Mockito.mock(MLModelService.class), jobService);
+        when(jobService.submit(eq("SENTIMENT"), anyList(), argThat(parameters ->
+                "RANDOM".equals(parameters.get(VerbaMetricsConstants.PARAM_SEARCH_STRATEGY))
+                        && !parameters.containsKey(VerbaMetricsConstants.PARAM_MAX_DEPTH)), any()))
+                .thenReturn("job-1");
+        assertEquals("job-1", controller.submitTraining("SENTIMENT", "RANDOM_TREE", SearchStrategy.RANDOM, "name",
+                "description", "[{\"text\":\"Great\",\"label\":\"positive\",\"features\":[0.9,0.1]}]", status -> {
+                }));
+    }
+
+    @Test
+    @DisplayName("submitTraining fails without a training job service")
+    void submitTraining_withoutJobService_throws() {
+        MLModelController controller = new MLModelController(Mockito.mock(MLModelService.class));
+        assertThrows(IllegalStateException.class,
+                () -> controller.submitTraining("SENTIMENT", "RANDOM_TREE", "name", "description", "[]", status -> {
+                }));
+        assertFalse(controller.cancelTraining("job-1"));
+    }
+
 }
@@ -1,23 +1,37 @@
 package com.kapil.verbametrics.ui.controller;
 
+import com.kapil.verbametrics.config.TextAnalysisProperties;
 import com.kapil.verbametrics.domain.BasicTextStatistics;
 import com.kapil.verbametrics.domain.ReadabilityMetrics;
 import com.kapil.verbametrics.domain.SentimentScore;
-import com.kapil.verbametrics.dto.TextAnalysisRequest;
 import com.kapil.verbametrics.dto.TextAnalysisResponse;
 import com.kapil.verbametrics.services.BasicTextAnalysisService;
 import com.kapil.verbametrics.services.ReadabilityAnalysisService;
 import com.kapil.verbametrics.services.SentimentAnalysisService;
+import com.kapil.verbametrics.services.engines.ConcurrentAnalysisEngine;
+import com.kapil.verbametrics.services.engines.IncrementalTextAnalysisEngine;
+import com.kapil.verbametrics.services.engines.StreamingTextAnalysisEngine;
+import com.kapil.verbametrics.services.models.DocumentSummary;
+import com.kapil.verbametrics.services.models.TokenizedDocument;
 import com.kapil.verbametrics.ui.util.GuiConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -52,9 +66,9 @@ class TextAnalysisControllerTest {
         TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
         SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
         ReadabilityMetrics readability = new ReadabilityMetrics(8.0, 60.0, "Grade 8", "Moderate", 15.0, 1.5);
-        when(basicService.analyzeText(any(TextAnalysisRequest.class))).thenReturn(basicResponse);
-        when(sentimentService.analyzeSentiment(text)).thenReturn(sentiment);
-        when(readabilityService.analyzeReadability(text)).thenReturn(readability);
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenReturn(readability);
         TextAnalysisController.AnalysisResult result = controller.analyze(text);
         assertNotNull(result);
         assertEquals(basicResponse, result.basic());
@@ -65,7 +79,7 @@ class TextAnalysisControllerTest {
     @Test
     @DisplayName("analyze throws exception when text is null")
     void analyze_throwsExceptionWhenTextIsNull() {
-        assertThrows(IllegalArgumentException.class, () -> controller.analyze(null));
+        assertThrows(IllegalArgumentException.class, () -> controller.analyze((String) null));
     }
 
     @Test
@@ -90,9 +104,9 @@ class TextAnalysisControllerTest {
         TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
         SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
         ReadabilityMetrics readability = new ReadabilityMetrics(8.0, 60.0, "Grade 8", "Moderate", 15.0, 1.5);
-        when(basicService.analyzeText(any(TextAnalysisRequest.class))).thenReturn(basicResponse);
-        when(sentimentService.analyzeSentiment(maxLengthText)).thenReturn(sentiment);
-        when(readabilityService.analyzeReadability(maxLengthText)).thenReturn(readability);
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenReturn(readability);
         assertDoesNotThrow(() -> controller.analyze(maxLengthText));
     }
 
@@ -104,9 +118,9 @@ class TextAnalysisControllerTest {
         TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
         SentimentScore sentiment = new SentimentScore("POSITIVE", 0.3, 0.5);
         ReadabilityMetrics readability = new ReadabilityMetrics(6.0, 70.0, "Grade 6", "Easy", 12.0, 1.3);
-        when(basicService.analyzeText(any(TextAnalysisRequest.class))).thenReturn(basicResponse);
-        when(sentimentService.analyzeSentiment(text)).thenReturn(sentiment);
-        when(readabilityService.analyzeReadability(text)).thenReturn(readability);
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenReturn(readability);
         TextAnalysisController.AnalysisResult result = controller.analyze(text);
         assertNotNull(result);
         assertEquals(basicResponse, result.basic());
@@ -114,4 +128,140 @@ class TextAnalysisControllerTest {
         assertEquals(readability, result.readability());
     }
 
+    @Test
+    @DisplayName("analyze tokenizes the text once and shares the document with every service")
+    void analyze_sharesSingleTokenizedDocument() {
+        String text = "Good morning. This is a shared document.";
+        BasicTextStatistics stats = new BasicTextStatistics(7, 2, 40, 35, 1);
+        TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
+        SentimentScore sentiment = new SentimentScore("POSITIVE", 0.4, 0.3);
+        ReadabilityMetrics readability = new ReadabilityMetrics(4.0, 80.0, "Grade 4", "Easy", 3.5, 1.4);
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenReturn(readability);
+        controller.analyze(text);
+        ArgumentCaptor<TokenizedDocument> basicCaptor = ArgumentCaptor.forClass(TokenizedDocument.class);
+        ArgumentCaptor<TokenizedDocument> sentimentCaptor = ArgumentCaptor.forClass(TokenizedDocument.class);
+        ArgumentCaptor<TokenizedDocument> readabilityCaptor = ArgumentCaptor.forClass(TokenizedDocument.class);
+        verify(basicService).analyzeText(basicCaptor.capture());
+        verify(sentimentService).analyzeSentiment(sentimentCaptor.capture());
+        verify(readabilityService).analyzeReadability(readabilityCaptor.capture());
+        assertEquals(text, basicCaptor.getValue().text());
+        assertSame(basicCaptor.getValue(), sentimentCaptor.getValue());
+        assertSame(basicCaptor.getValue(), readabilityCaptor.getValue());
+    }
+
+    @Test
+    @DisplayName("analyze returns partial results when one analysis fails")
+    void analyze_failingAnalysis_returnsPartialResult() {
+        BasicTextStatistics stats = new BasicTextStatistics(4, 1, 19, 0, 1);
+        TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
+        SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class)))
+                .thenThrow(new IllegalStateException("Readability failed"));
+        TextAnalysisController.AnalysisResult result = controller.analyze("This is a test text.");
+        assertEquals(basicResponse, result.basic());
+        assertEquals(sentiment, result.sentiment());
+        assertNull(result.readability());
+        assertFalse(result.isComplete());
+        assertEquals(Map.of(TextAnalysisController.READABILITY, "Readability failed"), result.errors());
+    }
+
+    @Test
+    @DisplayName("analyze returns partial results when one analysis times out")
+    void analyze_slowAnalysis_returnsPartialResult() {
+        TextAnalysisProperties properties = new TextAnalysisProperties();
+        properties.getConcurrency().setTimeoutMillis(50);
+        try (ConcurrentAnalysisEngine analysisEngine = new ConcurrentAnalysisEngine(properties)) {
+            TextAnalysisController timedController = new TextAnalysisController(basicService, sentimentService,
+                    readabilityService, null, analysisEngine);
+            CountDownLatch never = new CountDownLatch(1);
+            SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
+            when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenReturn(sentiment);
+            when(basicService.analyzeText(any(TokenizedDocument.class))).thenThrow(new IllegalStateException("Basic failed"));
+            when(readabilityService.analyzeReadability(any(TokenizedDocument.class))).thenAnswer(invocation -> {
+                never.await();
+                return null;
+            });
+            TextAnalysisController.AnalysisResult result = timedController.analyze("This is a test text.");
+            assertEquals(sentiment, result.sentiment());
+            assertNull(result.basic());
+            assertNull(result.readability());
+            assertEquals("Readability analysis timed out after 50ms", result.errors().get(TextAnalysisController.READABILITY));
+        }
+    }
+
+    @Test
+    @DisplayName("analyze throws when every analysis fails")
+    void analyze_allAnalysesFail_throws() {
+        when(basicService.analyzeText(any(TokenizedDocument.class))).thenThrow(new IllegalStateException("Basic failed"));
+        when(sentimentService.analyzeSentiment(any(TokenizedDocument.class))).thenThrow(new IllegalStateException("Sentiment failed"));
+        when(readabilityService.analyzeReadability(any(TokenizedDocument.class)))
+                .thenThrow(new IllegalStateException("Readability failed"));
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> controller.analyze("This is a test text."));
+        assertEquals("Basic failed; Sentiment failed; Readability failed", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("analyze with a reader streams the document through the summary overloads")
+    void analyze_reader_usesStreamedSummary() throws IOException {
+        StreamingTextAnalysisEngine streamingEngine = mock(StreamingTextAnalysisEngine.class);
+        TextAnalysisController streamingController =
+                new TextAnalysisController(basicService, sentimentService, readabilityService, streamingEngine);
+        String text = "x".repeat(GuiConstants.MAX_TEXT_LENGTH + 1);
+        Reader reader = new StringReader(text);
+        BasicTextStatistics stats = new BasicTextStatistics(1, 1, text.length(), text.length(), 1);
+        DocumentSummary summary = new DocumentSummary(text.length(), false, stats, 1, 0.0, 1, 1, 1, 1);
+        TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
+        SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
+        ReadabilityMetrics readability = new ReadabilityMetrics(8.0, 60.0, "Grade 8", "Moderate", 1.0, 1.0);
+        when(streamingEngine.summarize(reader)).thenReturn(summary);
+        when(basicService.analyzeText(summary)).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(summary)).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(summary)).thenReturn(readability);
+        TextAnalysisController.AnalysisResult result = streamingController.analyze(reader);
+        assertEquals(basicResponse, result.basic());
+        assertEquals(sentiment, result.sentiment());
+        assertEquals(readability, result.readability());
+    }
+
+    @Test
+    @DisplayName("analyze with a reader requires a streaming engine")
+    void analyze_reader_withoutStreamingEngine_throws() {
+        assertThrows(IllegalStateException.class, () -> controller.analyze(new StringReader("text")));
+    }
+
+    @Test
+    @DisplayName("analyzeIncrementally should analyze the merged paragraph summary")
+    void analyzeIncrementally_usesParagraphSummary() {
+        IncrementalTextAnalysisEngine incrementalEngine = mock(IncrementalTextAnalysisEngine.class);
+        ConcurrentAnalysisEngine analysisEngine = new ConcurrentAnalysisEngine();
+        TextAnalysisController incrementalController = new TextAnalysisController(basicService, sentimentService,
+                readabilityService, null, analysisEngine, incrementalEngine);
+        String text = "First paragraph.\n\nSecond paragraph.";
+        BasicTextStatistics stats = new BasicTextStatistics(4, 2, text.length(), 32, 2);
+        DocumentSummary summary = new DocumentSummary(text.length(), false, stats, 4, 0.0, 2, 4, 4, 10);
+        TextAnalysisResponse basicResponse = new TextAnalysisResponse("doc-1", stats, 10L);
+        SentimentScore sentiment = new SentimentScore("NEUTRAL", 0.5, 0.0);
+        ReadabilityMetrics readability = new ReadabilityMetrics(8.0, 60.0, "Grade 8", "Moderate", 2.0, 2.5);
+        when(incrementalEngine.summarize(text, analysisEngine)).thenReturn(summary);
+        when(basicService.analyzeText(summary)).thenReturn(basicResponse);
+        when(sentimentService.analyzeSentiment(summary)).thenReturn(sentiment);
+        when(readabilityService.analyzeReadability(summary)).thenReturn(readability);
+        TextAnalysisController.AnalysisResult result = incrementalController.analyzeIncrementally(text);
+        assertEquals(basicResponse, result.basic());
+        assertEquals(sentiment, result.sentiment());
+        assertEquals(readability, result.readability());
+    }
+
+    @Test
+    @DisplayName("analyzeIncrementally requires an incremental engine and valid text")
+    void analyzeIncrementally_invalidUse_throws() {
+        assertThrows(IllegalStateException.class, () -> controller.analyzeIncrementally("text"));
+        assertThrows(IllegalArgumentException.class, () -> controller.analyzeIncrementally("   "));
+    }
+
 }
@@ -1,12 +1,16 @@
 package com.kapil.verbametrics.ui.panels;
 
 import com.kapil.verbametrics.ml.domain.MLModel;
+import com.kapil.verbametrics.ml.domain.TrainingJobState;
+import com.kapil.verbametrics.ml.domain.TrainingJobStatus;
 import com.kapil.verbametrics.ml.services.MLModelService;
 import com.kapil.verbametrics.ml.services.ModelCleanupService;
+import com.kapil.verbametrics.ml.services.TrainingJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -16,8 +20,13 @@ import java.awt.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,10 +46,14 @@ class MLModelPanelTest {
     @Mock
     private ModelCleanupService cleanupService;
 
+    @Mock
+    private TrainingJobService trainingJobService;
+
     @BeforeEach
     void setUp() {
         when(ctx.getBean(MLModelService.class)).thenReturn(mlModelService);
         when(ctx.getBean(ModelCleanupService.class)).thenReturn(cleanupService);
+        when(ctx.getBean(TrainingJobService.class)).thenReturn(trainingJobService);
         when(mlModelService.listModels()).thenReturn(List.of());
     }
 
@@ -115,6 +128,87 @@ class MLModelPanelTest {
         assertEquals("Train Model", trainBtn.getText());
     }
 
+    @Test
+    @DisplayName("Train button submits a training job and follows it until it finishes")
+    void trainButton_submitsJobAndFollowsProgress() throws Exception {
+        MLModelPanel panel = new MLModelPanel(ctx);
+        JTextField modelNameField = (JTextField) UITestUtils.getField(panel, "modelNameField");
+        JTextArea trainingDataArea = (JTextArea) UITestUtils.getField(panel, "trainingDataArea");
+        JButton trainBtn = (JButton) UITestUtils.getField(panel, "trainBtn");
+        JButton cancelBtn = (JButton) UITestUtils.getField(panel, "cancelTrainingBtn");
+        JProgressBar progressBar = (JProgressBar) UITestUtils.getField(panel, "trainingProgressBar");
+        modelNameField.setText("My Model");
+        trainingDataArea.setText("[{\"text\":\"Great\",\"label\":\"positive\",\"features\":[0.9,0.1]}]");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<TrainingJobStatus>> listener = ArgumentCaptor.forClass(Consumer.class);
+        when(trainingJobService.submit(eq("SENTIMENT"), anyList(), anyMap(), listener.capture())).thenReturn("job-1");
+        trainBtn.doClick();
+        assertFalse(trainBtn.isEnabled());
+        awaitOnEdt(cancelBtn::isEnabled);
+        when(trainingJobService.cancel("job-1")).thenReturn(true);
+        cancelBtn.doClick();
+        verify(trainingJobService).cancel("job-1");
+        LocalDateTime now = LocalDateTime.now();
+        listener.getValue().accept(new TrainingJobStatus("job-1", "SENTIMENT", TrainingJobState.CANCELLED,
+                null, "Training job cancelled", now, now));
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        assertTrue(trainBtn.isEnabled());
+        assertFalse(cancelBtn.isEnabled());
+        assertEquals(100, progressBar.getValue());
+    }
+
+    @Test
+    @DisplayName("Train button shows job updates sent before the job was submitted")
+    void trainButton_updateBeforeSubmitted_shown() throws Exception {
+        MLModelPanel panel = new MLModelPanel(ctx);
+        JTextField modelNameField = (JTextField) UITestUtils.getField(panel, "modelNameField");
+        JTextArea trainingDataArea = (JTextArea) UITestUtils.getField(panel, "trainingDataArea");
+        JButton trainBtn = (JButton) UITestUtils.getField(panel, "trainBtn");
+        JButton cancelBtn = (JButton) UITestUtils.getField(panel, "cancelTrainingBtn");
+        modelNameField.setText("My Model");
+        trainingDataArea.setText("[{\"text\":\"Great\",\"label\":\"positive\",\"features\":[0.9,0.1]}]");
+        when(trainingJobService.submit(eq("SENTIMENT"), anyList(), anyMap(), any())).thenAnswer(invocation -> {
+            Consumer<TrainingJobStatus> listener = invocation.getArgument(3);
+            LocalDateTime now = LocalDateTime.now();
+            listener.accept(new TrainingJobStatus("job-2", "SENTIMENT", TrainingJobState.CANCELLED, null,
+                    "Training job cancelled", now, now));
+            return "job-2";
+        });
+        trainBtn.doClick();
+        awaitOnEdt(trainBtn::isEnabled);
+        assertFalse(cancelBtn.isEnabled());
+    }
+
+    /**
+     * Waits until a condition checked on the event dispatch thread holds, for up to five seconds.
+     *
+     * @param condition the condition
+     */
+    private static void awaitOnEdt(BooleanSupplier condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AtomicBoolean satisfied = new AtomicBoolean();
+        while (!satisfied.get() && System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> satisfied.set(condition.getAsBoolean()));
+            if (!satisfied.get()) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(satisfied.get(), "Condition not met on the event dispatch thread");
+    }
+
+    @Test
+    @DisplayName("Algorithm combo offers single trees and ensembles")
+    void algorithmCombo_offersEnsembles() {
+        MLModelPanel panel = new MLModelPanel(ctx);
+        @SuppressWarnings("unchecked")
+        JComboBox<String> algorithmCombo = (JComboBox<String>) UITestUtils.getField(panel, "algorithmCombo");
+        assertEquals(3, algorithmCombo.getItemCount());
+        assertEquals("RANDOM_TREE", algorithmCombo.getSelectedItem());
+        assertEquals("RANDOM_FOREST", algorithmCombo.getItemAt(1));
+        assertEquals("BAGGING", algorithmCombo.getItemAt(2));
+    }
+
     @Test
     @DisplayName("Training data area exists")
     void trainingDataArea_exists() {